@@ -7,6 +7,15 @@ package edu.ncsu.csc216.wolf_scheduler.course;
  */
 public abstract class Activity implements Conflict {
 
+	/** Day mask bits for the days of the week, Sunday through Saturday */
+	public static final int WEEK_DAYS = 0x7F;
+	/** Day mask bit for an Activity with arranged meeting days, which never conflicts */
+	public static final int ARRANGED = 1 << 7;
+	/** Meeting day characters in the order of their bits in the day mask */
+	private static final String DAY_CHARS = "UMTWHFS";
+	/** Number of minutes in an hour */
+	private static final int MINUTES_PER_HOUR = 60;
+
 	/** Activity's title. */
 	private String title;
 	/** Activity's meeting days */
@@ -15,6 +24,14 @@ public abstract class Activity implements Conflict {
 	private int startTime;
 	/** Activity's ending time */
 	private int endTime;
+	/** Bit mask of the Activity's meeting days, kept in sync with meetingDays */
+	private int dayMask;
+	/** Activity's starting time as a number of minutes after midnight */
+	private int startMinute;
+	/** Activity's ending time as a number of minutes after midnight */
+	private int endMinute;
+	/** Activity's meeting string, built on first use and cleared when the days or times change */
+	private String meetingString;
 
 	/**
 	 * Constructor for an Activity object
@@ -64,6 +81,17 @@ public abstract class Activity implements Conflict {
 	 */
 	public void setMeetingDays(String meetingDays) {
 		this.meetingDays = meetingDays;
+		this.dayMask = toDayMask(meetingDays);
+		clearMeetingString();
+	}
+
+	/**
+	 * Gets the bit mask of the meeting days. Bits 0 through 6 are set for Sunday through
+	 * Saturday (U, M, T, W, H, F, S), and an arranged Activity has only the ARRANGED bit set.
+	 * @return the dayMask
+	 */
+	public int getDayMask() {
+		return dayMask;
 	}
 
 	/**
@@ -98,6 +126,9 @@ public abstract class Activity implements Conflict {
 		//If all preconditions are met, set the fields with the input values
 		this.startTime = startTime;
 		this.endTime = endTime;
+		this.startMinute = toMinutes(startTime);
+		this.endMinute = toMinutes(endTime);
+		clearMeetingString();
 	}
 
 	/**
@@ -118,10 +149,31 @@ public abstract class Activity implements Conflict {
 
 	/**
 	 * Converts the startTime and endTime from military time to standard in the 
-	 * form of a string
+	 * form of a string. The string is built once and reused until the meeting days or
+	 * times change.
 	 * @return a string representation of the course's meeting time
 	 */
 	public String getMeetingString() {
+		if (this.meetingString == null) {
+			this.meetingString = buildMeetingString();
+		}
+		return this.meetingString;
+	}
+	
+	/**
+	 * Clears the stored meeting string so it is rebuilt on the next call to getMeetingString().
+	 * Subclasses call this when state that appears in their meeting string changes.
+	 */
+	protected void clearMeetingString() {
+		this.meetingString = null;
+	}
+	
+	/**
+	 * Builds the meeting string from the meeting days and times without storing it, for
+	 * callers that only need the string briefly and should not keep it alive
+	 * @return a string representation of the course's meeting time
+	 */
+	public String buildMeetingString() {
 		if (this.getMeetingDays().equals("A")) {
 			return "Arranged";
 		}
@@ -195,22 +247,53 @@ public abstract class Activity implements Conflict {
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-		String str1 = this.getMeetingDays();
-		String str2 = possibleConflictingActivity.getMeetingDays();
-		int str1Start = this.getStartTime();
-		int str1End = this.getEndTime();
-		int str2Start = possibleConflictingActivity.getStartTime();
-		int str2End = possibleConflictingActivity.getEndTime();
-		if (!str1.equals("A") && !str2.equals("A")) {
-			for (int i = 0; i < str1.length(); i++) {
-				for (int j  = 0; j < str2.length(); j++) {
-					if ((str1.charAt(i) == str2.charAt(j)) && ((str1Start >= str2Start && str1Start <= str2End) || (str1End >= str2Start && str1End <= str2End) ||
-							(str2Start >= str1Start && str2Start <= str1End && str2End >= str1Start && str2End <= str1End))) {
-							throw new ConflictException();
-					}
-				}
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException();
+		}
+	}
+	
+	/**
+	 * Checks for conflict between two Activities without throwing an exception, using the same
+	 * rules as checkConflict(). Arranged Activities never conflict.
+	 * @param possibleConflictingActivity The Activity to check for conflicts with
+	 * @return true if the Activities share a meeting day and their times overlap, false otherwise
+	 */
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		//The ARRANGED bit is outside WEEK_DAYS, so an arranged Activity never shares a day
+		return (this.dayMask & possibleConflictingActivity.dayMask & WEEK_DAYS) != 0 &&
+				this.startMinute <= possibleConflictingActivity.endMinute &&
+				possibleConflictingActivity.startMinute <= this.endMinute;
+	}
+	
+	/**
+	 * Converts a meeting days string into a day mask
+	 * @param meetingDays the meeting days to convert
+	 * @return the day mask for the meeting days
+	 */
+	private static int toDayMask(String meetingDays) {
+		if (meetingDays == null) {
+			return 0;
+		}
+		if (meetingDays.equals("A")) {
+			return ARRANGED;
+		}
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = DAY_CHARS.indexOf(meetingDays.charAt(i));
+			if (day >= 0) {
+				mask |= 1 << day;
 			}
 		}
+		return mask;
+	}
+	
+	/**
+	 * Converts a military time into the number of minutes after midnight
+	 * @param time the time to convert
+	 * @return the number of minutes after midnight
+	 */
+	private static int toMinutes(int time) {
+		return (time / 100) * MINUTES_PER_HOUR + time % 100;
 	}
 	
 	/** Overridden hashCode() and equals() */
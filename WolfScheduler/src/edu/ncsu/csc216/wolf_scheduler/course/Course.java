@@ -1,7 +1,12 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
- * Object class that represents a course
+ * Object class that represents a course. Besides its catalog details, a course has a seat
+ * capacity and a count of the seats reserved in it. Seats are reserved and released with
+ * compare-and-set on the count, so students on many threads can enroll in the same section
+ * at once without locking and the count never goes past the capacity.
  * @author Noah Benveniste
  * @author Sarah Heckman
  */
@@ -17,7 +22,16 @@ public class Course extends Activity {
 	private int credits;
 	/** Course's instructor */
 	private String instructorId;
+	/** Number of seats in the course */
+	private volatile int capacity = UNLIMITED;
+	/** Number of seats reserved in the course, changed only through ENROLLED */
+	private volatile int enrolled;
 	
+	/** Capacity of a course with no seat limit */
+	public static final int UNLIMITED = Integer.MAX_VALUE;
+	/** Updates the enrolled count atomically without an extra object per course */
+	private static final AtomicIntegerFieldUpdater<Course> ENROLLED =
+			AtomicIntegerFieldUpdater.newUpdater(Course.class, "enrolled");
 	
 	/** Constructors */
 	
@@ -79,7 +93,7 @@ public class Course extends Activity {
 	    if (name.length() < 4 || name.length() > 6) {
 	        throw new IllegalArgumentException();
 	    }
-		this.name = name;
+		this.name = StringPool.share(name);
 	}
 	
 	/**
@@ -111,7 +125,7 @@ public class Course extends Activity {
 				throw new IllegalArgumentException();
 			}
 		}
-		this.section = section;
+		this.section = StringPool.share(section);
 	}
 	
 	/**
@@ -153,7 +167,86 @@ public class Course extends Activity {
 		if (instructorId == null || instructorId.equals("")) {
 			throw new IllegalArgumentException();
 		}
-		this.instructorId = instructorId;
+		this.instructorId = StringPool.share(instructorId);
+	}
+	
+	/**
+	 * Gets the number of seats in the course
+	 * @return the capacity, or UNLIMITED if the course has no seat limit
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Sets the number of seats in the course. Seats already reserved are kept even if there
+	 * are more of them than the new capacity, but no more can be reserved until enough are released.
+	 * @param capacity the capacity to set, or UNLIMITED for no seat limit
+	 * @throws IllegalArgumentException if the capacity is negative
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative.");
+		}
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * Gets the number of seats reserved in the course
+	 * @return the enrolled count
+	 */
+	public int getEnrolled() {
+		return enrolled;
+	}
+	
+	/**
+	 * Gets the number of seats that can still be reserved
+	 * @return the open seats, which is never negative
+	 */
+	public int getOpenSeats() {
+		return Math.max(0, capacity - enrolled);
+	}
+	
+	/**
+	 * Reserves a seat in the course if one is open
+	 * @return true if a seat was reserved, false if the course is full
+	 */
+	public boolean reserveSeat() {
+		while (true) {
+			int current = enrolled;
+			if (current >= capacity) {
+				return false;
+			}
+			if (ENROLLED.compareAndSet(this, current, current + 1)) {
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * Releases a seat reserved in the course
+	 * @return true if a seat was released, false if no seats were reserved
+	 */
+	public boolean releaseSeat() {
+		while (true) {
+			int current = enrolled;
+			if (current == 0) {
+				return false;
+			}
+			if (ENROLLED.compareAndSet(this, current, current - 1)) {
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * Takes over the capacity and reserved seats of another version of this course, such as
+	 * the course this one replaces when the catalog is reloaded
+	 * @param other the course to copy the seats of
+	 */
+	public void copySeats(Course other) {
+		this.capacity = other.capacity;
+		ENROLLED.set(this, other.enrolled);
 	}
 	
 	/**
@@ -234,7 +327,8 @@ public class Course extends Activity {
 	
 	
 	/**
-	 * Generates a hashCode for Course using all fields.
+	 * Generates a hashCode for Course using all catalog fields. Seats change as students
+	 * enroll, so they are not included.
 	 * @return hashCode for Course
 	 */
 	@Override
@@ -249,7 +343,8 @@ public class Course extends Activity {
 	}
 
 	/**
-	 * Compares a given object to this object for equality over all fields.
+	 * Compares a given object to this object for equality over all catalog fields. Seats change
+	 * as students enroll, so they are not compared.
 	 * @param obj The object to compare
 	 * @return true if the objects are the same over all fields
 	 */
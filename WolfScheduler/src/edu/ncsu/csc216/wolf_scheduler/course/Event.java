@@ -44,6 +44,7 @@ public class Event extends Activity {
 			throw new IllegalArgumentException("Invalid weekly repeat.");
 		}
 		this.weeklyRepeat = weeklyRepeat;
+		clearMeetingString();
 	}
 
 	/**
@@ -134,7 +135,7 @@ public class Event extends Activity {
 	}
 
 	
-	/** Overridden getMeetingString, toString */
+	/** Overridden buildMeetingString, toString */
 	
 	
 	/**
@@ -142,8 +143,8 @@ public class Event extends Activity {
 	 * @return the meetingString
 	 */
 	@Override
-	public String getMeetingString() {
-		return super.getMeetingString() + " (every " + this.getWeeklyRepeat() + " weeks)";
+	public String buildMeetingString() {
+		return super.buildMeetingString() + " (every " + this.getWeeklyRepeat() + " weeks)";
 	}
 
 	/**
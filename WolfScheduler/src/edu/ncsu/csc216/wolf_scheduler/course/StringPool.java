@@ -0,0 +1,216 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates the Strings that many courses share, such as course names, titles, sections,
+ * instructor ids and meeting days. Course names, sections and instructor ids are stored as the
+ * shared copy, and catalogs are read through a sharing StringPool, so a catalog with thousands
+ * of sections of the same course holds each repeated value only once.
+ *
+ * The shared copies are kept in one pool for the whole program, which is safe to use from any
+ * thread. Values typed by users, such as event titles and details, are not added to it. The
+ * shared pool holds at most SHARED_MAX_SIZE values; once it is full, new values are returned
+ * as they are instead of being added, so it cannot grow without limit in a long running server.
+ *
+ * A StringPool instance is a faster front for reading records: it looks up a value straight
+ * from a range of characters, so no String is created for a value it has seen, but it must only
+ * be used by one thread. An instance made to share its values passes each new value through
+ * the shared pool; one that does not keeps its values to itself, and they are freed with it.
+ * @author Noah Benveniste
+ */
+public class StringPool {
+
+	/** Initial capacity of the shared pool, enough for the distinct values of a large catalog */
+	private static final int SHARED_CAPACITY = 16384;
+	/** The shared copy of every value added to the shared pool */
+	private static final ConcurrentHashMap<String, String> SHARED = new ConcurrentHashMap<String, String>(SHARED_CAPACITY);
+	/** Most values the shared pool holds, many times the distinct values of a large catalog */
+	private static final int SHARED_MAX_SIZE = 1 << 18;
+
+	/** Most values an instance holds, so a file with no repeated values cannot grow it without limit */
+	private static final int MAX_SIZE = 1 << 16;
+
+	/** Whether new values are passed through the shared pool */
+	private final boolean shared;
+	/** Open addressing table of values, with null for an empty slot */
+	private String[] table;
+	/** Number of values in the table */
+	private int size;
+	/** Number of lookups made */
+	private long lookups;
+	/** Number of lookups that found a value already in the table */
+	private long hits;
+
+	/**
+	 * Constructs an empty pool that shares its values through the shared pool
+	 * @param expectedSize the number of distinct values the pool is expected to hold
+	 * @throws IllegalArgumentException if expectedSize is negative
+	 */
+	public StringPool(int expectedSize) {
+		this(expectedSize, true);
+	}
+
+	/**
+	 * Constructs an empty pool
+	 * @param expectedSize the number of distinct values the pool is expected to hold
+	 * @param shared true if new values are passed through the shared pool, false if they are
+	 * only kept by this pool
+	 * @throws IllegalArgumentException if expectedSize is negative
+	 */
+	public StringPool(int expectedSize, boolean shared) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Invalid pool size.");
+		}
+		int capacity = 16;
+		while (capacity < Math.min(expectedSize, MAX_SIZE) * 2) {
+			capacity *= 2;
+		}
+		this.table = new String[capacity];
+		this.shared = shared;
+	}
+
+	/**
+	 * Gets the shared copy of a String, adding it to the shared pool if it is not there and the
+	 * shared pool is not full
+	 * @param value the value to look up
+	 * @return the shared copy of the value, value itself if it is not in the full shared pool,
+	 * or null if value is null
+	 */
+	public static String share(String value) {
+		if (value == null) {
+			return null;
+		}
+		String shared = SHARED.get(value);
+		if (shared == null) {
+			//Checked without a lock, so the pool can pass its limit by a value per thread
+			if (SHARED.size() >= SHARED_MAX_SIZE) {
+				return value;
+			}
+			shared = SHARED.putIfAbsent(value, value);
+			if (shared == null) {
+				shared = value;
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Gets the number of values in the shared pool
+	 * @return the size of the shared pool
+	 */
+	public static int getSharedSize() {
+		return SHARED.size();
+	}
+
+	/**
+	 * Gets the copy of the value held in a range of characters, creating a String only if the
+	 * value has not been seen by this pool before
+	 * @param chars the characters holding the value
+	 * @param start index of the first character of the value
+	 * @param end index one past the last character of the value
+	 * @return this pool's copy of the value, which is the shared copy if this pool shares its values
+	 */
+	public String intern(char[] chars, int start, int end) {
+		lookups++;
+		//Same hash as String.hashCode(), so a String created on a miss caches the same value
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		int mask = table.length - 1;
+		int slot = spread(hash) & mask;
+		String candidate;
+		while ((candidate = table[slot]) != null) {
+			if (candidate.hashCode() == hash && matches(candidate, chars, start, end)) {
+				hits++;
+				return candidate;
+			}
+			slot = (slot + 1) & mask;
+		}
+		String value = new String(chars, start, end - start);
+		if (shared) {
+			value = share(value);
+		}
+		if (size < MAX_SIZE) {
+			table[slot] = value;
+			size++;
+			if (size * 2 > table.length) {
+				grow();
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the number of values in this pool
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of lookups made in this pool
+	 * @return the number of lookups
+	 */
+	public long getLookups() {
+		return lookups;
+	}
+
+	/**
+	 * Gets the number of lookups that found a value already in this pool, each of which saved
+	 * creating a String
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Checks if a String holds the same characters as a range of characters
+	 * @param value the String
+	 * @param chars the characters
+	 * @param start index of the first character of the range
+	 * @param end index one past the last character of the range
+	 * @return true if they hold the same characters, false otherwise
+	 */
+	private static boolean matches(String value, char[] chars, int start, int end) {
+		if (value.length() != end - start) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			if (value.charAt(i - start) != chars[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Mixes the high bits of a hash into the low bits used to pick a slot
+	 * @param hash the hash
+	 * @return the mixed hash
+	 */
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Doubles the size of the table
+	 */
+	private void grow() {
+		String[] old = table;
+		table = new String[old.length * 2];
+		int mask = table.length - 1;
+		for (int i = 0; i < old.length; i++) {
+			if (old[i] != null) {
+				int slot = spread(old[i].hashCode()) & mask;
+				while (table[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = old[i];
+			}
+		}
+	}
+}
@@ -1,35 +1,72 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.List;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 
 /**
- * Class that handles the writing of activities to an output file
+ * Class that handles the writing of activities to an output file, and reading them back
  * @author Noah Benveniste
  */
 public class ActivityRecordIO {
 
 	/**
-	 * Writes the given list of Courses to an output file
+	 * Reads a schedule exported by writeActivityRecords. Each line is read as a Course or an
+	 * Event, and invalid lines are skipped. Courses are read as written, so they are not the
+	 * catalog's own objects until they are looked up in a catalog.
+	 * @param fileName The name of the file to read
+	 * @return the Activities in the file, in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Activity> readActivityRecords(String fileName) throws FileNotFoundException {
+		ScheduleRecordReader reader = new ScheduleRecordReader(fileName, false);
+		try {
+			reader.nextSchedule();
+		} catch (IOException e) {
+			//Stop at a read error and keep the activities read so far, as readCourseRecords does
+		} finally {
+			try {
+				reader.close();
+			} catch (IOException e) {
+				//nothing left to read
+			}
+		}
+		return reader.getActivities();
+	}
+
+	/**
+	 * Writes the given list of Activities to an output file. The file is replaced only once
+	 * every record has been written and forced to disk, so a failed write leaves it as it was.
 	 * @param fileName The name of the file to be written to
-	 * @param activities An array list of Activities to be written to the file
+	 * @param activities A list of Activities to be written to the file
 	 * @throws IOException if the file cannot be saved
 	 */
-	public static void writeActivityRecords(String fileName, ArrayList<Activity> activities) throws IOException {
-		//Initialize print stream object to write to file
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+	public static void writeActivityRecords(String fileName, List<Activity> activities) throws IOException {
+		//Write to a temporary file that replaces the file only once every record is on disk
+		ActivityRecordWriter fileWriter = new ActivityRecordWriter(fileName);
+		try {
+			fileWriter.writeActivities(activities);
+			fileWriter.commit();
+		} finally {
+			fileWriter.close();
+		}
+	}
 	
-		//Index through the array list, printing one course per line
+	/**
+	 * Writes the given list of Activities to a stream, one record per line, in the same format
+	 * as an exported file. The stream is not closed.
+	 * @param out the stream to write to
+	 * @param activities the Activities to be written
+	 */
+	public static void writeActivityRecords(PrintStream out, List<Activity> activities) {
+		//Index through the list, printing one activity per line
 		for (int i = 0; i < activities.size(); i++) {
-		    fileWriter.println(activities.get(i).toString());
+		    out.println(activities.get(i).toString());
 		}
-	
-		//Once all courses have been printed into the file, close the print stream
-		fileWriter.close();
 	}
 
 }
@@ -0,0 +1,317 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Writes activity records, one per line in the format of Course.toString() and Event.toString(),
+ * to a file that only appears once every record has been written. Records are written to a
+ * temporary file next to the target; commit() forces the temporary file to disk and renames it
+ * over the target, so a crash or a failed write leaves the target as it was. Closing a writer
+ * that was not committed deletes the temporary file. Each writer has a temporary file of its
+ * own, so writers to the same target never write over or delete each other's records; the
+ * last to commit replaces the target.
+ *
+ * Fields are appended straight into a reusable character buffer, so no String is built per
+ * record, and the buffer is encoded into a reusable byte buffer and written in large blocks.
+ * Any error writing the file is thrown, unlike a PrintStream, which only records it.
+ * A writer is not safe to share between threads.
+ * @author Noah Benveniste
+ */
+public class ActivityRecordWriter implements Closeable {
+
+	/** Number of characters buffered before they are encoded */
+	private static final int CHAR_BUFFER_SIZE = 16384;
+	/** Number of bytes buffered before they are written */
+	private static final int BYTE_BUFFER_SIZE = 65536;
+	/** Most characters an int can take */
+	private static final int MAX_INT_CHARS = 11;
+	/** Line separator, the same one PrintStream.println() writes */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** The file to write */
+	private Path target;
+	/** The temporary file the records are written to */
+	private Path temp;
+	/** Channel to the temporary file */
+	private FileChannel channel;
+	/** Characters appended but not yet encoded */
+	private char[] chars;
+	/** Number of characters in chars */
+	private int count;
+	/** View of chars used to encode it */
+	private CharBuffer charView;
+	/** Bytes encoded but not yet written */
+	private ByteBuffer bytes;
+	/** Encoder for the platform's default charset, which readers of the file use */
+	private CharsetEncoder encoder;
+	/** True once the writer has been committed or closed */
+	private boolean closed;
+
+	/**
+	 * Opens a writer for the given file. The file is not touched until the writer is committed.
+	 * @param fileName the file to write
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	public ActivityRecordWriter(String fileName) throws IOException {
+		this.target = Paths.get(fileName);
+		//In the target's directory, so it can be renamed over the target
+		this.temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		this.chars = new char[CHAR_BUFFER_SIZE];
+		this.charView = CharBuffer.wrap(chars);
+		this.bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+		//Replace characters the charset cannot hold, as PrintStream does
+		this.encoder = Charset.defaultCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Writes one activity record and a line separator
+	 * @param activity the activity to write
+	 * @throws IOException if the file cannot be written or the writer is closed
+	 */
+	public void writeActivity(Activity activity) throws IOException {
+		checkOpen();
+		if (activity instanceof Course) {
+			Course c = (Course) activity;
+			append(c.getName());
+			append(',');
+			append(c.getTitle());
+			append(',');
+			append(c.getSection());
+			append(',');
+			append(c.getCredits());
+			append(',');
+			append(c.getInstructorId());
+			append(',');
+			append(c.getMeetingDays());
+			if (!"A".equals(c.getMeetingDays())) {
+				append(',');
+				append(c.getStartTime());
+				append(',');
+				append(c.getEndTime());
+			}
+		} else if (activity instanceof Event) {
+			Event e = (Event) activity;
+			append(e.getTitle());
+			append(',');
+			append(e.getMeetingDays());
+			append(',');
+			append(e.getStartTime());
+			append(',');
+			append(e.getEndTime());
+			append(',');
+			append(e.getWeeklyRepeat());
+			append(',');
+			append(e.getEventDetails());
+		} else {
+			append(activity.toString());
+		}
+		append(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Writes a list of activity records, one per line
+	 * @param activities the activities to write, in order
+	 * @throws IOException if the file cannot be written or the writer is closed
+	 */
+	public void writeActivities(List<Activity> activities) throws IOException {
+		for (int i = 0; i < activities.size(); i++) {
+			writeActivity(activities.get(i));
+		}
+	}
+
+	/**
+	 * Writes one schedule in the format read by ScheduleRecordReader: a header line with the
+	 * id, a comma and the title, the activity records and a blank line
+	 * @param id the schedule's id
+	 * @param title the schedule's title, or null to write a header with only the id
+	 * @param activities the schedule's activities, in order
+	 * @throws IOException if the file cannot be written or the writer is closed
+	 */
+	public void writeSchedule(String id, String title, List<Activity> activities) throws IOException {
+		checkOpen();
+		append(id);
+		if (title != null) {
+			append(',');
+			append(title);
+		}
+		append(LINE_SEPARATOR);
+		writeActivities(activities);
+		append(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Writes every buffered record, forces the temporary file to disk and renames it over the
+	 * target file. The writer is closed afterwards.
+	 * @throws IOException if the file cannot be written or renamed, or the writer is closed
+	 */
+	public void commit() throws IOException {
+		checkOpen();
+		charView.limit(count);
+		charView.position(0);
+		encode(true);
+		count = 0;
+		while (encoder.flush(bytes).isOverflow()) {
+			writeBytes();
+		}
+		writeBytes();
+		channel.force(true);
+		channel.close();
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			//Some file systems cannot rename atomically; the data is already on disk, so replace the target
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		//Only now, so close() still deletes the temporary file if any step above failed
+		closed = true;
+	}
+
+	/**
+	 * Closes the writer. If it was not committed, the records are thrown away and the target
+	 * file is left as it was.
+	 * @throws IOException if the temporary file cannot be closed or deleted
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				channel.close();
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/**
+	 * Checks that the writer can still be written to
+	 * @throws IOException if it has been committed or closed
+	 */
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new IOException("The file is closed.");
+		}
+	}
+
+	/**
+	 * Appends a string to the character buffer
+	 * @param s the string
+	 * @throws IOException if the buffer is full and cannot be written
+	 */
+	private void append(String s) throws IOException {
+		int i = 0;
+		int n = s.length();
+		while (i < n) {
+			if (count == chars.length) {
+				flushChars();
+			}
+			int k = Math.min(n - i, chars.length - count);
+			s.getChars(i, i + k, chars, count);
+			count += k;
+			i += k;
+		}
+	}
+
+	/**
+	 * Appends a character to the character buffer
+	 * @param c the character
+	 * @throws IOException if the buffer is full and cannot be written
+	 */
+	private void append(char c) throws IOException {
+		if (count == chars.length) {
+			flushChars();
+		}
+		chars[count++] = c;
+	}
+
+	/**
+	 * Appends the decimal digits of an int to the character buffer
+	 * @param value the int
+	 * @throws IOException if the buffer is full and cannot be written
+	 */
+	private void append(int value) throws IOException {
+		if (count + MAX_INT_CHARS > chars.length) {
+			flushChars();
+		}
+		long v = value;
+		if (v < 0) {
+			chars[count++] = '-';
+			v = -v;
+		}
+		int digits = 1;
+		for (long p = 10; p <= v; p *= 10) {
+			digits++;
+		}
+		//Fill the digits in from the last one
+		for (int i = count + digits - 1; i >= count; i--) {
+			chars[i] = (char) ('0' + v % 10);
+			v /= 10;
+		}
+		count += digits;
+	}
+
+	/**
+	 * Encodes the character buffer. Characters that cannot be encoded yet, such as the first half
+	 * of a surrogate pair, are moved to the front of the buffer.
+	 * @throws IOException if the encoded bytes cannot be written
+	 */
+	private void flushChars() throws IOException {
+		charView.limit(count);
+		charView.position(0);
+		encode(false);
+		int left = charView.remaining();
+		System.arraycopy(chars, charView.position(), chars, 0, left);
+		count = left;
+	}
+
+	/**
+	 * Encodes the characters remaining in charView, writing the byte buffer whenever it fills
+	 * @param endOfInput true if no characters follow
+	 * @throws IOException if the bytes cannot be written
+	 */
+	private void encode(boolean endOfInput) throws IOException {
+		CoderResult result = encoder.encode(charView, bytes, endOfInput);
+		while (result.isOverflow()) {
+			writeBytes();
+			result = encoder.encode(charView, bytes, endOfInput);
+		}
+	}
+
+	/**
+	 * Writes the byte buffer to the temporary file and empties it
+	 * @throws IOException if the file cannot be written
+	 */
+	private void writeBytes() throws IOException {
+		bytes.flip();
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+		bytes.clear();
+	}
+}
@@ -0,0 +1,313 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.StringPool;
+
+/**
+ * Reads and writes catalog snapshots, a compact binary form of a course catalog that loads much
+ * faster than course records because no text has to be split or parsed.
+ *
+ * A snapshot holds, in order and big-endian: the magic number, the format version, the number
+ * of strings, the number of courses, the string table, one fixed-width record per course and a
+ * CRC-32 of everything before it. Each string is its UTF-8 length followed by its bytes, and is
+ * stored once however many courses use it. Each course record is nine ints: the string table
+ * indexes of the name, title, section, instructor id and meeting days, then the credits, start
+ * time, end time and day mask.
+ * @author Noah Benveniste
+ */
+public class CatalogSnapshotIO {
+
+	/** First four bytes of every snapshot, "WSNP" */
+	public static final int MAGIC = 0x57534E50;
+	/** Version of the snapshot format written by this class */
+	public static final int VERSION = 1;
+	/** Number of ints in a course record */
+	private static final int RECORD_INTS = 9;
+	/** Number of bytes in the header */
+	private static final int HEADER_BYTES = 16;
+	/** Number of bytes in the checksum at the end of the snapshot */
+	private static final int CHECKSUM_BYTES = 4;
+	/** Charset the string table is encoded in */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/**
+	 * Writes a course catalog to a snapshot file. The snapshot is written to a temporary file in
+	 * the same directory, forced to disk and then renamed over the target, so a crash or failed
+	 * write leaves either the old snapshot or the new one, never part of one.
+	 * @param fileName the file to write
+	 * @param courses the courses to write, in catalog order
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeCatalogSnapshot(String fileName, List<Course> courses) throws IOException {
+		//Give each distinct string an index in the table, in order of first use
+		HashMap<String, Integer> indexes = new HashMap<String, Integer>();
+		ArrayList<String> strings = new ArrayList<String>();
+		int[] records = new int[courses.size() * RECORD_INTS];
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			int r = i * RECORD_INTS;
+			records[r] = index(c.getName(), indexes, strings);
+			records[r + 1] = index(c.getTitle(), indexes, strings);
+			records[r + 2] = index(c.getSection(), indexes, strings);
+			records[r + 3] = index(c.getInstructorId(), indexes, strings);
+			records[r + 4] = index(c.getMeetingDays(), indexes, strings);
+			records[r + 5] = c.getCredits();
+			records[r + 6] = c.getStartTime();
+			records[r + 7] = c.getEndTime();
+			records[r + 8] = c.getDayMask();
+		}
+
+		Path target = Paths.get(fileName);
+		Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+		boolean moved = false;
+		try {
+			FileOutputStream file = new FileOutputStream(temp.toFile());
+			CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+			DataOutputStream out = new DataOutputStream(checked);
+			try {
+				writeSnapshot(out, checked, strings, records, courses.size());
+				out.flush();
+				file.getFD().sync();
+			} finally {
+				out.close();
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				//Some file systems cannot rename atomically; the data is already on disk, so replace the target
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/**
+	 * Writes the contents of a snapshot
+	 * @param out the stream to write to
+	 * @param checked the stream below out that computes the checksum
+	 * @param strings the string table
+	 * @param records the course records
+	 * @param numCourses the number of courses
+	 * @throws IOException if the stream cannot be written
+	 */
+	private static void writeSnapshot(DataOutputStream out, CheckedOutputStream checked, ArrayList<String> strings,
+			int[] records, int numCourses) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(strings.size());
+		out.writeInt(numCourses);
+		for (int i = 0; i < strings.size(); i++) {
+			byte[] bytes = strings.get(i).getBytes(UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+		for (int i = 0; i < records.length; i++) {
+			out.writeInt(records[i]);
+		}
+		out.writeInt((int) checked.getChecksum().getValue());
+	}
+
+	/**
+	 * Reads a course catalog from a snapshot file
+	 * @param fileName the file to read
+	 * @return the courses in the snapshot, in catalog order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file is not a snapshot, has an unsupported version, or is corrupt
+	 */
+	public static ArrayList<Course> readCatalogSnapshot(String fileName) throws IOException {
+		return readCatalogSnapshot(fileName, new CourseLoadReport());
+	}
+
+	/**
+	 * Reads a course catalog from a snapshot file, counting each course loaded in the report.
+	 * The whole file is read at once and checked against its checksum before any course is built.
+	 * @param fileName the file to read
+	 * @param report the report to count loaded courses in
+	 * @return the courses in the snapshot, in catalog order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file is not a snapshot, has an unsupported version, or is corrupt
+	 */
+	public static ArrayList<Course> readCatalogSnapshot(String fileName, CourseLoadReport report) throws IOException {
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(Paths.get(fileName));
+		} catch (IOException e) {
+			throw new FileNotFoundException(fileName);
+		}
+		if (bytes.length < HEADER_BYTES + CHECKSUM_BYTES) {
+			throw new IOException("Snapshot is truncated.");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		if (buffer.getInt() != MAGIC) {
+			throw new IOException("Not a catalog snapshot.");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported snapshot version " + version + ".");
+		}
+		CRC32 checksum = new CRC32();
+		checksum.update(bytes, 0, bytes.length - CHECKSUM_BYTES);
+		if ((int) checksum.getValue() != ByteBuffer.wrap(bytes, bytes.length - CHECKSUM_BYTES, CHECKSUM_BYTES).getInt()) {
+			throw new IOException("Snapshot checksum does not match.");
+		}
+		buffer.limit(bytes.length - CHECKSUM_BYTES);
+
+		try {
+			int numStrings = buffer.getInt();
+			int numCourses = buffer.getInt();
+			if (numStrings < 0 || numCourses < 0 || numCourses > buffer.remaining() / (RECORD_INTS * 4)) {
+				throw new IOException("Snapshot is corrupt.");
+			}
+			//Every string takes at least the four bytes of its length
+			if (numStrings > buffer.remaining() / 4) {
+				throw new IOException("Snapshot is corrupt.");
+			}
+			String[] strings = new String[numStrings];
+			for (int i = 0; i < numStrings; i++) {
+				int length = buffer.getInt();
+				if (length < 0 || length > buffer.remaining()) {
+					throw new IOException("Snapshot is corrupt.");
+				}
+				strings[i] = StringPool.share(new String(bytes, buffer.position(), length, UTF_8));
+				buffer.position(buffer.position() + length);
+			}
+			if (buffer.remaining() != numCourses * RECORD_INTS * 4) {
+				throw new IOException("Snapshot is corrupt.");
+			}
+
+			ArrayList<Course> courses = new ArrayList<Course>(numCourses);
+			for (int i = 0; i < numCourses; i++) {
+				String name = string(strings, buffer.getInt());
+				String title = string(strings, buffer.getInt());
+				String section = string(strings, buffer.getInt());
+				String instructorId = string(strings, buffer.getInt());
+				String meetingDays = string(strings, buffer.getInt());
+				int credits = buffer.getInt();
+				int startTime = buffer.getInt();
+				int endTime = buffer.getInt();
+				int dayMask = buffer.getInt();
+				Course course;
+				try {
+					course = new Course(name, title, section, credits, instructorId, meetingDays, startTime, endTime);
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Snapshot has an invalid course.");
+				}
+				//The stored mask was computed from the same days when the snapshot was written
+				if (course.getDayMask() != dayMask) {
+					throw new IOException("Snapshot is corrupt.");
+				}
+				courses.add(course);
+				report.courseLoaded();
+			}
+			return courses;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Snapshot is truncated.");
+		}
+	}
+
+	/**
+	 * Checks whether a file starts with the snapshot magic number
+	 * @param fileName the file to check
+	 * @return true if the file can be read and starts with the magic number, false otherwise
+	 */
+	public static boolean isCatalogSnapshot(String fileName) {
+		try {
+			DataInputStream in = new DataInputStream(new FileInputStream(fileName));
+			try {
+				return in.readInt() == MAGIC;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Converts a file of course records into a snapshot file. Invalid and duplicate records are
+	 * skipped just as they are when the records are read.
+	 * @param recordFile the course records to read
+	 * @param snapshotFile the snapshot file to write
+	 * @return the report for reading the course records
+	 * @throws FileNotFoundException if the course records cannot be found or read
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static CourseLoadReport convertCourseRecords(String recordFile, String snapshotFile) throws IOException {
+		CourseLoadReport report = new CourseLoadReport();
+		writeCatalogSnapshot(snapshotFile, CourseRecordIO.readCourseRecords(recordFile, report));
+		return report;
+	}
+
+	/**
+	 * Converts a file of course records into a snapshot file from the command line
+	 * @param args the course records file and the snapshot file
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("Usage: CatalogSnapshotIO <course records file> <snapshot file>");
+			System.exit(1);
+		}
+		try {
+			System.out.println(convertCourseRecords(args[0], args[1]));
+		} catch (IOException e) {
+			System.err.println("Cannot convert " + args[0] + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Gets the index of a string in the string table, adding it if it is not there yet
+	 * @param s the string
+	 * @param indexes the index of each string in the table
+	 * @param strings the string table
+	 * @return the index of the string
+	 */
+	private static int index(String s, HashMap<String, Integer> indexes, ArrayList<String> strings) {
+		Integer index = indexes.get(s);
+		if (index == null) {
+			index = strings.size();
+			indexes.put(s, index);
+			strings.add(s);
+		}
+		return index;
+	}
+
+	/**
+	 * Looks up a string in the string table
+	 * @param strings the string table
+	 * @param index the index of the string
+	 * @return the string
+	 * @throws IOException if the index is outside the table
+	 */
+	private static String string(String[] strings, int index) throws IOException {
+		if (index < 0 || index >= strings.length) {
+			throw new IOException("Snapshot is corrupt.");
+		}
+		return strings[index];
+	}
+}
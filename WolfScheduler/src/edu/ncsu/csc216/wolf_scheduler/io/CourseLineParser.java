@@ -0,0 +1,300 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.course.StringPool;
+
+/**
+ * Parses a single course record held in a range of a character array. Fields are split on
+ * commas in place, text fields are looked up in a StringPool so a String is only created for a
+ * value the parser has not seen before, and integer fields are parsed straight from the
+ * characters.
+ *
+ * A record has the fields name, title, section, credits, instructorId and meetingDays, followed
+ * by startTime and endTime unless the course is arranged. Fields after endTime are ignored.
+ * An activity record is either a course record or an event record as written by
+ * Event.toString(): title, meetingDays, startTime, endTime, weeklyRepeat and eventDetails,
+ * where the details run to the end of the line and may contain commas.
+ * Catalog parsers pass their values through the program's shared StringPool; parsers of
+ * schedule files keep their values to themselves, so text typed by users is never added to it.
+ * A parser is reused for many lines, but is not safe to share between threads.
+ * @author Noah Benveniste
+ */
+class CourseLineParser {
+
+	/** Number of distinct text values a parser expects to see */
+	private static final int EXPECTED_VALUES = 1024;
+
+	/** Characters of the line being parsed */
+	private char[] chars;
+	/** Index one past the last character of the line */
+	private int lineEnd;
+	/** Index of the start of the next field in the line */
+	private int cursor;
+	/** Pool of the text values seen by this parser */
+	private StringPool pool;
+
+	/**
+	 * Constructs a parser for catalog records, which shares its values
+	 */
+	CourseLineParser() {
+		this(true);
+	}
+
+	/**
+	 * Constructs a parser
+	 * @param shared true if values are passed through the shared StringPool, false if they are
+	 * only kept by this parser
+	 */
+	CourseLineParser(boolean shared) {
+		this.pool = new StringPool(EXPECTED_VALUES, shared);
+	}
+
+	/**
+	 * Parses a line as a Course
+	 * @param line the characters holding the line
+	 * @param start index of the first character of the line
+	 * @param end index one past the last character of the line
+	 * @return the Course described by the line
+	 * @throws IllegalArgumentException if the line is missing fields or describes an invalid Course
+	 */
+	Course parse(char[] line, int start, int end) {
+		this.chars = line;
+		this.lineEnd = end;
+		this.cursor = start;
+		String name = stringField();
+		String title = stringField();
+		String section = stringField();
+		int credits = intField();
+		String instructorId = stringField();
+		String meetingDays = stringField();
+		int startTime = 0;
+		int endTime = 0;
+		if (cursor < lineEnd) {
+			startTime = intField();
+			endTime = intField();
+		}
+		if (meetingDays.equals("A") && startTime == 0 && endTime == 0) {
+			return new Course(name, title, section, credits, instructorId, meetingDays);
+		}
+		return new Course(name, title, section, credits, instructorId, meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Parses a line as a Course or an Event, told apart by the shape of their fields. A course
+	 * has 6 or 8 fields, with an int for credits in the fourth, course meeting days in the sixth
+	 * and ints for its times in the last two. An event has at least 6 fields, with event meeting
+	 * days in the second and ints in the third to fifth. The instructor id is never looked at, so
+	 * it may be all digits. A line with both shapes is read as a Course if it is a valid one, and
+	 * as an Event otherwise.
+	 * @param line the characters holding the line
+	 * @param start index of the first character of the line
+	 * @param end index one past the last character of the line
+	 * @return the Activity described by the line
+	 * @throws IllegalArgumentException if the line is missing fields or describes an invalid Activity
+	 */
+	Activity parseActivity(char[] line, int start, int end) {
+		this.chars = line;
+		this.lineEnd = end;
+		//Count fields up to one more than a course can have
+		int fields = 1;
+		for (int i = start; i < end && fields <= 8; i++) {
+			if (line[i] == ',') {
+				fields++;
+			}
+		}
+		boolean course = isCourseShape(start, fields);
+		boolean event = isEventShape(start, fields);
+		if (course && event) {
+			try {
+				return parse(line, start, end);
+			} catch (IllegalArgumentException e) {
+				//Not a valid course, so read it as an event
+			}
+		} else if (!event) {
+			return parse(line, start, end);
+		}
+		this.cursor = start;
+		String title = stringField();
+		String meetingDays = stringField();
+		int startTime = intField();
+		int endTime = intField();
+		int weeklyRepeat = intField();
+		if (cursor > lineEnd) {
+			throw new IllegalArgumentException();
+		}
+		String eventDetails = pool.intern(chars, cursor, lineEnd);
+		return new Event(title, meetingDays, startTime, endTime, weeklyRepeat, eventDetails);
+	}
+
+	/**
+	 * Checks if a line has the fields of a course record
+	 * @param start index of the first character of the line
+	 * @param fields number of fields in the line, or 9 if it has more than 8
+	 * @return true if the line could be a course record
+	 */
+	private boolean isCourseShape(int start, int fields) {
+		if (fields != 6 && fields != 8) {
+			return false;
+		}
+		this.cursor = start;
+		skipFields(3);
+		if (!isIntField()) {
+			return false;
+		}
+		skipFields(2);
+		if (!isDaysField("MTWHF") && !isDaysField("A")) {
+			return false;
+		}
+		if (fields == 8) {
+			skipFields(1);
+			if (!isIntField()) {
+				return false;
+			}
+			skipFields(1);
+			return isIntField();
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if a line has the fields of an event record
+	 * @param start index of the first character of the line
+	 * @param fields number of fields in the line, or 9 if it has more than 8
+	 * @return true if the line could be an event record
+	 */
+	private boolean isEventShape(int start, int fields) {
+		if (fields < 6) {
+			return false;
+		}
+		this.cursor = start;
+		skipFields(1);
+		if (!isDaysField("UMTWHFS")) {
+			return false;
+		}
+		for (int i = 0; i < 3; i++) {
+			skipFields(1);
+			if (!isIntField()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Moves the cursor past the given number of fields
+	 * @param count number of fields to skip
+	 * @throws IllegalArgumentException if the line has too few fields
+	 */
+	private void skipFields(int count) {
+		for (int i = 0; i < count; i++) {
+			cursor = fieldEnd() + 1;
+		}
+	}
+
+	/**
+	 * Checks if the field that starts at the cursor is made only of the given day letters,
+	 * without moving the cursor
+	 * @param days the letters allowed in the field
+	 * @return true if the field is one or more of the letters
+	 * @throws IllegalArgumentException if the line has no more fields
+	 */
+	private boolean isDaysField(String days) {
+		int end = fieldEnd();
+		if (cursor == end) {
+			return false;
+		}
+		for (int i = cursor; i < end; i++) {
+			if (days.indexOf(chars[i]) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if the field that starts at the cursor is a decimal int, without moving the cursor
+	 * @return true if the field is one or more digits with an optional sign
+	 * @throws IllegalArgumentException if the line has no more fields
+	 */
+	private boolean isIntField() {
+		int end = fieldEnd();
+		int i = cursor;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			i++;
+		}
+		if (i == end) {
+			return false;
+		}
+		for (; i < end; i++) {
+			if (chars[i] < '0' || chars[i] > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the next field of the line as a String
+	 * @return the field
+	 * @throws IllegalArgumentException if the line has no more fields
+	 */
+	private String stringField() {
+		int end = fieldEnd();
+		String field = pool.intern(chars, cursor, end);
+		cursor = end + 1;
+		return field;
+	}
+
+	/**
+	 * Reads the next field of the line as a decimal int with an optional sign
+	 * @return the value of the field
+	 * @throws IllegalArgumentException if the line has no more fields or the field is not an int
+	 */
+	private int intField() {
+		int end = fieldEnd();
+		int i = cursor;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new IllegalArgumentException();
+		}
+		//Accumulate as a negative number so Integer.MIN_VALUE can be represented
+		int value = 0;
+		for (; i < end; i++) {
+			int digit = chars[i] - '0';
+			if (digit < 0 || digit > 9 || value < (Integer.MIN_VALUE + digit) / 10) {
+				throw new IllegalArgumentException();
+			}
+			value = value * 10 - digit;
+		}
+		if (!negative) {
+			if (value == Integer.MIN_VALUE) {
+				throw new IllegalArgumentException();
+			}
+			value = -value;
+		}
+		cursor = end + 1;
+		return value;
+	}
+
+	/**
+	 * Finds the end of the field that starts at the cursor
+	 * @return the index of the comma after the field, or the end of the line
+	 * @throws IllegalArgumentException if the line has no more fields
+	 */
+	private int fieldEnd() {
+		if (cursor > lineEnd) {
+			throw new IllegalArgumentException();
+		}
+		int end = cursor;
+		while (end < lineEnd && chars[end] != ',') {
+			end++;
+		}
+		return end;
+	}
+}
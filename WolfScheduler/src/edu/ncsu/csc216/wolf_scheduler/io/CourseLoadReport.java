@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * Counts of what happened to each line while a file of course records was loaded. Every line
+ * read is either loaded as a course, skipped as a duplicate of an earlier course with the same
+ * name and section, or skipped as invalid.
+ * @author Noah Benveniste
+ */
+public class CourseLoadReport {
+
+	/** Number of lines read from the file */
+	private int linesRead;
+	/** Number of courses loaded */
+	private int coursesLoaded;
+	/** Number of lines skipped because an earlier line had the same name and section */
+	private int duplicatesSkipped;
+	/** Number of lines skipped because they did not describe a valid course */
+	private int invalidLinesSkipped;
+
+	/**
+	 * Gets the number of lines read from the file
+	 * @return the linesRead
+	 */
+	public int getLinesRead() {
+		return linesRead;
+	}
+
+	/**
+	 * Gets the number of courses loaded
+	 * @return the coursesLoaded
+	 */
+	public int getCoursesLoaded() {
+		return coursesLoaded;
+	}
+
+	/**
+	 * Gets the number of lines skipped as duplicates
+	 * @return the duplicatesSkipped
+	 */
+	public int getDuplicatesSkipped() {
+		return duplicatesSkipped;
+	}
+
+	/**
+	 * Gets the number of lines skipped as invalid
+	 * @return the invalidLinesSkipped
+	 */
+	public int getInvalidLinesSkipped() {
+		return invalidLinesSkipped;
+	}
+
+	/**
+	 * Records a line that was loaded as a course
+	 */
+	void courseLoaded() {
+		linesRead++;
+		coursesLoaded++;
+	}
+
+	/**
+	 * Records a line that was skipped as a duplicate
+	 */
+	void duplicateSkipped() {
+		linesRead++;
+		duplicatesSkipped++;
+	}
+
+	/**
+	 * Records a line that was skipped as invalid
+	 */
+	void invalidLineSkipped() {
+		linesRead++;
+		invalidLinesSkipped++;
+	}
+
+	/**
+	 * Returns a one line summary of the counts
+	 * @return the summary
+	 */
+	@Override
+	public String toString() {
+		return linesRead + " lines read, " + coursesLoaded + " courses loaded, " + duplicatesSkipped +
+				" duplicates skipped, " + invalidLinesSkipped + " invalid lines skipped";
+	}
+}
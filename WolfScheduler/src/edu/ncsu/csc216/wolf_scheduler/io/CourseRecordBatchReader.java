@@ -0,0 +1,103 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads course records from a file a batch at a time, so a caller can show the courses read so
+ * far and the progress through the file while the rest is still being read. Lines are handled
+ * exactly as CourseRecordIO.readCourseRecords handles them: invalid lines are skipped, and when
+ * two lines have the same name and section only the first is loaded.
+ * @author Noah Benveniste
+ */
+public class CourseRecordBatchReader implements Closeable {
+
+	/** The file being read */
+	private FileInputStream file;
+	/** Size of the file in bytes when it was opened */
+	private long length;
+	/** Tokenizer for the lines of the file */
+	private CourseRecordTokenizer tokenizer;
+	/** Report to count loaded and skipped lines in */
+	private CourseLoadReport report;
+	/** Name and section of every course read so far */
+	private HashSet<String> keys;
+	/** True once the last line has been read */
+	private boolean done;
+
+	/**
+	 * Opens a file of course records
+	 * @param fileName file to read Course records from
+	 * @param report the report to count loaded and skipped lines in
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public CourseRecordBatchReader(String fileName, CourseLoadReport report) throws FileNotFoundException {
+		this.file = new FileInputStream(fileName);
+		this.length = new File(fileName).length();
+		this.tokenizer = new CourseRecordTokenizer(new InputStreamReader(this.file));
+		this.report = report;
+		this.keys = new HashSet<String>();
+	}
+
+	/**
+	 * Reads the next courses from the file
+	 * @param maxCourses the most courses to return
+	 * @return up to maxCourses courses in file order, or an empty list at the end of the file
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if maxCourses is less than 1
+	 */
+	public ArrayList<Course> nextBatch(int maxCourses) throws IOException {
+		if (maxCourses < 1) {
+			throw new IllegalArgumentException("Batch size must be at least 1.");
+		}
+		ArrayList<Course> batch = new ArrayList<Course>();
+		while (!done && batch.size() < maxCourses) {
+			if (!tokenizer.nextLine()) {
+				done = true;
+			} else {
+				try {
+					Course course = tokenizer.readCourse();
+					CourseRecordIO.addIfNew(course, CourseRecordIO.key(course), keys, batch, report);
+				} catch (IllegalArgumentException e) {
+					report.invalidLineSkipped();
+				}
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * Gets the size of the file
+	 * @return the length of the file in bytes
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Gets how far into the file the reader is. The tokenizer reads ahead of the last line
+	 * returned, so this is only accurate to the size of its buffer.
+	 * @return the number of bytes read from the file
+	 * @throws IOException if the file position cannot be read
+	 */
+	public long getPosition() throws IOException {
+		return file.getChannel().position();
+	}
+
+	/**
+	 * Closes the file
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		tokenizer.close();
+	}
+}
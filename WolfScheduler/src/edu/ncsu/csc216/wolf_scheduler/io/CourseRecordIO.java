@@ -2,9 +2,11 @@ package edu.ncsu.csc216.wolf_scheduler.io;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.HashSet;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
@@ -24,114 +26,114 @@ public class CourseRecordIO {
      * @throws FileNotFoundException if the file cannot be found or read
      */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-	    Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		return readCourseRecords(fileName, new CourseLoadReport());
+	}
+	
+    /**
+     * Reads course records from a file and generates a list of valid Courses, counting the lines
+     * that are loaded and skipped in the given report.  Invalid lines are skipped, and when two
+     * lines have the same name and section only the first is loaded.
+     * @param fileName file to read Course records from
+     * @param report the report to count loaded and skipped lines in
+     * @return a list of valid Courses
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+	public static ArrayList<Course> readCourseRecords(String fileName, CourseLoadReport report) throws FileNotFoundException {
+	    CourseRecordTokenizer fileReader = new CourseRecordTokenizer(new InputStreamReader(new FileInputStream(fileName)));
 	    
 	    //Generate the array list to contain the course objects
 	    ArrayList<Course> courses = new ArrayList<Course>();
+	    //Name and section of every course added so far, for constant time duplicate checks
+	    HashSet<String> keys = new HashSet<String>();
 	    
-	    //Continue reading through the file while there are lines to read
-	    while (fileReader.hasNextLine()) {
-	        //Try to read the course
-	    	try {
-	    		//Call the helper class to parse the line and get the course information
-	            Course course = readCourse(fileReader.nextLine());
-	            //If the course can be read, check for duplicates in the arraylist
-	            boolean duplicate = false;
-	            for (int i = 0; i < courses.size(); i++) {
-	                Course c = courses.get(i);
-	                if (course.getName().equals(c.getName()) &&
-	                        course.getSection().equals(c.getSection())) {
-	                    //it's a duplicate
-	                    duplicate = true;
-	                }
-	            }
-	            //If the current course object isn't a duplicate, add it to the arraylist
-	            if (!duplicate) {
-	                courses.add(course);
+	    try {
+	        //Continue reading through the file while there are lines to read
+	        while (fileReader.nextLine()) {
+	            //Try to read the course
+	            try {
+	                //Parse the line straight out of the tokenizer's buffer
+	                Course course = fileReader.readCourse();
+	                //If the current course object isn't a duplicate, add it to the arraylist
+	                addIfNew(course, key(course), keys, courses, report);
+	            //If the course is invalid, skip the line
+	            } catch (IllegalArgumentException e) {
+	                report.invalidLineSkipped();
 	            }
-	        //If the course is invalid, skip the line
-	        } catch (IllegalArgumentException e) {
-	            //skip the line
 	        }
+	    } catch (IOException e) {
+	        //Stop at a read error and keep the courses read so far, as Scanner did
+	    } finally {
+	        closeQuietly(fileReader);
 	    }
-	    fileReader.close();
 	    return courses;
 	}
+	
+    /**
+     * Reads course records the same way as readCourseRecords, but memory-maps the file and
+     * parses line-aligned chunks of it on several threads.  The file is never copied onto the
+     * heap as a whole, so this is the faster choice for very large files.  The courses are
+     * returned in file order and the first of two lines with the same name and section wins.
+     * @param fileName file to read Course records from
+     * @param threads number of threads to parse with
+     * @param report the report to count loaded and skipped lines in
+     * @return a list of valid Courses
+     * @throws FileNotFoundException if the file cannot be found or read
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+	public static ArrayList<Course> readCourseRecordsMapped(String fileName, int threads, CourseLoadReport report) throws FileNotFoundException {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Threads must be at least 1.");
+		}
+		try {
+			return new MappedCourseRecordReader(fileName, threads, Charset.defaultCharset()).read(report);
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			//The file opened but could not be read in full, so treat it as unreadable
+			FileNotFoundException unreadable = new FileNotFoundException(e.getMessage());
+			unreadable.initCause(e);
+			throw unreadable;
+		}
+	}
+	
+	/**
+	 * Adds a course to the list unless a course with the same name and section was already
+	 * added, and counts the line in the report
+	 * @param course the course read from the file
+	 * @param key the key for the course
+	 * @param keys the keys of the courses added so far
+	 * @param courses the courses added so far
+	 * @param report the report to count the line in
+	 */
+	static void addIfNew(Course course, String key, HashSet<String> keys, ArrayList<Course> courses, CourseLoadReport report) {
+		if (keys.add(key)) {
+			courses.add(course);
+			report.courseLoaded();
+		} else {
+			report.duplicateSkipped();
+		}
+	}
+	
+	/**
+	 * Creates the key that identifies a course by name and section. Names cannot contain a
+	 * comma, so the key is unique.
+	 * @param course the course
+	 * @return the key for the course
+	 */
+	static String key(Course course) {
+		return course.getName() + "," + course.getSection();
+	}
     
     /**
-     * Helper method that parses individual courses that are read in as lines from the input file
-     * and creates a course object
-     * @param nextLine
-     * @return a course object containing the course data that was given to the method
-     * @throws IllegalArgumentException if the string cannot be read or the string contains
-     * invalid data and the object cannot be created
+     * Closes a tokenizer, ignoring any error since the records have already been read
+     * @param tokenizer the tokenizer to close
      */
-    private static Course readCourse(String nextLine) {
-    	//Create the scanner object
-    	Scanner lineReader = new Scanner(nextLine);
-    	//Specify the token delimiter
-    	lineReader.useDelimiter(",");
-    	
-    	//Initialize variables to store tokens
-    	String courseName = "";
-    	String courseTitle =  "";
-    	String sectionNum = "";
-    	int credits = 0;
-    	String id = "";
-    	String meetingDays = "";
-    	/**
-    	String startTimeString = "";
-    	String endTimeString = "";
-    	*/
-    	int startTime = 0;
-    	int endTime = 0;
-    	Course c = null;
-    	
-    	//First, try to read in the tokens from the string
-    	try {
-    		//The first element should be a STRING for the COURSE NAME
-    		courseName = lineReader.next();
-    		//The next element should be a STRING for the COURSE TITLE
-    		courseTitle = lineReader.next();
-    		//The next element should be a STRING for the SECTION NUMBER
-    		sectionNum = lineReader.next();
-    		//The next element should be an INTEGER for the NUMBER OF CREDIT HOURS
-    		credits = lineReader.nextInt();
-    		//The next element should be a STRING for the instructor's ID
-    		id = lineReader.next();
-    		//The next element should be a STRING for the MEETING DAYS
-    		meetingDays = lineReader.next();
-    		//Check first that the line contains more tokens
-    		if (lineReader.hasNext() ) {
-    			//The next element should be a INTEGER for the START TIME (assuming the time isn't arranged)	
-    			startTime = lineReader.nextInt();
-    			
-    			//The next element should be a INTEGER for the END TIME (assuming the time isn't arranged)
-    			endTime = lineReader.nextInt();
-    		}	
-    	} catch (NoSuchElementException e) {
-    		//If an exception is thrown while parsing the string,
-    		//close the scanner and then throw an IllegalArgumentException for 
-    		//readCourseRecords().
-    		lineReader.close();
-    		throw new IllegalArgumentException();
-    	}
-    	
-    	//Once all tokens have been read in, try to create the object
+    private static void closeQuietly(CourseRecordTokenizer tokenizer) {
     	try {
-    		//If the meeting days is A, call the constructor for an arranged course
-    		if (meetingDays.equals("A") && startTime == 0 && endTime == 0) {
-    			c = new Course(courseName, courseTitle, sectionNum, credits, id, meetingDays);
-    		} else {
-    			c = new Course(courseName, courseTitle, sectionNum, credits, id, meetingDays, startTime, endTime);
-    		}
-    		
-    	} catch (IllegalArgumentException e) {
-    		lineReader.close();
-    		throw new IllegalArgumentException();
+    		tokenizer.close();
+    	} catch (IOException e) {
+    		//nothing left to read
     	}
-    	lineReader.close();
-    	return c;
-	}
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Streaming tokenizer for course records. Lines are read into a reusable character buffer and
+ * parsed in place by a CourseLineParser, so no String is created for a whole line.
+ * @author Noah Benveniste
+ */
+class CourseRecordTokenizer implements Closeable {
+
+	/** Initial size of the character buffer */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Source of the records */
+	private Reader in;
+	/** Buffer holding the current line and any characters read past it */
+	private char[] buf;
+	/** Index of the first character that has not been consumed */
+	private int pos;
+	/** Index one past the last character read into the buffer */
+	private int limit;
+	/** True once the reader has no more characters */
+	private boolean eof;
+	/** True if the last line ended with a carriage return, so a following line feed is skipped */
+	private boolean skipLineFeed;
+	/** Index of the first character of the current line */
+	private int lineStart;
+	/** Index one past the last character of the current line */
+	private int lineEnd;
+	/** Parser for the fields of the current line */
+	private CourseLineParser parser;
+
+	/**
+	 * Constructs a tokenizer for catalog records that reads from the given reader
+	 * @param in the reader to read records from
+	 */
+	CourseRecordTokenizer(Reader in) {
+		this(in, true);
+	}
+
+	/**
+	 * Constructs a tokenizer that reads from the given reader
+	 * @param in the reader to read records from
+	 * @param shared true if values are passed through the shared StringPool, false for files
+	 * written by users, whose values are only kept by this tokenizer
+	 */
+	CourseRecordTokenizer(Reader in, boolean shared) {
+		this.in = in;
+		this.buf = new char[BUFFER_SIZE];
+		this.parser = new CourseLineParser(shared);
+	}
+
+	/**
+	 * Moves to the next line of input. Lines end with a line feed, a carriage return or both.
+	 * @return true if there is another line, false at the end of the input
+	 * @throws IOException if the reader cannot be read
+	 */
+	boolean nextLine() throws IOException {
+		if (skipLineFeed) {
+			if (pos == limit) {
+				fill();
+			}
+			if (pos < limit && buf[pos] == '\n') {
+				pos++;
+			}
+			skipLineFeed = false;
+		}
+		int scan = pos;
+		while (true) {
+			for (; scan < limit; scan++) {
+				char ch = buf[scan];
+				if (ch == '\n' || ch == '\r') {
+					lineStart = pos;
+					lineEnd = scan;
+					pos = scan + 1;
+					skipLineFeed = ch == '\r';
+					return true;
+				}
+			}
+			if (eof) {
+				if (pos == limit) {
+					return false;
+				}
+				//The last line has no line terminator
+				lineStart = pos;
+				lineEnd = limit;
+				pos = limit;
+				return true;
+			}
+			int scanned = scan - pos;
+			fill();
+			scan = pos + scanned;
+		}
+	}
+
+	/**
+	 * Parses the current line as a Course
+	 * @return the Course described by the current line
+	 * @throws IllegalArgumentException if the line is missing fields or describes an invalid Course
+	 */
+	Course readCourse() {
+		return parser.parse(buf, lineStart, lineEnd);
+	}
+
+	/**
+	 * Parses the current line as a Course or an Event
+	 * @return the Activity described by the current line
+	 * @throws IllegalArgumentException if the line is missing fields or describes an invalid Activity
+	 */
+	Activity readActivity() {
+		return parser.parseActivity(buf, lineStart, lineEnd);
+	}
+
+	/**
+	 * Gets the current line as a String
+	 * @return the current line, without its line terminator
+	 */
+	String readLine() {
+		return new String(buf, lineStart, lineEnd - lineStart);
+	}
+
+	/**
+	 * Checks if the current line is empty
+	 * @return true if the current line has no characters
+	 */
+	boolean isBlankLine() {
+		return lineStart == lineEnd;
+	}
+
+	/**
+	 * Closes the underlying reader
+	 * @throws IOException if the reader cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Moves the unconsumed characters to the front of the buffer, growing it if it is full, and
+	 * reads more characters after them
+	 * @throws IOException if the reader cannot be read
+	 */
+	private void fill() throws IOException {
+		int remaining = limit - pos;
+		if (remaining == buf.length) {
+			//A single line fills the buffer
+			char[] larger = new char[buf.length * 2];
+			System.arraycopy(buf, pos, larger, 0, remaining);
+			buf = larger;
+		} else if (pos > 0) {
+			System.arraycopy(buf, pos, buf, 0, remaining);
+		}
+		pos = 0;
+		limit = remaining;
+		int read = in.read(buf, limit, buf.length - limit);
+		if (read < 0) {
+			eof = true;
+		} else {
+			limit += read;
+		}
+	}
+}
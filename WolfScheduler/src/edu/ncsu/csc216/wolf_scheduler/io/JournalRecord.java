@@ -0,0 +1,182 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * One change to a student's schedule, as written to a ScheduleJournal. A record holds the kind
+ * of change, the id of the session it was made to and the arguments of the change as strings.
+ * @author Noah Benveniste
+ */
+public class JournalRecord {
+
+	/**
+	 * The kinds of change that are journaled.
+	 * @author Noah Benveniste
+	 */
+	public enum Type {
+		/** A session was opened */
+		OPEN_SESSION(0),
+		/** A session was closed */
+		CLOSE_SESSION(0),
+		/** A course was added, with its name and section */
+		ADD_COURSE(2),
+		/** An event was added, with its title, meeting days, start and end time, weekly repeat and details */
+		ADD_EVENT(6),
+		/** A course was removed, with its name and section */
+		REMOVE_COURSE(2),
+		/** An event was removed, with its title */
+		REMOVE_EVENT(1),
+		/** The schedule was reset */
+		RESET_SCHEDULE(0),
+		/** The title was set, with the new title */
+		SET_TITLE(1);
+
+		/** Number of arguments a record of this type has */
+		private final int fieldCount;
+
+		/**
+		 * Constructs a type
+		 * @param fieldCount the number of arguments a record of this type has
+		 */
+		Type(int fieldCount) {
+			this.fieldCount = fieldCount;
+		}
+	}
+
+	/** The kind of change */
+	private final Type type;
+	/** The id of the session the change was made to */
+	private final String session;
+	/** The arguments of the change */
+	private final String[] fields;
+
+	/**
+	 * Constructs a record
+	 * @param type the kind of change
+	 * @param session the id of the session
+	 * @param fields the arguments of the change
+	 * @throws IllegalArgumentException if any argument is null or there are the wrong number of fields
+	 */
+	public JournalRecord(Type type, String session, String... fields) {
+		if (type == null || session == null || fields == null || fields.length != type.fieldCount) {
+			throw new IllegalArgumentException("Invalid journal record.");
+		}
+		for (int i = 0; i < fields.length; i++) {
+			if (fields[i] == null) {
+				throw new IllegalArgumentException("Invalid journal record.");
+			}
+		}
+		this.type = type;
+		this.session = session;
+		this.fields = fields.clone();
+	}
+
+	/**
+	 * Gets the kind of change
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Gets the id of the session the change was made to
+	 * @return the session id
+	 */
+	public String getSession() {
+		return session;
+	}
+
+	/**
+	 * Gets an argument of the change
+	 * @param idx the index of the argument
+	 * @return the argument
+	 * @throws IndexOutOfBoundsException if there is no argument at that index
+	 */
+	public String getField(int idx) {
+		return fields[idx];
+	}
+
+	/**
+	 * Gets an argument of the change as an integer
+	 * @param idx the index of the argument
+	 * @return the argument
+	 * @throws IndexOutOfBoundsException if there is no argument at that index
+	 * @throws NumberFormatException if the argument is not an integer
+	 */
+	public int getIntField(int idx) {
+		return Integer.parseInt(fields[idx]);
+	}
+
+	/**
+	 * Writes the record
+	 * @param out the output to write to
+	 * @throws IOException if the record cannot be written
+	 */
+	void write(DataOutput out) throws IOException {
+		out.writeByte(type.ordinal());
+		out.writeUTF(session);
+		for (int i = 0; i < fields.length; i++) {
+			out.writeUTF(fields[i]);
+		}
+	}
+
+	/**
+	 * Reads a record written by write()
+	 * @param in the input to read from
+	 * @return the record
+	 * @throws IOException if the record cannot be read or has an unknown type
+	 */
+	static JournalRecord read(DataInput in) throws IOException {
+		int ordinal = in.readUnsignedByte();
+		if (ordinal >= Type.values().length) {
+			throw new IOException("Unknown journal record type " + ordinal + ".");
+		}
+		Type type = Type.values()[ordinal];
+		String session = in.readUTF();
+		String[] fields = new String[type.fieldCount];
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = in.readUTF();
+		}
+		return new JournalRecord(type, session, fields);
+	}
+
+	/**
+	 * Compares two records by type, session and arguments
+	 * @param obj the object to compare
+	 * @return true if the records are the same
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof JournalRecord)) {
+			return false;
+		}
+		JournalRecord other = (JournalRecord) obj;
+		return type == other.type && session.equals(other.session) && Arrays.equals(fields, other.fields);
+	}
+
+	/**
+	 * Generates a hashCode from the type, session and arguments
+	 * @return the hashCode
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * type.hashCode() + session.hashCode()) + Arrays.hashCode(fields);
+	}
+
+	/**
+	 * Returns the record as its type, session and arguments separated by commas
+	 * @return the string form of the record
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(type.name()).append(',').append(session);
+		for (int i = 0; i < fields.length; i++) {
+			sb.append(',').append(fields[i]);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,252 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads a file of course records by memory-mapping it and parsing it on several threads. The
+ * file is split into line-aligned chunks, each chunk is mapped on its own and parsed by a task
+ * that copies only one line at a time onto the heap, and the parsed chunks are merged in file
+ * order so the first occurrence of a name and section still wins.
+ *
+ * Lines are found by their line feed and carriage return bytes, so the file's charset must
+ * encode ASCII characters as single bytes, as UTF-8 and the ISO-8859 charsets do.
+ * @author Noah Benveniste
+ */
+class MappedCourseRecordReader {
+
+	/** Smallest chunk worth giving its own task */
+	private static final long MIN_CHUNK_SIZE = 1 << 20;
+	/** Chunks per thread, so threads that finish early can take more of the work */
+	private static final int CHUNKS_PER_THREAD = 4;
+	/** Number of bytes read at a time while looking for a line boundary */
+	private static final int SCAN_SIZE = 4096;
+
+	/** File to read */
+	private String fileName;
+	/** Number of threads to parse with */
+	private int threads;
+	/** Charset the file is encoded in */
+	private Charset charset;
+
+	/**
+	 * Constructs a reader for the given file
+	 * @param fileName the file to read
+	 * @param threads the number of threads to parse with
+	 * @param charset the charset the file is encoded in
+	 */
+	MappedCourseRecordReader(String fileName, int threads, Charset charset) {
+		this.fileName = fileName;
+		this.threads = threads;
+		this.charset = charset;
+	}
+
+	/**
+	 * Reads the valid courses in the file, skipping invalid lines and any course with the same
+	 * name and section as an earlier one
+	 * @param report the report to count loaded and skipped lines in
+	 * @return the courses in the file, in file order
+	 * @throws IOException if the file cannot be opened, or any chunk of it cannot be mapped or
+	 * parsed, so a catalog is never returned with part of the file missing
+	 */
+	ArrayList<Course> read(CourseLoadReport report) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		final FileChannel channel = file.getChannel();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			long[] bounds = split(channel, channel.size());
+			ArrayList<Future<Chunk>> futures = new ArrayList<Future<Chunk>>();
+			for (int i = 0; i + 1 < bounds.length; i++) {
+				final long start = bounds[i];
+				final long length = bounds[i + 1] - bounds[i];
+				futures.add(pool.submit(new Callable<Chunk>() {
+					@Override
+					public Chunk call() throws IOException {
+						return parse(channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+					}
+				}));
+			}
+
+			ArrayList<Course> courses = new ArrayList<Course>();
+			HashSet<String> keys = new HashSet<String>();
+			for (int i = 0; i < futures.size(); i++) {
+				Chunk chunk;
+				try {
+					chunk = futures.get(i).get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof IOException) {
+						throw (IOException) cause;
+					}
+					if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw new IOException("The file could not be read.", cause);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Reading the file was interrupted.");
+				}
+				for (int j = 0; j < chunk.courses.size(); j++) {
+					CourseRecordIO.addIfNew(chunk.courses.get(j), chunk.keys.get(j), keys, courses, report);
+				}
+				for (int j = 0; j < chunk.invalidLines; j++) {
+					report.invalidLineSkipped();
+				}
+			}
+			return courses;
+		} finally {
+			pool.shutdownNow();
+			file.close();
+		}
+	}
+
+	/**
+	 * Splits the file into chunks that each start at the beginning of a line
+	 * @param channel the file
+	 * @param size the size of the file
+	 * @return the offsets of the chunk boundaries, starting with 0 and ending with size
+	 * @throws IOException if the file cannot be read
+	 */
+	private long[] split(FileChannel channel, long size) throws IOException {
+		long chunks = Math.max(1, Math.min((long) threads * CHUNKS_PER_THREAD, size / MIN_CHUNK_SIZE));
+		//A single mapping cannot be larger than Integer.MAX_VALUE bytes
+		chunks = Math.max(chunks, size / Integer.MAX_VALUE + 2);
+		long[] bounds = new long[(int) chunks + 1];
+		for (int i = 1; i < chunks; i++) {
+			bounds[i] = Math.max(bounds[i - 1], lineStartAtOrAfter(channel, size * i / chunks, size));
+		}
+		bounds[(int) chunks] = size;
+		return bounds;
+	}
+
+	/**
+	 * Finds the first line start at or after the given offset
+	 * @param channel the file
+	 * @param offset the offset to start looking at
+	 * @param size the size of the file
+	 * @return the offset of the line start, or size if there is none
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long lineStartAtOrAfter(FileChannel channel, long offset, long size) throws IOException {
+		if (offset == 0) {
+			return 0;
+		}
+		ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+		//Read from the byte before the offset, since it decides whether a line starts at offset
+		long bufferStart = offset - 1;
+		byte previous = 0;
+		boolean havePrevious = false;
+		while (bufferStart < size) {
+			scan.clear();
+			int read = channel.read(scan, bufferStart);
+			if (read <= 0) {
+				break;
+			}
+			for (int k = 0; k < read; k++) {
+				byte b = scan.get(k);
+				if (havePrevious && (previous == '\n' || (previous == '\r' && b != '\n'))) {
+					return bufferStart + k;
+				}
+				previous = b;
+				havePrevious = true;
+			}
+			bufferStart += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Parses every line in a chunk
+	 * @param bytes the mapped chunk
+	 * @return the valid courses in the chunk, in order, their keys and the number of invalid lines
+	 */
+	private Chunk parse(MappedByteBuffer bytes) {
+		Chunk chunk = new Chunk();
+		CourseLineParser parser = new CourseLineParser();
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		char[] line = new char[256];
+		int n = bytes.limit();
+		int p = 0;
+		while (p < n) {
+			int e = p;
+			byte b = 0;
+			while (e < n && (b = bytes.get(e)) != '\n' && b != '\r') {
+				e++;
+			}
+			//Copy ASCII lines straight into the line buffer and decode anything else
+			boolean ascii = true;
+			if (line.length < e - p) {
+				line = new char[Math.max(e - p, line.length * 2)];
+			}
+			for (int i = p; i < e && ascii; i++) {
+				byte c = bytes.get(i);
+				ascii = c >= 0;
+				line[i - p] = (char) c;
+			}
+			int length = ascii ? e - p : -1;
+			while (length < 0) {
+				ByteBuffer in = bytes.duplicate();
+				in.limit(e);
+				in.position(p);
+				CharBuffer out = CharBuffer.wrap(line);
+				decoder.reset();
+				CoderResult result = decoder.decode(in, out, true);
+				if (!result.isOverflow()) {
+					result = decoder.flush(out);
+				}
+				if (result.isOverflow()) {
+					line = new char[line.length * 2];
+				} else {
+					length = out.position();
+				}
+			}
+			try {
+				Course course = parser.parse(line, 0, length);
+				//Build the key here, on the chunk's thread, so the merge only has to look it up
+				chunk.courses.add(course);
+				chunk.keys.add(CourseRecordIO.key(course));
+			} catch (IllegalArgumentException iae) {
+				chunk.invalidLines++;
+			}
+			if (e < n && b == '\r' && e + 1 < n && bytes.get(e + 1) == '\n') {
+				p = e + 2;
+			} else {
+				p = e + 1;
+			}
+		}
+		return chunk;
+	}
+
+	/**
+	 * The result of parsing one chunk of the file.
+	 * @author Noah Benveniste
+	 */
+	private static class Chunk {
+		/** The valid courses in the chunk, in order */
+		private ArrayList<Course> courses = new ArrayList<Course>();
+		/** The name and section key of each course */
+		private ArrayList<String> keys = new ArrayList<String>();
+		/** The number of invalid lines in the chunk */
+		private int invalidLines;
+	}
+}
@@ -0,0 +1,539 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * An append-only file of JournalRecords, each given the next sequence number. Appending a
+ * record only buffers it; awaitDurable() returns once the record has been written and forced to
+ * disk. Records are forced in groups: the first thread to wait writes every buffered record and
+ * forces the file once, and threads that append while it does so are covered by the next force.
+ * Under load, one force makes many records durable.
+ *
+ * A journal holds, in order and big-endian, the magic number, the format version and then one
+ * frame per record: the length of the frame body, the body and a CRC-32 of the body. The body
+ * is the sequence number followed by the record. A frame cut short by a crash, or whose checksum
+ * does not match, ends the journal; opening the journal cuts it off so new records follow the
+ * last whole one.
+ *
+ * A snapshot holds the magic number, the format version, the sequence number of the last record
+ * it covers, the number of records, the records and a CRC-32 of everything before it. Snapshots
+ * are written to a temporary file, forced and renamed over the old snapshot, so a crash leaves
+ * either the old snapshot or the new one.
+ * @author Noah Benveniste
+ */
+public class ScheduleJournal implements Closeable {
+
+	/** First four bytes of every journal, "WSJL" */
+	public static final int MAGIC = 0x57534A4C;
+	/** First four bytes of every snapshot, "WSSS" */
+	public static final int SNAPSHOT_MAGIC = 0x57535353;
+	/** Version of the journal and snapshot formats written by this class */
+	public static final int VERSION = 1;
+	/** Number of bytes in the journal header */
+	private static final int HEADER_BYTES = 8;
+	/** Number of bytes in a frame besides its body */
+	private static final int FRAME_BYTES = 8;
+	/** Smallest frame body: a sequence number, a type and an empty session id */
+	private static final int MIN_BODY_BYTES = 11;
+	/** Largest frame body that is read; a longer length can only be damage */
+	private static final int MAX_BODY_BYTES = 1 << 20;
+
+	/** The journal file */
+	private final Path path;
+	/** Guards everything below */
+	private final Object lock = new Object();
+	/** Channel the journal is written through */
+	private FileChannel channel;
+	/** Frames appended but not yet written */
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream(8192);
+	/** Writes frames into pending */
+	private final DataOutputStream pendingOut = new DataOutputStream(pending);
+	/** Holds the body of the frame being appended */
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+	/** Writes the body of the frame being appended */
+	private final DataOutputStream bodyOut = new DataOutputStream(body);
+	/** Checksum of the body of the frame being appended */
+	private final CRC32 crc = new CRC32();
+	/** Sequence number of the next record appended */
+	private long nextSeq;
+	/** Sequence number of the last record forced to disk */
+	private long durableSeq;
+	/** Whether a thread is writing and forcing records */
+	private boolean committing;
+	/** Whether the journal has been closed */
+	private boolean closed;
+	/** The error that stopped the journal, or null */
+	private IOException failure;
+	/** Number of records appended since the journal was opened */
+	private long recordCount;
+	/** Number of times the file has been forced since the journal was opened */
+	private long commitCount;
+
+	/**
+	 * Opens a journal, creating it if it does not exist and cutting off any damaged frames at its
+	 * end. Records appended are numbered after the last record in the file and after lastSeq.
+	 * @param fileName the journal file
+	 * @param lastSeq a sequence number the records appended must come after, such as that of
+	 * the last snapshot
+	 * @throws IOException if the file cannot be opened or is not a journal
+	 */
+	public ScheduleJournal(String fileName, long lastSeq) throws IOException {
+		this.path = Paths.get(fileName);
+		this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			long[] end = new long[1];
+			long last = scan(Channels.newInputStream(this.channel), 0, null, end);
+			if (end[0] == 0) {
+				//Empty, or a header cut short by a crash
+				this.channel.truncate(0);
+				writeHeader(this.channel);
+			} else if (end[0] < this.channel.size()) {
+				this.channel.truncate(end[0]);
+				this.channel.force(false);
+			}
+			this.channel.position(this.channel.size());
+			this.nextSeq = Math.max(last, lastSeq) + 1;
+			this.durableSeq = this.nextSeq - 1;
+		} catch (IOException e) {
+			this.channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Buffers a record to be written. The record is not durable until awaitDurable() returns
+	 * for its sequence number.
+	 * @param record the record
+	 * @return the record's sequence number
+	 * @throws IOException if the journal is closed or has failed, or the record is too long
+	 */
+	public long append(JournalRecord record) throws IOException {
+		synchronized (this.lock) {
+			checkOpen();
+			this.body.reset();
+			this.bodyOut.writeLong(this.nextSeq);
+			record.write(this.bodyOut);
+			this.crc.reset();
+			byte[] bytes = this.body.toByteArray();
+			this.crc.update(bytes, 0, bytes.length);
+			this.pendingOut.writeInt(bytes.length);
+			this.pendingOut.write(bytes);
+			this.pendingOut.writeInt((int) this.crc.getValue());
+			this.recordCount++;
+			return this.nextSeq++;
+		}
+	}
+
+	/**
+	 * Waits until a record has been forced to disk, forcing it and every other buffered record
+	 * if no other thread is already doing so
+	 * @param seq the record's sequence number
+	 * @throws IOException if the records cannot be written, or the journal is closed before the
+	 * record is durable
+	 * @throws IllegalArgumentException if no record with that sequence number has been appended
+	 */
+	public void awaitDurable(long seq) throws IOException {
+		while (true) {
+			ByteBuffer batch;
+			long upTo;
+			synchronized (this.lock) {
+				if (seq >= this.nextSeq) {
+					throw new IllegalArgumentException("Record " + seq + " has not been appended.");
+				}
+				while (this.durableSeq < seq && this.committing && this.failure == null) {
+					waitForCommit();
+				}
+				if (this.durableSeq >= seq) {
+					return;
+				}
+				checkOpen();
+				//Become the thread that commits everything buffered so far
+				this.committing = true;
+				batch = takePending();
+				upTo = this.nextSeq - 1;
+			}
+			commit(batch, upTo);
+		}
+	}
+
+	/**
+	 * Forces every record appended so far to disk
+	 * @throws IOException if the records cannot be written or the journal is closed
+	 */
+	public void flush() throws IOException {
+		long last;
+		synchronized (this.lock) {
+			last = this.nextSeq - 1;
+		}
+		if (last > 0) {
+			awaitDurable(last);
+		}
+	}
+
+	/**
+	 * Forces every record appended so far to disk, renames the journal and starts a new empty
+	 * journal in its place. Records appended afterward go to the new journal and keep counting
+	 * up from the old one.
+	 * @param oldFileName the name to give the old journal
+	 * @return the sequence number of the last record in the old journal
+	 * @throws IOException if the records cannot be written or the files cannot be renamed or
+	 * created
+	 */
+	public long rotate(String oldFileName) throws IOException {
+		synchronized (this.lock) {
+			while (this.committing && this.failure == null) {
+				waitForCommit();
+			}
+			checkOpen();
+			try {
+				write(takePending());
+				this.channel.force(false);
+				this.durableSeq = this.nextSeq - 1;
+				this.channel.close();
+				Files.move(this.path, Paths.get(oldFileName), StandardCopyOption.ATOMIC_MOVE);
+				this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+				writeHeader(this.channel);
+			} catch (IOException e) {
+				fail(e);
+				throw e;
+			}
+			return this.durableSeq;
+		}
+	}
+
+	/**
+	 * Forces every record appended so far to disk and closes the journal
+	 * @throws IOException if the records cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this.lock) {
+			if (this.closed) {
+				return;
+			}
+			while (this.committing && this.failure == null) {
+				waitForCommit();
+			}
+			try {
+				if (this.failure == null) {
+					write(takePending());
+					this.channel.force(false);
+					this.durableSeq = this.nextSeq - 1;
+				}
+			} finally {
+				this.closed = true;
+				this.channel.close();
+				this.lock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Gets the sequence number of the last record appended, or of the record the journal was
+	 * told to follow if none has been appended
+	 * @return the sequence number
+	 */
+	public long getLastSeq() {
+		synchronized (this.lock) {
+			return this.nextSeq - 1;
+		}
+	}
+
+	/**
+	 * Gets the number of records appended since the journal was opened
+	 * @return the number of records
+	 */
+	public long getRecordCount() {
+		synchronized (this.lock) {
+			return this.recordCount;
+		}
+	}
+
+	/**
+	 * Gets the number of times records have been forced to disk since the journal was opened
+	 * @return the number of forces
+	 */
+	public long getCommitCount() {
+		synchronized (this.lock) {
+			return this.commitCount;
+		}
+	}
+
+	/**
+	 * Reads the records in a journal, stopping at the first damaged frame
+	 * @param fileName the journal file
+	 * @param afterSeq only records with a greater sequence number are read
+	 * @param records the list to add the records to, in journal order
+	 * @return the sequence number of the last whole record in the journal, or 0 if there is none
+	 * @throws IOException if the file cannot be read or is not a journal
+	 */
+	public static long readJournal(String fileName, long afterSeq, List<JournalRecord> records) throws IOException {
+		InputStream in = Files.newInputStream(Paths.get(fileName));
+		try {
+			return scan(in, afterSeq, records, new long[1]);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Writes a snapshot, replacing any snapshot already in the file
+	 * @param fileName the snapshot file
+	 * @param lastSeq the sequence number of the last journal record the snapshot covers
+	 * @param records records that rebuild the state the snapshot captures
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static void writeSnapshot(String fileName, long lastSeq, List<JournalRecord> records) throws IOException {
+		Path target = Paths.get(fileName);
+		//A temporary file of its own in the target's directory, so snapshots written at once cannot mix
+		Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+		boolean moved = false;
+		try {
+			writeSnapshot(temp, lastSeq, records);
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/**
+	 * Writes a snapshot to a new file and forces it to disk
+	 * @param temp the file, which is empty
+	 * @param lastSeq the sequence number of the last journal record the snapshot covers
+	 * @param records records that rebuild the state the snapshot captures
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	private static void writeSnapshot(Path temp, long lastSeq, List<JournalRecord> records) throws IOException {
+		FileChannel ch = FileChannel.open(temp, StandardOpenOption.WRITE);
+		try {
+			CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch), 65536), new CRC32());
+			DataOutputStream out = new DataOutputStream(checked);
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(lastSeq);
+			out.writeInt(records.size());
+			for (int i = 0; i < records.size(); i++) {
+				records.get(i).write(out);
+			}
+			out.writeInt((int) checked.getChecksum().getValue());
+			out.flush();
+			ch.force(true);
+		} finally {
+			ch.close();
+		}
+	}
+
+	/**
+	 * Reads a snapshot
+	 * @param fileName the snapshot file
+	 * @param records the list to add the snapshot's records to
+	 * @return the sequence number of the last journal record the snapshot covers
+	 * @throws IOException if the file cannot be read, is not a snapshot or is damaged
+	 */
+	public static long readSnapshot(String fileName, List<JournalRecord> records) throws IOException {
+		CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(fileName)), 65536), new CRC32());
+		DataInputStream in = new DataInputStream(checked);
+		try {
+			if (in.readInt() != SNAPSHOT_MAGIC) {
+				throw new IOException("Not a schedule snapshot.");
+			}
+			if (in.readInt() != VERSION) {
+				throw new IOException("Unsupported snapshot version.");
+			}
+			long lastSeq = in.readLong();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				records.add(JournalRecord.read(in));
+			}
+			int expected = (int) checked.getChecksum().getValue();
+			if (in.readInt() != expected) {
+				throw new IOException("Snapshot checksum does not match.");
+			}
+			return lastSeq;
+		} catch (EOFException e) {
+			throw new IOException("Snapshot is incomplete.");
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Reads frames from the start of a journal until the end or the first damaged frame
+	 * @param input the journal's contents; it is not closed
+	 * @param afterSeq only records with a greater sequence number are read
+	 * @param records the list to add the records to, or null to only find the end
+	 * @param end set to the offset just past the last whole frame, or 0 if the header is incomplete
+	 * @return the sequence number of the last whole record, or 0 if there is none
+	 * @throws IOException if the journal cannot be read or is not a journal
+	 */
+	private static long scan(InputStream input, long afterSeq, List<JournalRecord> records, long[] end) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(input, 65536));
+		try {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a schedule journal.");
+			}
+			if (in.readInt() != VERSION) {
+				throw new IOException("Unsupported journal version.");
+			}
+		} catch (EOFException e) {
+			end[0] = 0;
+			return 0;
+		}
+		long offset = HEADER_BYTES;
+		long lastSeq = 0;
+		CRC32 check = new CRC32();
+		byte[] buffer = new byte[256];
+		try {
+			while (true) {
+				int length = in.readInt();
+				if (length < MIN_BODY_BYTES || length > MAX_BODY_BYTES) {
+					break;
+				}
+				if (buffer.length < length) {
+					buffer = new byte[length];
+				}
+				in.readFully(buffer, 0, length);
+				int stored = in.readInt();
+				check.reset();
+				check.update(buffer, 0, length);
+				if ((int) check.getValue() != stored) {
+					break;
+				}
+				DataInputStream frame = new DataInputStream(new ByteArrayInputStream(buffer, 0, length));
+				long seq = frame.readLong();
+				if (records != null && seq > afterSeq) {
+					records.add(JournalRecord.read(frame));
+				}
+				lastSeq = seq;
+				offset += FRAME_BYTES + length;
+			}
+		} catch (EOFException e) {
+			//A frame cut short by a crash ends the journal
+		}
+		end[0] = offset;
+		return lastSeq;
+	}
+
+	/**
+	 * Writes the journal header at the start of an empty file and forces it to disk
+	 * @param ch the file
+	 * @throws IOException if the header cannot be written
+	 */
+	private static void writeHeader(FileChannel ch) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC).putInt(VERSION).flip();
+		while (header.hasRemaining()) {
+			ch.write(header);
+		}
+		ch.force(true);
+	}
+
+	/**
+	 * Writes a batch of frames and forces them to disk, then wakes the threads waiting for them.
+	 * Called without the lock, by the one thread that set committing.
+	 * @param batch the frames
+	 * @param upTo the sequence number of the last record in the batch
+	 * @throws IOException if the frames cannot be written
+	 */
+	private void commit(ByteBuffer batch, long upTo) throws IOException {
+		try {
+			write(batch);
+			this.channel.force(false);
+		} catch (IOException e) {
+			synchronized (this.lock) {
+				fail(e);
+			}
+			throw e;
+		}
+		synchronized (this.lock) {
+			this.durableSeq = upTo;
+			this.committing = false;
+			this.commitCount++;
+			this.lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Writes a batch of frames at the end of the journal
+	 * @param batch the frames
+	 * @throws IOException if the frames cannot be written
+	 */
+	private void write(ByteBuffer batch) throws IOException {
+		while (batch.hasRemaining()) {
+			this.channel.write(batch);
+		}
+	}
+
+	/**
+	 * Takes the frames buffered so far. Called with the lock held.
+	 * @return the frames
+	 */
+	private ByteBuffer takePending() {
+		ByteBuffer batch = ByteBuffer.wrap(this.pending.toByteArray());
+		this.pending.reset();
+		return batch;
+	}
+
+	/**
+	 * Stops the journal after an error, so no record after a lost one is ever acknowledged.
+	 * Called with the lock held.
+	 * @param e the error
+	 */
+	private void fail(IOException e) {
+		this.failure = e;
+		this.committing = false;
+		this.lock.notifyAll();
+	}
+
+	/**
+	 * Checks that records can still be appended. Called with the lock held.
+	 * @throws IOException if the journal is closed or has failed
+	 */
+	private void checkOpen() throws IOException {
+		if (this.failure != null) {
+			throw new IOException("The journal cannot be written.", this.failure);
+		}
+		if (this.closed) {
+			throw new IOException("The journal is closed.");
+		}
+	}
+
+	/**
+	 * Waits for the thread committing records to finish. Called with the lock held.
+	 * @throws InterruptedIOException if the thread is interrupted while waiting
+	 */
+	private void waitForCommit() throws InterruptedIOException {
+		try {
+			this.lock.wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for the journal.");
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Reads a file of schedules one schedule at a time, so a file of thousands of schedules never
+ * has to be held in memory at once. Each schedule is a header line, then one activity record
+ * per line in the format written by ActivityRecordIO, then a blank line. The header is the
+ * schedule's id, a comma and its title; a header with no comma is only an id.
+ *
+ * Activity lines are told apart by their fields: an event record has its weekly repeat, an int,
+ * where a course record has its instructor id. Courses are read as written and are not looked
+ * up in any catalog; invalid lines are skipped and counted. Values read from the file are not
+ * added to the shared StringPool.
+ * @author Noah Benveniste
+ */
+public class ScheduleRecordReader implements Closeable {
+
+	/** Tokenizer for the lines of the file */
+	private CourseRecordTokenizer tokenizer;
+	/** True if each schedule starts with a header, false if the file is one exported schedule */
+	private boolean headers;
+	/** True once the last line has been read */
+	private boolean done;
+	/** Id of the current schedule */
+	private String id;
+	/** Title of the current schedule, or null if its header has none */
+	private String title;
+	/** Activities of the current schedule */
+	private ArrayList<Activity> activities;
+	/** Number of activity lines that could not be read */
+	private int invalidLines;
+
+	/**
+	 * Opens a file of schedules
+	 * @param fileName the file to read
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public ScheduleRecordReader(String fileName) throws FileNotFoundException {
+		this(fileName, true);
+	}
+
+	/**
+	 * Opens a file of schedules, or a file holding one exported schedule with no header
+	 * @param fileName the file to read
+	 * @param headers true if each schedule starts with a header
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	ScheduleRecordReader(String fileName, boolean headers) throws FileNotFoundException {
+		this.tokenizer = new CourseRecordTokenizer(new InputStreamReader(new FileInputStream(fileName)), false);
+		this.headers = headers;
+		this.activities = new ArrayList<Activity>();
+	}
+
+	/**
+	 * Reads the next schedule from the file
+	 * @return true if a schedule was read, false at the end of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	public boolean nextSchedule() throws IOException {
+		this.id = null;
+		this.title = null;
+		this.activities = new ArrayList<Activity>();
+		if (done) {
+			return false;
+		}
+		if (headers) {
+			//Blank lines between schedules are allowed
+			do {
+				if (!tokenizer.nextLine()) {
+					done = true;
+					return false;
+				}
+			} while (tokenizer.isBlankLine());
+			String header = tokenizer.readLine();
+			int comma = header.indexOf(',');
+			this.id = comma < 0 ? header : header.substring(0, comma);
+			this.title = comma < 0 ? null : header.substring(comma + 1);
+		}
+		while (tokenizer.nextLine()) {
+			if (tokenizer.isBlankLine()) {
+				if (headers) {
+					return true;
+				}
+			} else {
+				try {
+					activities.add(tokenizer.readActivity());
+				} catch (IllegalArgumentException e) {
+					invalidLines++;
+				}
+			}
+		}
+		done = true;
+		return true;
+	}
+
+	/**
+	 * Gets the id of the schedule last read
+	 * @return the id, or null if the file has no headers or no schedule has been read
+	 */
+	public String getId() {
+		return this.id;
+	}
+
+	/**
+	 * Gets the title of the schedule last read
+	 * @return the title, or null if its header has none
+	 */
+	public String getTitle() {
+		return this.title;
+	}
+
+	/**
+	 * Gets the activities of the schedule last read. Each schedule gets a new list, so the list
+	 * can be kept after the next schedule is read.
+	 * @return the activities, in file order
+	 */
+	public ArrayList<Activity> getActivities() {
+		return this.activities;
+	}
+
+	/**
+	 * Gets the number of activity lines skipped so far because they were invalid
+	 * @return the number of lines
+	 */
+	public int getInvalidLines() {
+		return this.invalidLines;
+	}
+
+	/**
+	 * Closes the file
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		tokenizer.close();
+	}
+}
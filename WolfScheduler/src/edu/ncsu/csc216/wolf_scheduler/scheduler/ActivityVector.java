@@ -0,0 +1,369 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * An immutable list of activities that is changed by making a new version of it. Each version
+ * is a balanced binary tree of the activities in list order, where every node knows the size of
+ * its subtree. Appending, removing or replacing an activity copies only the O(log n) nodes on
+ * the path to it and shares every other node with the version it was made from, so keeping
+ * many versions of a schedule costs O(log n) memory per change rather than a copy of the list.
+ *
+ * Getting an activity by index takes O(log n) time and iterating over the list takes O(n).
+ * The list cannot be changed through the List interface, and versions can be shared freely
+ * between threads.
+ * @author Noah Benveniste
+ */
+public class ActivityVector extends AbstractList<Activity> {
+
+	/** The empty vector */
+	public static final ActivityVector EMPTY = new ActivityVector(null);
+
+	/** Root of the tree, or null if the vector is empty */
+	private final Node root;
+
+	/**
+	 * A node of the tree, which is never changed once made
+	 * @author Noah Benveniste
+	 */
+	private static final class Node {
+		/** The activity at this node */
+		final Activity value;
+		/** Activities before this one */
+		final Node left;
+		/** Activities after this one */
+		final Node right;
+		/** Number of activities in this subtree */
+		final int size;
+		/** Height of this subtree */
+		final int height;
+
+		/**
+		 * Constructs a node
+		 * @param value the activity at the node
+		 * @param left the activities before it, or null
+		 * @param right the activities after it, or null
+		 */
+		Node(Activity value, Node left, Node right) {
+			this.value = value;
+			this.left = left;
+			this.right = right;
+			this.size = size(left) + size(right) + 1;
+			this.height = Math.max(height(left), height(right)) + 1;
+		}
+	}
+
+	/**
+	 * Constructs a vector with the given tree
+	 * @param root the root of the tree
+	 */
+	private ActivityVector(Node root) {
+		this.root = root;
+	}
+
+	/**
+	 * Makes a vector of the activities in a list
+	 * @param activities the activities, in order
+	 * @return a vector of the same activities, in the same order
+	 * @throws IllegalArgumentException if an activity is null
+	 */
+	public static ActivityVector of(List<Activity> activities) {
+		if (activities instanceof ActivityVector) {
+			return (ActivityVector) activities;
+		}
+		Activity[] values = activities.toArray(new Activity[activities.size()]);
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == null) {
+				throw new IllegalArgumentException("Activity cannot be null.");
+			}
+		}
+		return values.length == 0 ? EMPTY : new ActivityVector(build(values, 0, values.length));
+	}
+
+	/**
+	 * Gets the number of activities
+	 * @return the size
+	 */
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	/**
+	 * Gets the activity at an index
+	 * @param idx the index
+	 * @return the activity
+	 * @throws IndexOutOfBoundsException if idx is not a valid index
+	 */
+	@Override
+	public Activity get(int idx) {
+		checkIndex(idx, size());
+		Node n = root;
+		while (true) {
+			int leftSize = size(n.left);
+			if (idx < leftSize) {
+				n = n.left;
+			} else if (idx > leftSize) {
+				idx -= leftSize + 1;
+				n = n.right;
+			} else {
+				return n.value;
+			}
+		}
+	}
+
+	/**
+	 * Iterates over the activities in order, walking the tree once
+	 * @return the iterator
+	 */
+	@Override
+	public Iterator<Activity> iterator() {
+		return new VectorIterator(root);
+	}
+
+	/**
+	 * Makes a vector with an activity added at the end
+	 * @param activity the activity to add
+	 * @return the new vector; this vector is unchanged
+	 * @throws IllegalArgumentException if the activity is null
+	 */
+	public ActivityVector append(Activity activity) {
+		if (activity == null) {
+			throw new IllegalArgumentException("Activity cannot be null.");
+		}
+		return new ActivityVector(insert(root, size(), activity));
+	}
+
+	/**
+	 * Makes a vector without the activity at an index
+	 * @param idx the index of the activity to leave out
+	 * @return the new vector; this vector is unchanged
+	 * @throws IndexOutOfBoundsException if idx is not a valid index
+	 */
+	public ActivityVector removeAt(int idx) {
+		checkIndex(idx, size());
+		Node next = remove(root, idx);
+		return next == null ? EMPTY : new ActivityVector(next);
+	}
+
+	/**
+	 * Makes a vector with the activity at an index replaced
+	 * @param idx the index of the activity to replace
+	 * @param activity the activity to put in its place
+	 * @return the new vector; this vector is unchanged
+	 * @throws IndexOutOfBoundsException if idx is not a valid index
+	 * @throws IllegalArgumentException if the activity is null
+	 */
+	public ActivityVector replaceAt(int idx, Activity activity) {
+		checkIndex(idx, size());
+		if (activity == null) {
+			throw new IllegalArgumentException("Activity cannot be null.");
+		}
+		return new ActivityVector(replace(root, idx, activity));
+	}
+
+	/**
+	 * Gets the height of the tree, which is at most about 1.44 log2(n + 2)
+	 * @return the height, or 0 if the vector is empty
+	 */
+	int height() {
+		return height(root);
+	}
+
+	/**
+	 * Checks that an index is in a list
+	 * @param idx the index
+	 * @param size the size of the list
+	 * @throws IndexOutOfBoundsException if it is not
+	 */
+	private static void checkIndex(int idx, int size) {
+		if (idx < 0 || idx >= size) {
+			throw new IndexOutOfBoundsException("Index: " + idx + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Gets the size of a subtree
+	 * @param n the subtree, or null
+	 * @return its size
+	 */
+	private static int size(Node n) {
+		return n == null ? 0 : n.size;
+	}
+
+	/**
+	 * Gets the height of a subtree
+	 * @param n the subtree, or null
+	 * @return its height
+	 */
+	private static int height(Node n) {
+		return n == null ? 0 : n.height;
+	}
+
+	/**
+	 * Builds a perfectly balanced subtree of a range of activities
+	 * @param values the activities
+	 * @param from the first index of the range
+	 * @param to one past the last index of the range
+	 * @return the subtree, or null if the range is empty
+	 */
+	private static Node build(Activity[] values, int from, int to) {
+		if (from == to) {
+			return null;
+		}
+		int mid = (from + to) >>> 1;
+		return new Node(values[mid], build(values, from, mid), build(values, mid + 1, to));
+	}
+
+	/**
+	 * Makes a node, rotating it if one side is more than one level taller than the other. The
+	 * two sides must already be balanced and differ in height by at most two.
+	 * @param value the activity at the node
+	 * @param left the activities before it
+	 * @param right the activities after it
+	 * @return the balanced subtree
+	 */
+	private static Node balance(Activity value, Node left, Node right) {
+		int hl = height(left);
+		int hr = height(right);
+		if (hl > hr + 1) {
+			if (height(left.left) >= height(left.right)) {
+				return new Node(left.value, left.left, new Node(value, left.right, right));
+			}
+			return new Node(left.right.value, new Node(left.value, left.left, left.right.left),
+					new Node(value, left.right.right, right));
+		}
+		if (hr > hl + 1) {
+			if (height(right.right) >= height(right.left)) {
+				return new Node(right.value, new Node(value, left, right.left), right.right);
+			}
+			return new Node(right.left.value, new Node(value, left, right.left.left),
+					new Node(right.value, right.left.right, right.right));
+		}
+		return new Node(value, left, right);
+	}
+
+	/**
+	 * Makes a subtree with an activity inserted
+	 * @param n the subtree, or null
+	 * @param idx the index in the subtree to insert at
+	 * @param activity the activity
+	 * @return the new subtree
+	 */
+	private static Node insert(Node n, int idx, Activity activity) {
+		if (n == null) {
+			return new Node(activity, null, null);
+		}
+		int leftSize = size(n.left);
+		if (idx <= leftSize) {
+			return balance(n.value, insert(n.left, idx, activity), n.right);
+		}
+		return balance(n.value, n.left, insert(n.right, idx - leftSize - 1, activity));
+	}
+
+	/**
+	 * Makes a subtree with the activity at an index removed
+	 * @param n the subtree
+	 * @param idx the index in the subtree to remove
+	 * @return the new subtree, or null if it is empty
+	 */
+	private static Node remove(Node n, int idx) {
+		int leftSize = size(n.left);
+		if (idx < leftSize) {
+			return balance(n.value, remove(n.left, idx), n.right);
+		}
+		if (idx > leftSize) {
+			return balance(n.value, n.left, remove(n.right, idx - leftSize - 1));
+		}
+		if (n.left == null) {
+			return n.right;
+		}
+		if (n.right == null) {
+			return n.left;
+		}
+		//Move the first activity after this one up into its place
+		Node first = n.right;
+		while (first.left != null) {
+			first = first.left;
+		}
+		return balance(first.value, n.left, remove(n.right, 0));
+	}
+
+	/**
+	 * Makes a subtree with the activity at an index replaced
+	 * @param n the subtree
+	 * @param idx the index in the subtree to replace
+	 * @param activity the new activity
+	 * @return the new subtree
+	 */
+	private static Node replace(Node n, int idx, Activity activity) {
+		int leftSize = size(n.left);
+		if (idx < leftSize) {
+			return new Node(n.value, replace(n.left, idx, activity), n.right);
+		}
+		if (idx > leftSize) {
+			return new Node(n.value, n.left, replace(n.right, idx - leftSize - 1, activity));
+		}
+		return new Node(activity, n.left, n.right);
+	}
+
+	/**
+	 * Walks a tree in order, keeping the path to the next node on a stack
+	 * @author Noah Benveniste
+	 */
+	private static class VectorIterator implements Iterator<Activity> {
+		/** Nodes whose activity and right subtree have not been visited */
+		private Node[] stack;
+		/** Number of nodes on the stack */
+		private int top;
+
+		/**
+		 * Constructs an iterator over a tree
+		 * @param root the root of the tree, or null
+		 */
+		VectorIterator(Node root) {
+			this.stack = new Node[height(root)];
+			pushLeft(root);
+		}
+
+		/**
+		 * Checks if there is another activity
+		 * @return true if there is
+		 */
+		@Override
+		public boolean hasNext() {
+			return top > 0;
+		}
+
+		/**
+		 * Gets the next activity
+		 * @return the activity
+		 * @throws NoSuchElementException if there are no more
+		 */
+		@Override
+		public Activity next() {
+			if (top == 0) {
+				throw new NoSuchElementException();
+			}
+			Node n = stack[--top];
+			pushLeft(n.right);
+			return n.value;
+		}
+
+		/**
+		 * Pushes a node and its chain of left children
+		 * @param n the node, or null
+		 */
+		private void pushLeft(Node n) {
+			while (n != null) {
+				stack[top++] = n;
+				n = n.left;
+			}
+		}
+	}
+}
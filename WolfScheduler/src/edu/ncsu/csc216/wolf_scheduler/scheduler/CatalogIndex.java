@@ -0,0 +1,147 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Hash index over a catalog of courses. Courses are keyed first by name and then by section,
+ * so a lookup by (name, section) and a lookup of every section of a course by name both take
+ * constant time instead of a scan of the catalog. Sections of a course are kept in the order
+ * they were added to the index.
+ * @author Noah Benveniste
+ */
+public class CatalogIndex {
+
+	/** Sections of each course in the catalog, keyed by course name and then by section */
+	private HashMap<String, LinkedHashMap<String, Course>> courses;
+	/** The number of courses in the index */
+	private int size;
+
+	/**
+	 * Constructs an empty CatalogIndex
+	 */
+	public CatalogIndex() {
+		this.courses = new HashMap<String, LinkedHashMap<String, Course>>();
+		this.size = 0;
+	}
+
+	/**
+	 * Constructs a CatalogIndex containing all of the courses in the given catalog. If two
+	 * courses in the catalog share a name and section, only the first is indexed.
+	 * @param catalog the courses to index
+	 */
+	public CatalogIndex(List<Course> catalog) {
+		//Size the map for the catalog so it does not rehash while it is being built
+		this.courses = new HashMap<String, LinkedHashMap<String, Course>>(Math.max(16, catalog.size() * 4 / 3 + 1));
+		this.size = 0;
+		for (int i = 0; i < catalog.size(); i++) {
+			add(catalog.get(i));
+		}
+	}
+
+	/**
+	 * Gets the course with the given name and section
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return the course with the given name and section, or null if it is not in the index
+	 */
+	public Course get(String name, String section) {
+		LinkedHashMap<String, Course> sections = this.courses.get(name);
+		if (sections == null) {
+			return null;
+		}
+		return sections.get(section);
+	}
+
+	/**
+	 * Gets every section of the course with the given name, in the order they were added
+	 * @param name the name of the course
+	 * @return a list of the sections of the course, which is empty if there are none
+	 */
+	public ArrayList<Course> getSections(String name) {
+		LinkedHashMap<String, Course> sections = this.courses.get(name);
+		if (sections == null) {
+			return new ArrayList<Course>();
+		}
+		return new ArrayList<Course>(sections.values());
+	}
+
+	/**
+	 * Checks if a course with the given name and section is in the index
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return true if the course is in the index, false otherwise
+	 */
+	public boolean contains(String name, String section) {
+		return get(name, section) != null;
+	}
+
+	/**
+	 * Adds a course to the index if a course with the same name and section is not already
+	 * in it
+	 * @param course the course to add
+	 * @return true if the course was added, false if a course with the same name and
+	 * section was already in the index
+	 */
+	public boolean add(Course course) {
+		LinkedHashMap<String, Course> sections = this.courses.get(course.getName());
+		if (sections == null) {
+			sections = new LinkedHashMap<String, Course>();
+			this.courses.put(course.getName(), sections);
+		} else if (sections.containsKey(course.getSection())) {
+			return false;
+		}
+		sections.put(course.getSection(), course);
+		this.size++;
+		return true;
+	}
+
+	/**
+	 * Replaces the course with the same name and section as the given course, keeping its
+	 * place in the order of the sections
+	 * @param course the new version of the course
+	 * @return the course that was replaced, or null if no course with the same name and section
+	 * was in the index, in which case nothing is changed
+	 */
+	public Course replace(Course course) {
+		LinkedHashMap<String, Course> sections = this.courses.get(course.getName());
+		if (sections == null || !sections.containsKey(course.getSection())) {
+			return null;
+		}
+		return sections.put(course.getSection(), course);
+	}
+
+	/**
+	 * Removes the course with the given name and section from the index
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return the course that was removed, or null if it was not in the index
+	 */
+	public Course remove(String name, String section) {
+		LinkedHashMap<String, Course> sections = this.courses.get(name);
+		if (sections == null) {
+			return null;
+		}
+		Course removed = sections.remove(section);
+		if (removed != null) {
+			this.size--;
+			//Drop the name entirely once its last section is gone
+			if (sections.isEmpty()) {
+				this.courses.remove(name);
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Gets the number of courses in the index
+	 * @return the number of courses
+	 */
+	public int size() {
+		return this.size;
+	}
+}
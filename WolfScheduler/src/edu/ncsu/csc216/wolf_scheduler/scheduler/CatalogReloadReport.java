@@ -0,0 +1,115 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+
+/**
+ * What changed when the course catalog was reloaded. Courses are matched between the old and
+ * new catalog by name and section: a course only in the new catalog was added, a course only in
+ * the old catalog was removed, and a course in both with different details was updated.
+ *
+ * Scheduled courses that were removed from the catalog are taken out of the schedule and listed
+ * as invalidated. Scheduled courses that were updated are replaced by their new version, and any
+ * scheduled activities that now conflict with each other are listed as conflicting but are left
+ * in the schedule for the student to resolve.
+ * @author Noah Benveniste
+ */
+public class CatalogReloadReport {
+
+	/** Counts of the lines loaded and skipped when the new catalog was read */
+	private CourseLoadReport loadReport;
+	/** Courses in the new catalog that were not in the old one */
+	private ArrayList<Course> added;
+	/** New versions of courses whose details changed */
+	private ArrayList<Course> updated;
+	/** Courses in the old catalog that are not in the new one */
+	private ArrayList<Course> removed;
+	/** Scheduled activities taken out of the schedule because their course was removed */
+	private ArrayList<Activity> invalidated;
+	/** Scheduled activities that conflict with another scheduled activity after the reload */
+	private ArrayList<Activity> conflicting;
+
+	/**
+	 * Constructs an empty report
+	 * @param loadReport the counts for reading the new catalog
+	 */
+	CatalogReloadReport(CourseLoadReport loadReport) {
+		this.loadReport = loadReport;
+		this.added = new ArrayList<Course>();
+		this.updated = new ArrayList<Course>();
+		this.removed = new ArrayList<Course>();
+		this.invalidated = new ArrayList<Activity>();
+		this.conflicting = new ArrayList<Activity>();
+	}
+
+	/**
+	 * Gets the counts of the lines loaded and skipped when the new catalog was read
+	 * @return the loadReport
+	 */
+	public CourseLoadReport getLoadReport() {
+		return loadReport;
+	}
+
+	/**
+	 * Gets the courses that were added, in the order of the new catalog
+	 * @return the added courses
+	 */
+	public ArrayList<Course> getAdded() {
+		return added;
+	}
+
+	/**
+	 * Gets the new versions of the courses that were updated, in the order of the new catalog
+	 * @return the updated courses
+	 */
+	public ArrayList<Course> getUpdated() {
+		return updated;
+	}
+
+	/**
+	 * Gets the courses that were removed, in the order of the old catalog
+	 * @return the removed courses
+	 */
+	public ArrayList<Course> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * Gets the scheduled activities that were taken out of the schedule because their course
+	 * was removed from the catalog
+	 * @return the invalidated activities
+	 */
+	public ArrayList<Activity> getInvalidated() {
+		return invalidated;
+	}
+
+	/**
+	 * Gets the scheduled activities that conflict with another scheduled activity after the
+	 * reload, in schedule order
+	 * @return the conflicting activities
+	 */
+	public ArrayList<Activity> getConflicting() {
+		return conflicting;
+	}
+
+	/**
+	 * Checks if the reload changed the catalog
+	 * @return true if any course was added, updated or removed, false otherwise
+	 */
+	public boolean isCatalogChanged() {
+		return !added.isEmpty() || !updated.isEmpty() || !removed.isEmpty();
+	}
+
+	/**
+	 * Returns a one line summary of the changes
+	 * @return the summary
+	 */
+	@Override
+	public String toString() {
+		return added.size() + " added, " + updated.size() + " updated, " + removed.size() + " removed, " +
+				invalidated.size() + " invalidated, " + conflicting.size() + " conflicting";
+	}
+}
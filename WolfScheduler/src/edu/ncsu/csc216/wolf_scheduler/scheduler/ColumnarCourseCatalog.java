@@ -0,0 +1,296 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * CourseCatalog stored as columns of primitives instead of Course objects. Credits, times and
+ * day masks are held in parallel int arrays, and the text fields are dictionary encoded: each
+ * distinct value is stored once and each course holds its int id. Queries scan the arrays in
+ * tight loops, comparing ints rather than Strings, and a Course is only created when
+ * getCourse() is called. The store is immutable once built.
+ * @author Noah Benveniste
+ */
+public class ColumnarCourseCatalog implements CourseCatalog {
+
+	/** Number of courses */
+	private int size;
+	/** Distinct text values, indexed by id */
+	private String[] dictionary;
+	/** Id of each text value in the dictionary */
+	private HashMap<String, Integer> ids;
+	/** Dictionary id of each course's name */
+	private int[] nameIds;
+	/** Dictionary id of each course's title */
+	private int[] titleIds;
+	/** Dictionary id of each course's section */
+	private int[] sectionIds;
+	/** Dictionary id of each course's instructor id */
+	private int[] instructorIds;
+	/** Dictionary id of each course's meeting days */
+	private int[] meetingDayIds;
+	/** Each course's credits */
+	private int[] credits;
+	/** Each course's start time */
+	private int[] startTimes;
+	/** Each course's end time */
+	private int[] endTimes;
+	/** Each course's day mask */
+	private int[] dayMasks;
+
+	/**
+	 * Builds a columnar copy of a catalog. The source's fields are read by position, so a
+	 * source that does not hold Course objects is copied without creating any.
+	 * @param source the catalog to copy
+	 * @throws IllegalArgumentException if source is null
+	 */
+	public ColumnarCourseCatalog(CourseCatalog source) {
+		if (source == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.size = source.size();
+		this.ids = new HashMap<String, Integer>();
+		ArrayList<String> values = new ArrayList<String>();
+		this.nameIds = new int[size];
+		this.titleIds = new int[size];
+		this.sectionIds = new int[size];
+		this.instructorIds = new int[size];
+		this.meetingDayIds = new int[size];
+		this.credits = new int[size];
+		this.startTimes = new int[size];
+		this.endTimes = new int[size];
+		this.dayMasks = new int[size];
+		for (int i = 0; i < size; i++) {
+			nameIds[i] = encode(source.getName(i), values);
+			titleIds[i] = encode(source.getTitle(i), values);
+			sectionIds[i] = encode(source.getSection(i), values);
+			instructorIds[i] = encode(source.getInstructorId(i), values);
+			meetingDayIds[i] = encode(source.getMeetingDays(i), values);
+			credits[i] = source.getCredits(i);
+			startTimes[i] = source.getStartTime(i);
+			endTimes[i] = source.getEndTime(i);
+			dayMasks[i] = source.getDayMask(i);
+		}
+		this.dictionary = values.toArray(new String[values.size()]);
+	}
+
+	/**
+	 * Gets the number of distinct text values stored
+	 * @return the size of the dictionary
+	 */
+	public int getDictionarySize() {
+		return dictionary.length;
+	}
+
+	/**
+	 * Gets the number of courses in the catalog
+	 * @return the size of the catalog
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Creates a Course from the columns at a position in the catalog. A new Course is created
+	 * on each call, so changing it does not change the catalog.
+	 * @param index the position of the course
+	 * @return the course
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	@Override
+	public Course getCourse(int index) {
+		if (dayMasks[index] == Activity.ARRANGED) {
+			return new Course(getName(index), getTitle(index), getSection(index), credits[index],
+					getInstructorId(index), getMeetingDays(index));
+		}
+		return new Course(getName(index), getTitle(index), getSection(index), credits[index],
+				getInstructorId(index), getMeetingDays(index), startTimes[index], endTimes[index]);
+	}
+
+	/**
+	 * Gets the name of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the name
+	 */
+	@Override
+	public String getName(int index) {
+		return dictionary[nameIds[index]];
+	}
+
+	/**
+	 * Gets the title of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the title
+	 */
+	@Override
+	public String getTitle(int index) {
+		return dictionary[titleIds[index]];
+	}
+
+	/**
+	 * Gets the section of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the section
+	 */
+	@Override
+	public String getSection(int index) {
+		return dictionary[sectionIds[index]];
+	}
+
+	/**
+	 * Gets the instructor id of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the instructor id
+	 */
+	@Override
+	public String getInstructorId(int index) {
+		return dictionary[instructorIds[index]];
+	}
+
+	/**
+	 * Gets the meeting days of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the meeting days
+	 */
+	@Override
+	public String getMeetingDays(int index) {
+		return dictionary[meetingDayIds[index]];
+	}
+
+	/**
+	 * Gets the credits of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the credits
+	 */
+	@Override
+	public int getCredits(int index) {
+		return credits[index];
+	}
+
+	/**
+	 * Gets the start time of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the start time
+	 */
+	@Override
+	public int getStartTime(int index) {
+		return startTimes[index];
+	}
+
+	/**
+	 * Gets the end time of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the end time
+	 */
+	@Override
+	public int getEndTime(int index) {
+		return endTimes[index];
+	}
+
+	/**
+	 * Gets the day mask of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the day mask
+	 */
+	@Override
+	public int getDayMask(int index) {
+		return dayMasks[index];
+	}
+
+	/**
+	 * Finds the sections of a course by comparing dictionary ids
+	 * @param name the name of the course
+	 * @return the positions of the sections, in catalog order
+	 */
+	@Override
+	public int[] findByName(String name) {
+		return findId(nameIds, ids.get(name));
+	}
+
+	/**
+	 * Finds the courses taught by an instructor by comparing dictionary ids
+	 * @param instructorId the instructor id
+	 * @return the positions of the courses, in catalog order
+	 */
+	@Override
+	public int[] findByInstructor(String instructorId) {
+		return findId(instructorIds, ids.get(instructorId));
+	}
+
+	/**
+	 * Finds the courses that meet on at least one of the given days inside the window
+	 * @param meetingDays the days to search
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the positions of the courses inside the window, in catalog order
+	 */
+	@Override
+	public int[] findWithin(String meetingDays, int startTime, int endTime) {
+		int days = TimeIndex.toDayMask(meetingDays);
+		TimeIndex.checkWindow(startTime, endTime);
+		int[] found = new int[size];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if ((dayMasks[i] & days) != 0 && startTimes[i] >= startTime && endTimes[i] <= endTime) {
+				found[count++] = i;
+			}
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Adds up the credits of several courses
+	 * @param indexes the positions of the courses
+	 * @return the total credits
+	 */
+	@Override
+	public int getTotalCredits(int[] indexes) {
+		int total = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			total += credits[indexes[i]];
+		}
+		return total;
+	}
+
+	/**
+	 * Finds the courses whose column holds an id
+	 * @param column the column to scan
+	 * @param id the id to find, or null if the value is not in the dictionary
+	 * @return the positions of the matching courses, in catalog order
+	 */
+	private int[] findId(int[] column, Integer id) {
+		if (id == null) {
+			return new int[0];
+		}
+		int target = id;
+		int[] found = new int[size];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (column[i] == target) {
+				found[count++] = i;
+			}
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Gets the dictionary id of a value, adding it to the dictionary if it is new
+	 * @param value the value
+	 * @param values the values added so far, in id order
+	 * @return the id
+	 */
+	private int encode(String value, ArrayList<String> values) {
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = values.size();
+			ids.put(value, id);
+			values.add(value);
+		}
+		return id;
+	}
+}
@@ -0,0 +1,372 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Precomputed pairwise conflicts between the sections of a course catalog. Each course is
+ * given a dense integer id, and the ids of the courses it conflicts with are stored as a bitset
+ * of longs. Ids are assigned in order of start time, so the sections a course can conflict
+ * with have nearby ids, and each row only stores the words between its first and last
+ * conflict. A course never conflicts with itself in the matrix.
+ *
+ * Courses can be added and removed after the matrix is built, at a cost that depends on the
+ * number of courses changed and the courses they conflict with rather than on the size of the
+ * catalog. The matrix keeps a TimeIndex of its courses, so an added course is only compared with
+ * the courses that overlap its meeting times, and a removed course is only cleared from the rows
+ * of the courses it conflicts with. A removed course's id is reused by
+ * the next course added, and ids handed out after the matrix is built are not in start time order.
+ *
+ * Bitsets passed to and returned from the helpers cover every id, with id i stored in bit
+ * (i % 64) of word (i / 64).
+ * @author Noah Benveniste
+ */
+public class ConflictMatrix {
+
+	/** Number of bits in a word of a bitset */
+	private static final int WORD_BITS = 64;
+
+	/** Courses in the matrix, indexed by id, with null for ids not in use */
+	private Course[] courses;
+	/** One past the largest id handed out */
+	private int idCount;
+	/** Bitset of the ids in use */
+	private long[] live;
+	/** Ids of removed courses, to be reused by courses added later */
+	private int[] freeIds;
+	/** Number of ids in freeIds */
+	private int freeCount;
+	/** Id of each course in the matrix */
+	private IdentityHashMap<Course, Integer> ids;
+	/** Index of the first word stored for each row */
+	private int[] rowOffset;
+	/** Stored words of each row, starting at the row's offset */
+	private long[][] rows;
+	/** Meeting times of the courses in the matrix, used to find the courses an added course may conflict with */
+	private TimeIndex timeIndex;
+
+	/**
+	 * Builds the conflict matrix for the given catalog
+	 * @param catalog the courses in the catalog
+	 */
+	public ConflictMatrix(List<Course> catalog) {
+		int n = catalog.size();
+		this.courses = catalog.toArray(new Course[n]);
+		//Stable sort, so courses that start together keep their catalog order
+		Arrays.sort(this.courses, new Comparator<Course>() {
+			@Override
+			public int compare(Course a, Course b) {
+				return Integer.compare(a.getStartTime(), b.getStartTime());
+			}
+		});
+		this.ids = new IdentityHashMap<Course, Integer>(n);
+		for (int i = 0; i < n; i++) {
+			this.ids.put(this.courses[i], i);
+		}
+		this.idCount = n;
+		this.live = new long[words()];
+		for (int i = 0; i < n; i++) {
+			this.live[i / WORD_BITS] |= 1L << (i % WORD_BITS);
+		}
+		this.freeIds = new int[2];
+		this.freeCount = 0;
+
+		//Sweep in start time order: a course can only conflict with the later-starting courses
+		//that start before it ends
+		int[][] conflicts = new int[n][];
+		int[] counts = new int[n];
+		for (int i = 0; i < n; i++) {
+			conflicts[i] = new int[2];
+		}
+		for (int i = 0; i < n; i++) {
+			Course a = this.courses[i];
+			for (int j = i + 1; j < n && this.courses[j].getStartTime() <= a.getEndTime(); j++) {
+				if (a.conflictsWith(this.courses[j])) {
+					conflicts[i] = append(conflicts[i], counts[i]++, j);
+					conflicts[j] = append(conflicts[j], counts[j]++, i);
+				}
+			}
+		}
+
+		this.rowOffset = new int[n];
+		this.rows = new long[n][];
+		for (int i = 0; i < n; i++) {
+			if (counts[i] == 0) {
+				this.rows[i] = new long[0];
+				continue;
+			}
+			int min = Integer.MAX_VALUE;
+			int max = Integer.MIN_VALUE;
+			for (int k = 0; k < counts[i]; k++) {
+				min = Math.min(min, conflicts[i][k]);
+				max = Math.max(max, conflicts[i][k]);
+			}
+			int offset = min / WORD_BITS;
+			long[] row = new long[max / WORD_BITS - offset + 1];
+			for (int k = 0; k < counts[i]; k++) {
+				int j = conflicts[i][k];
+				row[j / WORD_BITS - offset] |= 1L << (j % WORD_BITS);
+			}
+			this.rowOffset[i] = offset;
+			this.rows[i] = row;
+			//Let the temporary list be collected as soon as the row is built
+			conflicts[i] = null;
+		}
+		this.timeIndex = new TimeIndex(Arrays.asList(this.courses));
+	}
+
+	/**
+	 * Gets the number of courses in the matrix
+	 * @return the number of courses
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Gets the number of words in a bitset that covers every id
+	 * @return the number of words
+	 */
+	public int words() {
+		return (idCount + WORD_BITS - 1) / WORD_BITS;
+	}
+
+	/**
+	 * Gets the id of a course
+	 * @param course the course
+	 * @return the id of the course, or -1 if the course is not in the matrix
+	 */
+	public int getId(Course course) {
+		Integer id = ids.get(course);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Gets the course with the given id
+	 * @param id the id of the course
+	 * @return the course, or null if the course with the id was removed
+	 * @throws IndexOutOfBoundsException if the id was never handed out
+	 */
+	public Course getCourse(int id) {
+		if (id >= idCount) {
+			throw new IndexOutOfBoundsException();
+		}
+		return courses[id];
+	}
+
+	/**
+	 * Adds a course to the matrix, comparing it only with the courses that overlap its meeting
+	 * times and updating only the rows of the courses it conflicts with
+	 * @param course the course to add
+	 * @return the id of the course, which is its existing id if it is already in the matrix
+	 */
+	public int add(Course course) {
+		int existing = getId(course);
+		if (existing >= 0) {
+			return existing;
+		}
+		int id;
+		if (freeCount > 0) {
+			id = freeIds[--freeCount];
+		} else {
+			id = idCount++;
+			if (id == courses.length) {
+				int capacity = Math.max(16, courses.length * 2);
+				courses = Arrays.copyOf(courses, capacity);
+				rowOffset = Arrays.copyOf(rowOffset, capacity);
+				rows = Arrays.copyOf(rows, capacity);
+			}
+			if (words() > live.length) {
+				live = Arrays.copyOf(live, Math.max(words(), live.length * 2));
+			}
+		}
+		courses[id] = course;
+		ids.put(course, id);
+		live[id / WORD_BITS] |= 1L << (id % WORD_BITS);
+		rowOffset[id] = 0;
+		rows[id] = new long[0];
+		//Arranged courses have no meeting times, so they conflict with nothing and are not indexed
+		if ((course.getDayMask() & Activity.WEEK_DAYS) != 0) {
+			ArrayList<Course> overlapping = timeIndex.getCoursesOverlapping(course.getMeetingDays(),
+					course.getStartTime(), course.getEndTime());
+			for (int i = 0; i < overlapping.size(); i++) {
+				Course other = overlapping.get(i);
+				if (course.conflictsWith(other)) {
+					int j = ids.get(other);
+					setBit(id, j);
+					setBit(j, id);
+				}
+			}
+			timeIndex.add(course);
+		}
+		return id;
+	}
+
+	/**
+	 * Removes a course from the matrix, clearing it from the rows of the courses it conflicts with
+	 * @param course the course to remove
+	 * @return the id the course had, or -1 if it was not in the matrix
+	 */
+	public int remove(Course course) {
+		Integer removed = ids.remove(course);
+		if (removed == null) {
+			return -1;
+		}
+		int id = removed;
+		long[] row = rows[id];
+		int offset = rowOffset[id];
+		for (int w = 0; w < row.length; w++) {
+			long word = row[w];
+			while (word != 0) {
+				clearBit((offset + w) * WORD_BITS + Long.numberOfTrailingZeros(word), id);
+				word &= word - 1;
+			}
+		}
+		courses[id] = null;
+		rows[id] = new long[0];
+		timeIndex.remove(course);
+		live[id / WORD_BITS] &= ~(1L << (id % WORD_BITS));
+		freeIds = append(freeIds, freeCount++, id);
+		return id;
+	}
+
+	/**
+	 * Checks if two courses conflict
+	 * @param a the id of the first course
+	 * @param b the id of the second course
+	 * @return true if the courses conflict, false otherwise
+	 */
+	public boolean conflicts(int a, int b) {
+		int word = b / WORD_BITS - rowOffset[a];
+		long[] row = rows[a];
+		return word >= 0 && word < row.length && (row[word] & (1L << (b % WORD_BITS))) != 0;
+	}
+
+	/**
+	 * Sets every bit in the bitset for a course that conflicts with the given course
+	 * @param id the id of the course
+	 * @param bits the bitset to update
+	 */
+	public void orRow(int id, long[] bits) {
+		long[] row = rows[id];
+		int offset = rowOffset[id];
+		for (int w = 0; w < row.length; w++) {
+			bits[offset + w] |= row[w];
+		}
+	}
+
+	/**
+	 * Clears every bit in the bitset for a course that conflicts with the given course
+	 * @param id the id of the course
+	 * @param bits the bitset to update
+	 */
+	public void andNotRow(int id, long[] bits) {
+		long[] row = rows[id];
+		int offset = rowOffset[id];
+		for (int w = 0; w < row.length; w++) {
+			bits[offset + w] &= ~row[w];
+		}
+	}
+
+	/**
+	 * Finds the courses that conflict with at least one of the given courses
+	 * @param courseIds the ids of the courses
+	 * @return a bitset of the courses that conflict with any of the given courses
+	 */
+	public long[] conflictingWithAny(int[] courseIds) {
+		long[] bits = new long[words()];
+		for (int i = 0; i < courseIds.length; i++) {
+			orRow(courseIds[i], bits);
+		}
+		return bits;
+	}
+
+	/**
+	 * Finds the courses that do not conflict with any of the given courses
+	 * @param courseIds the ids of the courses
+	 * @return a bitset of the courses compatible with all of the given courses
+	 */
+	public long[] compatibleWithAll(int[] courseIds) {
+		//Start from the ids in use, so removed ids are never returned
+		long[] bits = Arrays.copyOf(live, words());
+		for (int i = 0; i < courseIds.length; i++) {
+			andNotRow(courseIds[i], bits);
+		}
+		return bits;
+	}
+
+	/**
+	 * Gets the courses whose bits are set in a bitset, in id order
+	 * @param bits the bitset
+	 * @return a list of the courses in the bitset
+	 */
+	public ArrayList<Course> getCourses(long[] bits) {
+		ArrayList<Course> result = new ArrayList<Course>();
+		for (int w = 0; w < bits.length; w++) {
+			long word = bits[w];
+			while (word != 0) {
+				result.add(courses[w * WORD_BITS + Long.numberOfTrailingZeros(word)]);
+				word &= word - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sets a bit in a row, widening the stored words of the row if the bit is outside them
+	 * @param id the id of the row
+	 * @param bit the bit to set
+	 */
+	private void setBit(int id, int bit) {
+		int word = bit / WORD_BITS;
+		long[] row = rows[id];
+		int offset = rowOffset[id];
+		if (row.length == 0) {
+			row = new long[1];
+			offset = word;
+		} else if (word < offset) {
+			long[] wider = new long[row.length + offset - word];
+			System.arraycopy(row, 0, wider, offset - word, row.length);
+			row = wider;
+			offset = word;
+		} else if (word >= offset + row.length) {
+			row = Arrays.copyOf(row, word - offset + 1);
+		}
+		row[word - offset] |= 1L << (bit % WORD_BITS);
+		rows[id] = row;
+		rowOffset[id] = offset;
+	}
+
+	/**
+	 * Clears a bit in a row if it is within the stored words of the row
+	 * @param id the id of the row
+	 * @param bit the bit to clear
+	 */
+	private void clearBit(int id, int bit) {
+		int word = bit / WORD_BITS - rowOffset[id];
+		if (word >= 0 && word < rows[id].length) {
+			rows[id][word] &= ~(1L << (bit % WORD_BITS));
+		}
+	}
+
+	/**
+	 * Stores a value in a growable int array, doubling its length if it is full
+	 * @param list the array
+	 * @param index the index to store the value at
+	 * @param value the value to store
+	 * @return the array, or a longer copy of it
+	 */
+	private static int[] append(int[] list, int index, int value) {
+		if (index == list.length) {
+			list = Arrays.copyOf(list, list.length * 2);
+		}
+		list[index] = value;
+		return list;
+	}
+}
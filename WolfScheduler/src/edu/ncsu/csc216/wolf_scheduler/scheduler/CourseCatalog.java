@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Read-only view of a course catalog by position. The fields of each course can be read
+ * without a Course object, and bulk queries return the positions of the matching courses in
+ * catalog order, so an implementation is free to store the catalog in whatever form suits it.
+ * @author Noah Benveniste
+ */
+public interface CourseCatalog {
+
+	/**
+	 * Gets the number of courses in the catalog
+	 * @return the size of the catalog
+	 */
+	int size();
+
+	/**
+	 * Gets the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the course
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	Course getCourse(int index);
+
+	/**
+	 * Gets the name of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the name
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	String getName(int index);
+
+	/**
+	 * Gets the title of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the title
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	String getTitle(int index);
+
+	/**
+	 * Gets the section of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the section
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	String getSection(int index);
+
+	/**
+	 * Gets the instructor id of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the instructor id
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	String getInstructorId(int index);
+
+	/**
+	 * Gets the meeting days of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the meeting days
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	String getMeetingDays(int index);
+
+	/**
+	 * Gets the credits of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the credits
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	int getCredits(int index);
+
+	/**
+	 * Gets the start time of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the start time, or 0 for an arranged course
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	int getStartTime(int index);
+
+	/**
+	 * Gets the end time of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the end time, or 0 for an arranged course
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	int getEndTime(int index);
+
+	/**
+	 * Gets the day mask of the course at a position in the catalog, as Activity.getDayMask()
+	 * @param index the position of the course
+	 * @return the day mask
+	 * @throws IndexOutOfBoundsException if index is not a valid position
+	 */
+	int getDayMask(int index);
+
+	/**
+	 * Finds the sections of a course
+	 * @param name the name of the course
+	 * @return the positions of the sections, in catalog order
+	 */
+	int[] findByName(String name);
+
+	/**
+	 * Finds the courses taught by an instructor
+	 * @param instructorId the instructor id
+	 * @return the positions of the courses, in catalog order
+	 */
+	int[] findByInstructor(String instructorId);
+
+	/**
+	 * Finds the courses that meet on at least one of the given days with a start and end time
+	 * inside the window, as TimeIndex.getCoursesWithin() does
+	 * @param meetingDays the days to search, as meeting day characters (U, M, T, W, H, F, S)
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the positions of the courses inside the window, in catalog order
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	int[] findWithin(String meetingDays, int startTime, int endTime);
+
+	/**
+	 * Adds up the credits of several courses
+	 * @param indexes the positions of the courses
+	 * @return the total credits
+	 * @throws IndexOutOfBoundsException if any index is not a valid position
+	 */
+	int getTotalCredits(int[] indexes);
+}
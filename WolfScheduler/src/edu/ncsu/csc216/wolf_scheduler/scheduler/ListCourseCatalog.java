@@ -0,0 +1,208 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * CourseCatalog backed by a list of Course objects. Every query reads the courses themselves.
+ * The list must not change while the view is in use.
+ * @author Noah Benveniste
+ */
+public class ListCourseCatalog implements CourseCatalog {
+
+	/** The courses, in catalog order */
+	private List<Course> courses;
+
+	/**
+	 * Constructs a view of a list of courses
+	 * @param courses the courses, in catalog order
+	 * @throws IllegalArgumentException if courses is null
+	 */
+	public ListCourseCatalog(List<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.courses = courses;
+	}
+
+	/**
+	 * Gets the number of courses in the catalog
+	 * @return the size of the catalog
+	 */
+	@Override
+	public int size() {
+		return courses.size();
+	}
+
+	/**
+	 * Gets the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the course
+	 */
+	@Override
+	public Course getCourse(int index) {
+		return courses.get(index);
+	}
+
+	/**
+	 * Gets the name of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the name
+	 */
+	@Override
+	public String getName(int index) {
+		return courses.get(index).getName();
+	}
+
+	/**
+	 * Gets the title of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the title
+	 */
+	@Override
+	public String getTitle(int index) {
+		return courses.get(index).getTitle();
+	}
+
+	/**
+	 * Gets the section of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the section
+	 */
+	@Override
+	public String getSection(int index) {
+		return courses.get(index).getSection();
+	}
+
+	/**
+	 * Gets the instructor id of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the instructor id
+	 */
+	@Override
+	public String getInstructorId(int index) {
+		return courses.get(index).getInstructorId();
+	}
+
+	/**
+	 * Gets the meeting days of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the meeting days
+	 */
+	@Override
+	public String getMeetingDays(int index) {
+		return courses.get(index).getMeetingDays();
+	}
+
+	/**
+	 * Gets the credits of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the credits
+	 */
+	@Override
+	public int getCredits(int index) {
+		return courses.get(index).getCredits();
+	}
+
+	/**
+	 * Gets the start time of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the start time
+	 */
+	@Override
+	public int getStartTime(int index) {
+		return courses.get(index).getStartTime();
+	}
+
+	/**
+	 * Gets the end time of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the end time
+	 */
+	@Override
+	public int getEndTime(int index) {
+		return courses.get(index).getEndTime();
+	}
+
+	/**
+	 * Gets the day mask of the course at a position in the catalog
+	 * @param index the position of the course
+	 * @return the day mask
+	 */
+	@Override
+	public int getDayMask(int index) {
+		return courses.get(index).getDayMask();
+	}
+
+	/**
+	 * Finds the sections of a course
+	 * @param name the name of the course
+	 * @return the positions of the sections, in catalog order
+	 */
+	@Override
+	public int[] findByName(String name) {
+		int[] found = new int[courses.size()];
+		int count = 0;
+		for (int i = 0; i < courses.size(); i++) {
+			if (courses.get(i).getName().equals(name)) {
+				found[count++] = i;
+			}
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Finds the courses taught by an instructor
+	 * @param instructorId the instructor id
+	 * @return the positions of the courses, in catalog order
+	 */
+	@Override
+	public int[] findByInstructor(String instructorId) {
+		int[] found = new int[courses.size()];
+		int count = 0;
+		for (int i = 0; i < courses.size(); i++) {
+			if (courses.get(i).getInstructorId().equals(instructorId)) {
+				found[count++] = i;
+			}
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Finds the courses that meet on at least one of the given days inside the window
+	 * @param meetingDays the days to search
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the positions of the courses inside the window, in catalog order
+	 */
+	@Override
+	public int[] findWithin(String meetingDays, int startTime, int endTime) {
+		int days = TimeIndex.toDayMask(meetingDays);
+		TimeIndex.checkWindow(startTime, endTime);
+		int[] found = new int[courses.size()];
+		int count = 0;
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			if ((c.getDayMask() & days) != 0 && c.getStartTime() >= startTime && c.getEndTime() <= endTime) {
+				found[count++] = i;
+			}
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Adds up the credits of several courses
+	 * @param indexes the positions of the courses
+	 * @return the total credits
+	 */
+	@Override
+	public int getTotalCredits(int[] indexes) {
+		int total = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			total += courses.get(indexes[i]).getCredits();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,156 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Enumerates conflict-free schedules on several cores using a ForkJoinPool. The search tree
+ * is split adaptively: a subtree whose unpruned size is above the split threshold is divided
+ * into one task per section that fits at its top depth, and smaller subtrees are searched
+ * sequentially with a ScheduleGenerator. Results are merged in search order, so the schedules
+ * returned are exactly the first ones a ScheduleGenerator for the same request would return.
+ * Once the subtrees before a task in search order have found limit schedules between them,
+ * the task is stopped and returns what it has, so a small limit does not search the whole tree.
+ * @author Noah Benveniste
+ */
+public class ParallelScheduleGenerator {
+
+	/** Subtrees with more unpruned leaves than this are split into parallel tasks */
+	public static final long SPLIT_THRESHOLD = 4096;
+
+	/** The search space */
+	private SearchPlan plan;
+	/** Number of worker threads to search with */
+	private int parallelism;
+	/** Maximum number of schedules to return */
+	private int limit;
+
+	/**
+	 * Constructs a ParallelScheduleGenerator for the given courses. Course names that appear more
+	 * than once are only scheduled once.
+	 * @param catalog index of the course catalog to take sections from
+	 * @param courseNames names of the courses to schedule
+	 * @param fixed activities that every generated schedule must fit around
+	 * @param parallelism number of worker threads to search with
+	 * @param limit maximum number of schedules to return
+	 * @throws IllegalArgumentException if any object argument is null, or if parallelism or
+	 * limit is less than 1
+	 */
+	public ParallelScheduleGenerator(CatalogIndex catalog, List<String> courseNames, List<? extends Activity> fixed,
+			int parallelism, int limit) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1.");
+		}
+		if (limit < 1) {
+			throw new IllegalArgumentException("Limit must be at least 1.");
+		}
+		this.plan = new SearchPlan(catalog, courseNames, fixed);
+		this.parallelism = parallelism;
+		this.limit = limit;
+	}
+
+	/**
+	 * Searches for conflict-free schedules on a pool of parallelism worker threads
+	 * @return up to limit schedules, in the same order a ScheduleGenerator would return them
+	 */
+	public ArrayList<ArrayList<Course>> generate() {
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new SubtreeTask(null, new Course[0]));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Task that collects the schedules in the subtree below a prefix of chosen sections.
+	 * @author Noah Benveniste
+	 */
+	private class SubtreeTask extends RecursiveTask<ArrayList<ArrayList<Course>>> {
+
+		/** ID used for serialization. */
+		private static final long serialVersionUID = 1L;
+		/** Task that split into this one, or null for the root */
+		private SubtreeTask parent;
+		/** Sections chosen above this subtree, which do not conflict with each other */
+		private Course[] prefix;
+		/** Whether enough schedules are known before this subtree that it need not finish */
+		private volatile boolean stopped;
+
+		/**
+		 * Constructs a task for the subtree below the given prefix
+		 * @param parent the task that split into this one, or null for the root
+		 * @param prefix the sections chosen above the subtree
+		 */
+		SubtreeTask(SubtreeTask parent, Course[] prefix) {
+			this.parent = parent;
+			this.prefix = prefix;
+		}
+
+		/**
+		 * Returns whether this task or a task it was split from has been stopped
+		 * @return true if the subtree's results are no longer needed
+		 */
+		private boolean isStopped() {
+			for (SubtreeTask task = this; task != null; task = task.parent) {
+				if (task.stopped) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Searches the subtree, splitting it into child tasks if it is large
+		 * @return up to limit schedules from the subtree, in search order
+		 */
+		@Override
+		protected ArrayList<ArrayList<Course>> compute() {
+			int depth = prefix.length;
+			ArrayList<ArrayList<Course>> results = new ArrayList<ArrayList<Course>>();
+			if (isStopped()) {
+				return results;
+			}
+			if (depth < plan.depth() - 1 && plan.subtreeSize(depth) > SPLIT_THRESHOLD) {
+				ArrayList<SubtreeTask> children = new ArrayList<SubtreeTask>();
+				Course[] sections = plan.sectionsAt(depth);
+				for (int i = 0; i < sections.length; i++) {
+					if (SearchPlan.fits(sections[i], prefix, depth)) {
+						Course[] childPrefix = new Course[depth + 1];
+						System.arraycopy(prefix, 0, childPrefix, 0, depth);
+						childPrefix[depth] = sections[i];
+						children.add(new SubtreeTask(this, childPrefix));
+					}
+				}
+				//Fork the later children first so this thread starts on the first one
+				for (int i = children.size() - 1; i >= 0; i--) {
+					children.get(i).fork();
+				}
+				//Join in section order so results match the sequential search
+				for (int i = 0; i < children.size(); i++) {
+					ArrayList<ArrayList<Course>> childResults = children.get(i).join();
+					for (int j = 0; j < childResults.size() && results.size() < limit; j++) {
+						results.add(childResults.get(j));
+					}
+					if (results.size() == limit) {
+						//Every later child's schedules come after these ones
+						for (int k = i + 1; k < children.size(); k++) {
+							children.get(k).stopped = true;
+						}
+					}
+				}
+			} else {
+				ScheduleGenerator gen = new ScheduleGenerator(plan, prefix);
+				while (gen.hasNext() && results.size() < limit && !isStopped()) {
+					results.add(gen.next());
+				}
+			}
+			return results;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.EventObject;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Describes a change to a WolfScheduler's schedule or catalog, so views can update only the
+ * rows that changed instead of reloading everything.
+ * @author Noah Benveniste
+ */
+public class ScheduleChangeEvent extends EventObject {
+
+	/** ID used for object serialization */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The kinds of change.
+	 * @author Noah Benveniste
+	 */
+	public enum Type {
+		/** An activity was added to the schedule at the event's index */
+		ACTIVITY_ADDED,
+		/** The activity at the event's index was removed from the schedule */
+		ACTIVITY_REMOVED,
+		/** Every activity was removed from the schedule */
+		SCHEDULE_RESET,
+		/** The catalog was reloaded, which may also have changed the schedule */
+		CATALOG_RELOADED,
+		/** The schedule was replaced by an earlier or later version by an undo or redo */
+		SCHEDULE_RESTORED
+	}
+
+	/** The kind of change */
+	private Type type;
+	/** Index in the schedule of the activity added or removed, or -1 */
+	private int index;
+	/** The activity added or removed, or null */
+	private transient Activity activity;
+	/** The changes made by a reload, or null */
+	private transient CatalogReloadReport reloadReport;
+
+	/**
+	 * Constructs an event
+	 * @param source the WolfScheduler that changed
+	 * @param type the kind of change
+	 * @param index the index of the activity added or removed, or -1
+	 * @param activity the activity added or removed, or null
+	 * @param reloadReport the changes made by a reload, or null
+	 */
+	ScheduleChangeEvent(WolfScheduler source, Type type, int index, Activity activity, CatalogReloadReport reloadReport) {
+		super(source);
+		this.type = type;
+		this.index = index;
+		this.activity = activity;
+		this.reloadReport = reloadReport;
+	}
+
+	/**
+	 * Gets the kind of change
+	 * @return the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Gets the index in the schedule of the activity that was added or removed
+	 * @return the index, or -1 for a reset, reload or restore
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Gets the activity that was added or removed
+	 * @return the activity, or null for a reset, reload or restore
+	 */
+	public Activity getActivity() {
+		return activity;
+	}
+
+	/**
+	 * Gets the changes made by a reload
+	 * @return the reload report, or null if the event is not a reload
+	 */
+	public CatalogReloadReport getReloadReport() {
+		return reloadReport;
+	}
+}
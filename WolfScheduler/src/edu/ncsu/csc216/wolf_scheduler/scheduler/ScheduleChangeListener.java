@@ -0,0 +1,16 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.EventListener;
+
+/**
+ * Listens for changes to a WolfScheduler's schedule or catalog.
+ * @author Noah Benveniste
+ */
+public interface ScheduleChangeListener extends EventListener {
+
+	/**
+	 * Called after the schedule or catalog changes
+	 * @param event the change
+	 */
+	void scheduleChanged(ScheduleChangeEvent event);
+}
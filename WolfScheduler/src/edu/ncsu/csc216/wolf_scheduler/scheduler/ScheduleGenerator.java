@@ -0,0 +1,141 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Lazily enumerates every conflict-free combination of sections for a list of courses. One
+ * section is chosen per course, and no chosen section may conflict with another chosen section
+ * or with any of the fixed activities (such as events already in the schedule). The search is a
+ * backtracking search that abandons a partial schedule as soon as the newest section conflicts,
+ * and only the next schedule is computed ahead of time, so very large result spaces never have
+ * to be held in memory.
+ * @author Noah Benveniste
+ */
+public class ScheduleGenerator implements Iterator<ArrayList<Course>> {
+
+	/** The search space */
+	private SearchPlan plan;
+	/** Depth the search starts at; sections above it are fixed by the caller */
+	private int floor;
+	/** Index of the section currently chosen at each depth, or -1 if none has been tried */
+	private int[] choice;
+	/** Section currently chosen at each depth */
+	private Course[] chosen;
+	/** The next schedule to return, or null if there are no more schedules */
+	private ArrayList<Course> next;
+	/** True until the search has been started */
+	private boolean first;
+
+	/**
+	 * Constructs a ScheduleGenerator for the given courses. Course names that appear more than
+	 * once are only scheduled once.
+	 * @param catalog index of the course catalog to take sections from
+	 * @param courseNames names of the courses to schedule
+	 * @param fixed activities that every generated schedule must fit around
+	 * @throws IllegalArgumentException if any argument is null
+	 */
+	public ScheduleGenerator(CatalogIndex catalog, List<String> courseNames, List<? extends Activity> fixed) {
+		this(new SearchPlan(catalog, courseNames, fixed), new Course[0]);
+	}
+
+	/**
+	 * Constructs a ScheduleGenerator over the subtree of a search plan below a prefix of
+	 * sections that have already been chosen and checked against each other
+	 * @param plan the search space
+	 * @param prefix the sections chosen at the first prefix.length depths
+	 */
+	ScheduleGenerator(SearchPlan plan, Course[] prefix) {
+		this.plan = plan;
+		this.floor = prefix.length;
+		this.choice = new int[plan.depth()];
+		this.chosen = new Course[plan.depth()];
+		System.arraycopy(prefix, 0, this.chosen, 0, prefix.length);
+		this.first = true;
+		advance();
+	}
+
+	/**
+	 * Checks if there is another conflict-free schedule
+	 * @return true if there is another schedule, false otherwise
+	 */
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	/**
+	 * Returns the next conflict-free schedule. The schedule holds one section per requested
+	 * course, in the order the courses were requested, and does not include the fixed activities.
+	 * @return the next schedule
+	 * @throws NoSuchElementException if there are no more schedules
+	 */
+	@Override
+	public ArrayList<Course> next() {
+		if (next == null) {
+			throw new NoSuchElementException();
+		}
+		ArrayList<Course> schedule = next;
+		advance();
+		return schedule;
+	}
+
+	/**
+	 * Schedules cannot be removed from the generator
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Moves the search forward to the next complete conflict-free schedule and stores it in
+	 * next, or stores null if the search is finished.
+	 */
+	private void advance() {
+		int n = plan.depth();
+		int depth;
+		if (first) {
+			first = false;
+			//With nothing left to choose, the prefix itself is the only schedule
+			if (floor == n) {
+				next = plan.build(chosen);
+				return;
+			}
+			depth = floor;
+			choice[depth] = -1;
+		} else if (floor == n) {
+			next = null;
+			return;
+		} else {
+			//Resume from the deepest choice of the last schedule returned
+			depth = n - 1;
+		}
+		while (depth >= floor) {
+			Course[] sections = plan.sectionsAt(depth);
+			choice[depth]++;
+			if (choice[depth] >= sections.length) {
+				//Every section at this depth has been tried, so backtrack
+				depth--;
+				continue;
+			}
+			Course c = sections[choice[depth]];
+			if (SearchPlan.fits(c, chosen, depth)) {
+				chosen[depth] = c;
+				if (depth == n - 1) {
+					next = plan.build(chosen);
+					return;
+				}
+				depth++;
+				choice[depth] = -1;
+			}
+		}
+		next = null;
+	}
+}
@@ -0,0 +1,137 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayDeque;
+
+/**
+ * Earlier and later versions of a schedule, for undo and redo. Each version is an
+ * ActivityVector, so versions share every activity they have in common and each change kept
+ * costs O(log n) memory. At most depth changes are kept; recording a change beyond that forgets
+ * the oldest one. Making a new change forgets every change that was undone.
+ * @author Noah Benveniste
+ */
+class ScheduleHistory {
+
+	/** Most changes kept */
+	private int depth;
+	/** Versions before each change, the most recent last */
+	private ArrayDeque<ActivityVector> undo;
+	/** Versions undone, the most recently undone last */
+	private ArrayDeque<ActivityVector> redo;
+
+	/**
+	 * Constructs an empty history
+	 * @param depth the most changes to keep
+	 * @throws IllegalArgumentException if depth is less than 1
+	 */
+	ScheduleHistory(int depth) {
+		this.undo = new ArrayDeque<ActivityVector>();
+		this.redo = new ArrayDeque<ActivityVector>();
+		setDepth(depth);
+	}
+
+	/**
+	 * Gets the most changes kept
+	 * @return the depth
+	 */
+	int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Sets the most changes kept, forgetting the oldest ones if more are kept now
+	 * @param depth the most changes to keep
+	 * @throws IllegalArgumentException if depth is less than 1
+	 */
+	void setDepth(int depth) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("History depth must be at least 1.");
+		}
+		this.depth = depth;
+		while (undo.size() > depth) {
+			undo.removeFirst();
+		}
+		while (redo.size() > depth) {
+			redo.removeFirst();
+		}
+	}
+
+	/**
+	 * Records a change
+	 * @param before the version before the change
+	 */
+	void record(ActivityVector before) {
+		redo.clear();
+		undo.addLast(before);
+		if (undo.size() > depth) {
+			undo.removeFirst();
+		}
+	}
+
+	/**
+	 * Checks if there is a change to undo
+	 * @return true if there is
+	 */
+	boolean canUndo() {
+		return !undo.isEmpty();
+	}
+
+	/**
+	 * Checks if there is an undone change to redo
+	 * @return true if there is
+	 */
+	boolean canRedo() {
+		return !redo.isEmpty();
+	}
+
+	/**
+	 * Gets the version an undo would go back to, without undoing
+	 * @return the version, or null if there is nothing to undo
+	 */
+	ActivityVector peekUndo() {
+		return undo.peekLast();
+	}
+
+	/**
+	 * Gets the version a redo would go forward to, without redoing
+	 * @return the version, or null if there is nothing to redo
+	 */
+	ActivityVector peekRedo() {
+		return redo.peekLast();
+	}
+
+	/**
+	 * Undoes the last change
+	 * @param current the version being undone
+	 * @return the version before it
+	 * @throws IllegalStateException if there is nothing to undo
+	 */
+	ActivityVector undo(ActivityVector current) {
+		if (undo.isEmpty()) {
+			throw new IllegalStateException("Nothing to undo.");
+		}
+		redo.addLast(current);
+		return undo.removeLast();
+	}
+
+	/**
+	 * Redoes the last change undone
+	 * @param current the version being redone from
+	 * @return the version after it
+	 * @throws IllegalStateException if there is nothing to redo
+	 */
+	ActivityVector redo(ActivityVector current) {
+		if (redo.isEmpty()) {
+			throw new IllegalStateException("Nothing to redo.");
+		}
+		undo.addLast(current);
+		return redo.removeLast();
+	}
+
+	/**
+	 * Forgets every change
+	 */
+	void clear() {
+		undo.clear();
+		redo.clear();
+	}
+}
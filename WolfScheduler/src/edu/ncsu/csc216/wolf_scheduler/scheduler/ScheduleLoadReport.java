@@ -0,0 +1,81 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+/**
+ * Counts of what happened while a file of schedules was imported into a SessionManager. Every
+ * activity line read is either loaded into its schedule, rejected because its course is not in
+ * the catalog or it duplicates or conflicts with an activity already in the schedule or has no
+ * open seat, or skipped as invalid.
+ * @author Noah Benveniste
+ */
+public class ScheduleLoadReport {
+
+	/** Number of schedules read */
+	private int schedulesLoaded;
+	/** Number of activities added to schedules */
+	private int activitiesLoaded;
+	/** Number of activities that could not be added to their schedule */
+	private int activitiesRejected;
+	/** Number of activity lines skipped because they did not describe a valid activity */
+	private int invalidLinesSkipped;
+
+	/**
+	 * Gets the number of schedules read
+	 * @return the schedulesLoaded
+	 */
+	public int getSchedulesLoaded() {
+		return schedulesLoaded;
+	}
+
+	/**
+	 * Gets the number of activities added to schedules
+	 * @return the activitiesLoaded
+	 */
+	public int getActivitiesLoaded() {
+		return activitiesLoaded;
+	}
+
+	/**
+	 * Gets the number of activities that could not be added to their schedule
+	 * @return the activitiesRejected
+	 */
+	public int getActivitiesRejected() {
+		return activitiesRejected;
+	}
+
+	/**
+	 * Gets the number of activity lines skipped as invalid
+	 * @return the invalidLinesSkipped
+	 */
+	public int getInvalidLinesSkipped() {
+		return invalidLinesSkipped;
+	}
+
+	/**
+	 * Records a schedule that was read
+	 * @param loaded the number of its activities that were added
+	 * @param rejected the number of its activities that could not be added
+	 */
+	void scheduleLoaded(int loaded, int rejected) {
+		schedulesLoaded++;
+		activitiesLoaded += loaded;
+		activitiesRejected += rejected;
+	}
+
+	/**
+	 * Sets the number of activity lines skipped as invalid
+	 * @param invalidLinesSkipped the number of lines
+	 */
+	void setInvalidLinesSkipped(int invalidLinesSkipped) {
+		this.invalidLinesSkipped = invalidLinesSkipped;
+	}
+
+	/**
+	 * Returns a one line summary of the counts
+	 * @return the summary
+	 */
+	@Override
+	public String toString() {
+		return schedulesLoaded + " schedules loaded, " + activitiesLoaded + " activities loaded, " +
+				activitiesRejected + " activities rejected, " + invalidLinesSkipped + " invalid lines skipped";
+	}
+}
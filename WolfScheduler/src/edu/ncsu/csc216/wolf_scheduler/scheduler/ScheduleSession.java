@@ -0,0 +1,614 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+
+/**
+ * One student's schedule, built from courses in a SharedCatalog. A session holds only its title
+ * and the activities in the schedule; courses are the catalog's own objects rather than copies,
+ * so any number of sessions can be backed by a single catalog.
+ *
+ * The schedule is an ActivityVector. Each change makes a new version of it that shares every
+ * unchanged part with the last one and publishes it in one step, so a reader on any thread
+ * always sees the whole schedule before or after a change and never blocks a writer.
+ * Changes themselves are not atomic with respect to each other, so writers to the same session
+ * must take turns, as SessionManager does. Sessions on the same catalog are independent of each
+ * other and can be changed on different threads at once.
+ *
+ * A session given a history depth keeps the versions before its last changes, so they can be
+ * undone and redone. Because versions share structure, each change kept costs O(log n) memory
+ * rather than a copy of the schedule. Undoing or redoing takes back the seats of the courses it
+ * puts back into the schedule and gives back the seats of the courses it takes out. Changes to
+ * the title are not kept, and reloading the catalog forgets every change.
+ * @author Noah Benveniste
+ */
+public class ScheduleSession {
+
+	/** The catalog courses are chosen from */
+	private final SharedCatalog catalog;
+	/** The student's schedule, which is replaced rather than changed once published */
+	private volatile ActivityVector schedule;
+	/** The title of the schedule */
+	private volatile String title;
+	/** Versions of the schedule for undo and redo, or null if changes are not kept */
+	private ScheduleHistory history;
+
+	/**
+	 * Constructs an empty schedule with the default title
+	 * @param catalog the catalog courses are chosen from
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public ScheduleSession(SharedCatalog catalog) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.catalog = catalog;
+		this.schedule = ActivityVector.EMPTY;
+		this.title = WolfScheduler.DEFAULT_SCHEDULE_NAME;
+	}
+
+	/**
+	 * Gets the catalog the session chooses courses from
+	 * @return the catalog
+	 */
+	public SharedCatalog getSharedCatalog() {
+		return this.catalog;
+	}
+
+	/**
+	 * Gets the number of activities in the schedule
+	 * @return the size of the schedule
+	 */
+	public int size() {
+		return this.schedule.size();
+	}
+
+	/**
+	 * Gets the schedule as it is now. Later changes to the session do not affect the list
+	 * returned, so it can be read while other threads change the session.
+	 * @return a read-only list of the activities in the schedule, in schedule order
+	 */
+	public List<Activity> getSnapshot() {
+		return this.schedule;
+	}
+
+	/**
+	 * Gets an activity by its position in the schedule
+	 * @param idx the index of the activity
+	 * @return the activity at that index
+	 * @throws IndexOutOfBoundsException if idx is not a valid index in the schedule
+	 */
+	public Activity getActivity(int idx) {
+		return this.schedule.get(idx);
+	}
+
+	/**
+	 * Checks if a given course (identified by name and section) can be added to the schedule
+	 * and then adds it if allowed
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return true if it was added, false if it does not exist in the course catalog
+	 * @throws IllegalArgumentException if the course is already in the schedule, conflicts
+	 * with a scheduled activity or has no open seats
+	 */
+	public boolean addCourse(String name, String section) {
+		ActivityVector next = prepareCourse(name, section);
+		if (next == null) {
+			return false;
+		}
+		commit(next);
+		return true;
+	}
+
+	/**
+	 * Checks that a course can be added to the schedule and reserves a seat in it, but does not
+	 * publish the schedule with the course added. The caller must either commit() the version
+	 * returned or abandon() it.
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return the schedule with the course added, or null if it does not exist in the course catalog
+	 * @throws IllegalArgumentException if the course is already in the schedule, conflicts
+	 * with a scheduled activity or has no open seats
+	 */
+	ActivityVector prepareCourse(String name, String section) {
+		//First, check that the course actually exists in the catalog
+		Course course = this.catalog.getCourseFromCatalog(name, section);
+		if (course == null) {
+			return null;
+		}
+		//Next, check for duplicates and conflicts with the activities in the schedule
+		ActivityVector current = this.schedule;
+		for (int i = 0; i < current.size(); i++) {
+			if (current.get(i).isDuplicate(course)) {
+				throw new IllegalArgumentException("You are already enrolled in " + name);
+			}
+			try {
+				course.checkConflict(current.get(i));
+			} catch (ConflictException e) {
+				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
+			}
+		}
+		//Reserve the seat last so a rejected course never holds one
+		if (!course.reserveSeat()) {
+			throw new IllegalArgumentException("The course is full.");
+		}
+		return current.append(course);
+	}
+
+	/**
+	 * Adds a user-defined event to the schedule if an event with the same title does not already exist
+	 * @param title The title of the event
+	 * @param meetingDays The days the event takes place
+	 * @param startTime The start time of the event
+	 * @param endTime The end time of the event
+	 * @param weeklyRepeat The number of weeks the event repeats for
+	 * @param eventDetails Details describing the event
+	 * @return the event that was added
+	 * @throws IllegalArgumentException if the event is invalid, has the same title as another
+	 * event in the schedule or conflicts with a scheduled activity
+	 */
+	public Event addEvent(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, String eventDetails) {
+		ActivityVector next = prepareEvent(title, meetingDays, startTime, endTime, weeklyRepeat, eventDetails);
+		commit(next);
+		return (Event) next.get(next.size() - 1);
+	}
+
+	/**
+	 * Checks that an event can be added to the schedule, but does not publish the schedule with
+	 * the event added. The caller must either commit() the version returned or abandon() it.
+	 * @param title The title of the event
+	 * @param meetingDays The days the event takes place
+	 * @param startTime The start time of the event
+	 * @param endTime The end time of the event
+	 * @param weeklyRepeat The number of weeks the event repeats for
+	 * @param eventDetails Details describing the event
+	 * @return the schedule with the event added at the end
+	 * @throws IllegalArgumentException if the event is invalid, has the same title as another
+	 * event in the schedule or conflicts with a scheduled activity
+	 */
+	ActivityVector prepareEvent(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, String eventDetails) {
+		Event newEvent = new Event(title, meetingDays, startTime, endTime, weeklyRepeat, eventDetails);
+		ActivityVector current = this.schedule;
+		for (int i = 0; i < current.size(); i++) {
+			if (current.get(i).isDuplicate(newEvent)) {
+				throw new IllegalArgumentException("You have already created an event called " + newEvent.getTitle());
+			}
+			try {
+				newEvent.checkConflict(current.get(i));
+			} catch (ConflictException e) {
+				throw new IllegalArgumentException("The event cannot be added due to a conflict.");
+			}
+		}
+		return current.append(newEvent);
+	}
+
+	/**
+	 * Adds activities read from an exported schedule to the end of the schedule in one pass.
+	 * Each course is looked up in the catalog by name and section and the catalog's own course
+	 * is added in its place. An activity is rejected if its course is not in the catalog, it
+	 * duplicates or conflicts with an activity already in the schedule or added before it, or
+	 * its course has no open seats. The schedule is published once, with every activity added,
+	 * so the whole import is undone as one change.
+	 * @param activities the activities to add, in order
+	 * @return the activities that were rejected, in order
+	 */
+	public ArrayList<Activity> importSchedule(List<Activity> activities) {
+		ArrayList<Activity> rejected = new ArrayList<Activity>();
+		commit(prepareImport(activities, rejected));
+		return rejected;
+	}
+
+	/**
+	 * Checks activities read from an exported schedule as importSchedule() does and reserves
+	 * the seats of the courses accepted, but does not publish the schedule with them added. The
+	 * caller must either commit() the version returned or abandon() it.
+	 * @param activities the activities to add, in order
+	 * @param rejected the list to add the activities that were rejected to, in order
+	 * @return the schedule with every accepted activity added at the end
+	 */
+	ActivityVector prepareImport(List<Activity> activities, List<Activity> rejected) {
+		ActivityVector next = this.schedule;
+		for (int i = 0; i < activities.size(); i++) {
+			Activity activity = activities.get(i);
+			if (activity instanceof Course) {
+				Course course = (Course) activity;
+				activity = this.catalog.getCourseFromCatalog(course.getName(), course.getSection());
+			}
+			if (activity == null || !fits(activity, next)
+					|| (activity instanceof Course && !((Course) activity).reserveSeat())) {
+				rejected.add(activities.get(i));
+			} else {
+				next = next.append(activity);
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * Publishes a version of the schedule made by one of the prepare methods
+	 * @param next the version, which must have been prepared from the current schedule
+	 */
+	void commit(ActivityVector next) {
+		publish(this.schedule, next);
+	}
+
+	/**
+	 * Throws away a version of the schedule made by one of the prepare methods, giving back the
+	 * seats it reserved. The schedule is left as it was.
+	 * @param next the version, which must have been prepared from the current schedule
+	 */
+	void abandon(ActivityVector next) {
+		releaseSeats(next, this.schedule);
+	}
+
+	/**
+	 * Checks that an activity neither duplicates nor conflicts with any activity in a schedule
+	 * @param activity the activity to check
+	 * @param schedule the schedule
+	 * @return true if the activity can be added to the schedule
+	 */
+	private static boolean fits(Activity activity, List<Activity> schedule) {
+		for (int i = 0; i < schedule.size(); i++) {
+			if (schedule.get(i).isDuplicate(activity) || activity.conflictsWith(schedule.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Publishes a new version of the schedule, keeping the version it replaces if changes are kept
+	 * @param current the version being replaced
+	 * @param next the new version
+	 */
+	private void publish(ActivityVector current, ActivityVector next) {
+		if (next == current) {
+			return;
+		}
+		if (this.history != null) {
+			this.history.record(current);
+		}
+		this.schedule = next;
+	}
+
+	/**
+	 * Removes the activity at a given index from the schedule, releasing its seat if it is a course
+	 * @param idx The index of the activity to be removed from the schedule
+	 * @return the activity that was removed, or null if idx is past the end of the schedule
+	 */
+	public Activity removeActivity(int idx) {
+		ActivityVector current = this.schedule;
+		if (current.size() > idx) {
+			Activity removed = current.get(idx);
+			publish(current, current.removeAt(idx));
+			if (removed instanceof Course) {
+				((Course) removed).releaseSeat();
+			}
+			return removed;
+		}
+		return null;
+	}
+
+	/**
+	 * Resets the schedule to empty, releasing the seats of its courses
+	 */
+	public void resetSchedule() {
+		ActivityVector current = this.schedule;
+		publish(current, ActivityVector.EMPTY);
+		for (int i = 0; i < current.size(); i++) {
+			if (current.get(i) instanceof Course) {
+				((Course) current.get(i)).releaseSeat();
+			}
+		}
+	}
+
+	/**
+	 * Gets the most changes kept for undo
+	 * @return the history depth, or 0 if changes are not kept
+	 */
+	public int getHistoryDepth() {
+		return this.history == null ? 0 : this.history.getDepth();
+	}
+
+	/**
+	 * Sets the most changes kept for undo. Lowering the depth forgets the oldest changes, and a
+	 * depth of 0 stops keeping changes and forgets them all.
+	 * @param depth the most changes to keep
+	 * @throws IllegalArgumentException if depth is negative
+	 */
+	public void setHistoryDepth(int depth) {
+		if (depth < 0) {
+			throw new IllegalArgumentException("History depth cannot be negative.");
+		}
+		if (depth == 0) {
+			this.history = null;
+		} else if (this.history == null) {
+			this.history = new ScheduleHistory(depth);
+		} else {
+			this.history.setDepth(depth);
+		}
+	}
+
+	/**
+	 * Checks if there is a change to the schedule that can be undone
+	 * @return true if there is
+	 */
+	public boolean canUndo() {
+		return this.history != null && this.history.canUndo();
+	}
+
+	/**
+	 * Checks if there is an undone change to the schedule that can be redone
+	 * @return true if there is
+	 */
+	public boolean canRedo() {
+		return this.history != null && this.history.canRedo();
+	}
+
+	/**
+	 * Puts the schedule back the way it was before the last change
+	 * @return true if a change was undone, false if there is none to undo
+	 * @throws IllegalArgumentException if a course the change took out of the schedule has no
+	 * open seats now, in which case nothing is changed
+	 */
+	public boolean undo() {
+		if (!canUndo()) {
+			return false;
+		}
+		ActivityVector current = this.schedule;
+		ActivityVector previous = this.history.peekUndo();
+		takeSeats(current, previous);
+		this.history.undo(current);
+		this.schedule = previous;
+		releaseSeats(current, previous);
+		return true;
+	}
+
+	/**
+	 * Makes the last change undone again
+	 * @return true if a change was redone, false if there is none to redo
+	 * @throws IllegalArgumentException if a course the change added to the schedule has no open
+	 * seats now, in which case nothing is changed
+	 */
+	public boolean redo() {
+		if (!canRedo()) {
+			return false;
+		}
+		ActivityVector current = this.schedule;
+		ActivityVector next = this.history.peekRedo();
+		takeSeats(current, next);
+		this.history.redo(current);
+		this.schedule = next;
+		releaseSeats(current, next);
+		return true;
+	}
+
+	/**
+	 * Reserves a seat in each course that is in a version of the schedule about to be restored
+	 * but not in the current one
+	 * @param current the current version
+	 * @param restored the version being restored
+	 * @throws IllegalArgumentException if a course has no open seats, in which case the seats
+	 * already reserved are given back
+	 */
+	private static void takeSeats(ActivityVector current, ActivityVector restored) {
+		ArrayList<Course> added = coursesNotIn(restored, current);
+		for (int i = 0; i < added.size(); i++) {
+			if (!added.get(i).reserveSeat()) {
+				for (int j = 0; j < i; j++) {
+					added.get(j).releaseSeat();
+				}
+				throw new IllegalArgumentException("The schedule cannot be restored because " + added.get(i).getName() + " is full.");
+			}
+		}
+	}
+
+	/**
+	 * Gives back the seat of each course that was in the replaced version of the schedule but
+	 * is not in the restored one
+	 * @param current the replaced version
+	 * @param restored the restored version
+	 */
+	private static void releaseSeats(ActivityVector current, ActivityVector restored) {
+		ArrayList<Course> removed = coursesNotIn(current, restored);
+		for (int i = 0; i < removed.size(); i++) {
+			removed.get(i).releaseSeat();
+		}
+	}
+
+	/**
+	 * Finds the courses in one version of the schedule that are not in another. Courses are the
+	 * catalog's own objects, so they are compared by identity.
+	 * @param from the version to take courses from
+	 * @param other the version to look for them in
+	 * @return the courses in from that are not in other, in schedule order
+	 */
+	private static ArrayList<Course> coursesNotIn(ActivityVector from, ActivityVector other) {
+		Set<Activity> present = Collections.newSetFromMap(new IdentityHashMap<Activity, Boolean>());
+		for (Activity a : other) {
+			present.add(a);
+		}
+		ArrayList<Course> missing = new ArrayList<Course>();
+		for (Activity a : from) {
+			if (a instanceof Course && !present.contains(a)) {
+				missing.add((Course) a);
+			}
+		}
+		return missing;
+	}
+
+	/**
+	 * Brings the schedule up to date after the catalog was reloaded. Scheduled courses that were
+	 * removed are taken out and recorded as invalidated, scheduled courses that were updated are
+	 * replaced by their new version, and activities that now conflict are recorded as conflicting.
+	 * Earlier versions of the schedule may hold courses that are no longer in the catalog, so
+	 * every kept change is forgotten.
+	 * @param reload the report of the reload, which the schedule changes are added to
+	 */
+	void catalogReloaded(CatalogReloadReport reload) {
+		ArrayList<Activity> next = new ArrayList<Activity>(this.schedule);
+		for (int i = 0; i < next.size(); i++) {
+			if (next.get(i) instanceof Course) {
+				Course scheduled = (Course) next.get(i);
+				Course current = this.catalog.getCourseFromCatalog(scheduled.getName(), scheduled.getSection());
+				if (current == null) {
+					reload.getInvalidated().add(next.remove(i--));
+				} else if (current != scheduled) {
+					next.set(i, current);
+				}
+			}
+		}
+		for (int i = 0; i < next.size(); i++) {
+			for (int j = 0; j < next.size(); j++) {
+				if (i != j && next.get(i).conflictsWith(next.get(j))) {
+					reload.getConflicting().add(next.get(i));
+					break;
+				}
+			}
+		}
+		this.schedule = ActivityVector.of(next);
+		if (this.history != null) {
+			this.history.clear();
+		}
+	}
+
+	/**
+	 * Gets the courses in the catalog that could be added to the schedule without a conflict
+	 * or a duplicate, in order of start time
+	 * @return a list of the courses compatible with every activity in the schedule
+	 */
+	public ArrayList<Course> getCompatibleCourses() {
+		return this.catalog.getCompatibleCourses(this.schedule);
+	}
+
+	/**
+	 * Generates every conflict-free combination of sections for the given courses that fits
+	 * around the events already in the schedule
+	 * @param courseNames the names of the courses to schedule
+	 * @return an iterator over the conflict-free schedules
+	 * @throws IllegalArgumentException if courseNames is null
+	 */
+	public Iterator<ArrayList<Course>> generateSchedules(List<String> courseNames) {
+		return new ScheduleGenerator(this.catalog.getIndex(), courseNames, getScheduledEvents());
+	}
+
+	/**
+	 * Generates conflict-free combinations of sections for the given courses on several threads,
+	 * fitting them around the events already in the schedule
+	 * @param courseNames the names of the courses to schedule
+	 * @param parallelism the number of threads to search with
+	 * @param limit the maximum number of schedules to return
+	 * @return a list of up to limit conflict-free schedules
+	 * @throws IllegalArgumentException if courseNames is null or parallelism or limit is less than 1
+	 */
+	public ArrayList<ArrayList<Course>> generateSchedulesInParallel(List<String> courseNames, int parallelism, int limit) {
+		return new ParallelScheduleGenerator(this.catalog.getIndex(), courseNames, getScheduledEvents(), parallelism, limit).generate();
+	}
+
+	/**
+	 * Gets the events in the schedule
+	 * @return a list of the events in the schedule, in schedule order
+	 */
+	private ArrayList<Event> getScheduledEvents() {
+		ActivityVector current = this.schedule;
+		ArrayList<Event> events = new ArrayList<Event>();
+		for (int i = 0; i < current.size(); i++) {
+			if (current.get(i) instanceof Event) {
+				events.add((Event) current.get(i));
+			}
+		}
+		return events;
+	}
+
+	/**
+	 * Creates and returns a 2D string array representation of the schedule containing
+	 * information about the activities it contains
+	 * @return a 2D string array of the schedule if there are activities in the schedule,
+	 * or an empty string array otherwise
+	 */
+	public String[][] getScheduledActivities() {
+		//Read one version of the schedule throughout
+		ActivityVector current = this.schedule;
+		//The number of rows is determined by the number of activities in the schedule
+		int numRow = current.size();
+		//If there are no activities in the schedule, return an empty array
+		if (numRow == 0) {
+			return new String[0][0];
+		}
+		//Create the string array with the one row per activity in the schedule
+		String[][] schedStr = new String[numRow][];
+		for (int i = 0; i < numRow; i++) {
+			//Get the activity information for short display
+			schedStr[i] = current.get(i).getShortDisplayArray();
+		}
+		return schedStr;
+	}
+
+	/**
+	 * Creates and returns a 2D string array representation of the schedule containing
+	 * information about the courses' name, section, title, credits, instructorId and meetingDays
+	 * @return a 2D string array of the schedule if there are courses in the schedule,
+	 * or an empty string array otherwise
+	 */
+	public String[][] getFullScheduledActivities() {
+		//Read one version of the schedule throughout
+		ActivityVector current = this.schedule;
+		//The number of rows is determined by the number of activities in the schedule
+		int numRow = current.size();
+		//If there are no activities in the schedule, return an empty array
+		if (numRow == 0) {
+			return new String[0][0];
+		}
+		//Create the string array with the one row per activity in the schedule
+		String[][] fullSchedStr = new String[numRow][];
+		for (int i = 0; i < numRow; i++) {
+			//Get the activity information for long display
+			fullSchedStr[i] = current.get(i).getLongDisplayArray();
+		}
+		return fullSchedStr;
+	}
+
+	/**
+	 * Gets the title for the schedule
+	 * @return the schedule's title
+	 */
+	public String getTitle() {
+		return this.title;
+	}
+
+	/**
+	 * Sets the title for the schedule
+	 * @param title the user's desired title for the schedule
+	 * @throws IllegalArgumentException if the input is null
+	 */
+	public void setTitle(String title) {
+		if (title == null) {
+			throw new IllegalArgumentException("Title cannot be null.");
+		}
+		this.title = title;
+	}
+
+	/**
+	 * Exports the schedule to a specified file
+	 * @param fileName the name of the file the user wishes to export to
+	 * @throws IllegalArgumentException if the specified file cannot be written to
+	 */
+	public void exportSchedule(String fileName) {
+		try {
+			ActivityRecordIO.writeActivityRecords(fileName, this.schedule);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be saved.");
+		}
+	}
+}
@@ -0,0 +1,277 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.JournalRecord;
+import edu.ncsu.csc216.wolf_scheduler.io.ScheduleJournal;
+
+/**
+ * Keeps the sessions of a SessionManager on disk, so they survive a crash. Every change made
+ * through the manager is recorded in a journal and forced to disk before the change returns.
+ * Every so often the journal is compacted: the sessions are written to a snapshot and the
+ * records the snapshot covers are dropped, so recovery replays a snapshot and at most a bounded
+ * number of records however long the store has been running.
+ *
+ * A store named base uses the files base.journal and base.snapshot, and base.journal.old while
+ * compacting. On opening, the snapshot is loaded and every journal record after it is replayed
+ * into a new manager. A record that can no longer be applied, such as adding a course that has
+ * left the catalog, is skipped and counted.
+ * @author Noah Benveniste
+ */
+public class ScheduleStore implements Closeable {
+
+	/** Number of records journaled after which the journal is compacted, if none is given */
+	public static final int DEFAULT_COMPACT_EVERY = 100000;
+	/** Milliseconds between checks of whether the journal should be compacted */
+	private static final long CHECK_MILLIS = 1000;
+
+	/** The sessions kept on disk */
+	private final SessionManager manager;
+	/** The journal changes are recorded in */
+	private final ScheduleJournal journal;
+	/** The journal file */
+	private final String journalFile;
+	/** The name the journal is given while it is being compacted */
+	private final String oldJournalFile;
+	/** The snapshot file */
+	private final String snapshotFile;
+	/** Number of records journaled after which the journal is compacted */
+	private final int compactEvery;
+	/** Runs the periodic compaction check */
+	private final ScheduledExecutorService compactor;
+	/** Sequence number of the last record covered by the snapshot */
+	private volatile long snapshotSeq;
+	/** Number of records that could not be replayed when the store was opened */
+	private int skippedRecords;
+
+	/**
+	 * Opens a store, compacting after the default number of records
+	 * @param catalog the catalog every session chooses courses from
+	 * @param baseName the name the store's files start with
+	 * @throws IOException if the store's files cannot be read or created
+	 * @throws IllegalArgumentException if the catalog or base name is null
+	 */
+	public ScheduleStore(SharedCatalog catalog, String baseName) throws IOException {
+		this(catalog, baseName, DEFAULT_COMPACT_EVERY);
+	}
+
+	/**
+	 * Opens a store, recovering the sessions in its files
+	 * @param catalog the catalog every session chooses courses from
+	 * @param baseName the name the store's files start with
+	 * @param compactEvery the number of records journaled after which the journal is compacted
+	 * @throws IOException if the store's files cannot be read or created
+	 * @throws IllegalArgumentException if the catalog or base name is null, or compactEvery is
+	 * less than 1
+	 */
+	public ScheduleStore(SharedCatalog catalog, String baseName, int compactEvery) throws IOException {
+		if (baseName == null) {
+			throw new IllegalArgumentException("Invalid store name.");
+		}
+		if (compactEvery < 1) {
+			throw new IllegalArgumentException("Records between compactions must be at least 1.");
+		}
+		this.manager = new SessionManager(catalog);
+		this.journalFile = baseName + ".journal";
+		this.oldJournalFile = baseName + ".journal.old";
+		this.snapshotFile = baseName + ".snapshot";
+		this.compactEvery = compactEvery;
+
+		//Replay the snapshot, then the journal records after it
+		ArrayList<JournalRecord> records = new ArrayList<JournalRecord>();
+		long seq = 0;
+		if (Files.exists(Paths.get(this.snapshotFile))) {
+			seq = ScheduleJournal.readSnapshot(this.snapshotFile, records);
+		}
+		long afterSeq = seq;
+		boolean interrupted = Files.exists(Paths.get(this.oldJournalFile));
+		if (interrupted) {
+			seq = Math.max(seq, ScheduleJournal.readJournal(this.oldJournalFile, afterSeq, records));
+		}
+		if (Files.exists(Paths.get(this.journalFile))) {
+			seq = Math.max(seq, ScheduleJournal.readJournal(this.journalFile, afterSeq, records));
+		}
+		for (int i = 0; i < records.size(); i++) {
+			replay(records.get(i));
+		}
+		if (interrupted) {
+			//A compaction was cut short; the old journal may hold records no snapshot covers
+			records.clear();
+			this.manager.checkpoint(records, null);
+			ScheduleJournal.writeSnapshot(this.snapshotFile, seq, records);
+			Files.delete(Paths.get(this.oldJournalFile));
+			afterSeq = seq;
+		}
+		this.snapshotSeq = afterSeq;
+		this.journal = new ScheduleJournal(this.journalFile, seq);
+		this.manager.setJournal(this.journal);
+
+		this.compactor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "schedule-compactor");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		this.compactor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				if (journal.getLastSeq() - snapshotSeq >= ScheduleStore.this.compactEvery) {
+					try {
+						compact();
+					} catch (IOException e) {
+						//The journal still holds every change, so the next check tries again
+					}
+				}
+			}
+		}, CHECK_MILLIS, CHECK_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Gets the manager whose sessions are kept on disk. Changes made through it are journaled.
+	 * @return the manager
+	 */
+	public SessionManager getSessionManager() {
+		return this.manager;
+	}
+
+	/**
+	 * Gets the number of records that could not be replayed when the store was opened
+	 * @return the number of records skipped
+	 */
+	public int getSkippedRecords() {
+		return this.skippedRecords;
+	}
+
+	/**
+	 * Gets the number of journal records not yet covered by the snapshot, which is the most
+	 * records recovery would replay
+	 * @return the number of records
+	 */
+	public long getJournalLength() {
+		return this.journal.getLastSeq() - this.snapshotSeq;
+	}
+
+	/**
+	 * Compacts the journal: captures every session and rotates the journal while changes are
+	 * briefly held off, then writes the snapshot and deletes the old journal while changes go on.
+	 * A crash at any point leaves files that recover every change that returned.
+	 * @throws IOException if the journal cannot be rotated or the snapshot cannot be written
+	 */
+	public synchronized void compact() throws IOException {
+		List<JournalRecord> records = new ArrayList<JournalRecord>();
+		if (Files.exists(Paths.get(this.oldJournalFile))) {
+			//An earlier compaction failed; cover the old journal before it is replaced
+			long seq = this.manager.checkpoint(records, null);
+			ScheduleJournal.writeSnapshot(this.snapshotFile, seq, records);
+			Files.delete(Paths.get(this.oldJournalFile));
+			this.snapshotSeq = seq;
+			records.clear();
+		}
+		long seq = this.manager.checkpoint(records, this.oldJournalFile);
+		ScheduleJournal.writeSnapshot(this.snapshotFile, seq, records);
+		Files.delete(Paths.get(this.oldJournalFile));
+		this.snapshotSeq = seq;
+	}
+
+	/**
+	 * Stops compacting and closes the journal. Changes made through the manager afterward throw
+	 * an IllegalStateException.
+	 * @throws IOException if records still buffered cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		this.compactor.shutdown();
+		try {
+			this.compactor.awaitTermination(CHECK_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.journal.close();
+	}
+
+	/**
+	 * Applies a record to the manager, counting it as skipped if it cannot be applied or is of a
+	 * type that cannot be replayed
+	 * @param record the record
+	 */
+	private void replay(JournalRecord record) {
+		String id = record.getSession();
+		try {
+			switch (record.getType()) {
+			case OPEN_SESSION:
+				this.manager.openSession(id);
+				break;
+			case CLOSE_SESSION:
+				this.manager.closeSession(id);
+				break;
+			case ADD_COURSE:
+				if (!this.manager.addCourse(id, record.getField(0), record.getField(1))) {
+					this.skippedRecords++;
+				}
+				break;
+			case ADD_EVENT:
+				this.manager.addEvent(id, record.getField(0), record.getField(1), record.getIntField(2),
+						record.getIntField(3), record.getIntField(4), record.getField(5));
+				break;
+			case REMOVE_COURSE:
+			case REMOVE_EVENT:
+				if (!remove(id, record)) {
+					this.skippedRecords++;
+				}
+				break;
+			case RESET_SCHEDULE:
+				this.manager.resetSchedule(id);
+				break;
+			case SET_TITLE:
+				this.manager.setTitle(id, record.getField(0));
+				break;
+			default:
+				//A type this version does not know how to replay
+				throw new IllegalArgumentException("Unknown journal record type " + record.getType() + ".");
+			}
+		} catch (IllegalArgumentException e) {
+			this.skippedRecords++;
+		}
+	}
+
+	/**
+	 * Removes the activity a removal record names from a session's schedule. A course is found
+	 * by its name and section and an event by its title, so the right activity is removed even
+	 * if an earlier record was skipped.
+	 * @param id the student's id
+	 * @param record the removal record
+	 * @return true if the activity was removed, false if it is not in the schedule
+	 * @throws IllegalArgumentException if the session is not open
+	 */
+	private boolean remove(String id, JournalRecord record) {
+		List<Activity> schedule = this.manager.getSchedule(id);
+		for (int i = 0; i < schedule.size(); i++) {
+			Activity a = schedule.get(i);
+			boolean match;
+			if (record.getType() == JournalRecord.Type.REMOVE_COURSE) {
+				match = a instanceof Course && ((Course) a).getName().equals(record.getField(0))
+						&& ((Course) a).getSection().equals(record.getField(1));
+			} else {
+				match = a instanceof Event && a.getTitle().equals(record.getField(0));
+			}
+			if (match) {
+				return this.manager.removeActivity(id, i) != null;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,151 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * The search space for generating schedules: the candidate sections of each requested course
+ * and the order the courses are searched in. Sections that conflict with a fixed activity are
+ * removed up front, and courses with the fewest candidate sections are searched first so dead
+ * ends are found early. A plan is never modified once built, so it can be shared by searches
+ * running on different threads.
+ * @author Noah Benveniste
+ */
+class SearchPlan {
+
+	/** Candidate sections of each course, in search order */
+	private Course[][] sections;
+	/** Position in the requested list of the course searched at each depth */
+	private int[] order;
+
+	/**
+	 * Builds the search plan for the given courses. Course names that appear more than once are
+	 * only planned once.
+	 * @param catalog index of the course catalog to take sections from
+	 * @param courseNames names of the courses to schedule
+	 * @param fixed activities that every schedule must fit around
+	 * @throws IllegalArgumentException if any argument is null
+	 */
+	SearchPlan(CatalogIndex catalog, List<String> courseNames, List<? extends Activity> fixed) {
+		if (catalog == null || courseNames == null || fixed == null) {
+			throw new IllegalArgumentException();
+		}
+		ArrayList<String> names = new ArrayList<String>(new LinkedHashSet<String>(courseNames));
+		int n = names.size();
+		final Course[][] candidates = new Course[n][];
+		for (int i = 0; i < n; i++) {
+			candidates[i] = fitting(catalog.getSections(names.get(i)), fixed);
+		}
+		Integer[] byCount = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			byCount[i] = i;
+		}
+		Arrays.sort(byCount, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Integer.compare(candidates[a].length, candidates[b].length);
+			}
+		});
+		this.sections = new Course[n][];
+		this.order = new int[n];
+		for (int d = 0; d < n; d++) {
+			this.order[d] = byCount[d];
+			this.sections[d] = candidates[byCount[d]];
+		}
+	}
+
+	/**
+	 * Gets the number of courses being scheduled, which is the depth of the search tree
+	 * @return the number of courses
+	 */
+	int depth() {
+		return sections.length;
+	}
+
+	/**
+	 * Gets the candidate sections for the course searched at the given depth
+	 * @param depth the depth in the search
+	 * @return the candidate sections
+	 */
+	Course[] sectionsAt(int depth) {
+		return sections[depth];
+	}
+
+	/**
+	 * Estimates the size of the subtree below the given depth as the product of the number of
+	 * candidate sections at each remaining depth, capped at Long.MAX_VALUE
+	 * @param depth the first depth of the subtree
+	 * @return the number of leaves in the subtree before any pruning
+	 */
+	long subtreeSize(int depth) {
+		long size = 1;
+		for (int d = depth; d < sections.length; d++) {
+			int count = sections[d].length;
+			if (count == 0) {
+				return 0;
+			}
+			if (size > Long.MAX_VALUE / count) {
+				return Long.MAX_VALUE;
+			}
+			size *= count;
+		}
+		return size;
+	}
+
+	/**
+	 * Checks that a section does not conflict with the sections chosen above the given depth
+	 * @param c the section to check
+	 * @param chosen the sections chosen at each depth
+	 * @param depth the depth the section would be chosen at
+	 * @return true if the section fits, false if it conflicts
+	 */
+	static boolean fits(Course c, Course[] chosen, int depth) {
+		for (int i = 0; i < depth; i++) {
+			if (c.conflictsWith(chosen[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a schedule from a complete set of chosen sections, in the order the courses were
+	 * requested
+	 * @param chosen the section chosen at each depth
+	 * @return the schedule
+	 */
+	ArrayList<Course> build(Course[] chosen) {
+		Course[] inRequestOrder = new Course[chosen.length];
+		for (int d = 0; d < chosen.length; d++) {
+			inRequestOrder[order[d]] = chosen[d];
+		}
+		return new ArrayList<Course>(Arrays.asList(inRequestOrder));
+	}
+
+	/**
+	 * Filters a course's sections down to those that do not conflict with any fixed activity
+	 * @param courseSections the sections of the course
+	 * @param fixed the fixed activities
+	 * @return the sections that fit around the fixed activities
+	 */
+	private static Course[] fitting(ArrayList<Course> courseSections, List<? extends Activity> fixed) {
+		ArrayList<Course> fit = new ArrayList<Course>();
+		for (int i = 0; i < courseSections.size(); i++) {
+			Course c = courseSections.get(i);
+			boolean conflict = false;
+			for (int j = 0; j < fixed.size() && !conflict; j++) {
+				conflict = c.conflictsWith(fixed.get(j));
+			}
+			if (!conflict) {
+				fit.add(c);
+			}
+		}
+		return fit.toArray(new Course[fit.size()]);
+	}
+}
@@ -0,0 +1,569 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordWriter;
+import edu.ncsu.csc216.wolf_scheduler.io.JournalRecord;
+import edu.ncsu.csc216.wolf_scheduler.io.ScheduleJournal;
+import edu.ncsu.csc216.wolf_scheduler.io.ScheduleRecordReader;
+
+/**
+ * The schedule sessions of many students on one SharedCatalog, identified by student id, which
+ * can be changed from any number of threads. Changes to a session are made while holding one of
+ * a fixed array of locks chosen by the session id, so checking an activity for duplicates and
+ * conflicts and then adding it happens as one step, and a fixed number of locks covers any
+ * number of sessions. Sessions that share a lock wait for each other; other sessions do not.
+ *
+ * Reads take no lock. A session publishes a new schedule with each change, so a reader sees the
+ * whole schedule before or after a change and never waits for a writer.
+ *
+ * A manager given a ScheduleJournal by a ScheduleStore journals each change before making it.
+ * While holding the session's lock, the change is checked and any seat it needs is reserved,
+ * its record is appended and forced to disk, and only then is the change published. A session's
+ * records are therefore in the order its changes were made, and no reader sees a change that
+ * would be lost in a crash. Threads on other locks wait for the disk at the same time, so one
+ * force covers all of them. A change that cannot be journaled throws an IllegalStateException
+ * and is not made: the session and the seats are left as they were.
+ * @author Noah Benveniste
+ */
+public class SessionManager {
+
+	/** Number of locks used when none is given */
+	public static final int DEFAULT_STRIPES = 64;
+
+	/** The catalog every session chooses courses from */
+	private final SharedCatalog catalog;
+	/** Open sessions by id */
+	private final ConcurrentHashMap<String, ScheduleSession> sessions;
+	/** Locks held while changing a session, chosen by the hash of the session id */
+	private final Object[] locks;
+	/** Journal changes are recorded in, or null if they are not recorded */
+	private volatile ScheduleJournal journal;
+
+	/**
+	 * Constructs a manager with the default number of locks
+	 * @param catalog the catalog every session chooses courses from
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public SessionManager(SharedCatalog catalog) {
+		this(catalog, DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Constructs a manager
+	 * @param catalog the catalog every session chooses courses from
+	 * @param stripes the number of locks to share between the sessions
+	 * @throws IllegalArgumentException if the catalog is null or stripes is less than 1
+	 */
+	public SessionManager(SharedCatalog catalog, int stripes) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		if (stripes < 1) {
+			throw new IllegalArgumentException("Stripes must be at least 1.");
+		}
+		this.catalog = catalog;
+		this.sessions = new ConcurrentHashMap<String, ScheduleSession>();
+		this.locks = new Object[stripes];
+		for (int i = 0; i < stripes; i++) {
+			this.locks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Gets the catalog every session chooses courses from
+	 * @return the catalog
+	 */
+	public SharedCatalog getSharedCatalog() {
+		return this.catalog;
+	}
+
+	/**
+	 * Gets the number of open sessions
+	 * @return the number of sessions
+	 */
+	public int size() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Opens an empty session for a student if one is not already open
+	 * @param id the student's id
+	 * @return true if a session was opened, false if one was already open
+	 * @throws IllegalArgumentException if the id is null
+	 */
+	public boolean openSession(String id) {
+		if (id == null) {
+			throw new IllegalArgumentException("Session id cannot be null.");
+		}
+		synchronized (lockFor(id)) {
+			if (this.sessions.containsKey(id)) {
+				return false;
+			}
+			sync(log(new JournalRecord(JournalRecord.Type.OPEN_SESSION, id)));
+			this.sessions.put(id, new ScheduleSession(this.catalog));
+		}
+		return true;
+	}
+
+	/**
+	 * Closes a student's session, after any change being made to it is finished
+	 * @param id the student's id
+	 * @return true if the session was open, false otherwise
+	 */
+	public boolean closeSession(String id) {
+		synchronized (lockFor(id)) {
+			if (!isOpen(id)) {
+				return false;
+			}
+			sync(log(new JournalRecord(JournalRecord.Type.CLOSE_SESSION, id)));
+			this.sessions.remove(id);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if a student has an open session
+	 * @param id the student's id
+	 * @return true if the session is open, false otherwise
+	 */
+	public boolean isOpen(String id) {
+		return id != null && this.sessions.containsKey(id);
+	}
+
+	/**
+	 * Adds a course to a student's schedule if it is in the catalog, neither duplicates nor
+	 * conflicts with a scheduled activity and has an open seat, which is reserved for the student.
+	 * Seats are reserved without taking the locks of other sessions.
+	 * @param id the student's id
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return true if it was added, false if it does not exist in the course catalog
+	 * @throws IllegalArgumentException if the session is not open, or if the course is already
+	 * in the schedule, conflicts with a scheduled activity or has no open seats
+	 * @throws IllegalStateException if the change cannot be journaled
+	 */
+	public boolean addCourse(String id, String name, String section) {
+		synchronized (lockFor(id)) {
+			ScheduleSession session = getSession(id);
+			ActivityVector next = session.prepareCourse(name, section);
+			if (next == null) {
+				return false;
+			}
+			commit(id, session, next, 0);
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a user-defined event to a student's schedule if it neither duplicates nor conflicts
+	 * with a scheduled activity
+	 * @param id the student's id
+	 * @param title The title of the event
+	 * @param meetingDays The days the event takes place
+	 * @param startTime The start time of the event
+	 * @param endTime The end time of the event
+	 * @param weeklyRepeat The number of weeks the event repeats for
+	 * @param eventDetails Details describing the event
+	 * @return the event that was added
+	 * @throws IllegalArgumentException if the session is not open, or if the event is invalid,
+	 * has the same title as another event in the schedule or conflicts with a scheduled activity
+	 * @throws IllegalStateException if the change cannot be journaled
+	 */
+	public Event addEvent(String id, String title, String meetingDays, int startTime, int endTime, int weeklyRepeat,
+			String eventDetails) {
+		synchronized (lockFor(id)) {
+			ScheduleSession session = getSession(id);
+			ActivityVector next = session.prepareEvent(title, meetingDays, startTime, endTime, weeklyRepeat, eventDetails);
+			commit(id, session, next, 0);
+			return (Event) next.get(next.size() - 1);
+		}
+	}
+
+	/**
+	 * Removes the activity at a given index from a student's schedule
+	 * @param id the student's id
+	 * @param idx the index of the activity to be removed from the schedule
+	 * @return the activity that was removed, or null if idx is past the end of the schedule
+	 * @throws IllegalArgumentException if the session is not open
+	 * @throws IllegalStateException if the change cannot be journaled
+	 */
+	public Activity removeActivity(String id, int idx) {
+		synchronized (lockFor(id)) {
+			ScheduleSession session = getSession(id);
+			if (idx >= session.size()) {
+				return null;
+			}
+			sync(log(removalRecord(id, session.getActivity(idx))));
+			return session.removeActivity(idx);
+		}
+	}
+
+	/**
+	 * Resets a student's schedule to empty
+	 * @param id the student's id
+	 * @throws IllegalArgumentException if the session is not open
+	 * @throws IllegalStateException if the change cannot be journaled
+	 */
+	public void resetSchedule(String id) {
+		synchronized (lockFor(id)) {
+			ScheduleSession session = getSession(id);
+			sync(log(new JournalRecord(JournalRecord.Type.RESET_SCHEDULE, id)));
+			session.resetSchedule();
+		}
+	}
+
+	/**
+	 * Sets the title of a student's schedule
+	 * @param id the student's id
+	 * @param title the new title
+	 * @throws IllegalArgumentException if the session is not open or the title is null
+	 * @throws IllegalStateException if the change cannot be journaled
+	 */
+	public void setTitle(String id, String title) {
+		synchronized (lockFor(id)) {
+			ScheduleSession session = getSession(id);
+			if (title == null) {
+				throw new IllegalArgumentException("Title cannot be null.");
+			}
+			sync(log(new JournalRecord(JournalRecord.Type.SET_TITLE, id, title)));
+			session.setTitle(title);
+		}
+	}
+
+	/**
+	 * Imports a file of schedules, as read by ScheduleRecordReader, one schedule at a time. Each
+	 * schedule is added to the end of the session with its id, which is opened if it is not open,
+	 * and the session takes the schedule's title if it has one. Activities are checked as
+	 * ScheduleSession.importSchedule checks them, and rejected activities are counted. Each
+	 * schedule's changes are journaled and forced to disk before the schedule is published.
+	 * @param fileName the file of schedules
+	 * @return counts of the schedules and activities loaded and rejected
+	 * @throws IOException if the file cannot be found or read
+	 * @throws IllegalStateException if a schedule cannot be journaled, in which case it and the
+	 * schedules after it are not imported
+	 */
+	public ScheduleLoadReport importSchedules(String fileName) throws IOException {
+		ScheduleLoadReport report = new ScheduleLoadReport();
+		ScheduleRecordReader reader = new ScheduleRecordReader(fileName);
+		try {
+			while (reader.nextSchedule()) {
+				importSchedule(reader.getId(), reader.getTitle(), reader.getActivities(), report);
+			}
+		} finally {
+			reader.close();
+		}
+		report.setInvalidLinesSkipped(reader.getInvalidLines());
+		return report;
+	}
+
+	/**
+	 * Imports one schedule into a session, opening it if it is not open
+	 * @param id the student's id
+	 * @param title the title of the schedule, or null to keep the session's title
+	 * @param activities the activities to add
+	 * @param report the report to count the schedule in
+	 * @throws IllegalStateException if the schedule cannot be journaled
+	 */
+	private void importSchedule(String id, String title, List<Activity> activities, ScheduleLoadReport report) {
+		synchronized (lockFor(id)) {
+			ScheduleSession session = this.sessions.get(id);
+			boolean opened = session == null;
+			if (opened) {
+				session = new ScheduleSession(this.catalog);
+			}
+			ArrayList<Activity> rejected = new ArrayList<Activity>();
+			ActivityVector next = session.prepareImport(activities, rejected);
+			long seq = 0;
+			try {
+				if (opened) {
+					seq = log(new JournalRecord(JournalRecord.Type.OPEN_SESSION, id));
+				}
+				if (title != null) {
+					seq = log(new JournalRecord(JournalRecord.Type.SET_TITLE, id, title));
+				}
+			} catch (IllegalStateException e) {
+				session.abandon(next);
+				throw e;
+			}
+			int first = session.size();
+			commit(id, session, next, seq);
+			if (opened) {
+				this.sessions.put(id, session);
+			}
+			if (title != null) {
+				session.setTitle(title);
+			}
+			report.scheduleLoaded(next.size() - first, rejected.size());
+		}
+	}
+
+	/**
+	 * Gets a student's schedule as it is now, without waiting for changes being made to it
+	 * @param id the student's id
+	 * @return a read-only list of the activities in the schedule, in schedule order
+	 * @throws IllegalArgumentException if the session is not open
+	 */
+	public List<Activity> getSchedule(String id) {
+		return getSession(id).getSnapshot();
+	}
+
+	/**
+	 * Gets the title of a student's schedule
+	 * @param id the student's id
+	 * @return the title
+	 * @throws IllegalArgumentException if the session is not open
+	 */
+	public String getTitle(String id) {
+		return getSession(id).getTitle();
+	}
+
+	/**
+	 * Gets the courses in the catalog that could be added to a student's schedule as it is now
+	 * @param id the student's id
+	 * @return a list of the compatible courses, in order of start time
+	 * @throws IllegalArgumentException if the session is not open
+	 */
+	public ArrayList<Course> getCompatibleCourses(String id) {
+		return getSession(id).getCompatibleCourses();
+	}
+
+	/**
+	 * Exports a student's schedule as it is now to a file
+	 * @param id the student's id
+	 * @param fileName the name of the file to write
+	 * @throws IllegalArgumentException if the session is not open or the file cannot be written
+	 */
+	public void exportSchedule(String id, String fileName) {
+		getSession(id).exportSchedule(fileName);
+	}
+
+	/**
+	 * Exports every open session's schedule to one file in one pass, in the format read by
+	 * importSchedules: for each session in order of id, a header line with the id and title, the
+	 * activity records and a blank line. Each schedule is written as it was at one moment, and
+	 * no lock is held while writing. The file is replaced only once every schedule has been
+	 * written and forced to disk, so a failed export leaves it as it was.
+	 * @param fileName the name of the file to write
+	 * @return the number of schedules exported
+	 * @throws IOException if the file cannot be written
+	 */
+	public int exportSchedules(String fileName) throws IOException {
+		ArrayList<String> ids = new ArrayList<String>(this.sessions.keySet());
+		Collections.sort(ids);
+		int exported = 0;
+		ActivityRecordWriter writer = new ActivityRecordWriter(fileName);
+		try {
+			for (int i = 0; i < ids.size(); i++) {
+				String id = ids.get(i);
+				String title;
+				List<Activity> schedule;
+				//Read the title and schedule together, so a concurrent import is seen whole or not at all
+				synchronized (lockFor(id)) {
+					ScheduleSession session = this.sessions.get(id);
+					if (session == null) {
+						//Closed since the ids were listed
+						continue;
+					}
+					title = session.getTitle();
+					schedule = session.getSnapshot();
+				}
+				writer.writeSchedule(id, title, schedule);
+				exported++;
+			}
+			writer.commit();
+		} finally {
+			writer.close();
+		}
+		return exported;
+	}
+
+	/**
+	 * Starts recording changes in a journal
+	 * @param journal the journal, or null to stop recording changes
+	 */
+	void setJournal(ScheduleJournal journal) {
+		this.journal = journal;
+	}
+
+	/**
+	 * Captures every session as records that rebuild it, while holding every lock so no session
+	 * changes partway through. If a file name is given, the journal is rotated to that name
+	 * before the locks are released, so every record in the old journal is covered by the
+	 * captured records and every later change goes to the new journal.
+	 * @param records the list to add the records to
+	 * @param oldJournal the name to rotate the journal to, or null to leave it as it is
+	 * @return the sequence number of the last record the captured records cover, or 0 if there
+	 * is no journal
+	 * @throws IOException if the journal cannot be rotated
+	 */
+	long checkpoint(List<JournalRecord> records, String oldJournal) throws IOException {
+		return checkpoint(0, records, oldJournal);
+	}
+
+	/**
+	 * Takes the remaining locks in order, then captures every session
+	 * @param stripe the index of the next lock to take
+	 * @param records the list to add the records to
+	 * @param oldJournal the name to rotate the journal to, or null to leave it as it is
+	 * @return the sequence number of the last record the captured records cover
+	 * @throws IOException if the journal cannot be rotated
+	 */
+	private long checkpoint(int stripe, List<JournalRecord> records, String oldJournal) throws IOException {
+		if (stripe < this.locks.length) {
+			synchronized (this.locks[stripe]) {
+				return checkpoint(stripe + 1, records, oldJournal);
+			}
+		}
+		for (Map.Entry<String, ScheduleSession> entry : this.sessions.entrySet()) {
+			String id = entry.getKey();
+			ScheduleSession session = entry.getValue();
+			records.add(new JournalRecord(JournalRecord.Type.OPEN_SESSION, id));
+			records.add(new JournalRecord(JournalRecord.Type.SET_TITLE, id, session.getTitle()));
+			List<Activity> schedule = session.getSnapshot();
+			for (int i = 0; i < schedule.size(); i++) {
+				records.add(activityRecord(id, schedule.get(i)));
+			}
+		}
+		ScheduleJournal j = this.journal;
+		if (j == null) {
+			return 0;
+		}
+		return oldJournal == null ? j.getLastSeq() : j.rotate(oldJournal);
+	}
+
+	/**
+	 * Builds the record of adding a course or an event
+	 * @param id the student's id
+	 * @param activity the course or event
+	 * @return the record
+	 */
+	private static JournalRecord activityRecord(String id, Activity activity) {
+		if (activity instanceof Course) {
+			Course c = (Course) activity;
+			return new JournalRecord(JournalRecord.Type.ADD_COURSE, id, c.getName(), c.getSection());
+		}
+		return eventRecord(id, (Event) activity);
+	}
+
+	/**
+	 * Builds the record of removing a course or an event. The activity is recorded by what it is
+	 * rather than by its index, since indices shift if an earlier record cannot be replayed.
+	 * @param id the student's id
+	 * @param activity the course or event
+	 * @return the record
+	 */
+	private static JournalRecord removalRecord(String id, Activity activity) {
+		if (activity instanceof Course) {
+			Course c = (Course) activity;
+			return new JournalRecord(JournalRecord.Type.REMOVE_COURSE, id, c.getName(), c.getSection());
+		}
+		return new JournalRecord(JournalRecord.Type.REMOVE_EVENT, id, activity.getTitle());
+	}
+
+	/**
+	 * Builds the record of adding an event
+	 * @param id the student's id
+	 * @param event the event
+	 * @return the record
+	 */
+	private static JournalRecord eventRecord(String id, Event event) {
+		return new JournalRecord(JournalRecord.Type.ADD_EVENT, id, event.getTitle(), event.getMeetingDays(),
+				String.valueOf(event.getStartTime()), String.valueOf(event.getEndTime()),
+				String.valueOf(event.getWeeklyRepeat()), event.getEventDetails());
+	}
+
+	/**
+	 * Journals the activities a prepared version of a session's schedule adds, waits for them to
+	 * be forced to disk and then publishes the version. If they cannot be journaled, the seats
+	 * the version reserved are given back and the schedule is left as it was. Called while
+	 * holding the session's lock.
+	 * @param id the student's id
+	 * @param session the session
+	 * @param next the version, prepared from the session's current schedule
+	 * @param seq the sequence number of a record already appended for the same change, or 0
+	 * @throws IllegalStateException if the change cannot be journaled
+	 */
+	private void commit(String id, ScheduleSession session, ActivityVector next, long seq) {
+		try {
+			for (int i = session.size(); i < next.size(); i++) {
+				seq = log(activityRecord(id, next.get(i)));
+			}
+			sync(seq);
+		} catch (IllegalStateException e) {
+			session.abandon(next);
+			throw e;
+		}
+		session.commit(next);
+	}
+
+	/**
+	 * Appends a record of a change to the journal. Called while holding the session's lock.
+	 * @param record the record
+	 * @return the record's sequence number, or 0 if changes are not recorded
+	 * @throws IllegalStateException if the record cannot be appended
+	 */
+	private long log(JournalRecord record) {
+		ScheduleJournal j = this.journal;
+		if (j == null) {
+			return 0;
+		}
+		try {
+			return j.append(record);
+		} catch (IOException e) {
+			throw new IllegalStateException("The change cannot be saved.", e);
+		}
+	}
+
+	/**
+	 * Waits for a record to be forced to disk. Called while holding the session's lock, before
+	 * the change is published.
+	 * @param seq the record's sequence number, or 0 if changes are not recorded
+	 * @throws IllegalStateException if the record cannot be written
+	 */
+	private void sync(long seq) {
+		ScheduleJournal j = this.journal;
+		if (seq == 0 || j == null) {
+			return;
+		}
+		try {
+			j.awaitDurable(seq);
+		} catch (IOException e) {
+			throw new IllegalStateException("The change cannot be saved.", e);
+		}
+	}
+
+	/**
+	 * Gets an open session
+	 * @param id the student's id
+	 * @return the session
+	 * @throws IllegalArgumentException if the session is not open
+	 */
+	private ScheduleSession getSession(String id) {
+		ScheduleSession session = id == null ? null : this.sessions.get(id);
+		if (session == null) {
+			throw new IllegalArgumentException("No session is open for " + id + ".");
+		}
+		return session;
+	}
+
+	/**
+	 * Chooses the lock for a session id
+	 * @param id the student's id
+	 * @return the lock to hold while changing the session
+	 */
+	private Object lockFor(String id) {
+		int h = id == null ? 0 : id.hashCode();
+		//Mix the high bits into the low bits that choose the lock
+		h ^= h >>> 16;
+		return this.locks[(h & 0x7fffffff) % this.locks.length];
+	}
+}
@@ -0,0 +1,404 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * A course catalog together with the indexes built over it, read once and shared by any number
+ * of schedule sessions. The public methods only read the catalog, so once it is constructed a
+ * SharedCatalog can be used by many threads at once without locking. The courses it returns
+ * are the catalog's own objects and must not be modified.
+ *
+ * Only a WolfScheduler reloads a catalog, and it does so on a catalog it created for itself,
+ * so a catalog passed to ScheduleSession never changes.
+ * @author Noah Benveniste
+ */
+public class SharedCatalog {
+
+	/** Catalog of courses to be chosen from */
+	private ArrayList<Course> courseCatalog;
+	/** Index of the course catalog by course name and section */
+	private CatalogIndex catalogIndex;
+	/** Pairwise conflicts between the courses in the catalog */
+	private ConflictMatrix conflictMatrix;
+	/** Meeting times of the courses in the catalog, by day */
+	private TimeIndex timeIndex;
+	/** Counts of the lines loaded and skipped when the catalog was read */
+	private CourseLoadReport loadReport;
+	/** Display array of the course catalog, built on first use and cleared when the catalog changes */
+	private volatile String[][] catalogDisplay;
+
+	/**
+	 * Constructs an empty catalog
+	 */
+	public SharedCatalog() {
+		this(new ArrayList<Course>(), new CourseLoadReport());
+	}
+
+	/**
+	 * Constructs a catalog from a file of course records or a catalog snapshot
+	 * @param inFile the name of the file to be read
+	 * @throws IllegalArgumentException if the input file cannot be read or is a corrupt snapshot
+	 */
+	public SharedCatalog(String inFile) {
+		this.loadReport = new CourseLoadReport();
+		this.courseCatalog = readCatalog(inFile, this.loadReport);
+		index();
+	}
+
+	/**
+	 * Constructs a catalog from courses that have already been read. The list is copied, so
+	 * later changes to it do not affect the catalog.
+	 * @param courses the courses of the catalog, in catalog order
+	 * @param loadReport the counts for reading the courses
+	 * @throws IllegalArgumentException if a course is null or two courses have the same name
+	 * and section
+	 */
+	public SharedCatalog(ArrayList<Course> courses, CourseLoadReport loadReport) {
+		checkCourses(courses);
+		this.loadReport = loadReport;
+		this.courseCatalog = new ArrayList<Course>(courses);
+		index();
+	}
+
+	/**
+	 * Indexes the catalog once so lookups do not need to scan it
+	 */
+	private void index() {
+		this.catalogIndex = new CatalogIndex(this.courseCatalog);
+		this.conflictMatrix = new ConflictMatrix(this.courseCatalog);
+		this.timeIndex = new TimeIndex(this.courseCatalog);
+	}
+
+	/**
+	 * Reads a course catalog from a file of course records or a catalog snapshot
+	 * @param inFile the name of the file to be read
+	 * @param report the report to count loaded and skipped lines in
+	 * @return the courses in the file
+	 * @throws IllegalArgumentException if the input file cannot be read or is a corrupt snapshot
+	 */
+	static ArrayList<Course> readCatalog(String inFile, CourseLoadReport report) {
+		try {
+			//A catalog snapshot loads without parsing any text
+			if (CatalogSnapshotIO.isCatalogSnapshot(inFile)) {
+				return CatalogSnapshotIO.readCatalogSnapshot(inFile, report);
+			}
+			return CourseRecordIO.readCourseRecords(inFile, report);
+		} catch (FileNotFoundException e ) {
+			throw new IllegalArgumentException("Cannot find file.");
+		} catch (IOException e) {
+			throw new IllegalArgumentException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Checks that no course is null and no two courses have the same name and section
+	 * @param courses the courses to check
+	 * @throws IllegalArgumentException if the courses are not a valid catalog
+	 */
+	private static void checkCourses(ArrayList<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		HashSet<String> keys = new HashSet<String>();
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			if (c == null || !keys.add(c.getName() + "," + c.getSection())) {
+				throw new IllegalArgumentException("Invalid catalog.");
+			}
+		}
+	}
+
+	/**
+	 * Replaces the courses of the catalog. The new catalog is compared with the current one by
+	 * name and section, and only the courses that were added, updated or removed are changed in
+	 * the indexes and conflict matrix; unchanged courses keep their identity. This must not be
+	 * called on a catalog that sessions on other threads are reading.
+	 * @param incoming the courses of the new catalog, in catalog order
+	 * @param loadReport the counts for reading the new catalog
+	 * @return a report of the changes to the catalog, with no schedule changes filled in yet
+	 * @throws IllegalArgumentException if a course is null or two courses have the same name
+	 * and section, in which case nothing is changed
+	 */
+	CatalogReloadReport reload(ArrayList<Course> incoming, CourseLoadReport loadReport) {
+		checkCourses(incoming);
+		CatalogReloadReport reload = new CatalogReloadReport(loadReport);
+
+		//Match each incoming course with the current course of the same name and section
+		ArrayList<Course> newCatalog = new ArrayList<Course>(incoming.size());
+		IdentityHashMap<Course, Boolean> kept = new IdentityHashMap<Course, Boolean>();
+		ArrayList<Course> replaced = new ArrayList<Course>();
+		for (int i = 0; i < incoming.size(); i++) {
+			Course c = incoming.get(i);
+			Course current = this.catalogIndex.get(c.getName(), c.getSection());
+			if (current == null) {
+				reload.getAdded().add(c);
+				newCatalog.add(c);
+			} else {
+				kept.put(current, Boolean.TRUE);
+				if (current.equals(c)) {
+					newCatalog.add(current);
+				} else {
+					//The new version keeps the seats of the course it replaces
+					c.copySeats(current);
+					reload.getUpdated().add(c);
+					replaced.add(current);
+					newCatalog.add(c);
+				}
+			}
+		}
+		for (int i = 0; i < this.courseCatalog.size(); i++) {
+			if (!kept.containsKey(this.courseCatalog.get(i))) {
+				reload.getRemoved().add(this.courseCatalog.get(i));
+			}
+		}
+
+		//Apply only the changes to the index and the conflict matrix
+		for (int i = 0; i < reload.getRemoved().size(); i++) {
+			Course c = reload.getRemoved().get(i);
+			this.catalogIndex.remove(c.getName(), c.getSection());
+			this.conflictMatrix.remove(c);
+			this.timeIndex.remove(c);
+		}
+		for (int i = 0; i < replaced.size(); i++) {
+			this.conflictMatrix.remove(replaced.get(i));
+			this.timeIndex.remove(replaced.get(i));
+		}
+		for (int i = 0; i < reload.getUpdated().size(); i++) {
+			this.catalogIndex.replace(reload.getUpdated().get(i));
+			this.conflictMatrix.add(reload.getUpdated().get(i));
+			this.timeIndex.add(reload.getUpdated().get(i));
+		}
+		for (int i = 0; i < reload.getAdded().size(); i++) {
+			this.catalogIndex.add(reload.getAdded().get(i));
+			this.conflictMatrix.add(reload.getAdded().get(i));
+			this.timeIndex.add(reload.getAdded().get(i));
+		}
+		//Keep the display array unless a course changed or the file listed the courses in a new order
+		if (reload.isCatalogChanged() || !sameCourses(this.courseCatalog, newCatalog)) {
+			this.catalogDisplay = null;
+		}
+		this.courseCatalog = newCatalog;
+		this.loadReport = loadReport;
+		return reload;
+	}
+
+	/**
+	 * Checks if two catalogs hold the same course objects in the same order
+	 * @param a the first catalog
+	 * @param b the second catalog
+	 * @return true if the catalogs hold the same courses in the same order, false otherwise
+	 */
+	private static boolean sameCourses(ArrayList<Course> a, ArrayList<Course> b) {
+		if (a.size() != b.size()) {
+			return false;
+		}
+		for (int i = 0; i < a.size(); i++) {
+			if (a.get(i) != b.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the index of the catalog by course name and section, for generating schedules
+	 * @return the catalog index
+	 */
+	CatalogIndex getIndex() {
+		return this.catalogIndex;
+	}
+
+	/**
+	 * Gets a read-only view of the course catalog as it is now. A reload replaces the catalog
+	 * rather than changing it, so a view already returned keeps showing the catalog it was taken
+	 * from. The view can be copied into a ColumnarCourseCatalog for bulk queries.
+	 * @return the catalog view
+	 */
+	public CourseCatalog getCatalog() {
+		return new ListCourseCatalog(Collections.unmodifiableList(this.courseCatalog));
+	}
+
+	/**
+	 * Gets the number of courses in the catalog
+	 * @return the size of the catalog
+	 */
+	public int size() {
+		return this.courseCatalog.size();
+	}
+
+	/**
+	 * Gets a course by its position in the catalog
+	 * @param idx the index of the course in the catalog
+	 * @return the course at that index
+	 * @throws IndexOutOfBoundsException if idx is not a valid index in the catalog
+	 */
+	public Course getCourse(int idx) {
+		return this.courseCatalog.get(idx);
+	}
+
+	/**
+	 * Gets a course from the catalog by name and section
+	 * @param name the name of the course
+	 * @param section the section for the course
+	 * @return the course with that name and section, or null if it is not in the catalog
+	 */
+	public Course getCourseFromCatalog(String name, String section) {
+		return this.catalogIndex.get(name, section);
+	}
+
+	/**
+	 * Gets every section of a course in the catalog, in catalog order
+	 * @param name the name of the course
+	 * @return a list of the sections of the course in the catalog, which is empty if the
+	 * course is not in the catalog
+	 */
+	public ArrayList<Course> getSectionsFromCatalog(String name) {
+		return this.catalogIndex.getSections(name);
+	}
+
+	/**
+	 * Gets the courses in the catalog that could be added to a schedule without a conflict
+	 * or a duplicate, in order of start time
+	 * @param schedule the activities in the schedule
+	 * @return a list of the courses compatible with every activity in the schedule
+	 */
+	public ArrayList<Course> getCompatibleCourses(List<Activity> schedule) {
+		//Courses in the matrix are ruled out with bit operations on their rows
+		int[] ids = new int[schedule.size()];
+		int numIds = 0;
+		ArrayList<Activity> others = new ArrayList<Activity>();
+		for (int i = 0; i < schedule.size(); i++) {
+			Activity a = schedule.get(i);
+			int id = a instanceof Course ? this.conflictMatrix.getId((Course) a) : -1;
+			if (id >= 0) {
+				ids[numIds++] = id;
+			} else {
+				others.add(a);
+			}
+		}
+		ArrayList<Course> candidates = this.conflictMatrix.getCourses(
+				this.conflictMatrix.compatibleWithAll(Arrays.copyOf(ids, numIds)));
+		//Events, duplicates and the scheduled courses themselves are checked directly
+		ArrayList<Course> compatible = new ArrayList<Course>();
+		for (int i = 0; i < candidates.size(); i++) {
+			Course c = candidates.get(i);
+			boolean fits = true;
+			for (int j = 0; j < schedule.size() && fits; j++) {
+				fits = !schedule.get(j).isDuplicate(c);
+			}
+			for (int j = 0; j < others.size() && fits; j++) {
+				fits = !c.conflictsWith(others.get(j));
+			}
+			if (fits) {
+				compatible.add(c);
+			}
+		}
+		//Ids are in start time order until the catalog is reloaded, so this is usually a
+		//single pass over an already sorted list
+		Collections.sort(compatible, new Comparator<Course>() {
+			@Override
+			public int compare(Course a, Course b) {
+				return Integer.compare(a.getStartTime(), b.getStartTime());
+			}
+		});
+		return compatible;
+	}
+
+	/**
+	 * Finds the courses in the catalog that meet on at least one of the given days with a
+	 * start and end time inside the window
+	 * @param meetingDays the days to search, as meeting day characters (U, M, T, W, H, F, S)
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the courses inside the window, in order of start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public ArrayList<Course> getCoursesWithin(String meetingDays, int startTime, int endTime) {
+		return this.timeIndex.getCoursesWithin(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Finds the courses in the catalog that meet on at least one of the given days at any time
+	 * in the window, including courses that start or end exactly at its edges
+	 * @param meetingDays the days to search, as meeting day characters (U, M, T, W, H, F, S)
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the courses overlapping the window, in order of start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public ArrayList<Course> getCoursesOverlapping(String meetingDays, int startTime, int endTime) {
+		return this.timeIndex.getCoursesOverlapping(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Gets the counts of the lines that were loaded and skipped when the catalog was read
+	 * @return the load report
+	 */
+	public CourseLoadReport getLoadReport() {
+		return this.loadReport;
+	}
+
+	/**
+	 * Returns a 2D string array representation of the catalog containing information about the
+	 * courses' name, section, title and meeting info. The array is built on the first call and
+	 * shared by every caller until the catalog changes, so it must not be modified.
+	 * @return a 2D string array of the catalog if there are courses in the catalog, or an
+	 * empty string array otherwise
+	 */
+	public String[][] getCourseCatalog() {
+		String[][] display = this.catalogDisplay;
+		if (display == null) {
+			//Two threads may both build the array, but they build the same thing
+			display = buildCourseCatalog();
+			this.catalogDisplay = display;
+		}
+		return display;
+	}
+
+	/**
+	 * Creates a 2D string array representation of the course catalog
+	 * @return a 2D string array of the course catalog if there are courses in the catalog,
+	 * or an empty string array otherwise
+	 */
+	private String[][] buildCourseCatalog() {
+		//The number of rows is determined by the number of courses in the catalog
+		int numRow = this.courseCatalog.size();
+		//If there are no courses in the catalog, return an empty array
+		if (numRow == 0) {
+			return new String[0][0];
+		}
+		//Four columns: name, section, title, meetingString
+		int numCol = 4;
+		//Create the string array with the one row per course in the catalog
+		String[][] catStr = new String[numRow][numCol];
+		//Index through the course catalog, finding the relevant data for each course
+		//and then add it to the array in the proper index
+		for (int i = 0; i < numRow; i++) {
+			//Add the course name
+			catStr[i][0] = this.courseCatalog.get(i).getName();
+			//Add the course section
+			catStr[i][1] = this.courseCatalog.get(i).getSection();
+			//Add the course title
+			catStr[i][2] = this.courseCatalog.get(i).getTitle();
+			//Add the meetingString
+			catStr[i][3] = this.courseCatalog.get(i).getMeetingString();
+			//Next iteration of loop adds data for next course in the catalog in the
+			//next row of the array
+		}
+		return catStr;
+	}
+}
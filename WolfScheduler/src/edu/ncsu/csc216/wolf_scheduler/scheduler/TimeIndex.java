@@ -0,0 +1,406 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Index of the meeting times of a course catalog, answering which sections meet inside or
+ * overlap a window of time on given days without scanning the catalog. Each day of the week
+ * has its own interval tree: a treap ordered by start time in which every node also holds the
+ * latest end time in its subtree, so whole subtrees that end before a window can be skipped.
+ *
+ * An overlap query takes O(log n + k) time for k matches on a day. A containment query takes
+ * O(log n + m) time, where m is the number of sections that start inside the window. Courses
+ * can be added and removed in O(log n) time per meeting day. Arranged courses have no meeting
+ * times and are never indexed, and a course's days and times must not change while it is indexed.
+ * @author Noah Benveniste
+ */
+public class TimeIndex {
+
+	/** Meeting day characters in the order of their bits in the day mask */
+	private static final String DAY_CHARS = "UMTWHFS";
+
+	/** Interval tree for each day of the week, Sunday through Saturday */
+	private Node[] roots;
+	/** Sequence number each indexed course was given, which orders courses that start together */
+	private IdentityHashMap<Course, Long> sequence;
+	/** Sequence number for the next course added */
+	private long nextSequence;
+
+	/**
+	 * Constructs an empty TimeIndex
+	 */
+	public TimeIndex() {
+		this.roots = new Node[DAY_CHARS.length()];
+		this.sequence = new IdentityHashMap<Course, Long>();
+		this.nextSequence = 0;
+	}
+
+	/**
+	 * Constructs a TimeIndex of every course in a catalog that has meeting times
+	 * @param catalog the courses to index
+	 */
+	public TimeIndex(List<Course> catalog) {
+		this();
+		for (int i = 0; i < catalog.size(); i++) {
+			add(catalog.get(i));
+		}
+	}
+
+	/**
+	 * Adds a course to the index under each of its meeting days
+	 * @param course the course to add
+	 * @return true if the course was added, false if it is arranged or already in the index
+	 */
+	public boolean add(Course course) {
+		int days = course.getDayMask() & Activity.WEEK_DAYS;
+		if (days == 0 || this.sequence.containsKey(course)) {
+			return false;
+		}
+		long seq = this.nextSequence++;
+		this.sequence.put(course, seq);
+		for (int day = 0; day < this.roots.length; day++) {
+			if ((days & (1 << day)) != 0) {
+				this.roots[day] = insert(this.roots[day], new Node(course, seq));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes a course from the index
+	 * @param course the course to remove
+	 * @return true if the course was removed, false if it was not in the index
+	 */
+	public boolean remove(Course course) {
+		Long seq = this.sequence.remove(course);
+		if (seq == null) {
+			return false;
+		}
+		int days = course.getDayMask() & Activity.WEEK_DAYS;
+		for (int day = 0; day < this.roots.length; day++) {
+			if ((days & (1 << day)) != 0) {
+				this.roots[day] = delete(this.roots[day], course.getStartTime(), seq);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the number of courses in the index
+	 * @return the number of courses
+	 */
+	public int size() {
+		return this.sequence.size();
+	}
+
+	/**
+	 * Finds the courses that meet on at least one of the given days with a start and end time
+	 * inside the window, including courses that start or end exactly at its edges
+	 * @param meetingDays the days to search, as meeting day characters (U, M, T, W, H, F, S)
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the courses inside the window, in order of start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public ArrayList<Course> getCoursesWithin(String meetingDays, int startTime, int endTime) {
+		int days = toDayMask(meetingDays);
+		checkWindow(startTime, endTime);
+		IdentityHashMap<Course, Boolean> found = new IdentityHashMap<Course, Boolean>();
+		ArrayList<Course> result = new ArrayList<Course>();
+		for (int day = 0; day < this.roots.length; day++) {
+			if ((days & (1 << day)) != 0) {
+				collectWithin(this.roots[day], startTime, endTime, found, result);
+			}
+		}
+		return sorted(result);
+	}
+
+	/**
+	 * Finds the courses that meet on at least one of the given days at any time in the window.
+	 * As with conflicts, a course that ends exactly when the window starts overlaps it.
+	 * @param meetingDays the days to search, as meeting day characters (U, M, T, W, H, F, S)
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the courses overlapping the window, in order of start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public ArrayList<Course> getCoursesOverlapping(String meetingDays, int startTime, int endTime) {
+		int days = toDayMask(meetingDays);
+		checkWindow(startTime, endTime);
+		IdentityHashMap<Course, Boolean> found = new IdentityHashMap<Course, Boolean>();
+		ArrayList<Course> result = new ArrayList<Course>();
+		for (int day = 0; day < this.roots.length; day++) {
+			if ((days & (1 << day)) != 0) {
+				collectOverlapping(this.roots[day], startTime, endTime, found, result);
+			}
+		}
+		return sorted(result);
+	}
+
+	/**
+	 * Adds the courses in a subtree that start and end inside the window, in tree order
+	 * @param node the root of the subtree
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @param found the courses already added
+	 * @param result the list to add to
+	 */
+	private static void collectWithin(Node node, int startTime, int endTime,
+			IdentityHashMap<Course, Boolean> found, ArrayList<Course> result) {
+		//Nothing in the subtree ends late enough to start inside the window
+		if (node == null || node.maxEnd < startTime) {
+			return;
+		}
+		if (node.start >= startTime) {
+			collectWithin(node.left, startTime, endTime, found, result);
+		}
+		if (node.start >= startTime && node.start <= endTime && node.end <= endTime) {
+			add(node.course, found, result);
+		}
+		if (node.start <= endTime) {
+			collectWithin(node.right, startTime, endTime, found, result);
+		}
+	}
+
+	/**
+	 * Adds the courses in a subtree that overlap the window, in tree order
+	 * @param node the root of the subtree
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @param found the courses already added
+	 * @param result the list to add to
+	 */
+	private static void collectOverlapping(Node node, int startTime, int endTime,
+			IdentityHashMap<Course, Boolean> found, ArrayList<Course> result) {
+		//Nothing in the subtree ends after the window starts
+		if (node == null || node.maxEnd < startTime) {
+			return;
+		}
+		collectOverlapping(node.left, startTime, endTime, found, result);
+		if (node.start <= endTime) {
+			if (node.end >= startTime) {
+				add(node.course, found, result);
+			}
+			collectOverlapping(node.right, startTime, endTime, found, result);
+		}
+	}
+
+	/**
+	 * Adds a course to a result list unless it was already found under another day
+	 * @param course the course
+	 * @param found the courses already added
+	 * @param result the list to add to
+	 */
+	private static void add(Course course, IdentityHashMap<Course, Boolean> found, ArrayList<Course> result) {
+		if (found.put(course, Boolean.TRUE) == null) {
+			result.add(course);
+		}
+	}
+
+	/**
+	 * Sorts the courses found on several days by start time. Courses found on one day are
+	 * already in order, so this is a merge of sorted runs.
+	 * @param result the courses found
+	 * @return the sorted courses
+	 */
+	private static ArrayList<Course> sorted(ArrayList<Course> result) {
+		Collections.sort(result, new Comparator<Course>() {
+			@Override
+			public int compare(Course a, Course b) {
+				return Integer.compare(a.getStartTime(), b.getStartTime());
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Converts meeting day characters into a day mask
+	 * @param meetingDays the days
+	 * @return the day mask
+	 * @throws IllegalArgumentException if the days are null, empty, or contain any other character
+	 */
+	static int toDayMask(String meetingDays) {
+		if (meetingDays == null || meetingDays.isEmpty()) {
+			throw new IllegalArgumentException("Invalid meeting days.");
+		}
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = DAY_CHARS.indexOf(meetingDays.charAt(i));
+			if (day < 0) {
+				throw new IllegalArgumentException("Invalid meeting days.");
+			}
+			mask |= 1 << day;
+		}
+		return mask;
+	}
+
+	/**
+	 * Checks that a window of time uses valid times and does not end before it starts
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @throws IllegalArgumentException if the window is invalid
+	 */
+	static void checkWindow(int startTime, int endTime) {
+		if (startTime < 0 || startTime > 2359 || startTime % 100 > 59 ||
+				endTime < 0 || endTime > 2359 || endTime % 100 > 59 || startTime > endTime) {
+			throw new IllegalArgumentException("Invalid time window.");
+		}
+	}
+
+	/**
+	 * Inserts a node into a treap
+	 * @param root the root of the treap
+	 * @param node the node to insert
+	 * @return the new root of the treap
+	 */
+	private static Node insert(Node root, Node node) {
+		if (root == null) {
+			return node;
+		}
+		if (node.compareTo(root.start, root.seq) < 0) {
+			root.left = insert(root.left, node);
+			if (root.left.priority > root.priority) {
+				root = rotateRight(root);
+			}
+		} else {
+			root.right = insert(root.right, node);
+			if (root.right.priority > root.priority) {
+				root = rotateLeft(root);
+			}
+		}
+		root.update();
+		return root;
+	}
+
+	/**
+	 * Deletes a node from a treap
+	 * @param root the root of the treap
+	 * @param start the start time of the node
+	 * @param seq the sequence number of the node
+	 * @return the new root of the treap
+	 */
+	private static Node delete(Node root, int start, long seq) {
+		if (root == null) {
+			return null;
+		}
+		int cmp = root.compareTo(start, seq);
+		if (cmp > 0) {
+			root.left = delete(root.left, start, seq);
+		} else if (cmp < 0) {
+			root.right = delete(root.right, start, seq);
+		} else if (root.left == null) {
+			return root.right;
+		} else if (root.right == null) {
+			return root.left;
+		} else if (root.left.priority > root.right.priority) {
+			//Rotate the node down toward the leaves until it has one child
+			root = rotateRight(root);
+			root.right = delete(root.right, start, seq);
+		} else {
+			root = rotateLeft(root);
+			root.left = delete(root.left, start, seq);
+		}
+		root.update();
+		return root;
+	}
+
+	/**
+	 * Rotates a subtree so that the left child becomes its root
+	 * @param node the root of the subtree
+	 * @return the new root of the subtree
+	 */
+	private static Node rotateRight(Node node) {
+		Node left = node.left;
+		node.left = left.right;
+		left.right = node;
+		node.update();
+		left.update();
+		return left;
+	}
+
+	/**
+	 * Rotates a subtree so that the right child becomes its root
+	 * @param node the root of the subtree
+	 * @return the new root of the subtree
+	 */
+	private static Node rotateLeft(Node node) {
+		Node right = node.right;
+		node.right = right.left;
+		right.left = node;
+		node.update();
+		right.update();
+		return right;
+	}
+
+	/**
+	 * A course on one day's interval tree.
+	 * @author Noah Benveniste
+	 */
+	private static class Node {
+		/** The course */
+		private Course course;
+		/** Start time of the course */
+		private int start;
+		/** End time of the course */
+		private int end;
+		/** Sequence number of the course, which orders courses that start together */
+		private long seq;
+		/** Heap priority of the node, derived from the sequence number */
+		private int priority;
+		/** Latest end time in the subtree rooted at this node */
+		private int maxEnd;
+		/** Left child */
+		private Node left;
+		/** Right child */
+		private Node right;
+
+		/**
+		 * Constructs a leaf node for a course
+		 * @param course the course
+		 * @param seq the sequence number of the course
+		 */
+		Node(Course course, long seq) {
+			this.course = course;
+			this.start = course.getStartTime();
+			this.end = course.getEndTime();
+			this.seq = seq;
+			//Scramble the sequence number so the priorities look random but are repeatable
+			long h = seq * 0x9E3779B97F4A7C15L;
+			this.priority = (int) (h ^ (h >>> 32));
+			this.maxEnd = this.end;
+		}
+
+		/**
+		 * Compares this node's position in the tree with the given position
+		 * @param otherStart the start time to compare with
+		 * @param otherSeq the sequence number to compare with
+		 * @return a negative number, zero or a positive number as this node comes before, at
+		 * or after the given position
+		 */
+		int compareTo(int otherStart, long otherSeq) {
+			int cmp = Integer.compare(this.start, otherStart);
+			return cmp != 0 ? cmp : Long.compare(this.seq, otherSeq);
+		}
+
+		/**
+		 * Recomputes the latest end time in the subtree from the children
+		 */
+		void update() {
+			int max = this.end;
+			if (this.left != null && this.left.maxEnd > max) {
+				max = this.left.maxEnd;
+			}
+			if (this.right != null && this.right.maxEnd > max) {
+				max = this.right.maxEnd;
+			}
+			this.maxEnd = max;
+		}
+	}
+}
@@ -1,19 +1,21 @@
 package edu.ncsu.csc216.wolf_scheduler.scheduler;
 
 import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
-import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
-import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
 
 /**
  * Class that handles the creation and manipulation of a schedule of course and a catalog of
- * available courses
+ * available courses. The catalog is held in a SharedCatalog of the scheduler's own, so it can
+ * be reloaded, and the schedule in a ScheduleSession; listeners are told about each change.
+ * The last changes to the schedule are kept so they can be undone and redone.
  * @author Noah Benveniste
  * @author Sarah Heckman
  */
@@ -21,46 +23,109 @@ public class WolfScheduler {
 	
 	/** Fields */
 	
-	/** Catalog of courses to be chosen from */
-	private ArrayList<Course> courseCatalog;
-	/** The student's schedule */
-	private ArrayList<Activity> schedule;
-	/** The title of the schedule */
-	private String title;
+	/** Catalog of courses to be chosen from, with its indexes */
+	private SharedCatalog catalog;
+	/** The student's schedule and its title */
+	private ScheduleSession session;
+	/** Listeners notified when the schedule or catalog changes */
+	private ArrayList<ScheduleChangeListener> listeners = new ArrayList<ScheduleChangeListener>();
 	
 	/** Default Schedule Name */
 	public static final String DEFAULT_SCHEDULE_NAME = "My Schedule";
+	/** Number of changes to the schedule that can be undone unless set otherwise */
+	public static final int DEFAULT_HISTORY_DEPTH = 100;
 	
-	/** Constructor */
+	/** Constructors */
 	
 	/**
-	 * Constructor for WolfScheduler object. Initializes course catalog and schedule array lists
-	 * and attempts to populate the course catalog with courses from the input file
+	 * Constructor for a WolfScheduler with an empty course catalog, for when the catalog is read
+	 * separately and installed later with reloadCatalog
+	 */
+	public WolfScheduler() {
+		this.catalog = new SharedCatalog();
+		this.session = new ScheduleSession(this.catalog);
+		this.session.setHistoryDepth(DEFAULT_HISTORY_DEPTH);
+	}
+	
+	/**
+	 * Constructor for WolfScheduler object. Initializes course catalog and schedule
+	 * and attempts to populate the course catalog with courses from the input file, which may
+	 * be a file of course records or a catalog snapshot
 	 * @param inFile the name of the file to be read
-	 * @throws IllegalArgumentException if the input file cannot be read
+	 * @throws IllegalArgumentException if the input file cannot be read or is a corrupt snapshot
 	 */
 	public WolfScheduler(String inFile) {
-		//Create the course catalog
-		ArrayList<Course> c = new ArrayList<Course>();
-		this.courseCatalog = c;
-		
-		//Create the schedule
-		ArrayList<Activity> s = new ArrayList<Activity>();
-		this.schedule = s;
-		
-		//Set the default schedule name
-		this.title = DEFAULT_SCHEDULE_NAME;
-		
-		//Try to add the courses from the input file to the course catalog
-		try {
-			this.courseCatalog = CourseRecordIO.readCourseRecords(inFile);
-		} catch (FileNotFoundException e ) {
-			throw new IllegalArgumentException("Cannot find file.");
-		}
+		this.catalog = new SharedCatalog(inFile);
+		this.session = new ScheduleSession(this.catalog);
+		this.session.setHistoryDepth(DEFAULT_HISTORY_DEPTH);
 	}
 
 	/** Methods */
 	
+	/**
+	 * Reloads the course catalog from a file without discarding the schedule. The new catalog
+	 * is compared with the current one by name and section, and only the courses that were added,
+	 * updated or removed are changed in the catalog's indexes and conflict matrix; unchanged courses
+	 * keep their identity. Scheduled courses that were removed are taken out of the schedule, and
+	 * scheduled courses that were updated are replaced by their new version. Changes made before
+	 * the reload can no longer be undone.
+	 * @param inFile the name of the file to be read, either course records or a catalog snapshot
+	 * @return a report of the changes to the catalog and the schedule
+	 * @throws IllegalArgumentException if the input file cannot be read, in which case nothing
+	 * is changed
+	 */
+	public CatalogReloadReport reloadCatalog(String inFile) {
+		CourseLoadReport loadReport = new CourseLoadReport();
+		return reloadCatalog(SharedCatalog.readCatalog(inFile, loadReport), loadReport);
+	}
+	
+	/**
+	 * Replaces the course catalog with courses that have already been read, in the same way as
+	 * reloadCatalog(String). This lets the catalog be read on another thread and then installed
+	 * in one step, so the scheduler never holds a partly loaded catalog.
+	 * @param incoming the courses of the new catalog, in catalog order
+	 * @param loadReport the counts for reading the new catalog
+	 * @return a report of the changes to the catalog and the schedule
+	 * @throws IllegalArgumentException if a course is null or two courses have the same name
+	 * and section, in which case nothing is changed
+	 */
+	public CatalogReloadReport reloadCatalog(ArrayList<Course> incoming, CourseLoadReport loadReport) {
+		CatalogReloadReport reload = this.catalog.reload(incoming, loadReport);
+		//Bring the schedule up to date with the catalog
+		this.session.catalogReloaded(reload);
+		fireScheduleChanged(ScheduleChangeEvent.Type.CATALOG_RELOADED, -1, null, reload);
+		return reload;
+	}
+	
+	/**
+	 * Gets a read-only view of the course catalog as it is now. A reload replaces the catalog
+	 * rather than changing it, so a view already returned keeps showing the catalog it was taken
+	 * from. The view can be copied into a ColumnarCourseCatalog for bulk queries.
+	 * @return the catalog view
+	 */
+	public CourseCatalog getCatalog() {
+		return this.catalog.getCatalog();
+	}
+	
+	/**
+	 * Gets the number of courses in the course catalog
+	 * @return the size of the catalog
+	 */
+	public int getCatalogSize() {
+		return this.catalog.size();
+	}
+	
+	/**
+	 * Gets a course by its position in the course catalog, so a view can read only the courses
+	 * it shows instead of building a display array for the whole catalog
+	 * @param idx the index of the course in the catalog
+	 * @return the course at that index
+	 * @throws IndexOutOfBoundsException if idx is not a valid index in the catalog
+	 */
+	public Course getCatalogCourse(int idx) {
+		return this.catalog.getCourse(idx);
+	}
+	
 	/**
 	 * Attempts to retrieve a course from the course catalog based on an input name and
 	 * section number
@@ -70,17 +135,61 @@ public class WolfScheduler {
 	 * catalog or null if the course does not exist
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < this.courseCatalog.size(); i++) {
-			//Check if the currently indexed course in the catalog has the same name and
-			//section as the input name and section
-			if (this.courseCatalog.get(i).getName().equals(name) && 
-					this.courseCatalog.get(i).getSection().equals(section)) {
-				//If true, return the course
-				return this.courseCatalog.get(i);
-			}
-		}
-		//If no matches were found while indexing the course catalog, return null
-		return null;
+		return this.catalog.getCourseFromCatalog(name, section);
+	}
+	
+	/**
+	 * Gets every section of a course in the course catalog, in catalog order
+	 * @param name the name of the course
+	 * @return a list of the sections of the course in the catalog, which is empty if the
+	 * course is not in the catalog
+	 */
+	public ArrayList<Course> getSectionsFromCatalog(String name) {
+		return this.catalog.getSectionsFromCatalog(name);
+	}
+	
+	/**
+	 * Gets the courses in the catalog that could be added to the schedule without a conflict
+	 * or a duplicate, in order of start time
+	 * @return a list of the courses compatible with every activity in the schedule
+	 */
+	public ArrayList<Course> getCompatibleCourses() {
+		return this.session.getCompatibleCourses();
+	}
+	
+	/**
+	 * Finds the courses in the catalog that meet on at least one of the given days with a
+	 * start and end time inside the window, such as every section meeting Tuesday or Thursday
+	 * between 1:00PM and 3:00PM
+	 * @param meetingDays the days to search, as meeting day characters (U, M, T, W, H, F, S)
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the courses inside the window, in order of start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public ArrayList<Course> getCoursesWithin(String meetingDays, int startTime, int endTime) {
+		return this.catalog.getCoursesWithin(meetingDays, startTime, endTime);
+	}
+	
+	/**
+	 * Finds the courses in the catalog that meet on at least one of the given days at any time
+	 * in the window, including courses that start or end exactly at its edges
+	 * @param meetingDays the days to search, as meeting day characters (U, M, T, W, H, F, S)
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the courses overlapping the window, in order of start time
+	 * @throws IllegalArgumentException if the days or times are invalid
+	 */
+	public ArrayList<Course> getCoursesOverlapping(String meetingDays, int startTime, int endTime) {
+		return this.catalog.getCoursesOverlapping(meetingDays, startTime, endTime);
+	}
+	
+	/**
+	 * Gets the counts of the lines that were loaded and skipped when the catalog was read
+	 * @return the catalog load report
+	 */
+	public CourseLoadReport getCatalogLoadReport() {
+		return this.catalog.getLoadReport();
 	}
 	
 	/**
@@ -90,39 +199,44 @@ public class WolfScheduler {
 	 * @param section the section for the course
 	 * @return true if it can be added (i.e. it is not already in the schedule), false if it 
 	 * does not exist in the course catalog
-	 * @throws IllegalArgumentException if the course is already in the schedule
+	 * @throws IllegalArgumentException if the course is already in the schedule, conflicts with
+	 * a scheduled activity or has no open seats
 	 */
 	public boolean addCourse(String name, String section) {
-		//First, check that the course actually exists in the catalog
-		if (this.getCourseFromCatalog(name, section) == null) {
-			//Return false if it does not exist
+		if (!this.session.addCourse(name, section)) {
 			return false;
 		}
-		//Next, check that a course with the same name does not already exist in the schedule
-		for (int i = 0; i < this.schedule.size(); i++) {
-			//Check if the currently indexed course in the schedule has the same name as the input
-			if (this.schedule.get(i).isDuplicate(this.getCourseFromCatalog(name, section))) {
-				//If true, throw an exception
-				throw new IllegalArgumentException("You are already enrolled in " + name);
-			}
-			
-			//Check for conflicts with other activities in the schedule
-			try {
-				this.getCourseFromCatalog(name, section).checkConflict(this.schedule.get(i));
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-			}
-		}
-		//If the course passed the above two tests, add it to the schedule (the index of 
-		//the added element changes dynamically - if a course is being added to an empty
-		//schedule, the schedule size will be 0 and the course must be assigned to index
-		//0 etc)
-		this.schedule.add(this.schedule.size(), this.getCourseFromCatalog(name, section));
-		//If the loop executes without throwing an exception, the course does not already
-		//exist in the schedule
+		int idx = this.session.size() - 1;
+		fireScheduleChanged(ScheduleChangeEvent.Type.ACTIVITY_ADDED, idx, this.session.getActivity(idx), null);
 		return true;
 	}
 	
+	/**
+	 * Generates every conflict-free combination of sections for the given courses that fits
+	 * around the events already in the schedule. Schedules are generated lazily as the returned
+	 * iterator is advanced, and each holds one section per course in the order the names were given.
+	 * @param courseNames the names of the courses to schedule
+	 * @return an iterator over the conflict-free schedules
+	 * @throws IllegalArgumentException if courseNames is null
+	 */
+	public Iterator<ArrayList<Course>> generateSchedules(List<String> courseNames) {
+		return this.session.generateSchedules(courseNames);
+	}
+	
+	/**
+	 * Generates conflict-free combinations of sections for the given courses on several threads,
+	 * fitting them around the events already in the schedule. The schedules returned are the first
+	 * limit schedules that generateSchedules() would return, in the same order.
+	 * @param courseNames the names of the courses to schedule
+	 * @param parallelism the number of threads to search with
+	 * @param limit the maximum number of schedules to return
+	 * @return a list of up to limit conflict-free schedules
+	 * @throws IllegalArgumentException if courseNames is null or parallelism or limit is less than 1
+	 */
+	public ArrayList<ArrayList<Course>> generateSchedulesInParallel(List<String> courseNames, int parallelism, int limit) {
+		return this.session.generateSchedulesInParallel(courseNames, parallelism, limit);
+	}
+	
 	/**
 	 * Adds a user-defined event to the schedule if an event with the same title does not already exist
 	 * @param title The title of the event
@@ -134,26 +248,8 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if the user attempts to add an event with the same title as another event already in the schedule
 	 */
 	public void addEvent(String title, String meetingDays, int startTime, int endTime, int weeklyRepeat, String eventDetails) {
-		//Try to create the event
-		Event newEvent = new Event(title, meetingDays, startTime, endTime, weeklyRepeat, eventDetails);
-		//Check that an event with the same title does not already exist
-		for (int i = 0; i < this.schedule.size(); i++) {
-			//Check if the currently indexed activity in the schedule is an event that has
-			//the same title
-			if (this.schedule.get(i).isDuplicate(newEvent)) {
-				//If true, throw an exception
-				throw new IllegalArgumentException("You have already created an event called " + newEvent.getTitle());
-			}
-			
-			//Check for conflicts with other activities in the schedule
-			try {
-				newEvent.checkConflict(this.schedule.get(i));
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The event cannot be added due to a conflict.");
-			}
-		}
-		//Add the event if it does not already exist and it does not conflict
-		this.schedule.add(this.schedule.size(), newEvent);
+		Event newEvent = this.session.addEvent(title, meetingDays, startTime, endTime, weeklyRepeat, eventDetails);
+		fireScheduleChanged(ScheduleChangeEvent.Type.ACTIVITY_ADDED, this.session.size() - 1, newEvent, null);
 	}
 	
 	/**
@@ -164,59 +260,134 @@ public class WolfScheduler {
 	 * cannot be removed (it is not in the schedule)
 	 */
 	public boolean removeActivity(int idx) {
-		//Checks to see if the passed index is in bounds for the array. If it is, remove the
-		//element at that index and return true. If not, return false.
-		if (this.schedule.size() > idx) {
-			this.schedule.remove(idx);
-			return true;
-		} else {
+		Activity removed = this.session.removeActivity(idx);
+		if (removed == null) {
 			return false;
 		}
+		fireScheduleChanged(ScheduleChangeEvent.Type.ACTIVITY_REMOVED, idx, removed, null);
+		return true;
 	}
 	
 	/**
-	 * Creates a new empty ArrayList and assigns it to the schedule field, resetting
-	 * the schedule to empty
+	 * Resets the schedule to empty
 	 */
 	public void resetSchedule() {
-		//Create a new empty array list of courses
-		ArrayList<Activity> newEmptySchedule = new ArrayList<Activity>();
-		//Set the schedule field of the object to the newly created empty schedule
-		this.schedule = newEmptySchedule;
+		this.session.resetSchedule();
+		fireScheduleChanged(ScheduleChangeEvent.Type.SCHEDULE_RESET, -1, null, null);
 	}
 	
 	/**
-	 * Creates and returns a 2D string array representation of the course catalog containing
-	 * information about the courses' name, section, title and meeting info
+	 * Gets the number of changes to the schedule that can be undone
+	 * @return the history depth, or 0 if changes are not kept
+	 */
+	public int getHistoryDepth() {
+		return this.session.getHistoryDepth();
+	}
+	
+	/**
+	 * Sets the number of changes to the schedule that can be undone. Lowering the depth forgets
+	 * the oldest changes, and a depth of 0 turns undo off.
+	 * @param depth the number of changes to keep
+	 * @throws IllegalArgumentException if depth is negative
+	 */
+	public void setHistoryDepth(int depth) {
+		this.session.setHistoryDepth(depth);
+	}
+	
+	/**
+	 * Checks if there is a change to the schedule that can be undone
+	 * @return true if there is
+	 */
+	public boolean canUndo() {
+		return this.session.canUndo();
+	}
+	
+	/**
+	 * Checks if there is an undone change to the schedule that can be redone
+	 * @return true if there is
+	 */
+	public boolean canRedo() {
+		return this.session.canRedo();
+	}
+	
+	/**
+	 * Undoes the last add, remove, reset or import, putting the schedule back the way it was
+	 * @return true if a change was undone, false if there is none to undo
+	 * @throws IllegalArgumentException if a course the change removed has no open seats now,
+	 * in which case nothing is changed
+	 */
+	public boolean undo() {
+		if (!this.session.undo()) {
+			return false;
+		}
+		fireScheduleChanged(ScheduleChangeEvent.Type.SCHEDULE_RESTORED, -1, null, null);
+		return true;
+	}
+	
+	/**
+	 * Redoes the last change that was undone
+	 * @return true if a change was redone, false if there is none to redo
+	 * @throws IllegalArgumentException if a course the change added has no open seats now,
+	 * in which case nothing is changed
+	 */
+	public boolean redo() {
+		if (!this.session.redo()) {
+			return false;
+		}
+		fireScheduleChanged(ScheduleChangeEvent.Type.SCHEDULE_RESTORED, -1, null, null);
+		return true;
+	}
+	
+	/**
+	 * Registers a listener to be told about each change to the schedule or catalog. Listeners
+	 * are called on the thread that made the change, after the change is complete.
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addScheduleChangeListener(ScheduleChangeListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		this.listeners.add(listener);
+	}
+	
+	/**
+	 * Unregisters a listener
+	 * @param listener the listener to remove
+	 * @return true if the listener was registered, false otherwise
+	 */
+	public boolean removeScheduleChangeListener(ScheduleChangeListener listener) {
+		return this.listeners.remove(listener);
+	}
+	
+	/**
+	 * Tells every listener about a change
+	 * @param type the kind of change
+	 * @param index the index of the activity added or removed, or -1
+	 * @param activity the activity added or removed, or null
+	 * @param reloadReport the changes made by a reload, or null
+	 */
+	private void fireScheduleChanged(ScheduleChangeEvent.Type type, int index, Activity activity, CatalogReloadReport reloadReport) {
+		if (this.listeners.isEmpty()) {
+			return;
+		}
+		ScheduleChangeEvent event = new ScheduleChangeEvent(this, type, index, activity, reloadReport);
+		//Copy the list so a listener can unregister itself while being notified
+		ArrayList<ScheduleChangeListener> current = new ArrayList<ScheduleChangeListener>(this.listeners);
+		for (int i = 0; i < current.size(); i++) {
+			current.get(i).scheduleChanged(event);
+		}
+	}
+	
+	/**
+	 * Returns a 2D string array representation of the course catalog containing
+	 * information about the courses' name, section, title and meeting info. The array is built
+	 * on the first call and returned again until the catalog changes, so it must not be modified.
 	 * @return a 2D string array of the course catalog if there are courses in the catalog,
 	 * or an empty string array otherwise
 	 */
 	public String[][] getCourseCatalog() {
-		//The number of rows is determined by the number of courses in the catalog
-		int numRow = this.courseCatalog.size();
-		//If there are no courses in the catalog, return an empty array
-		if (numRow == 0) {
-			return new String[0][0];
-		}
-		//Four columns: name, section, title, meetingString
-		int numCol = 4;
-		//Create the string array with the one row per course in the catalog
-		String[][] catStr = new String[numRow][numCol];
-		//Index through the course catalog, finding the relevant data for each course
-		//and then add it to the array in the proper index
-		for (int i = 0; i < numRow; i++) {
-			//Add the course name
-			catStr[i][0] = this.courseCatalog.get(i).getName();
-			//Add the course section
-			catStr[i][1] = this.courseCatalog.get(i).getSection();
-			//Add the course title
-			catStr[i][2] = this.courseCatalog.get(i).getTitle();
-			//Add the meetingString
-			catStr[i][3] = this.courseCatalog.get(i).getMeetingString();
-			//Next iteration of loop adds data for next course in the catalog in the
-			//next row of the array
-		}
-		return catStr;
+		return this.catalog.getCourseCatalog();
 	}
 
 	/**
@@ -226,25 +397,7 @@ public class WolfScheduler {
 	 * or an empty string array otherwise
 	 */
 	public String[][] getScheduledActivities() {
-		//The number of rows is determined by the number of activities in the schedule
-		int numRow = this.schedule.size();
-		//If there are no activities in the schedule, return an empty array
-		if (numRow == 0) {
-			return new String[0][0];
-		}
-		//Three columns: name, section, title, meetingString
-		int numCol = 4;
-		//Create the string array with the one row per activity in the schedule
-		String[][] schedStr = new String[numRow][numCol];
-		//Index through the schedule, finding the relevant data for each course
-		//and then add it to the array in the proper index
-		for (int i = 0; i < numRow; i++) {
-			//Get the activity information for short display
-			schedStr[i] = this.schedule.get(i).getShortDisplayArray();
-			//Next iteration of loop adds data for next course in the catalog in the
-			//next row of the array
-		}
-		return schedStr;
+		return this.session.getScheduledActivities();
 	}
 
 	/**
@@ -254,25 +407,7 @@ public class WolfScheduler {
 	 * or an empty string array otherwise
 	 */
 	public String[][] getFullScheduledActivities() {
-		//The number of rows is determined by the number of courses in the schedule
-		int numRow = this.schedule.size();
-		//If there are no courses in the schedule, return an empty array
-		if (numRow == 0) {
-			return new String[0][0];
-		}
-		//Seven columns: name, section, title, credits, instructorId, meetingDays, eventDetails
-		int numCol = 7;
-		//Create the string array with the one row per course in the schedule
-		String[][] fullSchedStr = new String[numRow][numCol];
-		//Index through the schedule, finding the relevant data for each course
-		//and then add it to the array in the proper index
-		for (int i = 0; i < numRow; i++) {
-			//Get the activity information for long display
-			fullSchedStr[i] = this.schedule.get(i).getLongDisplayArray();
-			//Next iteration of loop adds data for next course in the catalog in the
-			//next row of the array
-		}
-		return fullSchedStr;
+		return this.session.getFullScheduledActivities();
 	}
 
 	/**
@@ -280,7 +415,7 @@ public class WolfScheduler {
 	 * @return the schedule's title
 	 */
 	public String getTitle() {
-		return this.title;
+		return this.session.getTitle();
 	}
 	
 	/**
@@ -289,11 +424,30 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if the input is null
 	 */
 	public void setTitle(String title) {
-		if (title == null) {
-			throw new IllegalArgumentException("Title cannot be null.");
-		} else {
-			this.title = title;
+		this.session.setTitle(title);
+	}
+
+	/**
+	 * Adds the activities in an exported schedule to the end of the schedule. Courses are looked
+	 * up in the catalog, and activities whose course is not in the catalog, that duplicate or
+	 * conflict with an activity in the schedule or whose course has no open seats are left out.
+	 * @param fileName the name of the exported schedule
+	 * @return the activities that were left out, in file order
+	 * @throws IllegalArgumentException if the file cannot be found or read
+	 */
+	public ArrayList<Activity> importSchedule(String fileName) {
+		ArrayList<Activity> activities;
+		try {
+			activities = ActivityRecordIO.readActivityRecords(fileName);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
 		}
+		int first = this.session.size();
+		ArrayList<Activity> rejected = this.session.importSchedule(activities);
+		for (int i = first; i < this.session.size(); i++) {
+			fireScheduleChanged(ScheduleChangeEvent.Type.ACTIVITY_ADDED, i, this.session.getActivity(i), null);
+		}
+		return rejected;
 	}
 
 	/**
@@ -302,10 +456,6 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if the specified file cannot be written to
 	 */
 	public void exportSchedule(String fileName) {
-		try {
-			ActivityRecordIO.writeActivityRecords(fileName, this.schedule);
-		} catch (IOException e) {
-			throw new IllegalArgumentException("The file cannot be saved.");
-		}
+		this.session.exportSchedule(fileName);
 	}
 }
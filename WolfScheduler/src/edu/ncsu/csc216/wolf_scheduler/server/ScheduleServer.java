@@ -0,0 +1,672 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleStore;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionManager;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SharedCatalog;
+
+/**
+ * Embedded HTTP server for the scheduler, so a web portal can use it as well as the GUI. Every
+ * student's schedule is a session in a SessionManager over one SharedCatalog, opened by the
+ * first request that adds to it. Reading or removing from the schedule of a student with no
+ * session is answered with 404 and opens nothing. Requests are handled on a fixed pool of threads, and the server
+ * only listens on the loopback address, so it is meant to sit behind the portal.
+ *
+ * Parameters are read from the query string, or from a form encoded body for POST requests.
+ * Responses are JSON, except for the exported schedule, which is the text of an exported file.
+ * <ul>
+ * <li>GET /catalog/search?days=&amp;start=&amp;end=[&amp;overlap=true] - courses meeting inside
+ * (or overlapping) a window</li>
+ * <li>GET /catalog/course?name=&amp;section= - one course</li>
+ * <li>GET /schedule?student= - a student's schedule</li>
+ * <li>POST /schedule/course (student, name, section) - add a course</li>
+ * <li>POST /schedule/event (student, title, days, start, end, repeat, details) - add an event</li>
+ * <li>POST /schedule/remove (student, index) - remove an activity</li>
+ * <li>GET /schedule/export?student= - the schedule as activity records</li>
+ * </ul>
+ * Bad parameters are answered with 400, unknown courses, students and paths with 404, the wrong method
+ * with 405, and activities that duplicate or conflict with the schedule or are full with 409.
+ * @author Noah Benveniste
+ */
+public class ScheduleServer {
+
+	/** Number of request threads used when none is given */
+	public static final int DEFAULT_THREADS = 200;
+	/** Largest request body that is read */
+	private static final int MAX_BODY = 1 << 16;
+	/** Number of connections that can wait to be accepted */
+	private static final int BACKLOG = 1024;
+
+	/** The sessions of the students using the server */
+	private final SessionManager manager;
+	/** The HTTP server */
+	private final HttpServer server;
+	/** The threads requests are handled on */
+	private final ExecutorService executor;
+
+	/**
+	 * Constructs a server on the loopback address. The server does not accept requests until
+	 * it is started.
+	 * @param manager the sessions of the students using the server
+	 * @param port the port to listen on, or 0 for any free port
+	 * @param threads the number of threads to handle requests on
+	 * @throws IllegalArgumentException if the manager is null or threads is less than 1
+	 * @throws IOException if the server cannot listen on the port
+	 */
+	public ScheduleServer(SessionManager manager, int port, int threads) throws IOException {
+		if (manager == null) {
+			throw new IllegalArgumentException("Invalid session manager.");
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("Threads must be at least 1.");
+		}
+		this.manager = manager;
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+		this.server.createContext("/", new RequestHandler());
+		final AtomicInteger count = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "schedule-server-" + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		this.server.setExecutor(this.executor);
+	}
+
+	/**
+	 * Starts accepting requests
+	 */
+	public void start() {
+		this.server.start();
+	}
+
+	/**
+	 * Stops the server, waiting up to the given time for requests being handled to finish
+	 * @param delaySeconds the longest time to wait
+	 */
+	public void stop(int delaySeconds) {
+		this.server.stop(delaySeconds);
+		this.executor.shutdown();
+		try {
+			this.executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Gets the port the server listens on
+	 * @return the port
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Gets the sessions of the students using the server
+	 * @return the session manager
+	 */
+	public SessionManager getSessionManager() {
+		return this.manager;
+	}
+
+	/**
+	 * Handles every request by its path.
+	 * @author Noah Benveniste
+	 */
+	private class RequestHandler implements HttpHandler {
+
+		/**
+		 * Answers a request
+		 * @param exchange the request and its response
+		 * @throws IOException if the response cannot be sent
+		 */
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			try {
+				HashMap<String, String> params = readParams(exchange);
+				String path = exchange.getRequestURI().getPath();
+				boolean post = "POST".equals(exchange.getRequestMethod());
+				if ("/catalog/search".equals(path)) {
+					requireMethod(!post);
+					searchCatalog(exchange, params);
+				} else if ("/catalog/course".equals(path)) {
+					requireMethod(!post);
+					getCourse(exchange, params);
+				} else if ("/schedule".equals(path)) {
+					requireMethod(!post);
+					getSchedule(exchange, params);
+				} else if ("/schedule/course".equals(path)) {
+					requireMethod(post);
+					addCourse(exchange, params);
+				} else if ("/schedule/event".equals(path)) {
+					requireMethod(post);
+					addEvent(exchange, params);
+				} else if ("/schedule/remove".equals(path)) {
+					requireMethod(post);
+					removeActivity(exchange, params);
+				} else if ("/schedule/export".equals(path)) {
+					requireMethod(!post);
+					exportSchedule(exchange, params);
+				} else {
+					sendError(exchange, 404, "Not found.");
+				}
+			} catch (RequestException e) {
+				sendError(exchange, e.status, e.getMessage());
+			} catch (RuntimeException e) {
+				sendError(exchange, 500, "Internal error.");
+			} finally {
+				exchange.close();
+			}
+		}
+	}
+
+	/**
+	 * Answers GET /catalog/search
+	 * @param exchange the request and its response
+	 * @param params the request parameters
+	 * @throws IOException if the response cannot be sent
+	 * @throws RequestException if a parameter is missing or invalid
+	 */
+	private void searchCatalog(HttpExchange exchange, HashMap<String, String> params) throws IOException {
+		String days = required(params, "days");
+		int start = intParam(params, "start");
+		int end = intParam(params, "end");
+		List<Course> courses;
+		try {
+			if ("true".equals(params.get("overlap"))) {
+				courses = this.manager.getSharedCatalog().getCoursesOverlapping(days, start, end);
+			} else {
+				courses = this.manager.getSharedCatalog().getCoursesWithin(days, start, end);
+			}
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(400, "Invalid search window.");
+		}
+		StringBuilder json = new StringBuilder("{\"courses\":[");
+		for (int i = 0; i < courses.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			appendActivity(json, courses.get(i));
+		}
+		sendJson(exchange, 200, json.append("]}").toString());
+	}
+
+	/**
+	 * Answers GET /catalog/course
+	 * @param exchange the request and its response
+	 * @param params the request parameters
+	 * @throws IOException if the response cannot be sent
+	 * @throws RequestException if a parameter is missing or the course is not in the catalog
+	 */
+	private void getCourse(HttpExchange exchange, HashMap<String, String> params) throws IOException {
+		Course course = this.manager.getSharedCatalog().getCourseFromCatalog(required(params, "name"), required(params, "section"));
+		if (course == null) {
+			throw new RequestException(404, "Course not found.");
+		}
+		StringBuilder json = new StringBuilder();
+		appendActivity(json, course);
+		sendJson(exchange, 200, json.toString());
+	}
+
+	/**
+	 * Answers GET /schedule
+	 * @param exchange the request and its response
+	 * @param params the request parameters
+	 * @throws IOException if the response cannot be sent
+	 * @throws RequestException if the student is missing or has no session
+	 */
+	private void getSchedule(HttpExchange exchange, HashMap<String, String> params) throws IOException {
+		String student = openStudent(params);
+		List<Activity> schedule;
+		String title;
+		try {
+			schedule = this.manager.getSchedule(student);
+			title = this.manager.getTitle(student);
+		} catch (IllegalArgumentException e) {
+			//Closed since it was checked
+			throw new RequestException(404, "No schedule for that student.");
+		}
+		StringBuilder json = new StringBuilder("{\"student\":");
+		appendString(json, student);
+		json.append(",\"title\":");
+		appendString(json, title);
+		json.append(",\"activities\":[");
+		for (int i = 0; i < schedule.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			appendActivity(json, schedule.get(i));
+		}
+		sendJson(exchange, 200, json.append("]}").toString());
+	}
+
+	/**
+	 * Answers POST /schedule/course
+	 * @param exchange the request and its response
+	 * @param params the request parameters
+	 * @throws IOException if the response cannot be sent
+	 * @throws RequestException if a parameter is missing, the course is not in the catalog or
+	 * it cannot be added
+	 */
+	private void addCourse(HttpExchange exchange, HashMap<String, String> params) throws IOException {
+		String student = newStudent(params);
+		String name = required(params, "name");
+		String section = required(params, "section");
+		try {
+			if (!this.manager.addCourse(student, name, section)) {
+				throw new RequestException(404, "Course not found.");
+			}
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(409, e.getMessage());
+		}
+		StringBuilder json = new StringBuilder();
+		appendActivity(json, this.manager.getSharedCatalog().getCourseFromCatalog(name, section));
+		sendJson(exchange, 200, json.toString());
+	}
+
+	/**
+	 * Answers POST /schedule/event
+	 * @param exchange the request and its response
+	 * @param params the request parameters
+	 * @throws IOException if the response cannot be sent
+	 * @throws RequestException if a parameter is missing, the event is invalid or it cannot be added
+	 */
+	private void addEvent(HttpExchange exchange, HashMap<String, String> params) throws IOException {
+		String student = newStudent(params);
+		String title = required(params, "title");
+		String days = required(params, "days");
+		int start = intParam(params, "start");
+		int end = intParam(params, "end");
+		int repeat = intParam(params, "repeat");
+		String details = params.containsKey("details") ? params.get("details") : "";
+		//Checked before the schedule is touched, so only duplicates and conflicts are reported as 409
+		try {
+			new Event(title, days, start, end, repeat, details);
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(400, e.getMessage() == null ? "Invalid event." : e.getMessage());
+		}
+		Event event;
+		try {
+			event = this.manager.addEvent(student, title, days, start, end, repeat, details);
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(409, e.getMessage());
+		}
+		StringBuilder json = new StringBuilder();
+		appendActivity(json, event);
+		sendJson(exchange, 200, json.toString());
+	}
+
+	/**
+	 * Answers POST /schedule/remove
+	 * @param exchange the request and its response
+	 * @param params the request parameters
+	 * @throws IOException if the response cannot be sent
+	 * @throws RequestException if a parameter is missing, the student has no session or there is
+	 * no activity at the index
+	 */
+	private void removeActivity(HttpExchange exchange, HashMap<String, String> params) throws IOException {
+		String student = openStudent(params);
+		int index = intParam(params, "index");
+		Activity removed;
+		try {
+			removed = index < 0 ? null : this.manager.removeActivity(student, index);
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(404, "No schedule for that student.");
+		}
+		if (removed == null) {
+			throw new RequestException(404, "No activity at that index.");
+		}
+		StringBuilder json = new StringBuilder();
+		appendActivity(json, removed);
+		sendJson(exchange, 200, json.toString());
+	}
+
+	/**
+	 * Answers GET /schedule/export
+	 * @param exchange the request and its response
+	 * @param params the request parameters
+	 * @throws IOException if the response cannot be sent
+	 * @throws RequestException if the student is missing or has no session
+	 */
+	private void exportSchedule(HttpExchange exchange, HashMap<String, String> params) throws IOException {
+		String student = openStudent(params);
+		List<Activity> schedule;
+		try {
+			schedule = this.manager.getSchedule(student);
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(404, "No schedule for that student.");
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, false, "UTF-8");
+		ActivityRecordIO.writeActivityRecords(out, schedule);
+		out.flush();
+		send(exchange, 200, "text/plain; charset=utf-8", bytes.toByteArray());
+	}
+
+	/**
+	 * Gets the student's id from the parameters of a request that adds to the schedule, opening
+	 * a session for the student if one is not already open
+	 * @param params the request parameters
+	 * @return the student's id
+	 * @throws RequestException if the student is missing
+	 */
+	private String newStudent(HashMap<String, String> params) {
+		String student = required(params, "student");
+		//Does nothing if the session is already open, even if another request just opened it
+		this.manager.openSession(student);
+		return student;
+	}
+
+	/**
+	 * Gets the student's id from the parameters of a request that needs a session to be open
+	 * @param params the request parameters
+	 * @return the student's id
+	 * @throws RequestException if the student is missing or has no session
+	 */
+	private String openStudent(HashMap<String, String> params) {
+		String student = required(params, "student");
+		if (!this.manager.isOpen(student)) {
+			throw new RequestException(404, "No schedule for that student.");
+		}
+		return student;
+	}
+
+	/**
+	 * Checks that a request used the right method
+	 * @param allowed whether the method is allowed for the path
+	 * @throws RequestException if it is not
+	 */
+	private static void requireMethod(boolean allowed) {
+		if (!allowed) {
+			throw new RequestException(405, "Method not allowed.");
+		}
+	}
+
+	/**
+	 * Gets a parameter that must be present
+	 * @param params the request parameters
+	 * @param name the name of the parameter
+	 * @return its value
+	 * @throws RequestException if the parameter is missing
+	 */
+	private static String required(HashMap<String, String> params, String name) {
+		String value = params.get(name);
+		if (value == null) {
+			throw new RequestException(400, "Missing parameter " + name + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * Gets a parameter that must be an integer
+	 * @param params the request parameters
+	 * @param name the name of the parameter
+	 * @return its value
+	 * @throws RequestException if the parameter is missing or not an integer
+	 */
+	private static int intParam(HashMap<String, String> params, String name) {
+		try {
+			return Integer.parseInt(required(params, name));
+		} catch (NumberFormatException e) {
+			throw new RequestException(400, "Invalid parameter " + name + ".");
+		}
+	}
+
+	/**
+	 * Reads the parameters of a request from its query string and, for a POST, its form body
+	 * @param exchange the request
+	 * @return the parameters by name; the last value wins if a name is repeated
+	 * @throws IOException if the body cannot be read
+	 * @throws RequestException if the body is too large
+	 */
+	private static HashMap<String, String> readParams(HttpExchange exchange) throws IOException {
+		HashMap<String, String> params = new HashMap<String, String>();
+		parseForm(exchange.getRequestURI().getRawQuery(), params);
+		if ("POST".equals(exchange.getRequestMethod())) {
+			InputStream in = exchange.getRequestBody();
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				body.write(buffer, 0, n);
+				if (body.size() > MAX_BODY) {
+					throw new RequestException(400, "Request too large.");
+				}
+			}
+			parseForm(new String(body.toByteArray(), StandardCharsets.UTF_8), params);
+		}
+		return params;
+	}
+
+	/**
+	 * Parses form encoded name=value pairs
+	 * @param form the encoded pairs, or null
+	 * @param params the map to add the pairs to
+	 * @throws RequestException if a pair cannot be decoded
+	 */
+	private static void parseForm(String form, HashMap<String, String> params) {
+		if (form == null || form.isEmpty()) {
+			return;
+		}
+		String[] pairs = form.split("&");
+		try {
+			for (int i = 0; i < pairs.length; i++) {
+				int eq = pairs[i].indexOf('=');
+				if (eq < 0) {
+					params.put(URLDecoder.decode(pairs[i], "UTF-8"), "");
+				} else {
+					params.put(URLDecoder.decode(pairs[i].substring(0, eq), "UTF-8"),
+							URLDecoder.decode(pairs[i].substring(eq + 1), "UTF-8"));
+				}
+			}
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(400, "Invalid parameters.");
+		}
+	}
+
+	/**
+	 * Appends a JSON object for an activity
+	 * @param json the JSON being built
+	 * @param activity the course or event
+	 */
+	private static void appendActivity(StringBuilder json, Activity activity) {
+		if (activity instanceof Course) {
+			Course c = (Course) activity;
+			json.append("{\"type\":\"course\",\"name\":");
+			appendString(json, c.getName());
+			json.append(",\"section\":");
+			appendString(json, c.getSection());
+			json.append(",\"title\":");
+			appendString(json, c.getTitle());
+			json.append(",\"credits\":").append(c.getCredits());
+			json.append(",\"instructorId\":");
+			appendString(json, c.getInstructorId());
+			appendMeeting(json, c);
+			if (c.getCapacity() == Course.UNLIMITED) {
+				json.append(",\"capacity\":null");
+			} else {
+				json.append(",\"capacity\":").append(c.getCapacity());
+			}
+			json.append(",\"enrolled\":").append(c.getEnrolled()).append('}');
+		} else {
+			Event e = (Event) activity;
+			json.append("{\"type\":\"event\",\"title\":");
+			appendString(json, e.getTitle());
+			appendMeeting(json, e);
+			json.append(",\"weeklyRepeat\":").append(e.getWeeklyRepeat());
+			json.append(",\"eventDetails\":");
+			appendString(json, e.getEventDetails());
+			json.append('}');
+		}
+	}
+
+	/**
+	 * Appends the meeting fields of an activity to a JSON object
+	 * @param json the JSON being built
+	 * @param activity the activity
+	 */
+	private static void appendMeeting(StringBuilder json, Activity activity) {
+		json.append(",\"meetingDays\":");
+		appendString(json, activity.getMeetingDays());
+		json.append(",\"startTime\":").append(activity.getStartTime());
+		json.append(",\"endTime\":").append(activity.getEndTime());
+		json.append(",\"meetingString\":");
+		appendString(json, activity.getMeetingString());
+	}
+
+	/**
+	 * Appends a JSON string, escaping quotes, backslashes and control characters
+	 * @param json the JSON being built
+	 * @param s the string
+	 */
+	private static void appendString(StringBuilder json, String s) {
+		json.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	/**
+	 * Sends an error as a JSON object with an error field
+	 * @param exchange the request and its response
+	 * @param status the HTTP status
+	 * @param message the error message
+	 * @throws IOException if the response cannot be sent
+	 */
+	private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+		StringBuilder json = new StringBuilder("{\"error\":");
+		appendString(json, message);
+		sendJson(exchange, status, json.append('}').toString());
+	}
+
+	/**
+	 * Sends a JSON response
+	 * @param exchange the request and its response
+	 * @param status the HTTP status
+	 * @param json the body
+	 * @throws IOException if the response cannot be sent
+	 */
+	private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+		send(exchange, status, "application/json; charset=utf-8", json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Sends a response
+	 * @param exchange the request and its response
+	 * @param status the HTTP status
+	 * @param contentType the type of the body
+	 * @param body the body
+	 * @throws IOException if the response cannot be sent
+	 */
+	private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, body.length);
+		OutputStream out = exchange.getResponseBody();
+		out.write(body);
+		out.close();
+	}
+
+	/**
+	 * Starts a server from the command line
+	 * @param args the catalog file, and optionally the port, the number of threads and the name
+	 * of a ScheduleStore to keep the schedules in
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 4) {
+			System.err.println("Usage: ScheduleServer <catalog file> [port] [threads] [store]");
+			System.exit(1);
+		}
+		try {
+			SharedCatalog catalog = new SharedCatalog(args[0]);
+			int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+			int threads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_THREADS;
+			SessionManager manager;
+			if (args.length > 3) {
+				final ScheduleStore store = new ScheduleStore(catalog, args[3]);
+				manager = store.getSessionManager();
+				System.out.println("Recovered " + manager.size() + " schedules from " + args[3]);
+				Runtime.getRuntime().addShutdownHook(new Thread() {
+					@Override
+					public void run() {
+						try {
+							store.close();
+						} catch (IOException e) {
+							System.err.println("Cannot close store: " + e.getMessage());
+						}
+					}
+				});
+			} else {
+				manager = new SessionManager(catalog);
+			}
+			ScheduleServer server = new ScheduleServer(manager, port, threads);
+			server.start();
+			System.out.println("Serving " + catalog.size() + " courses on port " + server.getPort());
+		} catch (IllegalArgumentException e) {
+			System.err.println("Cannot start server: " + e.getMessage());
+			System.exit(1);
+		} catch (IOException e) {
+			System.err.println("Cannot start server: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * A request that cannot be answered, with the status to answer it with.
+	 * @author Noah Benveniste
+	 */
+	private static class RequestException extends RuntimeException {
+
+		/** ID used for serialization. */
+		private static final long serialVersionUID = 1L;
+		/** The HTTP status */
+		private final int status;
+
+		/**
+		 * Constructs the exception
+		 * @param status the HTTP status
+		 * @param message the error message
+		 */
+		RequestException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+}
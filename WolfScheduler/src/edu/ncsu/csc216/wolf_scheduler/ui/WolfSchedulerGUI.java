@@ -8,7 +8,17 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -19,10 +29,12 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
@@ -31,6 +43,11 @@ import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordBatchReader;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleChangeEvent;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleChangeListener;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
 /**
@@ -59,6 +76,14 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 	private CardLayout cardLayout;
 	/** Reference to the WolfScheduler */
 	private WolfScheduler scheduler;
+	/** Panel showing the progress of loading the catalog */
+	private JPanel pnlLoad;
+	/** Progress bar for loading the catalog */
+	private JProgressBar progressLoad;
+	/** Button for cancelling the catalog load */
+	private JButton btnCancelLoad;
+	/** Background task loading the catalog */
+	private CatalogLoader catalogLoader;
 
 	/**
 	 * Constructs the WolfSchedulerGUI and sets up the GUI 
@@ -73,12 +98,15 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		setTitle(APP_TITLE);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 		
-		//Construct the underlying model object
+		//Construct the underlying model object with an empty catalog, which is loaded in the
+		//background once the window is showing
+		String catalogFile = null;
 		try {			
-			scheduler = new WolfScheduler(getFileName(true));
+			catalogFile = getFileName(true);
 		} catch (IllegalStateException e) {
 			System.exit(1);
 		}
+		scheduler = new WolfScheduler();
 		
 		//Construct panels
 		pnlScheduler = new SchedulerPanel();
@@ -94,12 +122,39 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		panel.add(pnlSchedule, SCHEDULE_PANEL);
 		cardLayout.show(panel, SCHEDULER_PANEL);
 		
+		//Set up the panel that shows the catalog loading
+		progressLoad = new JProgressBar(0, 100);
+		progressLoad.setStringPainted(true);
+		btnCancelLoad = new JButton("Cancel");
+		btnCancelLoad.addActionListener(this);
+		pnlLoad = new JPanel(new BorderLayout());
+		pnlLoad.add(new JLabel("Loading course catalog "), BorderLayout.WEST);
+		pnlLoad.add(progressLoad, BorderLayout.CENTER);
+		pnlLoad.add(btnCancelLoad, BorderLayout.EAST);
+		
 		//Add panel to the container
 		Container c = getContentPane();
 		c.add(panel, BorderLayout.CENTER);
+		c.add(pnlLoad, BorderLayout.SOUTH);
 		
 		//Set the GUI visible
 		setVisible(true);
+		
+		//Start loading the catalog
+		catalogLoader = new CatalogLoader(catalogFile);
+		catalogLoader.addPropertyChangeListener(new PropertyChangeListener() {
+			
+			@Override
+			public void propertyChange(PropertyChangeEvent evt) {
+				if ("progress".equals(evt.getPropertyName())) {
+					progressLoad.setValue((Integer) evt.getNewValue());
+				}
+			}
+			
+		});
+		pnlScheduler.btnAddCourse.setEnabled(false);
+		pnlScheduler.catalogTableModel.startLoading();
+		catalogLoader.execute();
 	}
 	
 	/**
@@ -127,10 +182,107 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		return catalogFile.getAbsolutePath();
 	}
 
+	/**
+	 * Cancels the catalog load when the cancel button is pressed.
+	 * @param e user event that triggers an action.
+	 */
 	@Override
 	public void actionPerformed(ActionEvent e) {
-		// TODO Auto-generated method stub
+		if (e.getSource() == btnCancelLoad) {
+			catalogLoader.cancel(false);
+		}
+	}
+	
+	/**
+	 * Loads the course catalog on a background thread. Courses are shown in the catalog table
+	 * in batches as they are read, but the {@link WolfScheduler} only receives the catalog once
+	 * the whole file has been read, on the Event Dispatch Thread. If the load is cancelled or
+	 * fails, the scheduler keeps the catalog it had and the table is reset to match it.
+	 * 
+	 * @author Noah Benveniste
+	 */
+	private class CatalogLoader extends SwingWorker<ArrayList<Course>, Course> {
+		
+		/** Number of courses read between updates of the table */
+		private static final int BATCH_SIZE = 1000;
+		/** The file to load */
+		private String fileName;
+		/** Counts of the lines loaded and skipped */
+		private CourseLoadReport report;
+		
+		/**
+		 * Constructs a loader for the given file
+		 * @param fileName the file of course records or catalog snapshot to load
+		 */
+		public CatalogLoader(String fileName) {
+			this.fileName = fileName;
+			this.report = new CourseLoadReport();
+		}
+		
+		/**
+		 * Reads the catalog, publishing each batch of courses as it is read.
+		 * @return the courses read, or the courses read so far if the load was cancelled
+		 * @throws IOException if the file cannot be read
+		 */
+		@Override
+		protected ArrayList<Course> doInBackground() throws IOException {
+			//A snapshot loads too quickly to need batches
+			if (CatalogSnapshotIO.isCatalogSnapshot(fileName)) {
+				return CatalogSnapshotIO.readCatalogSnapshot(fileName, report);
+			}
+			ArrayList<Course> courses = new ArrayList<Course>();
+			CourseRecordBatchReader reader = new CourseRecordBatchReader(fileName, report);
+			try {
+				ArrayList<Course> batch = reader.nextBatch(BATCH_SIZE);
+				while (!batch.isEmpty() && !isCancelled()) {
+					courses.addAll(batch);
+					publish(batch.toArray(new Course[batch.size()]));
+					if (reader.getLength() > 0) {
+						setProgress((int) Math.min(100, 100 * reader.getPosition() / reader.getLength()));
+					}
+					batch = reader.nextBatch(BATCH_SIZE);
+				}
+			} finally {
+				reader.close();
+			}
+			return courses;
+		}
+		
+		/**
+		 * Adds the courses read since the last update to the catalog table.
+		 * @param courses the courses read
+		 */
+		@Override
+		protected void process(List<Course> courses) {
+			if (!isCancelled()) {
+				pnlScheduler.catalogTableModel.addCourses(courses);
+			}
+		}
 		
+		/**
+		 * Gives the catalog to the {@link WolfScheduler}, or resets the catalog table if the
+		 * load was cancelled or failed.
+		 */
+		@Override
+		protected void done() {
+			pnlLoad.setVisible(false);
+			pnlScheduler.btnAddCourse.setEnabled(true);
+			if (isCancelled()) {
+				pnlScheduler.catalogTableModel.refresh();
+				return;
+			}
+			try {
+				//Fires a reload event, so both tables are refreshed from the scheduler
+				scheduler.reloadCatalog(get(), report);
+			} catch (ExecutionException e) {
+				pnlScheduler.catalogTableModel.refresh();
+				String message = e.getCause() instanceof FileNotFoundException ? "Cannot find file." : e.getCause().getMessage();
+				JOptionPane.showMessageDialog(WolfSchedulerGUI.this, message);
+			} catch (InterruptedException e) {
+				//get() does not wait once the task is done
+				pnlScheduler.catalogTableModel.refresh();
+			}
+		}
 	}
 
 	/**
@@ -156,6 +308,10 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		private JButton btnRemoveCourse;
 		/** Button for resetting the schedule */
 		private JButton btnReset;
+		/** Button for undoing the last change to the schedule */
+		private JButton btnUndo;
+		/** Button for redoing the last change undone */
+		private JButton btnRedo;
 		/** Button for displaying the final schedule */
 		private JButton btnDisplay;
 		/** JTable for displaying the catalog of Courses */
@@ -163,7 +319,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		/** JTable for displaying the schdule of Courses */
 		private JTable tableSchedule;
 		/** TableModel for catalog */
-		private CourseTableModel catalogTableModel;
+		private CatalogTableModel catalogTableModel;
 		/** TableModel for schedule */
 		private CourseTableModel scheduleTableModel;
 		/** Student's Schedule title label */
@@ -263,6 +419,18 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			btnRemoveCourse.addActionListener(this);
 			btnReset = new JButton("Reset Schedule");
 			btnReset.addActionListener(this);
+			btnUndo = new JButton("Undo");
+			btnUndo.addActionListener(this);
+			btnRedo = new JButton("Redo");
+			btnRedo.addActionListener(this);
+			updateUndoRedo();
+			//Enable undo and redo as the schedule changes, whichever panel changed it
+			scheduler.addScheduleChangeListener(new ScheduleChangeListener() {
+				@Override
+				public void scheduleChanged(ScheduleChangeEvent event) {
+					updateUndoRedo();
+				}
+			});
 			btnDisplay = new JButton("Display Final Schedule");
 			btnDisplay.addActionListener(this);
 			lblScheduleTitle = new JLabel("Schedule Title: ");
@@ -271,7 +439,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			btnSetScheduleTitle.addActionListener(this);
 			
 			JPanel pnlActions = new JPanel();
-			pnlActions.setLayout(new GridLayout(3, 1));
+			pnlActions.setLayout(new GridLayout(4, 1));
 			JPanel pnlAddRemove = new JPanel();
 			pnlAddRemove.setLayout(new GridLayout(1, 2));
 			pnlAddRemove.add(btnAddCourse);
@@ -280,6 +448,10 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			pnlResetDisplay.setLayout(new GridLayout(1, 2));
 			pnlResetDisplay.add(btnReset);
 			pnlResetDisplay.add(btnDisplay);
+			JPanel pnlUndoRedo = new JPanel();
+			pnlUndoRedo.setLayout(new GridLayout(1, 2));
+			pnlUndoRedo.add(btnUndo);
+			pnlUndoRedo.add(btnRedo);
 			JPanel pnlScheduleTitle = new JPanel();
 			pnlScheduleTitle.setLayout(new GridLayout(1, 3));
 			pnlScheduleTitle.add(lblScheduleTitle);
@@ -287,6 +459,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			pnlScheduleTitle.add(btnSetScheduleTitle);
 			pnlActions.add(pnlAddRemove);
 			pnlActions.add(pnlResetDisplay);
+			pnlActions.add(pnlUndoRedo);
 			pnlActions.add(pnlScheduleTitle);
 			
 			Border lowerEtched = BorderFactory.createEtchedBorder(EtchedBorder.LOWERED);
@@ -295,7 +468,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			pnlActions.setToolTipText("Scheduler Actions");
 						
 			//Set up Catalog table
-			catalogTableModel = new CourseTableModel(true);
+			catalogTableModel = new CatalogTableModel();
 			tableCatalog = new JTable(catalogTableModel) {
 				private static final long serialVersionUID = 1L;
 				
@@ -335,7 +508,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			scrollCatalog.setToolTipText("Course Catalog");
 			
 			//Set up Schedule table
-			scheduleTableModel = new CourseTableModel(false);
+			scheduleTableModel = new CourseTableModel();
 			tableSchedule = new JTable(scheduleTableModel);
 			tableSchedule.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableSchedule.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -347,8 +520,6 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getTitle());
 			
-			updateTables();
-			
 			//Set up the course details panel
 			pnlCourseDetails = new JPanel();
 			pnlCourseDetails.setLayout(new GridLayout(4, 1));
@@ -542,7 +713,6 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 						JOptionPane.showMessageDialog(WolfSchedulerGUI.this, iae.getMessage());
 					}
 				}
-				updateTables();
 			} else if (e.getSource() == btnRemoveCourse) {
 				int row = tableSchedule.getSelectedRow();
 				if (row == -1) {
@@ -550,10 +720,18 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 				} else {
 					scheduler.removeActivity(row);
 				}
-				updateTables();
 			} else if (e.getSource() == btnReset) {
 				scheduler.resetSchedule();
-				updateTables();
+			} else if (e.getSource() == btnUndo || e.getSource() == btnRedo) {
+				try {
+					if (e.getSource() == btnUndo) {
+						scheduler.undo();
+					} else {
+						scheduler.redo();
+					}
+				} catch (IllegalArgumentException iae) {
+					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, iae.getMessage());
+				}
 			} else if (e.getSource() == btnDisplay) {
 				cardLayout.show(panel, SCHEDULE_PANEL);
 				pnlSchedule.updateFinalizedTable();
@@ -648,7 +826,6 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 					scheduler.addEvent(txtEventTitle.getText(), eventMeetingDays, eventStartTime, eventEndTime, eventWeeklyRepeat, txtDetails.getText());
 					
 					resetEvent();
-					updateTables();
 				} catch (IllegalArgumentException iae) {
 					String message = iae.getMessage();
 					if (message == null || "".equals(message)) {
@@ -685,11 +862,11 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		}
 		
 		/**
-		 * Updates the catalog and schedule tables.
+		 * Enables the undo and redo buttons only when there is a change to undo or redo.
 		 */
-		private void updateTables() {
-			catalogTableModel.updateData();
-			scheduleTableModel.updateData();
+		private void updateUndoRedo() {
+			btnUndo.setEnabled(scheduler.canUndo());
+			btnRedo.setEnabled(scheduler.canRedo());
 		}
 		
 		/**
@@ -709,27 +886,25 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		
 		/**
 		 * {@link CourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s to the user.
+		 * the schedule to the user.
 		 * @author Sarah Heckman
 		 */
-		private class CourseTableModel extends AbstractTableModel {
+		private class CourseTableModel extends AbstractTableModel implements ScheduleChangeListener {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
-			/** Data stored in the table */
-			private Object [][] data;
-			/** Boolean flag if the model applies to the catalog or schedule */
-			private boolean catalog;
+			/** Data stored in the table, one display array per row */
+			private ArrayList<Object[]> data;
 			
 			/**
 			 * Constructs the {@link CourseTableModel} by requesting the latest information
 			 * from the {@link RequirementTrackerModel}.
 			 */
-			public CourseTableModel(boolean catalog) {
-				this.catalog = catalog;
+			public CourseTableModel() {
 				updateData();
+				scheduler.addScheduleChangeListener(this);
 			}
 
 			/**
@@ -747,7 +922,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			public int getRowCount() {
 				if (data == null) 
 					return 0;
-				return data.length;
+				return data.size();
 			}
 			
 			/**
@@ -766,8 +941,8 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 				if (data == null)
 					return null;
 				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+					return data.get(row)[col];
+				} catch (IndexOutOfBoundsException e) {
 					return null;
 				}
 			}
@@ -779,7 +954,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			 * @param column location to modify the data.
 			 */
 			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
+				data.get(row)[col] = value;
 				fireTableCellUpdated(row, col);
 			}
 			
@@ -787,13 +962,149 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
 			 */
 			private void updateData() {
-				if (catalog) {
-					data = scheduler.getCourseCatalog();
+				data = new ArrayList<Object[]>(Arrays.asList(scheduler.getScheduledActivities()));
+			}
+			
+			/**
+			 * Applies a change in the {@link WolfScheduler} to the rows that changed. A reload may
+			 * change any scheduled course and an undo or redo may change any row, so they replace
+			 * every row.
+			 * @param event the change
+			 */
+			@Override
+			public void scheduleChanged(ScheduleChangeEvent event) {
+				if (event.getType() == ScheduleChangeEvent.Type.CATALOG_RELOADED
+						|| event.getType() == ScheduleChangeEvent.Type.SCHEDULE_RESTORED) {
+					updateData();
+					fireTableDataChanged();
 				} else {
-					data = scheduler.getScheduledActivities();
+					applyScheduleChange(this, data, event, false);
 				}
 			}
 		}
+		
+		/**
+		 * {@link CatalogTableModel} is the object underlying the {@link JTable} object that displays
+		 * the course catalog to the user. Rows are not stored: each row is read from its
+		 * {@link Course} when the table asks for it, and only the most recently shown rows are
+		 * kept, so the memory used does not grow with the size of the catalog. Meeting strings
+		 * are built for the rows being shown and are not kept by the courses.
+		 * @author Noah Benveniste
+		 */
+		private class CatalogTableModel extends AbstractTableModel implements ScheduleChangeListener {
+			
+			/** ID number used for object serialization. */
+			private static final long serialVersionUID = 1L;
+			/** Number of rows kept, comfortably more than fit on a screen */
+			private static final int CACHE_SIZE = 512;
+			/** Column names for the table */
+			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
+			/** Courses read so far while the catalog is loading, or null when the rows come from the scheduler */
+			private ArrayList<Course> loading;
+			/** Recently shown rows by row index, least recently shown first */
+			private LinkedHashMap<Integer, Object[]> rows;
+			
+			/**
+			 * Constructs the {@link CatalogTableModel} for the {@link WolfScheduler}'s catalog.
+			 */
+			public CatalogTableModel() {
+				rows = new LinkedHashMap<Integer, Object[]>(CACHE_SIZE * 2, 0.75f, true) {
+					private static final long serialVersionUID = 1L;
+					
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+						return size() > CACHE_SIZE;
+					}
+				};
+				scheduler.addScheduleChangeListener(this);
+			}
+
+			/**
+			 * Returns the number of columns in the table.
+			 * @return the number of columns in the table.
+			 */
+			public int getColumnCount() {
+				return columnNames.length;
+			}
+
+			/**
+			 * Returns the number of rows in the table.
+			 * @return the number of rows in the table.
+			 */
+			public int getRowCount() {
+				if (loading != null) {
+					return loading.size();
+				}
+				return scheduler.getCatalogSize();
+			}
+			
+			/**
+			 * Returns the column name at the given index.
+			 * @return the column name at the given column.
+			 */
+			public String getColumnName(int col) {
+				return columnNames[col];
+			}
+
+			/**
+			 * Returns the data at the given {row, col} index, building the row if it is not kept.
+			 * @return the data at the given location.
+			 */
+			public Object getValueAt(int row, int col) {
+				if (row < 0 || row >= getRowCount() || col < 0 || col >= columnNames.length) {
+					return null;
+				}
+				Object[] values = rows.get(row);
+				if (values == null) {
+					Course c = loading != null ? loading.get(row) : scheduler.getCatalogCourse(row);
+					values = new Object[] {c.getName(), c.getSection(), c.getTitle(), c.buildMeetingString()};
+					rows.put(row, values);
+				}
+				return values[col];
+			}
+			
+			/**
+			 * Applies a change in the {@link WolfScheduler}. The catalog only changes on a reload.
+			 * @param event the change
+			 */
+			@Override
+			public void scheduleChanged(ScheduleChangeEvent event) {
+				if (event.getType() == ScheduleChangeEvent.Type.CATALOG_RELOADED) {
+					refresh();
+				}
+			}
+			
+			/**
+			 * Empties the table so courses can be added as they are loaded.
+			 */
+			private void startLoading() {
+				loading = new ArrayList<Course>();
+				rows.clear();
+				fireTableDataChanged();
+			}
+			
+			/**
+			 * Appends rows for courses that are still being loaded into the catalog.
+			 * @param courses the courses to show
+			 */
+			private void addCourses(List<Course> courses) {
+				if (loading == null || courses.isEmpty()) {
+					return;
+				}
+				int first = loading.size();
+				loading.addAll(courses);
+				fireTableRowsInserted(first, loading.size() - 1);
+			}
+			
+			/**
+			 * Shows the {@link WolfScheduler}'s catalog again, dropping any kept rows.
+			 */
+			private void refresh() {
+				loading = null;
+				rows.clear();
+				fireTableDataChanged();
+			}
+		}
 	}
 	
 	/**
@@ -890,7 +1201,6 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		 * Updates the finalized schedule table
 		 */
 		public void updateFinalizedTable() {
-			scheduleTableModel.updateData();
 			borderSchedule.setTitle(scheduler.getTitle());
 			scrollSchedule.setToolTipText(scheduler.getTitle());
 		}
@@ -900,14 +1210,14 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 		 * the list of {@link Course}s, and all their data, to the user.
 		 * @author Sarah Heckman
 		 */
-		private class FullCourseTableModel extends AbstractTableModel {
+		private class FullCourseTableModel extends AbstractTableModel implements ScheduleChangeListener {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Credits", "Instructor", "Meeting Information", "Details"};
-			/** Data stored in the table */
-			private Object [][] data;
+			/** Data stored in the table, one display array per row */
+			private ArrayList<Object[]> data;
 			
 			/**
 			 * Constructs the {@link CourseTableModel} by requesting the latest information
@@ -915,6 +1225,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			 */
 			public FullCourseTableModel() {
 				updateData();
+				scheduler.addScheduleChangeListener(this);
 			}
 
 			/**
@@ -932,7 +1243,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			public int getRowCount() {
 				if (data == null) 
 					return 0;
-				return data.length;
+				return data.size();
 			}
 			
 			/**
@@ -951,8 +1262,8 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 				if (data == null)
 					return null;
 				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+					return data.get(row)[col];
+				} catch (IndexOutOfBoundsException e) {
 					return null;
 				}
 			}
@@ -964,7 +1275,7 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			 * @param column location to modify the data.
 			 */
 			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
+				data.get(row)[col] = value;
 				fireTableCellUpdated(row, col);
 			}
 			
@@ -972,9 +1283,56 @@ public class WolfSchedulerGUI extends JFrame implements ActionListener {
 			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
 			 */
 			private void updateData() {
-				data = scheduler.getFullScheduledActivities();
+				data = new ArrayList<Object[]>(Arrays.asList(scheduler.getFullScheduledActivities()));
+			}
+			
+			/**
+			 * Applies a change in the {@link WolfScheduler} to the rows that changed. A reload or
+			 * an undo or redo replaces every row.
+			 * @param event the change
+			 */
+			@Override
+			public void scheduleChanged(ScheduleChangeEvent event) {
+				if (event.getType() == ScheduleChangeEvent.Type.CATALOG_RELOADED
+						|| event.getType() == ScheduleChangeEvent.Type.SCHEDULE_RESTORED) {
+					updateData();
+					fireTableDataChanged();
+				} else {
+					applyScheduleChange(this, data, event, true);
+				}
 			}
 		}
 		
 	}
+	
+	/**
+	 * Applies an add, remove or reset of the schedule to the rows of a schedule table model,
+	 * firing an event for only the rows that changed.
+	 * @param model the table model to notify
+	 * @param data the rows of the table model
+	 * @param event the change
+	 * @param full true if the rows are long display arrays, false if they are short ones
+	 */
+	private static void applyScheduleChange(AbstractTableModel model, ArrayList<Object[]> data, ScheduleChangeEvent event, boolean full) {
+		int index = event.getIndex();
+		switch (event.getType()) {
+		case ACTIVITY_ADDED:
+			data.add(index, full ? event.getActivity().getLongDisplayArray() : event.getActivity().getShortDisplayArray());
+			model.fireTableRowsInserted(index, index);
+			break;
+		case ACTIVITY_REMOVED:
+			data.remove(index);
+			model.fireTableRowsDeleted(index, index);
+			break;
+		case SCHEDULE_RESET:
+			int rows = data.size();
+			data.clear();
+			if (rows > 0) {
+				model.fireTableRowsDeleted(0, rows - 1);
+			}
+			break;
+		default:
+			break;
+		}
+	}
 }
@@ -152,4 +152,109 @@ public class ActivityTest {
 	        assertEquals("TH 8:30AM-9:00AM", a2.getMeetingString());
 	    } 
 	}
+	
+	/**
+	 * Test method for getMeetingString() reusing the string until the days or times change
+	 */
+	@Test
+	public void testGetMeetingString() {
+		Activity c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		String meeting = c.getMeetingString();
+		assertEquals("MW 1:30PM-2:45PM", meeting);
+		assertSame(meeting, c.getMeetingString());
+		assertEquals(meeting, c.buildMeetingString());
+		assertNotSame(meeting, c.buildMeetingString());
+		
+		c.setActivityTime(905, 1200);
+		assertEquals("MW 9:05AM-12:00PM", c.getMeetingString());
+		c.setMeetingDays("F");
+		assertEquals("F 9:05AM-12:00PM", c.getMeetingString());
+		c.setTitle("Programming Concepts");
+		assertSame(c.getMeetingString(), c.getMeetingString());
+		
+		//A failed update leaves the string unchanged
+		try {
+			c.setActivityTime(1200, 905);
+			fail();
+		} catch (IllegalArgumentException iae) {
+			assertEquals("F 9:05AM-12:00PM", c.getMeetingString());
+		}
+		
+		Activity e = new Event("Exercise", "US", 800, 900, 1, "Cardio Time!");
+		assertEquals("US 8:00AM-9:00AM (every 1 weeks)", e.getMeetingString());
+		e.setMeetingDays("M");
+		assertEquals("M 8:00AM-9:00AM (every 1 weeks)", e.getMeetingString());
+		((Event) e).setWeeklyRepeat(2);
+		assertEquals("M 8:00AM-9:00AM (every 2 weeks)", e.getMeetingString());
+		assertSame(e.getMeetingString(), e.getMeetingString());
+		assertEquals("M 8:00AM-9:00AM (every 2 weeks)", e.buildMeetingString());
+	}
+	
+	/**
+	 * Test method for getDayMask() as meeting days are set on Courses and Events
+	 */
+	@Test
+	public void testGetDayMask() {
+		Activity c = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		assertEquals(0b0001010, c.getDayMask());
+		c.setMeetingDays("TH");
+		assertEquals(0b0010100, c.getDayMask());
+		c.setMeetingDays("MTWHF");
+		assertEquals(0b0111110, c.getDayMask());
+		
+		//Arranged courses only have the arranged bit set
+		Activity a = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		assertEquals(Activity.ARRANGED, a.getDayMask());
+		assertEquals(0, a.getDayMask() & Activity.WEEK_DAYS);
+		
+		//Events can meet on the weekend
+		Activity e = new Event("Exercise", "US", 800, 900, 1, "Cardio Time!");
+		assertEquals(0b1000001, e.getDayMask());
+		
+		//A failed update leaves the mask unchanged
+		try {
+			e.setMeetingDays("A");
+			fail();
+		} catch (IllegalArgumentException iae) {
+			assertEquals(0b1000001, e.getDayMask());
+		}
+	}
+	
+	/**
+	 * Test method for conflictsWith()
+	 */
+	@Test
+	public void testConflictsWith() {
+		Activity a1 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		Activity a2 = new Event("Exercise", "UTHS", 1330, 1445, 1, "Cardio Time!");
+		
+		//Same time on distinct days
+		assertFalse(a1.conflictsWith(a2));
+		assertFalse(a2.conflictsWith(a1));
+		
+		//Sharing one day with a shared end point
+		a2.setMeetingDays("WS");
+		a2.setActivityTime(1445, 1600);
+		assertTrue(a1.conflictsWith(a2));
+		assertTrue(a2.conflictsWith(a1));
+		
+		//Sharing one day one minute apart, across the hour boundary
+		a2.setActivityTime(1446, 1600);
+		assertFalse(a1.conflictsWith(a2));
+		a1.setActivityTime(1300, 1359);
+		a2.setActivityTime(1400, 1600);
+		assertFalse(a1.conflictsWith(a2));
+		assertFalse(a2.conflictsWith(a1));
+		
+		//One activity contains the other
+		a2.setActivityTime(1200, 1600);
+		assertTrue(a1.conflictsWith(a2));
+		assertTrue(a2.conflictsWith(a1));
+		
+		//Arranged courses never conflict, even with themselves
+		Activity a3 = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		assertFalse(a3.conflictsWith(a1));
+		assertFalse(a1.conflictsWith(a3));
+		assertFalse(a3.conflictsWith(a3));
+	}
 }
@@ -695,4 +695,42 @@ public class CourseTest {
 		assertEquals(s2, c2.toString());
 	}
 
+	/**
+	 * Tests reserving and releasing seats.
+	 */
+	@Test
+	public void testSeats() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(Course.UNLIMITED, c.getCapacity());
+		assertFalse(c.releaseSeat());
+		c.setCapacity(2);
+		assertTrue(c.reserveSeat());
+		assertTrue(c.reserveSeat());
+		assertFalse(c.reserveSeat());
+		assertEquals(2, c.getEnrolled());
+		assertEquals(0, c.getOpenSeats());
+
+		//Seats are not part of equality
+		Course other = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(c, other);
+		assertEquals(c.hashCode(), other.hashCode());
+		other.copySeats(c);
+		assertEquals(2, other.getCapacity());
+		assertEquals(2, other.getEnrolled());
+
+		//Lowering the capacity keeps the seats already reserved
+		c.setCapacity(1);
+		assertEquals(0, c.getOpenSeats());
+		assertTrue(c.releaseSeat());
+		assertFalse(c.reserveSeat());
+		assertTrue(c.releaseSeat());
+		assertTrue(c.reserveSeat());
+		try {
+			c.setCapacity(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Capacity cannot be negative.", e.getMessage());
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.Assert.*;
+
+import java.io.FileNotFoundException;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests StringPool.
+ * @author Noah Benveniste
+ */
+public class StringPoolTest {
+
+	/**
+	 * Tests StringPool.share().
+	 */
+	@Test
+	public void testShare() {
+		String title = new String("Programming Concepts - Java");
+		String shared = StringPool.share(title);
+		assertEquals(title, shared);
+		assertSame(shared, StringPool.share(new String("Programming Concepts - Java")));
+		assertTrue(StringPool.getSharedSize() > 0);
+		assertNull(StringPool.share(null));
+	}
+
+	/**
+	 * Tests StringPool.intern() and the pool's counts.
+	 */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool(2);
+		char[] line = "CSC216,CSC216,,sesmith5,CSC21".toCharArray();
+		String first = pool.intern(line, 0, 6);
+		assertEquals("CSC216", first);
+		assertSame(first, pool.intern(line, 7, 13));
+		assertSame(StringPool.share(new String("CSC216")), first);
+		assertEquals("", pool.intern(line, 14, 14));
+		assertEquals("sesmith5", pool.intern(line, 15, 23));
+		assertEquals("CSC21", pool.intern(line, 24, 29));
+		assertEquals(4, pool.size());
+		assertEquals(5, pool.getLookups());
+		assertEquals(1, pool.getHits());
+
+		//Values are still found after the table grows
+		for (int i = 0; i < 100; i++) {
+			char[] value = ("prof" + i).toCharArray();
+			pool.intern(value, 0, value.length);
+		}
+		assertEquals(104, pool.size());
+		assertSame(first, pool.intern(line, 0, 6));
+		assertEquals(2, pool.getHits());
+
+		try {
+			new StringPool(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid pool size.", e.getMessage());
+		}
+
+		//A pool that does not share keeps new values out of the shared pool
+		StringPool local = new StringPool(2, false);
+		char[] details = "Office hours in EB2 1226".toCharArray();
+		int sharedSize = StringPool.getSharedSize();
+		String value = local.intern(details, 0, details.length);
+		assertEquals("Office hours in EB2 1226", value);
+		assertSame(value, local.intern(details, 0, details.length));
+		assertEquals(sharedSize, StringPool.getSharedSize());
+		assertNotSame(value, StringPool.share(new String("Office hours in EB2 1226")));
+	}
+
+	/**
+	 * Tests that Courses store the shared copy of their names, sections and instructor ids, and
+	 * that titles and meeting days set on an Activity are not added to the shared pool.
+	 */
+	@Test
+	public void testActivitiesShareValues() {
+		Course c1 = new Course(new String("CSC216"), new String("Programming Concepts - Java"), new String("001"), 4,
+				new String("sesmith5"), new String("MW"), 1330, 1445);
+		Course c2 = new Course(new String("CSC216"), new String("Programming Concepts - Java"), new String("001"), 4,
+				new String("sesmith5"), new String("MW"), 1500, 1615);
+		assertSame(c1.getName(), c2.getName());
+		assertSame(c1.getSection(), c2.getSection());
+		assertSame(c1.getInstructorId(), c2.getInstructorId());
+
+		int sharedSize = StringPool.getSharedSize();
+		String title = new String("Lunch with the TA team");
+		Event e = new Event(title, new String("MW"), 800, 900, 1, "Office hours");
+		assertSame(title, e.getTitle());
+		e.setTitle(new String("CSC216"));
+		assertNotSame(c1.getName(), e.getTitle());
+		assertEquals(sharedSize, StringPool.getSharedSize());
+	}
+
+	/**
+	 * Tests that titles and meeting days read from a catalog file are the shared copies.
+	 * @throws FileNotFoundException if the catalog cannot be read
+	 */
+	@Test
+	public void testCatalogSharesValues() throws FileNotFoundException {
+		Course first = CourseRecordIO.readCourseRecords("test-files/course_records.txt").get(0);
+		Course again = CourseRecordIO.readCourseRecords("test-files/course_records.txt").get(0);
+		assertSame(first.getTitle(), again.getTitle());
+		assertSame(first.getMeetingDays(), again.getMeetingDays());
+		assertSame(first.getTitle(), StringPool.share(new String(first.getTitle())));
+	}
+}
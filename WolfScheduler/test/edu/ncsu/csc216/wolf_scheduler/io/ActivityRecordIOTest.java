@@ -1,10 +1,13 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -60,6 +63,82 @@ public class ActivityRecordIOTest {
 		checkFiles("test-files/expected_activity_records.txt", "test-files/actual_activity_records.txt");
 	}
 
+	/**
+	 * Tests readActivityRecords() on an exported schedule with courses and events.
+	 */
+	@Test
+	public void testReadActivityRecords() {
+		try {
+			ArrayList<Activity> activities = ActivityRecordIO.readActivityRecords("test-files/expected_activity_records.txt");
+			assertEquals(4, activities.size());
+			assertTrue(activities.get(0) instanceof Course);
+			assertEquals("CSC116,Intro to Programming - Java,003,3,spbalik,MW,1250,1440", activities.get(0).toString());
+			assertTrue(activities.get(1) instanceof Event);
+			assertEquals(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio with rest day on Wednesday."), activities.get(1));
+			assertEquals("Cardio with rest day on Wednesday.", ((Event) activities.get(1)).getEventDetails());
+			assertEquals(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"), activities.get(3));
+		} catch (FileNotFoundException e) {
+			fail("Cannot read activity records file");
+		}
+	}
+
+	/**
+	 * Tests that readActivityRecords() reads back what writeActivityRecords() wrote, including
+	 * event details with commas, and skips invalid lines.
+	 */
+	@Test
+	public void testReadActivityRecordsRoundTrip() {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Event("Lunch", "MTWHF", 1200, 1300, 1, ""));
+		activities.add(new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025));
+		activities.add(new Event("Study Group", "S", 1000, 1200, 2, "Room 1, then the library, 2nd floor"));
+		try {
+			PrintStream out = new PrintStream(new File("test-files/actual_activity_records.txt"));
+			ActivityRecordIO.writeActivityRecords(out, activities);
+			out.println("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1445,1330");
+			out.println("Gym,MW,900");
+			out.println();
+			out.close();
+
+			ArrayList<Activity> read = ActivityRecordIO.readActivityRecords("test-files/actual_activity_records.txt");
+			assertEquals(activities, read);
+			assertEquals("Room 1, then the library, 2nd floor", ((Event) read.get(2)).getEventDetails());
+			assertEquals(2, ((Event) read.get(2)).getWeeklyRepeat());
+		} catch (IOException e) {
+			fail("Cannot write or read activity records file");
+		}
+
+		try {
+			ActivityRecordIO.readActivityRecords("test-files/no_such_file.txt");
+			fail();
+		} catch (FileNotFoundException e) {
+			//expected
+		}
+	}
+
+	/**
+	 * Tests that courses with all-digit instructor ids and events whose details look like course
+	 * fields are read back as what was written.
+	 */
+	@Test
+	public void testReadActivityRecordsShapes() {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "200123456", "TH", 1330, 1445));
+		activities.add(new Course("CSC230", "C and Software Tools", "601", 3, "42", "A"));
+		activities.add(new Event("Work", "MW", 800, 1200, 1, "MW"));
+		activities.add(new Event("Club", "H", 1800, 1900, 1, "A,1,2"));
+		activities.add(new Event("Gym", "UMTWHFS", 600, 700, 1, "1,2,3,4"));
+		try {
+			PrintStream out = new PrintStream(new File("test-files/actual_activity_records.txt"));
+			ActivityRecordIO.writeActivityRecords(out, activities);
+			out.close();
+
+			assertEquals(activities, ActivityRecordIO.readActivityRecords("test-files/actual_activity_records.txt"));
+		} catch (IOException e) {
+			fail("Cannot write or read activity records file");
+		}
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
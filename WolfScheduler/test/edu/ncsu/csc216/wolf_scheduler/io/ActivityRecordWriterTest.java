@@ -0,0 +1,170 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ActivityRecordWriter.
+ * @author Noah Benveniste
+ */
+public class ActivityRecordWriterTest {
+
+	/** File written by the tests */
+	private final String recordsFile = "test-files/actual_activity_records.txt";
+
+	/**
+	 * Tests that each record is written exactly as toString() would write it.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testWriteActivity() throws IOException {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		activities.add(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"));
+		activities.add(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio, then weights"));
+		activities.add(new Event("Lunch", "MTWHF", 1200, 1300, 4, ""));
+
+		ActivityRecordWriter writer = new ActivityRecordWriter(recordsFile);
+		writer.writeActivities(activities);
+		writer.commit();
+		writer.close();
+
+		List<String> lines = Files.readAllLines(Paths.get(recordsFile));
+		assertEquals(activities.size(), lines.size());
+		for (int i = 0; i < activities.size(); i++) {
+			assertEquals(activities.get(i).toString(), lines.get(i));
+		}
+		assertEquals(0, tempFiles());
+
+		try {
+			writer.writeActivity(activities.get(0));
+			fail();
+		} catch (IOException e) {
+			assertEquals("The file is closed.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that the file is only replaced when the writer is committed, and is left as it was
+	 * by a writer closed without committing.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testCommit() throws IOException {
+		PrintStream out = new PrintStream(new File(recordsFile));
+		out.println("old");
+		out.close();
+		Event lunch = new Event("Lunch", "MTWHF", 1200, 1300, 1, "");
+
+		ActivityRecordWriter writer = new ActivityRecordWriter(recordsFile);
+		writer.writeActivity(lunch);
+		assertEquals(1, tempFiles());
+		writer.close();
+		assertEquals(0, tempFiles());
+		assertEquals("old", Files.readAllLines(Paths.get(recordsFile)).get(0));
+
+		writer = new ActivityRecordWriter(recordsFile);
+		writer.writeActivity(lunch);
+		assertEquals("old", Files.readAllLines(Paths.get(recordsFile)).get(0));
+		writer.commit();
+		assertEquals(lunch.toString(), Files.readAllLines(Paths.get(recordsFile)).get(0));
+
+		try {
+			new ActivityRecordWriter("test-files/no_such_dir/schedule.txt");
+			fail();
+		} catch (IOException e) {
+			assertFalse(new File("test-files/no_such_dir").exists());
+		}
+	}
+
+	/**
+	 * Tests that writers open on the same file at once each keep their own records, and that
+	 * the last to commit replaces the file.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testWritersToSameFile() throws IOException {
+		Event lunch = new Event("Lunch", "MTWHF", 1200, 1300, 1, "");
+		Event gym = new Event("Gym", "MW", 1700, 1800, 1, "");
+		ActivityRecordWriter first = new ActivityRecordWriter(recordsFile);
+		ActivityRecordWriter second = new ActivityRecordWriter(recordsFile);
+		ActivityRecordWriter abandoned = new ActivityRecordWriter(recordsFile);
+		first.writeActivity(lunch);
+		second.writeActivity(gym);
+		abandoned.writeActivity(gym);
+		assertEquals(3, tempFiles());
+
+		second.commit();
+		abandoned.close();
+		List<String> lines = Files.readAllLines(Paths.get(recordsFile));
+		assertEquals(1, lines.size());
+		assertEquals(gym.toString(), lines.get(0));
+		first.writeActivity(lunch);
+		first.commit();
+		lines = Files.readAllLines(Paths.get(recordsFile));
+		assertEquals(2, lines.size());
+		assertEquals(lunch.toString(), lines.get(1));
+		assertEquals(0, tempFiles());
+	}
+
+	/**
+	 * Tests writing many schedules, more than the buffers hold, and reading them back.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testWriteSchedule() throws IOException {
+		final int schedules = 2000;
+		ActivityRecordWriter writer = new ActivityRecordWriter(recordsFile);
+		for (int s = 0; s < schedules; s++) {
+			ArrayList<Activity> activities = new ArrayList<Activity>();
+			activities.add(new Course("CSC" + (100 + s % 900), "Topics " + s, "001", 3, "prof", "TH", 1330, 1445));
+			activities.add(new Event("Shift " + s, "S", 900, 1700, 1 + s % 4, "Desk " + s + ", then the stacks"));
+			writer.writeSchedule("student" + s, s % 2 == 0 ? "Schedule " + s : null, activities);
+		}
+		writer.commit();
+		writer.close();
+
+		ScheduleRecordReader reader = new ScheduleRecordReader(recordsFile);
+		for (int s = 0; s < schedules; s++) {
+			assertTrue(reader.nextSchedule());
+			assertEquals("student" + s, reader.getId());
+			assertEquals(s % 2 == 0 ? "Schedule " + s : null, reader.getTitle());
+			assertEquals(2, reader.getActivities().size());
+			Event shift = (Event) reader.getActivities().get(1);
+			assertEquals(1 + s % 4, shift.getWeeklyRepeat());
+			assertEquals("Desk " + s + ", then the stacks", shift.getEventDetails());
+		}
+		assertFalse(reader.nextSchedule());
+		assertEquals(0, reader.getInvalidLines());
+		reader.close();
+	}
+
+	/**
+	 * Counts the temporary files writers to recordsFile have left in its directory
+	 * @return the number of temporary files
+	 */
+	private int tempFiles() {
+		File file = new File(recordsFile);
+		String[] names = file.getParentFile().list();
+		int n = 0;
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].startsWith(file.getName()) && names[i].endsWith(".tmp")) {
+				n++;
+			}
+		}
+		return n;
+	}
+}
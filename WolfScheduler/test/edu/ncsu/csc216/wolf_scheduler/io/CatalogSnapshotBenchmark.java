@@ -0,0 +1,91 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Startup benchmark for loading a catalog. Compares reading course records with
+ * CourseRecordIO.readCourseRecords against reading a snapshot of the same catalog with
+ * CatalogSnapshotIO.readCatalogSnapshot.
+ *
+ * Run with an optional number of courses to generate (default 200000).
+ * @author Noah Benveniste
+ */
+public class CatalogSnapshotBenchmark {
+
+	/** Meeting day patterns used for generated records */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "A"};
+	/** Number of untimed rounds run before measuring */
+	private static final int WARMUP_ROUNDS = 3;
+	/** Number of timed rounds */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of courses to generate
+	 * @throws IOException if the generated files cannot be written or read
+	 */
+	public static void main(String[] args) throws IOException {
+		int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		File records = File.createTempFile("course_records", ".txt");
+		records.deleteOnExit();
+		File snapshot = File.createTempFile("catalog_snapshot", ".dat");
+		snapshot.deleteOnExit();
+		writeRecords(records, lines);
+		CatalogSnapshotIO.convertCourseRecords(records.getPath(), snapshot.getPath());
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			CourseRecordIO.readCourseRecords(records.getPath());
+			CatalogSnapshotIO.readCatalogSnapshot(snapshot.getPath());
+		}
+		long recordNanos = 0;
+		long snapshotNanos = 0;
+		int recordCount = 0;
+		int snapshotCount = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			recordCount = CourseRecordIO.readCourseRecords(records.getPath()).size();
+			recordNanos += System.nanoTime() - start;
+			start = System.nanoTime();
+			snapshotCount = CatalogSnapshotIO.readCatalogSnapshot(snapshot.getPath()).size();
+			snapshotNanos += System.nanoTime() - start;
+		}
+		report("Records", records.length(), recordCount, recordNanos / ROUNDS);
+		report("Snapshot", snapshot.length(), snapshotCount, snapshotNanos / ROUNDS);
+		System.out.printf("Speedup: %.2fx%n", (double) recordNanos / snapshotNanos);
+	}
+
+	/**
+	 * Writes generated records with distinct names and sections
+	 * @param file the file to write
+	 * @param lines the number of lines to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void writeRecords(File file, int lines) throws IOException {
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < lines; i++) {
+			String days = DAYS[i % DAYS.length];
+			String name = "CSC" + (100 + (i / 1000) % 900);
+			String section = String.format("%03d", i % 1000);
+			if ("A".equals(days)) {
+				out.println(name + ",Programming Concepts - Java," + section + ",3,prof" + (i % 50) + "," + days);
+			} else {
+				int start = 800 + (i % 10) * 100;
+				out.println(name + ",Programming Concepts - Java," + section + ",3,prof" + (i % 50) + "," + days + "," + start + "," + (start + 50));
+			}
+		}
+		out.close();
+	}
+
+	/**
+	 * Prints the results for one format
+	 * @param format the name of the format
+	 * @param bytes the size of the file
+	 * @param courses the number of courses loaded
+	 * @param nanos the average time to load the file
+	 */
+	private static void report(String format, long bytes, int courses, long nanos) {
+		System.out.printf("%-9s %10d bytes %8d courses %8.1f ms%n", format, bytes, courses, nanos / 1e6);
+	}
+}
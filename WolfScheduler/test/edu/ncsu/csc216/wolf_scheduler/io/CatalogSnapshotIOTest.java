@@ -0,0 +1,173 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CatalogSnapshotIO.
+ * @author Noah Benveniste
+ */
+public class CatalogSnapshotIOTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Snapshot written by the tests */
+	private final String snapshotFile = "test-files/actual_catalog_snapshot.dat";
+
+	/**
+	 * Resets course_records.txt for use in other tests.
+	 * @throws Exception generic exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Path sourcePath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path destinationPath = FileSystems.getDefault().getPath("test-files", "course_records.txt");
+		try {
+			Files.deleteIfExists(destinationPath);
+			Files.copy(sourcePath, destinationPath);
+		} catch (IOException e) {
+			fail("Unable to reset files");
+		}
+	}
+
+	/**
+	 * Tests converting course records to a snapshot and reading it back.
+	 * @throws IOException if the snapshot cannot be written or read
+	 */
+	@Test
+	public void testConvertAndReadCatalogSnapshot() throws IOException {
+		CourseLoadReport conversion = CatalogSnapshotIO.convertCourseRecords(validTestFile, snapshotFile);
+		assertEquals(1, conversion.getDuplicatesSkipped());
+		assertTrue(CatalogSnapshotIO.isCatalogSnapshot(snapshotFile));
+		assertFalse(CatalogSnapshotIO.isCatalogSnapshot(validTestFile));
+		assertFalse(CatalogSnapshotIO.isCatalogSnapshot("test-files/no_such_file.dat"));
+
+		ArrayList<Course> expected = CourseRecordIO.readCourseRecords(validTestFile);
+		CourseLoadReport report = new CourseLoadReport();
+		ArrayList<Course> actual = CatalogSnapshotIO.readCatalogSnapshot(snapshotFile, report);
+		assertEquals(expected, actual);
+		assertEquals(8, report.getCoursesLoaded());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getDayMask(), actual.get(i).getDayMask());
+		}
+		//Strings used by several courses are shared after loading
+		assertSame(actual.get(0).getTitle(), actual.get(1).getTitle());
+
+		//An empty catalog
+		ArrayList<Course> empty = new ArrayList<Course>();
+		CatalogSnapshotIO.writeCatalogSnapshot(snapshotFile, empty);
+		assertEquals(0, CatalogSnapshotIO.readCatalogSnapshot(snapshotFile).size());
+	}
+
+	/**
+	 * Tests that a snapshot is replaced whole, and that a failed write leaves the target as it
+	 * was and no temporary file behind.
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@Test
+	public void testWriteCatalogSnapshotReplaces() throws IOException {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		CatalogSnapshotIO.writeCatalogSnapshot(snapshotFile, courses);
+		CatalogSnapshotIO.writeCatalogSnapshot(snapshotFile, new ArrayList<Course>(courses.subList(0, 2)));
+		assertEquals(courses.subList(0, 2), CatalogSnapshotIO.readCatalogSnapshot(snapshotFile));
+		assertNoTempFiles("actual_catalog_snapshot.dat");
+
+		//A non-empty directory cannot be renamed over, so the write fails after the data is written
+		Path dir = FileSystems.getDefault().getPath("test-files", "actual_catalog_snapshot_dir");
+		Path inside = dir.resolve("keep.txt");
+		Files.createDirectories(dir);
+		Files.write(inside, new byte[] {1});
+		try {
+			CatalogSnapshotIO.writeCatalogSnapshot(dir.toString(), courses);
+			fail();
+		} catch (IOException e) {
+			assertTrue(Files.isDirectory(dir));
+			assertTrue(Files.exists(inside));
+			assertNoTempFiles("actual_catalog_snapshot_dir");
+		} finally {
+			Files.deleteIfExists(inside);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	/**
+	 * Checks that no temporary file for a snapshot is left in test-files
+	 * @param name the file name of the snapshot
+	 */
+	private void assertNoTempFiles(String name) {
+		String[] names = new File("test-files").list();
+		for (int i = 0; i < names.length; i++) {
+			assertFalse(names[i], names[i].startsWith(name) && names[i].endsWith(".tmp"));
+		}
+	}
+
+	/**
+	 * Tests that damaged and unsupported snapshots are rejected.
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@Test
+	public void testReadCorruptCatalogSnapshot() throws IOException {
+		try {
+			CatalogSnapshotIO.readCatalogSnapshot("test-files/no_such_file.dat");
+			fail();
+		} catch (FileNotFoundException e) {
+			//expected
+		}
+		assertRejected(validTestFile, "Not a catalog snapshot.");
+
+		CatalogSnapshotIO.convertCourseRecords(validTestFile, snapshotFile);
+		RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw");
+		long length = file.length();
+		//Flip a bit in a course record
+		file.seek(length - 12);
+		int b = file.read();
+		file.seek(length - 12);
+		file.write(b ^ 1);
+		file.close();
+		assertRejected(snapshotFile, "Snapshot checksum does not match.");
+
+		CatalogSnapshotIO.convertCourseRecords(validTestFile, snapshotFile);
+		file = new RandomAccessFile(snapshotFile, "rw");
+		file.setLength(length - 40);
+		file.close();
+		assertRejected(snapshotFile, "Snapshot checksum does not match.");
+		file = new RandomAccessFile(snapshotFile, "rw");
+		file.setLength(10);
+		file.close();
+		assertRejected(snapshotFile, "Snapshot is truncated.");
+
+		CatalogSnapshotIO.convertCourseRecords(validTestFile, snapshotFile);
+		file = new RandomAccessFile(snapshotFile, "rw");
+		file.seek(4);
+		file.writeInt(CatalogSnapshotIO.VERSION + 1);
+		file.close();
+		assertRejected(snapshotFile, "Unsupported snapshot version " + (CatalogSnapshotIO.VERSION + 1) + ".");
+	}
+
+	/**
+	 * Checks that a file cannot be read as a snapshot
+	 * @param fileName the file
+	 * @param message the expected message
+	 */
+	private void assertRejected(String fileName, String message) {
+		try {
+			CatalogSnapshotIO.readCatalogSnapshot(fileName);
+			fail(message);
+		} catch (IOException e) {
+			assertEquals(message, e.getMessage());
+		}
+	}
+}
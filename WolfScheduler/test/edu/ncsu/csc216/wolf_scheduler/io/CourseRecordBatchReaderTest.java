@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseRecordBatchReader.
+ * @author Noah Benveniste
+ */
+public class CourseRecordBatchReaderTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Invalid course records */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Resets course_records.txt for use in other tests.
+	 * @throws Exception generic exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Path sourcePath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path destinationPath = FileSystems.getDefault().getPath("test-files", "course_records.txt");
+		try {
+			Files.deleteIfExists(destinationPath);
+			Files.copy(sourcePath, destinationPath);
+		} catch (IOException e) {
+			fail("Unable to reset files");
+		}
+	}
+
+	/**
+	 * Tests that reading in batches returns the same courses as reading the whole file.
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testNextBatch() throws IOException {
+		CourseLoadReport expectedReport = new CourseLoadReport();
+		ArrayList<Course> expected = CourseRecordIO.readCourseRecords(validTestFile, expectedReport);
+
+		CourseLoadReport report = new CourseLoadReport();
+		CourseRecordBatchReader reader = new CourseRecordBatchReader(validTestFile, report);
+		assertEquals(0, reader.getPosition());
+		ArrayList<Course> actual = new ArrayList<Course>();
+		ArrayList<Course> batch = reader.nextBatch(3);
+		assertEquals(3, batch.size());
+		while (!batch.isEmpty()) {
+			assertTrue(batch.size() <= 3);
+			actual.addAll(batch);
+			batch = reader.nextBatch(3);
+		}
+		assertEquals(reader.getLength(), reader.getPosition());
+		assertEquals(0, reader.nextBatch(3).size());
+		reader.close();
+
+		assertEquals(expected, actual);
+		assertEquals(expectedReport.toString(), report.toString());
+		assertEquals(1, report.getDuplicatesSkipped());
+
+		try {
+			reader.nextBatch(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Batch size must be at least 1.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests reading a file with no valid courses and a file that does not exist.
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	public void testNextBatchInvalid() throws IOException {
+		CourseLoadReport report = new CourseLoadReport();
+		CourseRecordBatchReader reader = new CourseRecordBatchReader(invalidTestFile, report);
+		assertEquals(0, reader.nextBatch(10).size());
+		reader.close();
+		assertEquals(0, report.getCoursesLoaded());
+		assertEquals(report.getLinesRead(), report.getInvalidLinesSkipped());
+
+		try {
+			new CourseRecordBatchReader("test-files/no_such_file.txt", report);
+			fail();
+		} catch (FileNotFoundException e) {
+			//expected
+		}
+	}
+}
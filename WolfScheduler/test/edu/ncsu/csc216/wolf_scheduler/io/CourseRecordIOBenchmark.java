@@ -0,0 +1,192 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Throughput benchmark for parsing course records. Compares the streaming CourseRecordTokenizer
+ * against the Scanner-per-line parser that CourseRecordIO used before it. Only parsing is timed;
+ * duplicate checking is the same for both parsers and is left out. The memory-mapped reader is
+ * then compared with readCourseRecords, both including duplicate checks, with one thread and with
+ * one per core.
+ *
+ * Run with an optional number of lines to generate (default 200000).
+ * @author Noah Benveniste
+ */
+public class CourseRecordIOBenchmark {
+
+	/** Meeting day patterns used for generated records */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "A"};
+	/** Number of untimed rounds run before measuring */
+	private static final int WARMUP_ROUNDS = 3;
+	/** Number of timed rounds */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of lines to generate
+	 * @throws IOException if the generated file cannot be written or read
+	 */
+	public static void main(String[] args) throws IOException {
+		int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		File file = File.createTempFile("course_records", ".txt");
+		file.deleteOnExit();
+		writeRecords(file, lines);
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			parseWithScanner(file);
+			parseWithTokenizer(file);
+		}
+		long scannerNanos = 0;
+		long tokenizerNanos = 0;
+		int scannerCount = 0;
+		int tokenizerCount = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			scannerCount = parseWithScanner(file);
+			scannerNanos += System.nanoTime() - start;
+			start = System.nanoTime();
+			tokenizerCount = parseWithTokenizer(file);
+			tokenizerNanos += System.nanoTime() - start;
+		}
+		report("Scanner", lines, scannerCount, scannerNanos / ROUNDS);
+		report("Tokenizer", lines, tokenizerCount, tokenizerNanos / ROUNDS);
+		System.out.printf("Speedup: %.2fx%n", (double) scannerNanos / tokenizerNanos);
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			CourseRecordIO.readCourseRecords(file.getPath());
+		}
+		long streamingNanos = 0;
+		int streamingCount = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			streamingCount = CourseRecordIO.readCourseRecords(file.getPath()).size();
+			streamingNanos += System.nanoTime() - start;
+		}
+		report("Streaming", lines, streamingCount, streamingNanos / ROUNDS);
+		int cores = Runtime.getRuntime().availableProcessors();
+		int[] threadCounts = cores > 1 ? new int[] {1, cores} : new int[] {1};
+		for (int t = 0; t < threadCounts.length; t++) {
+			for (int i = 0; i < WARMUP_ROUNDS; i++) {
+				CourseRecordIO.readCourseRecordsMapped(file.getPath(), threadCounts[t], new CourseLoadReport());
+			}
+			long mappedNanos = 0;
+			int mappedCount = 0;
+			for (int i = 0; i < ROUNDS; i++) {
+				CourseLoadReport loadReport = new CourseLoadReport();
+				long start = System.nanoTime();
+				CourseRecordIO.readCourseRecordsMapped(file.getPath(), threadCounts[t], loadReport);
+				mappedNanos += System.nanoTime() - start;
+				mappedCount = loadReport.getCoursesLoaded();
+			}
+			report("Mapped x" + threadCounts[t], lines, mappedCount, mappedNanos / ROUNDS);
+		}
+	}
+
+	/**
+	 * Writes generated records, with one invalid line in every hundred
+	 * @param file the file to write
+	 * @param lines the number of lines to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void writeRecords(File file, int lines) throws IOException {
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < lines; i++) {
+			String days = DAYS[i % DAYS.length];
+			String name = "CSC" + (100 + (i / 1000) % 900);
+			String section = String.format("%03d", i % 1000);
+			if (i % 100 == 99) {
+				out.println(name + ",Broken Record," + section + ",x,prof,MW,1330,1445");
+			} else if ("A".equals(days)) {
+				out.println(name + ",Programming Concepts - Java," + section + ",3,prof" + (i % 50) + "," + days);
+			} else {
+				int start = 800 + (i % 10) * 100;
+				out.println(name + ",Programming Concepts - Java," + section + ",3,prof" + (i % 50) + "," + days + "," + start + "," + (start + 50));
+			}
+		}
+		out.close();
+	}
+
+	/**
+	 * Parses the file with the streaming tokenizer
+	 * @param file the file to parse
+	 * @return the number of valid records
+	 * @throws IOException if the file cannot be read
+	 */
+	private static int parseWithTokenizer(File file) throws IOException {
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer(new InputStreamReader(new FileInputStream(file)));
+		int count = 0;
+		while (tokenizer.nextLine()) {
+			try {
+				tokenizer.readCourse();
+				count++;
+			} catch (IllegalArgumentException e) {
+				//skip the line
+			}
+		}
+		tokenizer.close();
+		return count;
+	}
+
+	/**
+	 * Parses the file the way CourseRecordIO did before the tokenizer, with a Scanner for the
+	 * file and a new comma-delimited Scanner for every line
+	 * @param file the file to parse
+	 * @return the number of valid records
+	 * @throws IOException if the file cannot be read
+	 */
+	private static int parseWithScanner(File file) throws IOException {
+		Scanner fileReader = new Scanner(new FileInputStream(file));
+		int count = 0;
+		while (fileReader.hasNextLine()) {
+			Scanner lineReader = new Scanner(fileReader.nextLine());
+			lineReader.useDelimiter(",");
+			try {
+				String name = lineReader.next();
+				String title = lineReader.next();
+				String section = lineReader.next();
+				int credits = lineReader.nextInt();
+				String id = lineReader.next();
+				String meetingDays = lineReader.next();
+				int startTime = 0;
+				int endTime = 0;
+				if (lineReader.hasNext()) {
+					startTime = lineReader.nextInt();
+					endTime = lineReader.nextInt();
+				}
+				if (meetingDays.equals("A") && startTime == 0 && endTime == 0) {
+					new Course(name, title, section, credits, id, meetingDays);
+				} else {
+					new Course(name, title, section, credits, id, meetingDays, startTime, endTime);
+				}
+				count++;
+			} catch (NoSuchElementException e) {
+				//skip the line
+			} catch (IllegalArgumentException e) {
+				//skip the line
+			}
+			lineReader.close();
+		}
+		fileReader.close();
+		return count;
+	}
+
+	/**
+	 * Prints the results for one parser
+	 * @param parser the name of the parser
+	 * @param lines the number of lines parsed
+	 * @param valid the number of valid records found
+	 * @param nanos the average time to parse the file
+	 */
+	private static void report(String parser, int lines, int valid, long nanos) {
+		System.out.printf("%-10s %8d lines %8d valid %8.1f ms %10.0f lines/s%n",
+				parser, lines, valid, nanos / 1e6, lines / (nanos / 1e9));
+	}
+}
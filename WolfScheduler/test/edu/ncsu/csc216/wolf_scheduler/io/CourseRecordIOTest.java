@@ -91,6 +91,73 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests that readCourseRecords() counts loaded, duplicate and invalid lines.
+	 */
+	@Test
+	public void testReadCourseRecordsReport() {
+		try {
+			CourseLoadReport report = new CourseLoadReport();
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, report);
+			assertEquals(8, courses.size());
+			assertEquals(9, report.getLinesRead());
+			assertEquals(8, report.getCoursesLoaded());
+			assertEquals(1, report.getDuplicatesSkipped());
+			assertEquals(0, report.getInvalidLinesSkipped());
+			//The first CSC116-002 in the file is kept
+			assertEquals(validCourse2, courses.get(1).toString());
+			assertEquals("9 lines read, 8 courses loaded, 1 duplicates skipped, 0 invalid lines skipped", report.toString());
+			
+			report = new CourseLoadReport();
+			courses = CourseRecordIO.readCourseRecords(invalidTestFile, report);
+			assertEquals(0, courses.size());
+			assertEquals(17, report.getLinesRead());
+			assertEquals(0, report.getDuplicatesSkipped());
+			assertEquals(17, report.getInvalidLinesSkipped());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected FileNotFoundException");
+		}
+	}
+	
+	/**
+	 * Tests that readCourseRecordsMapped() reads the same courses as readCourseRecords().
+	 */
+	@Test
+	public void testReadCourseRecordsMapped() {
+		try {
+			CourseLoadReport report = new CourseLoadReport();
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecordsMapped(validTestFile, 4, report);
+			assertEquals(8, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+			assertEquals("9 lines read, 8 courses loaded, 1 duplicates skipped, 0 invalid lines skipped", report.toString());
+			
+			report = new CourseLoadReport();
+			courses = CourseRecordIO.readCourseRecordsMapped(invalidTestFile, 1, report);
+			assertEquals(0, courses.size());
+			assertEquals(17, report.getInvalidLinesSkipped());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected FileNotFoundException");
+		}
+		
+		try {
+			CourseRecordIO.readCourseRecordsMapped("test-files/no_such_file.txt", 2, new CourseLoadReport());
+			fail();
+		} catch (FileNotFoundException e) {
+			//expected
+		}
+		
+		try {
+			CourseRecordIO.readCourseRecordsMapped(validTestFile, 0, new CourseLoadReport());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Threads must be at least 1.", e.getMessage());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected FileNotFoundException");
+		}
+	}
+	
 	/**
 	 * Tests writeCourseRecords()
 	 */
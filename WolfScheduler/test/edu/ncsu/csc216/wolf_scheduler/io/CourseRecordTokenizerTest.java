@@ -0,0 +1,128 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseRecordTokenizer.
+ * @author Noah Benveniste
+ */
+public class CourseRecordTokenizerTest {
+
+	/** A valid timed record */
+	private static final String TIMED = "CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445";
+	/** A valid arranged record */
+	private static final String ARRANGED = "CSC216,Programming Concepts - Java,601,4,jep,A";
+
+	/**
+	 * Tests splitting input on each kind of line terminator.
+	 * @throws IOException if the input cannot be read
+	 */
+	@Test
+	public void testNextLine() throws IOException {
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer(new StringReader(
+				TIMED + "\r\n" + ARRANGED + "\n\n" + TIMED + "\r" + ARRANGED));
+		assertTrue(tokenizer.nextLine());
+		assertEquals(TIMED, tokenizer.readCourse().toString());
+		assertTrue(tokenizer.nextLine());
+		assertEquals(ARRANGED, tokenizer.readCourse().toString());
+		//Empty line
+		assertTrue(tokenizer.nextLine());
+		try {
+			tokenizer.readCourse();
+			fail();
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+		assertTrue(tokenizer.nextLine());
+		assertEquals(TIMED, tokenizer.readCourse().toString());
+		//Last line has no terminator
+		assertTrue(tokenizer.nextLine());
+		assertEquals(ARRANGED, tokenizer.readCourse().toString());
+		assertFalse(tokenizer.nextLine());
+		tokenizer.close();
+	}
+
+	/**
+	 * Tests lines that are longer than the tokenizer's buffer.
+	 * @throws IOException if the input cannot be read
+	 */
+	@Test
+	public void testLongLines() throws IOException {
+		StringBuilder title = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			title.append((char) ('a' + i % 26));
+		}
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 3; i++) {
+			input.append("CSC216,").append(title).append(",00").append(i).append(",4,sesmith5,MW,1330,1445\r\n");
+		}
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer(new StringReader(input.toString()));
+		for (int i = 0; i < 3; i++) {
+			assertTrue(tokenizer.nextLine());
+			Course c = tokenizer.readCourse();
+			assertEquals(title.toString(), c.getTitle());
+			assertEquals("00" + i, c.getSection());
+		}
+		assertFalse(tokenizer.nextLine());
+	}
+
+	/**
+	 * Tests parsing the fields of a record.
+	 * @throws IOException if the input cannot be read
+	 */
+	@Test
+	public void testReadCourse() throws IOException {
+		//Leading zeros and extra fields after the end time
+		Course c = parse("CSC116,Intro to Programming - Java,001,+3,jdyoung2,MW,0910,1100,extra");
+		assertEquals(3, c.getCredits());
+		assertEquals(910, c.getStartTime());
+		assertEquals(1100, c.getEndTime());
+
+		//An arranged record may end with a comma
+		assertEquals(ARRANGED, parse(ARRANGED + ",").toString());
+
+		//Missing, non-numeric and out of range fields
+		assertInvalid("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330");
+		assertInvalid("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330,");
+		assertInvalid("CSC216,Programming Concepts - Java,001,four,sesmith5,MW,1330,1445");
+		assertInvalid("CSC216,Programming Concepts - Java,001, 4,sesmith5,MW,1330,1445");
+		assertInvalid("CSC216,Programming Concepts - Java,001,-,sesmith5,MW,1330,1445");
+		assertInvalid("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,99999999999,1445");
+		assertInvalid("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,-2147483648,1445");
+		assertInvalid("CSC216,,001,4,sesmith5,MW,1330,1445");
+		assertInvalid("CSC216,Programming Concepts - Java,001,4,sesmith5,A,1330,1445");
+	}
+
+	/**
+	 * Parses a single record
+	 * @param line the record
+	 * @return the Course
+	 * @throws IOException if the input cannot be read
+	 */
+	private Course parse(String line) throws IOException {
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer(new StringReader(line));
+		assertTrue(tokenizer.nextLine());
+		return tokenizer.readCourse();
+	}
+
+	/**
+	 * Checks that a record is rejected
+	 * @param line the record
+	 * @throws IOException if the input cannot be read
+	 */
+	private void assertInvalid(String line) throws IOException {
+		try {
+			parse(line);
+			fail(line);
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+	}
+}
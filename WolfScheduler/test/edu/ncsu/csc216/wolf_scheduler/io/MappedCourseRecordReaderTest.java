@@ -0,0 +1,127 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests MappedCourseRecordReader.
+ * @author Noah Benveniste
+ */
+public class MappedCourseRecordReaderTest {
+
+	/** Line terminators used in turn by the generated file */
+	private static final String[] TERMINATORS = {"\r\n", "\n", "\r"};
+
+	/**
+	 * Tests that a file large enough to be split into several chunks is read exactly as the
+	 * streaming reader reads it, for several thread counts.
+	 * @throws IOException if the generated file cannot be written or read
+	 */
+	@Test
+	public void testReadMatchesStreamingReader() throws IOException {
+		File file = File.createTempFile("mapped_course_records", ".txt");
+		file.deleteOnExit();
+		writeRecords(file, 60000);
+
+		CourseLoadReport expectedReport = new CourseLoadReport();
+		ArrayList<Course> expected = CourseRecordIO.readCourseRecords(file.getPath(), expectedReport);
+		assertTrue(expectedReport.getDuplicatesSkipped() > 0);
+		assertTrue(expectedReport.getInvalidLinesSkipped() > 0);
+
+		int[] threadCounts = {1, 3, 8};
+		for (int t = 0; t < threadCounts.length; t++) {
+			CourseLoadReport report = new CourseLoadReport();
+			ArrayList<Course> actual = new MappedCourseRecordReader(file.getPath(), threadCounts[t],
+					Charset.defaultCharset()).read(report);
+			assertEquals(expectedReport.toString(), report.toString());
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).toString(), actual.get(i).toString());
+				assertEquals(expected.get(i).getInstructorId(), actual.get(i).getInstructorId());
+			}
+		}
+		assertTrue(file.delete());
+	}
+
+	/**
+	 * Tests reading an empty file and a file whose last line has no terminator.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testReadSmallFiles() throws IOException {
+		File file = File.createTempFile("mapped_course_records", ".txt");
+		file.deleteOnExit();
+		CourseLoadReport report = new CourseLoadReport();
+		assertEquals(0, new MappedCourseRecordReader(file.getPath(), 2, Charset.defaultCharset()).read(report).size());
+		assertEquals(0, report.getLinesRead());
+
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), Charset.defaultCharset());
+		out.write("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445\r\n\r\nCSC216,Programming Concepts - Java,601,4,jep,A");
+		out.close();
+		report = new CourseLoadReport();
+		ArrayList<Course> courses = new MappedCourseRecordReader(file.getPath(), 2, Charset.defaultCharset()).read(report);
+		assertEquals(2, courses.size());
+		assertEquals("CSC216,Programming Concepts - Java,601,4,jep,A", courses.get(1).toString());
+		assertEquals("3 lines read, 2 courses loaded, 0 duplicates skipped, 1 invalid lines skipped", report.toString());
+		assertTrue(file.delete());
+	}
+
+	/**
+	 * Tests decoding lines that are not ASCII.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testReadNonAscii() throws IOException {
+		File file = File.createTempFile("mapped_course_records", ".txt");
+		file.deleteOnExit();
+		Charset utf8 = Charset.forName("UTF-8");
+		String title = "Programaci\u00f3n Concepts - \u03bbJava";
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), utf8);
+		out.write("CSC216," + title + ",001,4,sesmith5,TH,1330,1445\n");
+		out.write("CSC216,Programming Concepts - Java,002,4,jtking,MW,1330,1445\n");
+		out.close();
+		ArrayList<Course> courses = new MappedCourseRecordReader(file.getPath(), 1, utf8).read(new CourseLoadReport());
+		assertEquals(2, courses.size());
+		assertEquals(title, courses.get(0).getTitle());
+		assertEquals("002", courses.get(1).getSection());
+		assertTrue(file.delete());
+	}
+
+	/**
+	 * Writes generated records with mixed line terminators, a duplicate of an earlier record in
+	 * every fifty lines, an invalid line in every hundred and an accented title in every seventy
+	 * @param file the file to write
+	 * @param lines the number of lines to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void writeRecords(File file, int lines) throws IOException {
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), Charset.defaultCharset());
+		for (int i = 0; i < lines; i++) {
+			int record = i % 50 == 49 ? i - 25 : i;
+			String name = "CSC" + (100 + (record / 1000) % 900);
+			String section = String.format("%03d", record % 1000);
+			String title = i % 70 == 0 ? "Programaci\u00f3n Concepts - Java" : "Programming Concepts - Java";
+			if (i % 100 == 99) {
+				out.write(name + "," + title + "," + section + ",x,prof,MW,1330,1445");
+			} else if (record % 6 == 0) {
+				out.write(name + "," + title + "," + section + ",3,prof" + i + ",A");
+			} else {
+				int start = 800 + (record % 10) * 100;
+				out.write(name + "," + title + "," + section + ",3,prof" + i + ",MW," + start + "," + (start + 50));
+			}
+			out.write(TERMINATORS[i % TERMINATORS.length]);
+		}
+		out.close();
+	}
+}
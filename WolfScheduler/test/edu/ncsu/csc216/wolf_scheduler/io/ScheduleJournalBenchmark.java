@@ -0,0 +1,101 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares group commit in ScheduleJournal with forcing the journal once per record. Many
+ * threads each append records and wait for every one to be durable, as requests to the server
+ * do. With one force per record, the threads take turns appending and forcing; with group
+ * commit, the threads append freely and each force covers every record buffered while the
+ * previous force ran.
+ *
+ * Run with an optional number of threads (default 64) and records per thread (default 200).
+ * The journal is written to the default temporary directory, so the results depend on the
+ * disk behind it.
+ * @author Noah Benveniste
+ */
+public class ScheduleJournalBenchmark {
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of threads and records per thread
+	 * @throws Exception if the journal cannot be written or the benchmark is interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+		int records = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		//Warm up both paths before timing
+		run(threads, records / 4 + 1, true);
+		run(threads, records / 4 + 1, false);
+		long[] single = run(threads, records, true);
+		long[] group = run(threads, records, false);
+
+		long total = (long) threads * records;
+		System.out.printf("%d threads, %d durable records each%n", threads, records);
+		System.out.printf("  Force per record %8.1f ms %9.0f records/s %6.1f records/force%n", single[0] / 1e6,
+				total / (single[0] / 1e9), (double) total / single[1]);
+		System.out.printf("  Group commit     %8.1f ms %9.0f records/s %6.1f records/force%n", group[0] / 1e6,
+				total / (group[0] / 1e9), (double) total / group[1]);
+		System.out.printf("  Speedup: %.2fx%n", (double) single[0] / group[0]);
+	}
+
+	/**
+	 * Appends and waits for records on every thread
+	 * @param threads the number of threads
+	 * @param records the number of records each thread appends
+	 * @param serial whether each thread holds a shared lock while appending and waiting, so
+	 * every record is forced on its own
+	 * @return the time taken and the number of forces
+	 * @throws Exception if the journal cannot be written or the benchmark is interrupted
+	 */
+	private static long[] run(int threads, final int records, final boolean serial) throws Exception {
+		File file = File.createTempFile("schedule", ".journal");
+		file.delete();
+		final ScheduleJournal journal = new ScheduleJournal(file.getPath(), 0);
+		final Object turn = new Object();
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+		final IOException[] failure = new IOException[1];
+		for (int t = 0; t < threads; t++) {
+			final String id = "student" + t;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < records; i++) {
+							JournalRecord r = new JournalRecord(JournalRecord.Type.ADD_COURSE, id, "CSC" + (100 + i % 400), "001");
+							if (serial) {
+								synchronized (turn) {
+									journal.awaitDurable(journal.append(r));
+								}
+							} else {
+								journal.awaitDurable(journal.append(r));
+							}
+						}
+					} catch (IOException e) {
+						failure[0] = e;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		done.await();
+		long nanos = System.nanoTime() - begin;
+		long forces = journal.getCommitCount();
+		journal.close();
+		file.delete();
+		if (failure[0] != null) {
+			throw failure[0];
+		}
+		return new long[] {nanos, forces};
+	}
+}
@@ -0,0 +1,303 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests ScheduleJournal.
+ * @author Noah Benveniste
+ */
+public class ScheduleJournalTest {
+
+	/** Journal written by the tests */
+	private final String journalFile = "test-files/actual_journal.journal";
+	/** Name the journal is rotated to */
+	private final String oldJournalFile = "test-files/actual_journal.journal.old";
+	/** Snapshot written by the tests */
+	private final String snapshotFile = "test-files/actual_journal.snapshot";
+	/** Records written by the tests */
+	private final JournalRecord[] records = {
+		new JournalRecord(JournalRecord.Type.OPEN_SESSION, "jdoe"),
+		new JournalRecord(JournalRecord.Type.ADD_COURSE, "jdoe", "CSC216", "001"),
+		new JournalRecord(JournalRecord.Type.ADD_EVENT, "jdoe", "Gym", "MW", "900", "1030", "1", ""),
+		new JournalRecord(JournalRecord.Type.SET_TITLE, "jdoe", "Fall Schedule")
+	};
+
+	/**
+	 * Deletes files left by earlier runs.
+	 * @throws IOException if a file cannot be deleted
+	 */
+	@Before
+	public void setUp() throws IOException {
+		Files.deleteIfExists(Paths.get(journalFile));
+		Files.deleteIfExists(Paths.get(oldJournalFile));
+		Files.deleteIfExists(Paths.get(snapshotFile));
+	}
+
+	/**
+	 * Tests JournalRecord.
+	 */
+	@Test
+	public void testJournalRecord() {
+		JournalRecord r = records[2];
+		assertEquals(JournalRecord.Type.ADD_EVENT, r.getType());
+		assertEquals("jdoe", r.getSession());
+		assertEquals("Gym", r.getField(0));
+		assertEquals(1030, r.getIntField(3));
+		assertEquals("ADD_EVENT,jdoe,Gym,MW,900,1030,1,", r.toString());
+		assertEquals(r, new JournalRecord(JournalRecord.Type.ADD_EVENT, "jdoe", "Gym", "MW", "900", "1030", "1", ""));
+		assertNotEquals(records[0], new JournalRecord(JournalRecord.Type.CLOSE_SESSION, "jdoe"));
+
+		try {
+			new JournalRecord(JournalRecord.Type.ADD_COURSE, "jdoe", "CSC216");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid journal record.", e.getMessage());
+		}
+		try {
+			new JournalRecord(JournalRecord.Type.SET_TITLE, "jdoe", (String) null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid journal record.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests appending records, making them durable and reading them back.
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testAppend() throws IOException {
+		ScheduleJournal journal = new ScheduleJournal(journalFile, 0);
+		assertEquals(0, journal.getLastSeq());
+		for (int i = 0; i < records.length; i++) {
+			assertEquals(i + 1, journal.append(records[i]));
+		}
+		journal.awaitDurable(2);
+		journal.awaitDurable(1);
+		//Waiting for one record forced every record buffered with it
+		assertEquals(4, read(0).size());
+		journal.flush();
+		assertEquals(1, journal.getCommitCount());
+		try {
+			journal.awaitDurable(5);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Record 5 has not been appended.", e.getMessage());
+		}
+		journal.close();
+		journal.close();
+		try {
+			journal.append(records[0]);
+			fail();
+		} catch (IOException e) {
+			assertEquals("The journal is closed.", e.getMessage());
+		}
+
+		ArrayList<JournalRecord> read = new ArrayList<JournalRecord>();
+		assertEquals(4, ScheduleJournal.readJournal(journalFile, 0, read));
+		assertArrayEquals(records, read.toArray());
+		assertEquals(records[3], read(2).get(1));
+
+		//Records appended after reopening are numbered after the last one in the file
+		journal = new ScheduleJournal(journalFile, 0);
+		assertEquals(5, journal.append(records[0]));
+		journal.close();
+		journal = new ScheduleJournal(journalFile, 10);
+		assertEquals(11, journal.append(records[0]));
+		journal.close();
+		assertEquals(11, ScheduleJournal.readJournal(journalFile, 0, new ArrayList<JournalRecord>()));
+	}
+
+	/**
+	 * Tests that a frame cut short or damaged by a crash ends the journal, and that reopening
+	 * cuts it off so later records can be read.
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testTornTail() throws IOException {
+		ScheduleJournal journal = new ScheduleJournal(journalFile, 0);
+		for (int i = 0; i < records.length; i++) {
+			journal.append(records[i]);
+		}
+		journal.close();
+		Path path = Paths.get(journalFile);
+		byte[] whole = Files.readAllBytes(path);
+
+		//Half of a frame written before a crash
+		Files.write(path, new byte[] {0, 0, 0, 40, 0, 0, 0}, StandardOpenOption.APPEND);
+		assertEquals(4, read(0).size());
+		journal = new ScheduleJournal(journalFile, 0);
+		assertEquals(whole.length, Files.size(path));
+		assertEquals(5, journal.append(records[1]));
+		journal.close();
+		assertEquals(5, read(0).size());
+
+		//A damaged byte in the last record ends the journal before it
+		byte[] damaged = whole.clone();
+		damaged[damaged.length - 6] ^= 1;
+		Files.write(path, damaged);
+		assertEquals(3, read(0).size());
+		assertEquals(3, ScheduleJournal.readJournal(journalFile, 0, new ArrayList<JournalRecord>()));
+
+		//A header cut short leaves an empty journal
+		Files.write(path, new byte[] {0x57, 0x53});
+		assertEquals(0, read(0).size());
+		journal = new ScheduleJournal(journalFile, 0);
+		journal.append(records[0]);
+		journal.close();
+		assertEquals(1, read(0).size());
+
+		Files.write(path, "CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445".getBytes("UTF-8"));
+		try {
+			new ScheduleJournal(journalFile, 0);
+			fail();
+		} catch (IOException e) {
+			assertEquals("Not a schedule journal.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that records appended by many threads are all made durable, each once, with no more
+	 * forces than records.
+	 * @throws Exception if the journal cannot be written or a thread is interrupted
+	 */
+	@Test
+	public void testGroupCommit() throws Exception {
+		final int threads = 8;
+		final int each = 200;
+		final ScheduleJournal journal = new ScheduleJournal(journalFile, 0);
+		final List<Long> seqs = Collections.synchronizedList(new ArrayList<Long>());
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		Thread[] pool = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final String id = "student" + t;
+			pool[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < each; i++) {
+							long seq = journal.append(new JournalRecord(JournalRecord.Type.SET_TITLE, id, "Title " + i));
+							journal.awaitDurable(seq);
+							seqs.add(seq);
+						}
+					} catch (Throwable e) {
+						errors.add(e);
+					}
+				}
+			});
+			pool[t].start();
+		}
+		start.countDown();
+		for (int t = 0; t < threads; t++) {
+			pool[t].join();
+		}
+		assertEquals(errors.toString(), 0, errors.size());
+		assertEquals(threads * each, journal.getRecordCount());
+		assertTrue(journal.getCommitCount() <= journal.getRecordCount());
+		journal.close();
+
+		Collections.sort(seqs);
+		for (int i = 0; i < seqs.size(); i++) {
+			assertEquals(i + 1, seqs.get(i).longValue());
+		}
+		List<JournalRecord> read = read(0);
+		assertEquals(threads * each, read.size());
+		//Each thread's records are in the order it appended them
+		int[] next = new int[threads];
+		for (int i = 0; i < read.size(); i++) {
+			int t = Integer.parseInt(read.get(i).getSession().substring(7));
+			assertEquals("Title " + next[t]++, read.get(i).getField(0));
+		}
+	}
+
+	/**
+	 * Tests rotating the journal.
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testRotate() throws IOException {
+		ScheduleJournal journal = new ScheduleJournal(journalFile, 0);
+		journal.append(records[0]);
+		journal.append(records[1]);
+		assertEquals(2, journal.rotate(oldJournalFile));
+		assertEquals(3, journal.append(records[2]));
+		journal.close();
+
+		ArrayList<JournalRecord> old = new ArrayList<JournalRecord>();
+		assertEquals(2, ScheduleJournal.readJournal(oldJournalFile, 0, old));
+		assertEquals(2, old.size());
+		assertEquals(records[2], read(0).get(0));
+	}
+
+	/**
+	 * Tests writing and reading snapshots.
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@Test
+	public void testSnapshot() throws IOException {
+		ArrayList<JournalRecord> list = new ArrayList<JournalRecord>();
+		for (int i = 0; i < records.length; i++) {
+			list.add(records[i]);
+		}
+		ScheduleJournal.writeSnapshot(snapshotFile, 42, list);
+		//No temporary file is left next to the snapshot
+		String[] names = Paths.get(snapshotFile).getParent().toFile().list();
+		for (int i = 0; i < names.length; i++) {
+			assertFalse(names[i], names[i].startsWith("actual_journal.snapshot") && names[i].endsWith(".tmp"));
+		}
+		ArrayList<JournalRecord> read = new ArrayList<JournalRecord>();
+		assertEquals(42, ScheduleJournal.readSnapshot(snapshotFile, read));
+		assertEquals(list, read);
+
+		//A new snapshot replaces the old one
+		ScheduleJournal.writeSnapshot(snapshotFile, 43, list.subList(0, 1));
+		read.clear();
+		assertEquals(43, ScheduleJournal.readSnapshot(snapshotFile, read));
+		assertEquals(1, read.size());
+
+		Path path = Paths.get(snapshotFile);
+		byte[] bytes = Files.readAllBytes(path);
+		bytes[bytes.length - 6] ^= 1;
+		Files.write(path, bytes);
+		try {
+			ScheduleJournal.readSnapshot(snapshotFile, new ArrayList<JournalRecord>());
+			fail();
+		} catch (IOException e) {
+			assertEquals("Snapshot checksum does not match.", e.getMessage());
+		}
+		Files.write(path, new byte[] {0x57, 0x53, 0x53, 0x53, 0, 0, 0, 1, 0});
+		try {
+			ScheduleJournal.readSnapshot(snapshotFile, new ArrayList<JournalRecord>());
+			fail();
+		} catch (IOException e) {
+			assertEquals("Snapshot is incomplete.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads the journal
+	 * @param afterSeq only records with a greater sequence number are read
+	 * @return the records
+	 * @throws IOException if the journal cannot be read
+	 */
+	private List<JournalRecord> read(long afterSeq) throws IOException {
+		ArrayList<JournalRecord> read = new ArrayList<JournalRecord>();
+		ScheduleJournal.readJournal(journalFile, afterSeq, read);
+		return read;
+	}
+}
@@ -0,0 +1,77 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ScheduleRecordReader.
+ * @author Noah Benveniste
+ */
+public class ScheduleRecordReaderTest {
+
+	/** File of schedules written by the tests */
+	private final String schedulesFile = "test-files/actual_schedules.txt";
+
+	/**
+	 * Tests reading a file of several schedules, one at a time.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testNextSchedule() throws IOException {
+		PrintStream out = new PrintStream(new File(schedulesFile));
+		out.println("jdoe,Fall Schedule, Take 2");
+		out.println("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445");
+		out.println("Gym,MW,900,1030,1,Bring shoes, a towel");
+		out.println();
+		out.println();
+		out.println("asmith");
+		out.println("not an activity");
+		out.println("CSC216,Programming Concepts - Java,601,4,jep,A");
+		out.println();
+		out.println("empty,My Schedule");
+		out.println();
+		out.print("last,Spring\r\nCSC226,Discrete Mathematics for Computer Scientists,001,3,tmbarnes,MWF,935,1025");
+		out.close();
+
+		ScheduleRecordReader reader = new ScheduleRecordReader(schedulesFile);
+		assertNull(reader.getId());
+
+		assertTrue(reader.nextSchedule());
+		assertEquals("jdoe", reader.getId());
+		assertEquals("Fall Schedule, Take 2", reader.getTitle());
+		assertEquals(2, reader.getActivities().size());
+		assertTrue(reader.getActivities().get(0) instanceof Course);
+		Event gym = (Event) reader.getActivities().get(1);
+		assertEquals("Bring shoes, a towel", gym.getEventDetails());
+
+		assertTrue(reader.nextSchedule());
+		assertEquals("asmith", reader.getId());
+		assertNull(reader.getTitle());
+		assertEquals(1, reader.getActivities().size());
+		assertEquals("Arranged", reader.getActivities().get(0).getMeetingString());
+		assertEquals(1, reader.getInvalidLines());
+
+		assertTrue(reader.nextSchedule());
+		assertEquals("empty", reader.getId());
+		assertEquals(0, reader.getActivities().size());
+
+		assertTrue(reader.nextSchedule());
+		assertEquals("last", reader.getId());
+		assertEquals("Spring", reader.getTitle());
+		assertEquals("CSC226", ((Course) reader.getActivities().get(0)).getName());
+
+		assertFalse(reader.nextSchedule());
+		assertNull(reader.getId());
+		assertEquals(0, reader.getActivities().size());
+		assertFalse(reader.nextSchedule());
+		reader.close();
+	}
+}
@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.StringPool;
+
+/**
+ * Heap benchmark for the string pool. Loads a generated catalog, in which many sections share a
+ * name, title, instructor and meeting days, and reports the heap retained by the loaded catalog.
+ * It then keeps a separate copy of every text field, as the parser kept before values were
+ * pooled, and reports the extra heap those copies retain.
+ *
+ * Run with an optional number of courses to generate (default 200000). The heap figures are
+ * measured after a full collection, so they are approximate.
+ * @author Noah Benveniste
+ */
+public class StringPoolHeapBenchmark {
+
+	/** Meeting day patterns used for generated records */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "A"};
+	/** Number of bytes in a megabyte */
+	private static final double MB = 1024 * 1024;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of courses to generate
+	 * @throws IOException if the generated file cannot be written or read
+	 */
+	public static void main(String[] args) throws IOException {
+		int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		File records = File.createTempFile("course_records", ".txt");
+		records.deleteOnExit();
+		writeRecords(records, lines);
+
+		long before = usedHeap();
+		ArrayList<Course> catalog = CourseRecordIO.readCourseRecords(records.getPath());
+		long pooled = usedHeap();
+
+		//Copies of each text field, as they were retained before pooling
+		String[] copies = new String[catalog.size() * 5];
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			copies[i * 5] = new String(c.getName());
+			copies[i * 5 + 1] = new String(c.getTitle());
+			copies[i * 5 + 2] = new String(c.getSection());
+			copies[i * 5 + 3] = new String(c.getInstructorId());
+			copies[i * 5 + 4] = new String(c.getMeetingDays());
+		}
+		long unpooled = usedHeap();
+
+		double catalogMb = (pooled - before) / MB;
+		double copiesMb = (unpooled - pooled) / MB;
+		System.out.printf("Courses loaded:           %8d%n", catalog.size());
+		System.out.printf("Distinct pooled values:   %8d%n", StringPool.getSharedSize());
+		System.out.printf("Pooled catalog heap:      %8.1f MB%n", catalogMb);
+		System.out.printf("Unpooled field copies:    %8d%n", copies.length);
+		System.out.printf("Unpooled copies would add %8.1f MB (%.0f%% of the pooled catalog)%n", copiesMb,
+				100 * copiesMb / catalogMb);
+	}
+
+	/**
+	 * Measures the heap in use after a full collection
+	 * @return the bytes of heap in use
+	 */
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Writes generated records with distinct names and sections
+	 * @param file the file to write
+	 * @param lines the number of lines to write
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void writeRecords(File file, int lines) throws IOException {
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < lines; i++) {
+			String days = DAYS[i % DAYS.length];
+			int number = 100 + (i / 1000) % 900;
+			String name = "CSC" + number;
+			String title = "Computer Science Topics " + number;
+			String section = String.format("%03d", i % 1000);
+			if ("A".equals(days)) {
+				out.println(name + "," + title + "," + section + ",3,prof" + (i % 50) + "," + days);
+			} else {
+				int start = 800 + (i % 10) * 100;
+				out.println(name + "," + title + "," + section + ",3,prof" + (i % 50) + "," + days + "," + start + "," + (start + 50));
+			}
+		}
+		out.close();
+	}
+}
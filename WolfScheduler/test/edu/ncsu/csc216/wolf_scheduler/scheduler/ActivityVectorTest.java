@@ -0,0 +1,135 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ActivityVector.
+ * @author Noah Benveniste
+ */
+public class ActivityVectorTest {
+
+	/** Number of random changes made in testRandomChanges */
+	private static final int CHANGES = 5000;
+
+	/**
+	 * Makes a distinct event
+	 * @param i a number for the event's title
+	 * @return the event
+	 */
+	private static Event event(int i) {
+		return new Event("Event " + i, "S", 800, 900, 1, "");
+	}
+
+	/**
+	 * Tests appending, removing and replacing, and that each change leaves the old version as it was.
+	 */
+	@Test
+	public void testVersions() {
+		assertEquals(0, ActivityVector.EMPTY.size());
+		assertFalse(ActivityVector.EMPTY.iterator().hasNext());
+		Course course = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445);
+		ActivityVector v1 = ActivityVector.EMPTY.append(course);
+		ActivityVector v2 = v1.append(event(1)).append(event(2));
+		assertEquals(1, v1.size());
+		assertEquals(3, v2.size());
+		assertSame(course, v2.get(0));
+		assertEquals(event(2), v2.get(2));
+
+		ActivityVector v3 = v2.removeAt(1);
+		assertEquals(3, v2.size());
+		assertEquals(event(1), v2.get(1));
+		assertEquals(2, v3.size());
+		assertEquals(event(2), v3.get(1));
+
+		ActivityVector v4 = v3.replaceAt(0, event(3));
+		assertSame(course, v3.get(0));
+		assertEquals(event(3), v4.get(0));
+		assertSame(ActivityVector.EMPTY, v1.removeAt(0));
+
+		ArrayList<Activity> list = new ArrayList<Activity>(v2);
+		assertEquals(list, v2);
+		assertSame(v2, ActivityVector.of(v2));
+		assertEquals(list, ActivityVector.of(list));
+		assertSame(ActivityVector.EMPTY, ActivityVector.of(new ArrayList<Activity>()));
+
+		try {
+			v2.get(3);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals(3, v2.size());
+		}
+		try {
+			v2.removeAt(-1);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals(3, v2.size());
+		}
+		try {
+			v2.append(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Activity cannot be null.", e.getMessage());
+		}
+		try {
+			v2.add(event(4));
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(3, v2.size());
+		}
+		Iterator<Activity> it = v1.iterator();
+		assertSame(course, it.next());
+		try {
+			it.next();
+			fail();
+		} catch (NoSuchElementException e) {
+			assertFalse(it.hasNext());
+		}
+	}
+
+	/**
+	 * Tests many random appends and removes against an ArrayList, checking that the tree stays
+	 * balanced and that every kept version still holds what it held when it was made.
+	 */
+	@Test
+	public void testRandomChanges() {
+		Random random = new Random(216);
+		ArrayList<Activity> expected = new ArrayList<Activity>();
+		ActivityVector vector = ActivityVector.EMPTY;
+		ArrayList<ActivityVector> versions = new ArrayList<ActivityVector>();
+		ArrayList<ArrayList<Activity>> contents = new ArrayList<ArrayList<Activity>>();
+		for (int i = 0; i < CHANGES; i++) {
+			if (expected.isEmpty() || random.nextInt(3) > 0) {
+				Event e = event(i);
+				expected.add(e);
+				vector = vector.append(e);
+			} else {
+				int idx = random.nextInt(expected.size());
+				expected.remove(idx);
+				vector = vector.removeAt(idx);
+			}
+			assertTrue(vector.height() <= 1.45 * Math.log(vector.size() + 2) / Math.log(2));
+			if (i % 500 == 0) {
+				versions.add(vector);
+				contents.add(new ArrayList<Activity>(expected));
+			}
+		}
+		assertEquals(expected, vector);
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), vector.get(i));
+		}
+		for (int i = 0; i < versions.size(); i++) {
+			assertEquals(contents.get(i), versions.get(i));
+		}
+	}
+}
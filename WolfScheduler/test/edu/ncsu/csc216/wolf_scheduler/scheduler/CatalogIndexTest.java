@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CatalogIndex class.
+ * @author Noah Benveniste
+ */
+public class CatalogIndexTest {
+
+	/** CSC216 section 001 */
+	private final Course csc216001 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445);
+	/** CSC216 section 002 */
+	private final Course csc216002 = new Course("CSC216", "Programming Concepts - Java", "002", 4, "jtking", "MW", 1330, 1445);
+	/** CSC216 section 601 */
+	private final Course csc216601 = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+	/** CSC226 section 001 */
+	private final Course csc226001 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+
+	/**
+	 * Tests building an index from a catalog and looking up courses by name and section.
+	 */
+	@Test
+	public void testGet() {
+		ArrayList<Course> catalog = new ArrayList<Course>();
+		catalog.add(csc216001);
+		catalog.add(csc226001);
+		catalog.add(csc216002);
+		CatalogIndex index = new CatalogIndex(catalog);
+		assertEquals(3, index.size());
+
+		assertSame(csc216001, index.get("CSC216", "001"));
+		assertSame(csc216002, index.get("CSC216", "002"));
+		assertSame(csc226001, index.get("CSC226", "001"));
+		assertTrue(index.contains("CSC226", "001"));
+
+		//Courses and sections that do not exist
+		assertNull(index.get("CSC226", "002"));
+		assertNull(index.get("CSC492", "001"));
+		assertFalse(index.contains("CSC492", "001"));
+	}
+
+	/**
+	 * Tests that the first of two courses with the same name and section is kept.
+	 */
+	@Test
+	public void testAdd() {
+		CatalogIndex index = new CatalogIndex();
+		assertEquals(0, index.size());
+		assertTrue(index.add(csc216001));
+
+		Course duplicate = new Course("CSC216", "Programming Concepts - Java", "001", 4, "jtking", "MW", 800, 915);
+		assertFalse(index.add(duplicate));
+		assertEquals(1, index.size());
+		assertSame(csc216001, index.get("CSC216", "001"));
+	}
+
+	/**
+	 * Tests getting every section of a course by name.
+	 */
+	@Test
+	public void testGetSections() {
+		CatalogIndex index = new CatalogIndex();
+		index.add(csc216601);
+		index.add(csc226001);
+		index.add(csc216001);
+
+		//Sections come back in the order they were added
+		ArrayList<Course> sections = index.getSections("CSC216");
+		assertEquals(2, sections.size());
+		assertSame(csc216601, sections.get(0));
+		assertSame(csc216001, sections.get(1));
+
+		assertEquals(0, index.getSections("CSC492").size());
+	}
+
+	/**
+	 * Tests removing courses from the index.
+	 */
+	@Test
+	public void testRemove() {
+		CatalogIndex index = new CatalogIndex();
+		index.add(csc216001);
+		index.add(csc216002);
+
+		assertNull(index.remove("CSC216", "601"));
+		assertNull(index.remove("CSC492", "001"));
+		assertEquals(2, index.size());
+
+		assertSame(csc216001, index.remove("CSC216", "001"));
+		assertEquals(1, index.size());
+		assertNull(index.get("CSC216", "001"));
+		assertEquals(1, index.getSections("CSC216").size());
+
+		assertSame(csc216002, index.remove("CSC216", "002"));
+		assertEquals(0, index.size());
+		assertEquals(0, index.getSections("CSC216").size());
+
+		//A removed course can be added back
+		assertTrue(index.add(csc216001));
+		assertSame(csc216001, index.get("CSC216", "001"));
+	}
+
+	/**
+	 * Tests replacing a course in the index.
+	 */
+	@Test
+	public void testReplace() {
+		CatalogIndex index = new CatalogIndex();
+		index.add(csc216001);
+		index.add(csc216002);
+
+		Course moved = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 910, 1025);
+		assertSame(csc216001, index.replace(moved));
+		assertSame(moved, index.get("CSC216", "001"));
+		assertEquals(2, index.size());
+		//The replaced section keeps its place
+		assertSame(moved, index.getSections("CSC216").get(0));
+
+		//Nothing to replace
+		assertNull(index.replace(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A")));
+		assertEquals(2, index.size());
+		assertFalse(index.contains("CSC216", "601"));
+	}
+}
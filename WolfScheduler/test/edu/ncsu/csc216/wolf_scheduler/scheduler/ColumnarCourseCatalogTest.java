@@ -0,0 +1,108 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ColumnarCourseCatalog class.
+ * @author Noah Benveniste
+ */
+public class ColumnarCourseCatalogTest {
+
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "MTWHF", "A"};
+	/** Day patterns used for queries */
+	private static final String[] QUERY_DAYS = {"M", "TH", "MTWHF", "U", "FS"};
+
+	/**
+	 * Tests that a columnar copy of a generated catalog reads and answers every query the same
+	 * way as the list it was copied from.
+	 */
+	@Test
+	public void testMatchesListCatalog() {
+		Random random = new Random(17);
+		ArrayList<Course> courses = new ArrayList<Course>();
+		for (int i = 0; i < 500; i++) {
+			String days = DAYS[random.nextInt(DAYS.length)];
+			String name = "CSC" + (100 + random.nextInt(20));
+			String section = String.format("%03d", i);
+			String instructor = "prof" + random.nextInt(15);
+			int credits = 1 + random.nextInt(5);
+			if ("A".equals(days)) {
+				courses.add(new Course(name, "Topics " + name, section, credits, instructor, days));
+			} else {
+				int start = 800 + 100 * random.nextInt(10) + 5 * random.nextInt(12);
+				courses.add(new Course(name, "Topics " + name, section, credits, instructor, days, start, start + 100 * (1 + random.nextInt(2))));
+			}
+		}
+		CourseCatalog list = new ListCourseCatalog(courses);
+		ColumnarCourseCatalog columns = new ColumnarCourseCatalog(list);
+		assertEquals(list.size(), columns.size());
+		//Names, titles, sections, instructors and day patterns are each stored once
+		assertTrue(columns.getDictionarySize() < 20 + 20 + 500 + 15 + DAYS.length + 1);
+
+		for (int i = 0; i < list.size(); i++) {
+			Course view = columns.getCourse(i);
+			assertEquals(courses.get(i), view);
+			assertNotSame(courses.get(i), view);
+			assertEquals(list.getName(i), columns.getName(i));
+			assertEquals(list.getTitle(i), columns.getTitle(i));
+			assertEquals(list.getSection(i), columns.getSection(i));
+			assertEquals(list.getInstructorId(i), columns.getInstructorId(i));
+			assertEquals(list.getMeetingDays(i), columns.getMeetingDays(i));
+			assertEquals(list.getCredits(i), columns.getCredits(i));
+			assertEquals(list.getStartTime(i), columns.getStartTime(i));
+			assertEquals(list.getEndTime(i), columns.getEndTime(i));
+			assertEquals(list.getDayMask(i), columns.getDayMask(i));
+		}
+
+		for (int n = 100; n < 120; n++) {
+			assertArrayEquals(list.findByName("CSC" + n), columns.findByName("CSC" + n));
+		}
+		assertEquals(0, columns.findByName("CSC999").length);
+		for (int p = 0; p < 15; p++) {
+			int[] taught = columns.findByInstructor("prof" + p);
+			assertArrayEquals(list.findByInstructor("prof" + p), taught);
+			assertEquals(list.getTotalCredits(taught), columns.getTotalCredits(taught));
+		}
+		for (int q = 0; q < QUERY_DAYS.length; q++) {
+			for (int start = 800; start <= 1800; start += 150) {
+				assertArrayEquals(list.findWithin(QUERY_DAYS[q], start, start + 300), columns.findWithin(QUERY_DAYS[q], start, start + 300));
+			}
+		}
+	}
+
+	/**
+	 * Tests an empty catalog and invalid arguments.
+	 */
+	@Test
+	public void testInvalid() {
+		ColumnarCourseCatalog columns = new ColumnarCourseCatalog(new ListCourseCatalog(new ArrayList<Course>()));
+		assertEquals(0, columns.size());
+		assertEquals(0, columns.findWithin("M", 800, 1700).length);
+		try {
+			columns.getCourse(0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//expected
+		}
+		try {
+			columns.findWithin("M", 1700, 800);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid time window.", e.getMessage());
+		}
+		try {
+			new ColumnarCourseCatalog(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ConflictMatrix class.
+ * @author Noah Benveniste
+ */
+public class ConflictMatrixTest {
+
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "MTWHF", "A"};
+
+	/**
+	 * Builds a catalog of pseudo-random sections
+	 * @param size the number of sections
+	 * @return the catalog
+	 */
+	private ArrayList<Course> randomCatalog(int size) {
+		Random random = new Random(size);
+		ArrayList<Course> catalog = new ArrayList<Course>();
+		for (int i = 0; i < size; i++) {
+			String days = DAYS[random.nextInt(DAYS.length)];
+			if ("A".equals(days)) {
+				catalog.add(new Course("CSC" + (100 + i % 900), "Course", "001", 3, "prof", days));
+			} else {
+				int start = (7 + random.nextInt(13)) * 100 + random.nextInt(60);
+				int end = Math.min(2359, start + 100 + random.nextInt(3) * 100);
+				catalog.add(new Course("CSC" + (100 + i % 900), "Course", "001", 3, "prof", days, start, end));
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Tests that every pair in the matrix agrees with Activity.conflictsWith().
+	 */
+	@Test
+	public void testConflicts() {
+		ArrayList<Course> catalog = randomCatalog(300);
+		ConflictMatrix matrix = new ConflictMatrix(catalog);
+		assertEquals(300, matrix.size());
+		assertEquals(5, matrix.words());
+
+		for (int a = 0; a < matrix.size(); a++) {
+			assertSame(matrix.getCourse(a), catalog.get(catalog.indexOf(matrix.getCourse(a))));
+			assertEquals(a, matrix.getId(matrix.getCourse(a)));
+			for (int b = 0; b < matrix.size(); b++) {
+				boolean expected = a != b && matrix.getCourse(a).conflictsWith(matrix.getCourse(b));
+				assertEquals(expected, matrix.conflicts(a, b));
+			}
+		}
+		assertEquals(-1, matrix.getId(new Course("CSC492", "Course", "001", 3, "prof", "A")));
+	}
+
+	/**
+	 * Tests the row OR and AND helpers.
+	 */
+	@Test
+	public void testRowHelpers() {
+		ArrayList<Course> catalog = new ArrayList<Course>();
+		Course c116 = new Course("CSC116", "Intro to Programming - Java", "002", 3, "spbalik", "MW", 1120, 1310);
+		Course c216 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445);
+		Course c226 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+		Course c230 = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300);
+		Course c316 = new Course("CSC316", "Data Structures and Algorithms", "001", 3, "jtking", "TH", 1400, 1515);
+		catalog.add(c116);
+		catalog.add(c216);
+		catalog.add(c226);
+		catalog.add(c230);
+		catalog.add(c316);
+		ConflictMatrix matrix = new ConflictMatrix(catalog);
+
+		//Ids are in start time order
+		assertEquals(0, matrix.getId(c226));
+		assertEquals(1, matrix.getId(c116));
+		assertEquals(2, matrix.getId(c230));
+		assertEquals(3, matrix.getId(c216));
+		assertEquals(4, matrix.getId(c316));
+
+		int[] scheduled = {matrix.getId(c116), matrix.getId(c216)};
+		ArrayList<Course> conflicting = matrix.getCourses(matrix.conflictingWithAny(scheduled));
+		assertEquals(2, conflicting.size());
+		assertSame(c230, conflicting.get(0));
+		assertSame(c316, conflicting.get(1));
+
+		ArrayList<Course> compatible = matrix.getCourses(matrix.compatibleWithAll(scheduled));
+		assertEquals(3, compatible.size());
+		assertSame(c226, compatible.get(0));
+		assertSame(c116, compatible.get(1));
+		assertSame(c216, compatible.get(2));
+
+		assertEquals(5, matrix.getCourses(matrix.compatibleWithAll(new int[0])).size());
+		assertEquals(0, new ConflictMatrix(new ArrayList<Course>()).getCourses(new long[0]).size());
+	}
+
+	/**
+	 * Tests that adding and removing courses keeps every pair in agreement with
+	 * Activity.conflictsWith() and reuses the ids of removed courses.
+	 */
+	@Test
+	public void testAddAndRemove() {
+		ArrayList<Course> catalog = randomCatalog(200);
+		ArrayList<Course> extra = randomCatalog(150);
+		ConflictMatrix matrix = new ConflictMatrix(catalog);
+		Random random = new Random(216);
+		ArrayList<Course> present = new ArrayList<Course>(catalog);
+		for (int step = 0; step < 150; step++) {
+			if (random.nextBoolean() && !present.isEmpty()) {
+				Course removed = present.remove(random.nextInt(present.size()));
+				int id = matrix.remove(removed);
+				assertTrue(id >= 0);
+				assertNull(matrix.getCourse(id));
+				assertEquals(-1, matrix.remove(removed));
+				//The next course added takes the removed id
+				Course added = extra.get(step);
+				assertEquals(id, matrix.add(added));
+				present.add(added);
+			} else {
+				Course added = extra.get(step);
+				int id = matrix.add(added);
+				assertEquals(id, matrix.add(added));
+				present.add(added);
+			}
+		}
+		assertEquals(present.size(), matrix.size());
+
+		//Every removed id was refilled, so the ids in use are still 0 to size() - 1
+		for (int a = 0; a < matrix.size(); a++) {
+			assertEquals(a, matrix.getId(matrix.getCourse(a)));
+			for (int b = 0; b < matrix.size(); b++) {
+				boolean expected = a != b && matrix.getCourse(a).conflictsWith(matrix.getCourse(b));
+				assertEquals(expected, matrix.conflicts(a, b));
+			}
+		}
+
+		//Removed courses are never compatible, and every present course is
+		ArrayList<Course> compatible = matrix.getCourses(matrix.compatibleWithAll(new int[0]));
+		assertEquals(present.size(), compatible.size());
+		for (int i = 0; i < present.size(); i++) {
+			assertTrue(compatible.contains(present.get(i)));
+		}
+		Course first = present.get(0);
+		ArrayList<Course> conflicting = matrix.getCourses(matrix.conflictingWithAny(new int[] {matrix.getId(first)}));
+		for (int i = 0; i < present.size(); i++) {
+			Course c = present.get(i);
+			assertEquals(c != first && c.conflictsWith(first), conflicting.contains(c));
+		}
+
+		//A removed id that is not reused is left out of every bitset
+		int id = matrix.remove(first);
+		assertNull(matrix.getCourse(id));
+		assertEquals(present.size() - 1, matrix.getCourses(matrix.compatibleWithAll(new int[0])).size());
+		assertFalse(matrix.getCourses(matrix.compatibleWithAll(new int[0])).contains(first));
+		for (int i = 1; i < present.size(); i++) {
+			assertFalse(matrix.conflicts(matrix.getId(present.get(i)), id));
+		}
+	}
+}
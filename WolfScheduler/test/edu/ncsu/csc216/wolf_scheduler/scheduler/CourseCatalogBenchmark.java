@@ -0,0 +1,81 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Benchmark for bulk catalog queries. Runs the same scans over a ListCourseCatalog, which reads
+ * each Course object, and a ColumnarCourseCatalog, which reads primitive arrays.
+ *
+ * Run with an optional number of courses to generate (default 500000).
+ * @author Noah Benveniste
+ */
+public class CourseCatalogBenchmark {
+
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "A"};
+	/** Number of untimed rounds run before measuring */
+	private static final int WARMUP_ROUNDS = 5;
+	/** Number of timed rounds */
+	private static final int ROUNDS = 20;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of courses to generate
+	 */
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+		ArrayList<Course> courses = new ArrayList<Course>(size);
+		for (int i = 0; i < size; i++) {
+			String days = DAYS[i % DAYS.length];
+			String name = "CSC" + (100 + (i / 1000) % 900);
+			String section = String.format("%03d", i % 1000);
+			if ("A".equals(days)) {
+				courses.add(new Course(name, "Topics " + name, section, 3, "prof" + (i % 500), days));
+			} else {
+				int start = 800 + (i % 10) * 100;
+				courses.add(new Course(name, "Topics " + name, section, 1 + i % 5, "prof" + (i % 500), days, start, start + 50));
+			}
+		}
+		CourseCatalog list = new ListCourseCatalog(courses);
+		long start = System.nanoTime();
+		CourseCatalog columns = new ColumnarCourseCatalog(list);
+		System.out.printf("Columnar build %8.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			scan(list);
+			scan(columns);
+		}
+		long listNanos = 0;
+		long columnNanos = 0;
+		long checksum = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			start = System.nanoTime();
+			checksum += scan(list);
+			listNanos += System.nanoTime() - start;
+			start = System.nanoTime();
+			checksum -= scan(columns);
+			columnNanos += System.nanoTime() - start;
+		}
+		if (checksum != 0) {
+			throw new IllegalStateException("Catalogs disagree.");
+		}
+		System.out.printf("List           %8.1f ms per scan%n", listNanos / 1e6 / ROUNDS);
+		System.out.printf("Columnar       %8.1f ms per scan%n", columnNanos / 1e6 / ROUNDS);
+		System.out.printf("Speedup: %.2fx%n", (double) listNanos / columnNanos);
+	}
+
+	/**
+	 * Runs one round of queries
+	 * @param catalog the catalog to query
+	 * @return a checksum of the results
+	 */
+	private static long scan(CourseCatalog catalog) {
+		long sum = 0;
+		sum += catalog.getTotalCredits(catalog.findWithin("MW", 900, 1300));
+		sum += catalog.getTotalCredits(catalog.findByInstructor("prof42"));
+		sum += catalog.findByName("CSC216").length;
+		return sum;
+	}
+}
@@ -0,0 +1,73 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ListCourseCatalog class.
+ * @author Noah Benveniste
+ */
+public class ListCourseCatalogTest {
+
+	/** CSC216-001, TH 1:30PM-2:45PM */
+	private final Course csc216001 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445);
+	/** CSC216-601, arranged */
+	private final Course csc216601 = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+	/** CSC116-003, TH 11:20AM-1:10PM */
+	private final Course csc116003 = new Course("CSC116", "Intro to Programming - Java", "003", 3, "sesmith5", "TH", 1120, 1310);
+
+	/**
+	 * Tests reading fields and running queries.
+	 */
+	@Test
+	public void testListCourseCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(csc216001);
+		courses.add(csc216601);
+		courses.add(csc116003);
+		CourseCatalog catalog = new ListCourseCatalog(courses);
+		assertEquals(3, catalog.size());
+		assertSame(csc216601, catalog.getCourse(1));
+		assertEquals("CSC216", catalog.getName(0));
+		assertEquals("Programming Concepts - Java", catalog.getTitle(0));
+		assertEquals("001", catalog.getSection(0));
+		assertEquals("sesmith5", catalog.getInstructorId(0));
+		assertEquals("TH", catalog.getMeetingDays(0));
+		assertEquals(4, catalog.getCredits(0));
+		assertEquals(1330, catalog.getStartTime(0));
+		assertEquals(1445, catalog.getEndTime(0));
+		assertEquals(Activity.ARRANGED, catalog.getDayMask(1));
+
+		assertArrayEquals(new int[] {0, 1}, catalog.findByName("CSC216"));
+		assertArrayEquals(new int[0], catalog.findByName("CSC999"));
+		assertArrayEquals(new int[] {0, 2}, catalog.findByInstructor("sesmith5"));
+		assertArrayEquals(new int[] {0, 2}, catalog.findWithin("H", 1100, 1500));
+		assertArrayEquals(new int[] {2}, catalog.findWithin("TH", 1100, 1330));
+		assertEquals(11, catalog.getTotalCredits(new int[] {0, 1, 2}));
+
+		try {
+			catalog.findWithin("X", 1100, 1500);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid meeting days.", e.getMessage());
+		}
+		try {
+			catalog.getCourse(3);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//expected
+		}
+		try {
+			new ListCourseCatalog(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+}
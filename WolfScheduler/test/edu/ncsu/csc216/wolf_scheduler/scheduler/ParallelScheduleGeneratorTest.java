@@ -0,0 +1,140 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ParallelScheduleGenerator class.
+ * @author Noah Benveniste
+ */
+public class ParallelScheduleGeneratorTest {
+
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "MTWHF"};
+
+	/** Catalog with enough sections that the search is split into parallel tasks */
+	private CatalogIndex catalog;
+	/** Names of the courses in the catalog */
+	private ArrayList<String> names;
+
+	/**
+	 * Builds a catalog of 7 courses with 7 sections each at pseudo-random times.
+	 */
+	@Before
+	public void setUp() {
+		Random random = new Random(216);
+		catalog = new CatalogIndex();
+		names = new ArrayList<String>();
+		for (int i = 0; i < 7; i++) {
+			String name = "CSC2" + i + "0";
+			names.add(name);
+			for (int j = 1; j <= 7; j++) {
+				int hour = 8 + random.nextInt(10);
+				boolean half = random.nextBoolean();
+				int start = hour * 100 + (half ? 30 : 0);
+				int end = half ? (hour + 1) * 100 + 20 : hour * 100 + 50;
+				catalog.add(new Course(name, "Course " + i, "00" + j, 3, "prof" + i, DAYS[random.nextInt(DAYS.length)], start, end));
+			}
+		}
+	}
+
+	/**
+	 * Tests that the parallel search returns the same schedules as the sequential search.
+	 */
+	@Test
+	public void testMatchesSequential() {
+		ArrayList<Event> events = new ArrayList<Event>();
+		events.add(new Event("Lunch", "MTWHF", 1200, 1230, 1, ""));
+		ArrayList<ArrayList<Course>> expected = new ArrayList<ArrayList<Course>>();
+		ScheduleGenerator gen = new ScheduleGenerator(catalog, names, events);
+		while (gen.hasNext()) {
+			expected.add(gen.next());
+		}
+		assertTrue(expected.size() > 0);
+
+		for (int parallelism = 1; parallelism <= 4; parallelism++) {
+			ParallelScheduleGenerator pgen = new ParallelScheduleGenerator(catalog, names, events, parallelism, Integer.MAX_VALUE);
+			assertEquals(expected, pgen.generate());
+		}
+	}
+
+	/**
+	 * Tests that the limit keeps the first schedules of the sequential search.
+	 */
+	@Test
+	public void testLimit() {
+		ArrayList<Activity> noEvents = new ArrayList<Activity>();
+		ScheduleGenerator gen = new ScheduleGenerator(catalog, names, noEvents);
+		ArrayList<ArrayList<Course>> expected = new ArrayList<ArrayList<Course>>();
+		while (gen.hasNext() && expected.size() < 25) {
+			expected.add(gen.next());
+		}
+		assertEquals(25, expected.size());
+
+		assertEquals(expected, new ParallelScheduleGenerator(catalog, names, noEvents, 3, 25).generate());
+		assertEquals(1, new ParallelScheduleGenerator(catalog, names, noEvents, 3, 1).generate().size());
+	}
+
+	/**
+	 * Tests that a small limit stops the search early. The catalog has 10^12 conflict-free
+	 * schedules, so the test only finishes if the subtrees after the first schedules stop.
+	 */
+	@Test(timeout = 10000)
+	public void testLimitStopsSearch() {
+		CatalogIndex large = new CatalogIndex();
+		ArrayList<String> largeNames = new ArrayList<String>();
+		for (int i = 0; i < 12; i++) {
+			String name = "MA" + (100 + i);
+			largeNames.add(name);
+			int hour = 8 + i;
+			for (int j = 0; j < 10; j++) {
+				large.add(new Course(name, "Course " + i, "0" + (10 + j), 3, "prof" + i, "MW", hour * 100, hour * 100 + 50));
+			}
+		}
+		ArrayList<Activity> noEvents = new ArrayList<Activity>();
+		ScheduleGenerator gen = new ScheduleGenerator(large, largeNames, noEvents);
+		ArrayList<ArrayList<Course>> expected = new ArrayList<ArrayList<Course>>();
+		while (expected.size() < 5) {
+			expected.add(gen.next());
+		}
+
+		for (int parallelism = 1; parallelism <= 4; parallelism++) {
+			assertEquals(expected, new ParallelScheduleGenerator(large, largeNames, noEvents, parallelism, 5).generate());
+		}
+	}
+
+	/**
+	 * Tests invalid parallelism and limits.
+	 */
+	@Test
+	public void testInvalid() {
+		ArrayList<Activity> noEvents = new ArrayList<Activity>();
+		try {
+			new ParallelScheduleGenerator(catalog, names, noEvents, 0, 10);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Parallelism must be at least 1.", e.getMessage());
+		}
+		try {
+			new ParallelScheduleGenerator(catalog, names, noEvents, 2, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Limit must be at least 1.", e.getMessage());
+		}
+		try {
+			new ParallelScheduleGenerator(catalog, null, noEvents, 2, 10);
+			fail();
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+	}
+}
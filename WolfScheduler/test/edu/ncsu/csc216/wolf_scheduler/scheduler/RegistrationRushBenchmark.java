@@ -0,0 +1,251 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+
+/**
+ * Contention benchmark for seat reservation during a registration rush. Hundreds of threads
+ * start at once and race for the seats in a few popular sections.
+ *
+ * The first part reserves and releases seats in one section as fast as possible, comparing the
+ * compare-and-set reservation in Course with a counter guarded by a lock. The second part runs
+ * a full rush through a SessionManager, with every student trying to enroll in every popular
+ * section, and checks that no section took more students than it has seats.
+ *
+ * Run with an optional number of threads (default 400) and students per thread (default 50).
+ * @author Noah Benveniste
+ */
+public class RegistrationRushBenchmark {
+
+	/** Number of popular sections every student tries to enroll in */
+	private static final int SECTIONS = 5;
+	/** Number of reserve and release pairs each thread makes in the first part */
+	private static final int CYCLES = 20000;
+	/** Number of untimed rounds run before measuring */
+	private static final int WARMUP_ROUNDS = 1;
+	/** Number of timed rounds */
+	private static final int ROUNDS = 3;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of threads and students per thread
+	 * @throws InterruptedException if the benchmark is interrupted
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+		int students = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			counters(threads);
+			rush(threads, students, false);
+		}
+		long casNanos = 0;
+		long lockNanos = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long[] nanos = counters(threads);
+			casNanos += nanos[0];
+			lockNanos += nanos[1];
+		}
+		long ops = 2L * threads * CYCLES;
+		System.out.printf("Seat counter, %d threads on one section%n", threads);
+		System.out.printf("  CAS       %8.1f ms %8.1f M ops/s%n", casNanos / ROUNDS / 1e6, ops * ROUNDS / (casNanos / 1e3));
+		System.out.printf("  Locked    %8.1f ms %8.1f M ops/s%n", lockNanos / ROUNDS / 1e6, ops * ROUNDS / (lockNanos / 1e3));
+		System.out.printf("  Speedup: %.2fx%n", (double) lockNanos / casNanos);
+
+		long rushNanos = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			rushNanos += rush(threads, students, i == ROUNDS - 1);
+		}
+		long attempts = (long) threads * students * SECTIONS;
+		System.out.printf("Rush, %d students on %d threads for %d sections%n", threads * students, threads, SECTIONS);
+		System.out.printf("  %8.1f ms %8.0f enrollment attempts/s%n", rushNanos / ROUNDS / 1e6, attempts * ROUNDS / (rushNanos / 1e9));
+	}
+
+	/**
+	 * Reserves and releases seats in one section on every thread, first with compare-and-set and
+	 * then with a lock
+	 * @param threads the number of threads
+	 * @return the time taken with compare-and-set and with the lock
+	 * @throws InterruptedException if the benchmark is interrupted
+	 */
+	private static long[] counters(int threads) throws InterruptedException {
+		final Course course = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		course.setCapacity(threads / 2);
+		long cas = runThreads(threads, new Worker() {
+			@Override
+			public void run(int thread) {
+				for (int i = 0; i < CYCLES; i++) {
+					if (course.reserveSeat()) {
+						course.releaseSeat();
+					}
+				}
+			}
+		});
+		final LockedSeats locked = new LockedSeats(threads / 2);
+		long lock = runThreads(threads, new Worker() {
+			@Override
+			public void run(int thread) {
+				for (int i = 0; i < CYCLES; i++) {
+					if (locked.reserveSeat()) {
+						locked.releaseSeat();
+					}
+				}
+			}
+		});
+		if (course.getEnrolled() != 0 || locked.enrolled != 0) {
+			throw new IllegalStateException("Seats were lost.");
+		}
+		return new long[] {cas, lock};
+	}
+
+	/**
+	 * Runs a registration rush through a SessionManager. Each section has seats for a quarter
+	 * of the students, so most attempts find it full.
+	 * @param threads the number of threads
+	 * @param students the number of students on each thread
+	 * @param print whether to print how the seats were filled
+	 * @return the time taken
+	 * @throws InterruptedException if the benchmark is interrupted
+	 */
+	private static long rush(int threads, final int students, boolean print) throws InterruptedException {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		final String[] names = new String[SECTIONS];
+		for (int i = 0; i < SECTIONS; i++) {
+			names[i] = "CSC" + (216 + i);
+			Course c = new Course(names[i], "Popular Course " + i, "001", 3, "prof" + i, "MW", 800 + i * 200, 850 + i * 200);
+			c.setCapacity(threads * students / 4);
+			courses.add(c);
+		}
+		SharedCatalog catalog = new SharedCatalog(courses, new CourseLoadReport());
+		final SessionManager manager = new SessionManager(catalog);
+		final AtomicInteger full = new AtomicInteger();
+		long nanos = runThreads(threads, new Worker() {
+			@Override
+			public void run(int thread) {
+				for (int s = 0; s < students; s++) {
+					String id = "student" + (thread * students + s);
+					manager.openSession(id);
+					for (int i = 0; i < SECTIONS; i++) {
+						try {
+							manager.addCourse(id, names[(i + s) % SECTIONS], "001");
+						} catch (IllegalArgumentException e) {
+							full.incrementAndGet();
+						}
+					}
+				}
+			}
+		});
+		//Every seat taken must belong to exactly one schedule
+		int[] held = new int[SECTIONS];
+		for (int s = 0; s < threads * students; s++) {
+			for (int j = 0; j < manager.getSchedule("student" + s).size(); j++) {
+				held[courses.indexOf(manager.getSchedule("student" + s).get(j))]++;
+			}
+		}
+		for (int i = 0; i < SECTIONS; i++) {
+			Course c = catalog.getCourse(i);
+			if (c.getEnrolled() > c.getCapacity() || c.getEnrolled() != held[i]) {
+				throw new IllegalStateException(c.getName() + " has " + c.getEnrolled() + " seats taken by " + held[i] + " students.");
+			}
+			if (print) {
+				System.out.printf("  %s %d of %d seats%n", c.getName(), c.getEnrolled(), c.getCapacity());
+			}
+		}
+		if (print) {
+			System.out.printf("  %d attempts found the section full%n", full.get());
+		}
+		return nanos;
+	}
+
+	/**
+	 * Starts a worker on every thread at once and waits for them all to finish
+	 * @param threads the number of threads
+	 * @param worker the work for each thread
+	 * @return the time from the start until the last thread finished
+	 * @throws InterruptedException if the benchmark is interrupted
+	 */
+	private static long runThreads(int threads, final Worker worker) throws InterruptedException {
+		final CountDownLatch ready = new CountDownLatch(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] pool = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int thread = t;
+			pool[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					ready.countDown();
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					worker.run(thread);
+				}
+			});
+			pool[t].start();
+		}
+		ready.await();
+		long begin = System.nanoTime();
+		start.countDown();
+		for (int t = 0; t < threads; t++) {
+			pool[t].join();
+		}
+		return System.nanoTime() - begin;
+	}
+
+	/**
+	 * Work done by one thread of the benchmark.
+	 * @author Noah Benveniste
+	 */
+	private interface Worker {
+
+		/**
+		 * Does the work
+		 * @param thread the number of the thread
+		 */
+		void run(int thread);
+	}
+
+	/**
+	 * Seat counter guarded by a lock, for comparison with Course.
+	 * @author Noah Benveniste
+	 */
+	private static class LockedSeats {
+
+		/** Number of seats */
+		private final int capacity;
+		/** Number of seats reserved */
+		private int enrolled;
+
+		/**
+		 * Constructs the counter
+		 * @param capacity the number of seats
+		 */
+		LockedSeats(int capacity) {
+			this.capacity = capacity;
+		}
+
+		/**
+		 * Reserves a seat if one is open
+		 * @return true if a seat was reserved
+		 */
+		synchronized boolean reserveSeat() {
+			if (enrolled >= capacity) {
+				return false;
+			}
+			enrolled++;
+			return true;
+		}
+
+		/**
+		 * Releases a seat
+		 */
+		synchronized void releaseSeat() {
+			enrolled--;
+		}
+	}
+}
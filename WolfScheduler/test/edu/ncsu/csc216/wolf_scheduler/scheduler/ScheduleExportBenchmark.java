@@ -0,0 +1,175 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+
+/**
+ * Benchmark for exporting many schedules. Compares SessionManager.exportSchedules, which
+ * writes every schedule through one ActivityRecordWriter and forces and renames the file once,
+ * with the old way of writing the same file through a PrintStream and toString(), which is not
+ * forced to disk and leaves a cut off file on a crash, and with exporting each schedule to a
+ * file of its own, which now forces and renames every file.
+ *
+ * Run with an optional number of schedules (default 10000). Files are written to the default
+ * temporary directory, so the results depend on the disk behind it.
+ * @author Noah Benveniste
+ */
+public class ScheduleExportBenchmark {
+
+	/** Number of courses in the generated catalog */
+	private static final int COURSES = 2000;
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T"};
+	/** Number of courses in each schedule */
+	private static final int COURSES_PER_SCHEDULE = 5;
+	/** Most schedules exported to files of their own, since each file is forced */
+	private static final int MAX_SINGLE_FILES = 1000;
+	/** Number of untimed rounds run before measuring */
+	private static final int WARMUP_ROUNDS = 2;
+	/** Number of timed rounds */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of schedules
+	 * @throws IOException if a file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int schedules = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		ArrayList<Course> courses = new ArrayList<Course>(COURSES);
+		for (int i = 0; i < COURSES; i++) {
+			int start = 800 + (i % 10) * 100;
+			courses.add(new Course("CSC" + (100 + i / 10), "Topics " + i / 10, String.format("%03d", i % 10), 3,
+					"prof" + (i % 50), DAYS[i % DAYS.length], start, start + 50));
+		}
+		SessionManager manager = new SessionManager(new SharedCatalog(courses, new CourseLoadReport()));
+		for (int s = 0; s < schedules; s++) {
+			String id = "student" + s;
+			manager.openSession(id);
+			manager.setTitle(id, "Schedule " + s);
+			for (int k = 0; k < COURSES_PER_SCHEDULE; k++) {
+				//A different course name and hour for each course in the schedule
+				Course c = courses.get(((s + k * 37) % (COURSES / 10)) * 10 + k * 2);
+				manager.addCourse(id, c.getName(), c.getSection());
+			}
+			manager.addEvent(id, "Work", "S", 900, 1700, 1, "Shift at the library, desk " + s % 4);
+		}
+		File file = File.createTempFile("schedules", ".txt");
+		File dir = File.createTempFile("schedules", "");
+		dir.delete();
+		dir.mkdir();
+		int singles = Math.min(schedules, MAX_SINGLE_FILES);
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			printStream(manager, file);
+			manager.exportSchedules(file.getPath());
+			singleFiles(manager, dir, singles);
+		}
+		long[] print = new long[2];
+		long[] bulk = new long[2];
+		long[] single = new long[2];
+		for (int i = 0; i < ROUNDS; i++) {
+			long bytes = allocated();
+			long start = System.nanoTime();
+			printStream(manager, file);
+			print[0] += System.nanoTime() - start;
+			print[1] += allocated() - bytes;
+			bytes = allocated();
+			start = System.nanoTime();
+			manager.exportSchedules(file.getPath());
+			bulk[0] += System.nanoTime() - start;
+			bulk[1] += allocated() - bytes;
+			bytes = allocated();
+			start = System.nanoTime();
+			singleFiles(manager, dir, singles);
+			single[0] += System.nanoTime() - start;
+			single[1] += allocated() - bytes;
+		}
+		System.out.printf("%d schedules, %d activities each, %.1f MB%n", schedules, COURSES_PER_SCHEDULE + 1, file.length() / 1e6);
+		print("PrintStream", print, schedules);
+		print("exportSchedules", bulk, schedules);
+		print("File each", single, singles);
+		System.out.printf("  exportSchedules vs PrintStream: %.2fx, vs a file each: %.1fx%n",
+				(double) print[0] / bulk[0], ((double) single[0] / singles) / ((double) bulk[0] / schedules));
+		file.delete();
+		for (int s = 0; s < singles; s++) {
+			new File(dir, "student" + s + ".txt").delete();
+		}
+		dir.delete();
+	}
+
+	/**
+	 * Writes every schedule through a PrintStream and toString(), as exports were written before
+	 * @param manager the sessions
+	 * @param file the file
+	 * @throws IOException if the file cannot be opened
+	 */
+	private static void printStream(SessionManager manager, File file) throws IOException {
+		ArrayList<String> ids = ids(manager);
+		PrintStream out = new PrintStream(file);
+		for (int i = 0; i < ids.size(); i++) {
+			String id = ids.get(i);
+			out.println(id + "," + manager.getTitle(id));
+			ActivityRecordIO.writeActivityRecords(out, manager.getSchedule(id));
+			out.println();
+		}
+		out.close();
+	}
+
+	/**
+	 * Exports schedules to a file each
+	 * @param manager the sessions
+	 * @param dir the directory to write the files in
+	 * @param count the number of schedules to export
+	 */
+	private static void singleFiles(SessionManager manager, File dir, int count) {
+		for (int s = 0; s < count; s++) {
+			manager.exportSchedule("student" + s, new File(dir, "student" + s + ".txt").getPath());
+		}
+	}
+
+	/**
+	 * Lists the ids of the sessions in order
+	 * @param manager the sessions
+	 * @return the ids
+	 */
+	private static ArrayList<String> ids(SessionManager manager) {
+		ArrayList<String> ids = new ArrayList<String>(manager.size());
+		for (int s = 0; s < manager.size(); s++) {
+			ids.add("student" + s);
+		}
+		Collections.sort(ids);
+		return ids;
+	}
+
+	/**
+	 * Gets the number of bytes allocated by this thread so far
+	 * @return the bytes, or 0 if the JVM cannot count them
+	 */
+	private static long allocated() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	/**
+	 * Prints the time, rate and allocation of one way of exporting
+	 * @param label the way of exporting
+	 * @param totals the total time and bytes allocated over every round
+	 * @param schedules the number of schedules in each round
+	 */
+	private static void print(String label, long[] totals, int schedules) {
+		System.out.printf("  %-16s %8.1f ms %10.0f schedules/s %8.0f bytes allocated/schedule%n", label, totals[0] / ROUNDS / 1e6,
+				(double) schedules * ROUNDS / (totals[0] / 1e9), (double) totals[1] / ROUNDS / schedules);
+	}
+}
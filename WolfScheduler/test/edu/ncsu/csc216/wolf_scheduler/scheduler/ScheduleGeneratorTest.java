@@ -0,0 +1,168 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ScheduleGenerator class.
+ * @author Noah Benveniste
+ */
+public class ScheduleGeneratorTest {
+
+	/** Index of the courses in starter_course_records.txt */
+	private CatalogIndex catalog;
+	/** No fixed activities */
+	private final ArrayList<Activity> noEvents = new ArrayList<Activity>();
+
+	/**
+	 * Builds the catalog used by each test.
+	 */
+	@Before
+	public void setUp() {
+		catalog = new CatalogIndex();
+		catalog.add(new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+		catalog.add(new Course("CSC116", "Intro to Programming - Java", "002", 3, "spbalik", "MW", 1120, 1310));
+		catalog.add(new Course("CSC116", "Intro to Programming - Java", "003", 3, "tbdimitr", "TH", 1120, 1310));
+		catalog.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445));
+		catalog.add(new Course("CSC216", "Programming Concepts - Java", "002", 4, "jtking", "MW", 1330, 1445));
+		catalog.add(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"));
+		catalog.add(new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025));
+		catalog.add(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300));
+	}
+
+	/**
+	 * Tests generating every section of a course that conflicts with nothing.
+	 */
+	@Test
+	public void testAllSections() {
+		ScheduleGenerator gen = new ScheduleGenerator(catalog, Arrays.asList("CSC216"), noEvents);
+		assertEquals("001", gen.next().get(0).getSection());
+		assertEquals("002", gen.next().get(0).getSection());
+		assertEquals("601", gen.next().get(0).getSection());
+		assertFalse(gen.hasNext());
+		try {
+			gen.next();
+			fail();
+		} catch (NoSuchElementException e) {
+			assertFalse(gen.hasNext());
+		}
+	}
+
+	/**
+	 * Tests that conflicting combinations are skipped and sections come back in request order.
+	 */
+	@Test
+	public void testConflictsPruned() {
+		ScheduleGenerator gen = new ScheduleGenerator(catalog, Arrays.asList("CSC226", "CSC116"), noEvents);
+		//CSC116-001 conflicts with CSC226-001
+		ArrayList<Course> s1 = gen.next();
+		assertEquals(2, s1.size());
+		assertEquals("CSC226", s1.get(0).getName());
+		assertEquals("CSC116", s1.get(1).getName());
+		assertEquals("002", s1.get(1).getSection());
+		ArrayList<Course> s2 = gen.next();
+		assertEquals("003", s2.get(1).getSection());
+		assertFalse(gen.hasNext());
+
+		//CSC230-001 conflicts with CSC116-002
+		gen = new ScheduleGenerator(catalog, Arrays.asList("CSC116", "CSC216", "CSC230"), noEvents);
+		int count = 0;
+		while (gen.hasNext()) {
+			ArrayList<Course> s = gen.next();
+			assertFalse("002".equals(s.get(0).getSection()));
+			assertEquals("CSC230", s.get(2).getName());
+			count++;
+		}
+		//Every CSC216 section fits with either remaining CSC116 section
+		assertEquals(6, count);
+	}
+
+	/**
+	 * Tests that generated schedules fit around fixed events.
+	 */
+	@Test
+	public void testFixedEvents() {
+		ArrayList<Event> events = new ArrayList<Event>();
+		events.add(new Event("Lunch", "MTWHF", 1200, 1230, 1, ""));
+		ScheduleGenerator gen = new ScheduleGenerator(catalog, Arrays.asList("CSC116", "CSC226"), events);
+		assertFalse(gen.hasNext());
+
+		gen = new ScheduleGenerator(catalog, Arrays.asList("CSC216", "CSC226"), events);
+		int count = 0;
+		while (gen.hasNext()) {
+			gen.next();
+			count++;
+		}
+		assertEquals(3, count);
+	}
+
+	/**
+	 * Tests requests with unknown, repeated and no courses.
+	 */
+	@Test
+	public void testEdgeCases() {
+		//A course with no sections means no schedule is possible
+		assertFalse(new ScheduleGenerator(catalog, Arrays.asList("CSC216", "CSC492"), noEvents).hasNext());
+
+		//A repeated course is only scheduled once
+		ScheduleGenerator gen = new ScheduleGenerator(catalog, Arrays.asList("CSC230", "CSC230"), noEvents);
+		assertEquals(1, gen.next().size());
+		assertFalse(gen.hasNext());
+
+		//No courses gives exactly one empty schedule
+		gen = new ScheduleGenerator(catalog, new ArrayList<String>(), noEvents);
+		assertEquals(0, gen.next().size());
+		assertFalse(gen.hasNext());
+
+		try {
+			new ScheduleGenerator(catalog, null, noEvents);
+			fail();
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+	}
+
+	/**
+	 * Tests that the generator finds exactly the conflict-free combinations of the full cross product.
+	 */
+	@Test
+	public void testMatchesCrossProduct() {
+		String[] names = {"CSC116", "CSC216", "CSC226", "CSC230"};
+		int expected = 0;
+		for (Course a : catalog.getSections(names[0])) {
+			for (Course b : catalog.getSections(names[1])) {
+				for (Course c : catalog.getSections(names[2])) {
+					for (Course d : catalog.getSections(names[3])) {
+						Course[] s = {a, b, c, d};
+						boolean ok = true;
+						for (int i = 0; i < s.length; i++) {
+							for (int j = i + 1; j < s.length; j++) {
+								ok = ok && !s[i].conflictsWith(s[j]);
+							}
+						}
+						if (ok) {
+							expected++;
+						}
+					}
+				}
+			}
+		}
+		ScheduleGenerator gen = new ScheduleGenerator(catalog, Arrays.asList(names), noEvents);
+		int actual = 0;
+		while (gen.hasNext()) {
+			gen.next();
+			actual++;
+		}
+		assertEquals(expected, actual);
+	}
+}
@@ -0,0 +1,134 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Compares keeping the versions of a schedule for undo as ActivityVectors, which share
+ * structure, with keeping a copy of an ArrayList for every change, as copy-on-write sessions did
+ * before. Each change removes an activity at a random index or appends one, and every version
+ * is kept. The memory retained by the versions is measured after collecting garbage, so it is
+ * approximate.
+ *
+ * Run with an optional number of changes to keep (default 1000).
+ * @author Noah Benveniste
+ */
+public class ScheduleHistoryBenchmark {
+
+	/** Schedule sizes measured */
+	private static final int[] SIZES = {10, 100, 1000, 10000};
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of changes to keep
+	 */
+	public static void main(String[] args) {
+		int changes = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		System.out.printf("%d changes kept%n", changes);
+		System.out.printf("  %8s %16s %16s %12s %12s%n", "size", "copy B/change", "vector B/change", "copy ns", "vector ns");
+		for (int s = 0; s < SIZES.length; s++) {
+			int size = SIZES[s];
+			Event[] events = new Event[size * 2];
+			for (int i = 0; i < events.length; i++) {
+				events[i] = new Event("Event " + i, "S", 800, 900, 1, "");
+			}
+			//Warm up both, then measure
+			copies(events, size, changes);
+			vectors(events, size, changes);
+			long base = used();
+			long start = System.nanoTime();
+			Object kept = copies(events, size, changes);
+			long copyNanos = System.nanoTime() - start;
+			long copyBytes = used() - base;
+			keep(kept);
+			kept = null;
+			base = used();
+			start = System.nanoTime();
+			kept = vectors(events, size, changes);
+			long vectorNanos = System.nanoTime() - start;
+			long vectorBytes = used() - base;
+			keep(kept);
+			System.out.printf("  %8d %16.0f %16.0f %12.0f %12.0f%n", size, (double) copyBytes / changes,
+					(double) vectorBytes / changes, (double) copyNanos / changes, (double) vectorNanos / changes);
+		}
+	}
+
+	/**
+	 * Makes and keeps a copied list for every change
+	 * @param events the activities to use
+	 * @param size the size of the schedule
+	 * @param changes the number of changes
+	 * @return every version
+	 */
+	private static ArrayList<ArrayList<Activity>> copies(Event[] events, int size, int changes) {
+		Random random = new Random(216);
+		ArrayList<Activity> current = new ArrayList<Activity>();
+		for (int i = 0; i < size; i++) {
+			current.add(events[i]);
+		}
+		ArrayList<ArrayList<Activity>> versions = new ArrayList<ArrayList<Activity>>(changes);
+		int next = size;
+		for (int c = 0; c < changes; c++) {
+			versions.add(current);
+			ArrayList<Activity> copy = new ArrayList<Activity>(current);
+			if (c % 2 == 0) {
+				copy.remove(random.nextInt(copy.size()));
+			} else {
+				copy.add(events[next++ % events.length]);
+			}
+			current = copy;
+		}
+		return versions;
+	}
+
+	/**
+	 * Makes and keeps a new ActivityVector version for every change
+	 * @param events the activities to use
+	 * @param size the size of the schedule
+	 * @param changes the number of changes
+	 * @return every version
+	 */
+	private static ArrayList<ActivityVector> vectors(Event[] events, int size, int changes) {
+		Random random = new Random(216);
+		ActivityVector current = ActivityVector.EMPTY;
+		for (int i = 0; i < size; i++) {
+			current = current.append(events[i]);
+		}
+		ArrayList<ActivityVector> versions = new ArrayList<ActivityVector>(changes);
+		int next = size;
+		for (int c = 0; c < changes; c++) {
+			versions.add(current);
+			if (c % 2 == 0) {
+				current = current.removeAt(random.nextInt(current.size()));
+			} else {
+				current = current.append(events[next++ % events.length]);
+			}
+		}
+		return versions;
+	}
+
+	/**
+	 * Gets the heap in use after collecting garbage
+	 * @return the bytes in use
+	 */
+	private static long used() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Keeps an object reachable until the heap has been measured
+	 * @param kept the object
+	 */
+	private static void keep(Object kept) {
+		if (kept.hashCode() == 0) {
+			System.out.print("");
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ScheduleHistory.
+ * @author Noah Benveniste
+ */
+public class ScheduleHistoryTest {
+
+	/**
+	 * Tests undoing and redoing changes, and that only the last depth changes are kept.
+	 */
+	@Test
+	public void testUndoRedo() {
+		ActivityVector[] versions = new ActivityVector[5];
+		versions[0] = ActivityVector.EMPTY;
+		for (int i = 1; i < versions.length; i++) {
+			versions[i] = versions[i - 1].append(new Event("Event " + i, "S", 800, 900, 1, ""));
+		}
+		ScheduleHistory history = new ScheduleHistory(3);
+		assertFalse(history.canUndo());
+		assertFalse(history.canRedo());
+		for (int i = 0; i < 4; i++) {
+			history.record(versions[i]);
+		}
+		assertEquals(3, history.getDepth());
+
+		assertSame(versions[3], history.peekUndo());
+		assertSame(versions[3], history.undo(versions[4]));
+		assertSame(versions[2], history.undo(versions[3]));
+		assertSame(versions[1], history.undo(versions[2]));
+		assertFalse(history.canUndo());
+		assertNull(history.peekUndo());
+		try {
+			history.undo(versions[1]);
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Nothing to undo.", e.getMessage());
+		}
+
+		assertSame(versions[2], history.redo(versions[1]));
+		assertTrue(history.canRedo());
+		history.record(versions[2]);
+		assertFalse(history.canRedo());
+		try {
+			history.redo(versions[3]);
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Nothing to redo.", e.getMessage());
+		}
+
+		history.setDepth(1);
+		assertSame(versions[2], history.undo(versions[3]));
+		assertFalse(history.canUndo());
+		history.clear();
+		assertFalse(history.canRedo());
+		try {
+			history.setDepth(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, history.getDepth());
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.ScheduleRecordReader;
+
+/**
+ * Benchmark for bulk loading a file of exported schedules. Compares reading the file with
+ * ScheduleRecordReader alone, importing it with SessionManager.importSchedules and rebuilding
+ * every schedule by hand the way a client had to before: splitting each line and calling
+ * addCourse or addEvent, which checks and publishes the schedule once per activity.
+ *
+ * Run with an optional number of schedules (default 10000).
+ * @author Noah Benveniste
+ */
+public class ScheduleImportBenchmark {
+
+	/** Number of courses in the generated catalog */
+	private static final int COURSES = 2000;
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T"};
+	/** Number of courses in each schedule */
+	private static final int COURSES_PER_SCHEDULE = 5;
+	/** Number of untimed rounds run before measuring */
+	private static final int WARMUP_ROUNDS = 2;
+	/** Number of timed rounds */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of schedules
+	 * @throws IOException if the file cannot be written or read
+	 */
+	public static void main(String[] args) throws IOException {
+		int schedules = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		ArrayList<Course> courses = new ArrayList<Course>(COURSES);
+		for (int i = 0; i < COURSES; i++) {
+			int start = 800 + (i % 10) * 100;
+			courses.add(new Course("CSC" + (100 + i / 10), "Topics " + i / 10, String.format("%03d", i % 10), 3,
+					"prof" + (i % 50), DAYS[i % DAYS.length], start, start + 50));
+		}
+		SharedCatalog catalog = new SharedCatalog(courses, new CourseLoadReport());
+		File file = File.createTempFile("schedules", ".txt");
+		write(file, courses, schedules);
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			read(file);
+			imported(catalog, file);
+			byHand(catalog, file);
+		}
+		long readNanos = 0;
+		long importNanos = 0;
+		long handNanos = 0;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			read(file);
+			readNanos += System.nanoTime() - start;
+			start = System.nanoTime();
+			imported(catalog, file);
+			importNanos += System.nanoTime() - start;
+			start = System.nanoTime();
+			byHand(catalog, file);
+			handNanos += System.nanoTime() - start;
+		}
+		System.out.printf("%d schedules, %d activities each, %.1f MB%n", schedules, COURSES_PER_SCHEDULE + 1, file.length() / 1e6);
+		print("Read only", readNanos, schedules);
+		print("importSchedules", importNanos, schedules);
+		print("By hand", handNanos, schedules);
+		System.out.printf("  Speedup over by hand: %.2fx%n", (double) handNanos / importNanos);
+		file.delete();
+	}
+
+	/**
+	 * Writes a file of schedules whose activities never conflict
+	 * @param file the file
+	 * @param courses the catalog's courses
+	 * @param schedules the number of schedules
+	 * @throws IOException if the file cannot be written
+	 */
+	private static void write(File file, ArrayList<Course> courses, int schedules) throws IOException {
+		PrintStream out = new PrintStream(file);
+		for (int s = 0; s < schedules; s++) {
+			out.println("student" + s + ",Schedule " + s);
+			for (int k = 0; k < COURSES_PER_SCHEDULE; k++) {
+				//A different course name and hour for each course in the schedule
+				out.println(courses.get(((s + k * 37) % (COURSES / 10)) * 10 + k * 2));
+			}
+			out.println(new Event("Work", "S", 900, 1700, 1, "Shift at the library, desk " + s % 4));
+			out.println();
+		}
+		out.close();
+	}
+
+	/**
+	 * Reads every schedule without loading it
+	 * @param file the file
+	 * @return the number of activities read
+	 * @throws IOException if the file cannot be read
+	 */
+	private static int read(File file) throws IOException {
+		ScheduleRecordReader reader = new ScheduleRecordReader(file.getPath());
+		int activities = 0;
+		while (reader.nextSchedule()) {
+			activities += reader.getActivities().size();
+		}
+		reader.close();
+		return activities;
+	}
+
+	/**
+	 * Imports every schedule into a new manager
+	 * @param catalog the catalog
+	 * @param file the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private static void imported(SharedCatalog catalog, File file) throws IOException {
+		SessionManager manager = new SessionManager(catalog);
+		ScheduleLoadReport report = manager.importSchedules(file.getPath());
+		if (report.getActivitiesRejected() > 0 || report.getInvalidLinesSkipped() > 0) {
+			throw new IllegalStateException(report.toString());
+		}
+		release(catalog);
+	}
+
+	/**
+	 * Rebuilds every schedule in a new manager one activity at a time
+	 * @param catalog the catalog
+	 * @param file the file
+	 * @throws IOException if the file cannot be read
+	 */
+	private static void byHand(SharedCatalog catalog, File file) throws IOException {
+		SessionManager manager = new SessionManager(catalog);
+		BufferedReader in = new BufferedReader(new FileReader(file));
+		String id = null;
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (line.isEmpty()) {
+				id = null;
+			} else if (id == null) {
+				String[] header = line.split(",", 2);
+				id = header[0];
+				manager.openSession(id);
+				manager.setTitle(id, header[1]);
+			} else {
+				String[] fields = line.split(",", 6);
+				if (fields[4].matches("\\d+")) {
+					manager.addEvent(id, fields[0], fields[1], Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+							Integer.parseInt(fields[4]), fields[5]);
+				} else if (!manager.addCourse(id, fields[0], fields[2])) {
+					throw new IllegalStateException("Unknown course " + line);
+				}
+			}
+		}
+		in.close();
+		release(catalog);
+	}
+
+	/**
+	 * Gives back every seat taken in the catalog, so the next round starts empty
+	 * @param catalog the catalog
+	 */
+	private static void release(SharedCatalog catalog) {
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.getCourse(i);
+			while (c.releaseSeat()) {
+				//release
+			}
+		}
+	}
+
+	/**
+	 * Prints the time and rate of one way of loading
+	 * @param label the way of loading
+	 * @param nanos the total time over every round
+	 * @param schedules the number of schedules in each round
+	 */
+	private static void print(String label, long nanos, int schedules) {
+		System.out.printf("  %-16s %8.1f ms %10.0f schedules/s%n", label, nanos / ROUNDS / 1e6, (double) schedules * ROUNDS / (nanos / 1e9));
+	}
+}
@@ -0,0 +1,302 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ScheduleSession.
+ * @author Noah Benveniste
+ */
+public class ScheduleSessionTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Number of sessions sharing one catalog */
+	private static final int SESSIONS = 10000;
+	/** Number of threads the sessions are split across */
+	private static final int THREADS = 4;
+
+	/**
+	 * Resets course_records.txt for use in other tests.
+	 * @throws Exception generic exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Path sourcePath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path destinationPath = FileSystems.getDefault().getPath("test-files", "course_records.txt");
+		try {
+			Files.deleteIfExists(destinationPath);
+			Files.copy(sourcePath, destinationPath);
+		} catch (IOException e) {
+			fail("Unable to reset files");
+		}
+	}
+
+	/**
+	 * Tests adding and removing activities in a session.
+	 */
+	@Test
+	public void testScheduleSession() {
+		SharedCatalog catalog = new SharedCatalog(validTestFile);
+		ScheduleSession session = new ScheduleSession(catalog);
+		assertSame(catalog, session.getSharedCatalog());
+		assertEquals(WolfScheduler.DEFAULT_SCHEDULE_NAME, session.getTitle());
+		assertEquals(0, session.getScheduledActivities().length);
+
+		assertFalse(session.addCourse("CSC492", "001"));
+		assertTrue(session.addCourse("CSC216", "001"));
+		assertSame(catalog.getCourseFromCatalog("CSC216", "001"), session.getActivity(0));
+		try {
+			session.addCourse("CSC216", "002");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("You are already enrolled in CSC216", e.getMessage());
+		}
+		Event event = session.addEvent("Gym", "MW", 900, 1030, 1, "");
+		assertSame(event, session.getActivity(1));
+		try {
+			session.addCourse("CSC226", "001");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The course cannot be added due to a conflict.", e.getMessage());
+		}
+		try {
+			session.addEvent("Lab", "H", 1400, 1500, 1, "");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The event cannot be added due to a conflict.", e.getMessage());
+		}
+		try {
+			session.addEvent("Gym", "F", 900, 1030, 1, "");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("You have already created an event called Gym", e.getMessage());
+		}
+		assertEquals(2, session.size());
+		assertEquals(3, session.getCompatibleCourses().size());
+		assertEquals(7, session.getFullScheduledActivities()[0].length);
+
+		assertNull(session.removeActivity(2));
+		assertSame(event, session.removeActivity(1));
+		assertEquals(1, session.getScheduledActivities().length);
+		session.resetSchedule();
+		assertEquals(0, session.size());
+
+		session.setTitle("Spring");
+		assertEquals("Spring", session.getTitle());
+		try {
+			session.setTitle(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Title cannot be null.", e.getMessage());
+		}
+		try {
+			new ScheduleSession(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests importing activities, which are checked against the catalog and each other in one pass.
+	 */
+	@Test
+	public void testImportSchedule() {
+		SharedCatalog catalog = new SharedCatalog(validTestFile);
+		Course full = catalog.getCourseFromCatalog("CSC230", "001");
+		full.setCapacity(0);
+		ScheduleSession session = new ScheduleSession(catalog);
+		session.addEvent("Gym", "MW", 800, 900, 1, "");
+
+		ArrayList<Activity> imported = new ArrayList<Activity>();
+		Course copy = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445);
+		imported.add(copy);
+		imported.add(new Course("CSC492", "Senior Design", "001", 3, "prof", "MW", 800, 900));
+		imported.add(new Event("Gym", "F", 800, 900, 1, ""));
+		imported.add(new Course("CSC216", "Programming Concepts - Java", "002", 4, "jtking", "MW", 1330, 1445));
+		imported.add(new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+		imported.add(new Event("Lab", "H", 1400, 1500, 1, ""));
+		imported.add(full);
+		imported.add(new Event("Lunch", "MTWHF", 1200, 1300, 1, ""));
+
+		ArrayList<Activity> rejected = session.importSchedule(imported);
+		assertEquals(4, session.size());
+		//Courses are the catalog's own objects
+		assertSame(catalog.getCourseFromCatalog("CSC216", "001"), session.getActivity(1));
+		assertNotSame(copy, session.getActivity(1));
+		assertEquals(1, catalog.getCourseFromCatalog("CSC216", "001").getEnrolled());
+		assertEquals("CSC116", ((Course) session.getActivity(2)).getName());
+		assertEquals("Lunch", session.getActivity(3).getTitle());
+		//Not in the catalog, a duplicate event, a duplicate course, a conflict, no open seats
+		assertEquals(5, rejected.size());
+		assertEquals("CSC492", ((Course) rejected.get(0)).getName());
+		assertEquals("Gym", rejected.get(1).getTitle());
+		assertEquals("002", ((Course) rejected.get(2)).getSection());
+		assertEquals("Lab", rejected.get(3).getTitle());
+		assertSame(full, rejected.get(4));
+		assertEquals(0, full.getEnrolled());
+
+		assertEquals(0, session.importSchedule(new ArrayList<Activity>()).size());
+		assertEquals(4, session.size());
+	}
+
+	/**
+	 * Tests undoing and redoing changes, including a reset, and that seats follow the schedule.
+	 */
+	@Test
+	public void testUndoRedo() {
+		SharedCatalog catalog = new SharedCatalog(validTestFile);
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		csc216.setCapacity(1);
+		ScheduleSession session = new ScheduleSession(catalog);
+		assertEquals(0, session.getHistoryDepth());
+		session.addEvent("Gym", "MW", 800, 900, 1, "");
+		assertFalse(session.canUndo());
+		assertFalse(session.undo());
+
+		session.setHistoryDepth(2);
+		assertEquals(2, session.getHistoryDepth());
+		session.addCourse("CSC216", "001");
+		session.addCourse("CSC226", "001");
+		List<Activity> before = session.getSnapshot();
+		session.resetSchedule();
+		assertEquals(0, session.size());
+		assertEquals(0, csc216.getEnrolled());
+
+		//Undoing the reset takes the seat back; only the last two changes are kept
+		assertTrue(session.undo());
+		assertEquals(before, session.getSnapshot());
+		assertSame(csc216, session.getActivity(1));
+		assertEquals(1, csc216.getEnrolled());
+		assertTrue(session.undo());
+		assertEquals(2, session.size());
+		assertFalse(session.canUndo());
+		assertTrue(session.redo());
+		assertTrue(session.redo());
+		assertFalse(session.redo());
+		assertEquals(0, session.size());
+
+		//Undoing a remove fails while another session holds the last seat
+		session.undo();
+		session.removeActivity(1);
+		ScheduleSession other = new ScheduleSession(catalog);
+		other.addCourse("CSC216", "001");
+		try {
+			session.undo();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The schedule cannot be restored because CSC216 is full.", e.getMessage());
+			assertEquals(2, session.size());
+			assertTrue(session.canUndo());
+		}
+		other.removeActivity(0);
+		assertTrue(session.undo());
+		assertSame(csc216, session.getActivity(1));
+		assertEquals(1, csc216.getEnrolled());
+
+		//An import is undone as one change
+		ArrayList<Activity> imported = new ArrayList<Activity>();
+		imported.add(new Event("Lunch", "MTWHF", 1200, 1300, 1, ""));
+		imported.add(new Event("Lab", "F", 1400, 1500, 1, ""));
+		session.importSchedule(imported);
+		assertEquals(5, session.size());
+		session.undo();
+		assertEquals(3, session.size());
+
+		session.setHistoryDepth(0);
+		assertFalse(session.canUndo());
+		assertFalse(session.canRedo());
+		try {
+			session.setHistoryDepth(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("History depth cannot be negative.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests generating schedules around the events in a session.
+	 */
+	@Test
+	public void testGenerateSchedules() {
+		ScheduleSession session = new ScheduleSession(new SharedCatalog(validTestFile));
+		session.addEvent("Gym", "MW", 900, 1030, 1, "");
+		ArrayList<ArrayList<Course>> schedules = session.generateSchedulesInParallel(Arrays.asList("CSC116", "CSC216"), 2, 100);
+		//CSC116-001 meets during the event, so only two of the three sections are used
+		assertEquals(6, schedules.size());
+		for (int i = 0; i < schedules.size(); i++) {
+			assertFalse("001".equals(schedules.get(i).get(0).getSection()));
+		}
+		assertTrue(session.generateSchedules(Arrays.asList("CSC116", "CSC216")).hasNext());
+	}
+
+	/**
+	 * Tests that many sessions on different threads share one catalog without copying it.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testSessionsShareCatalog() throws InterruptedException {
+		final SharedCatalog catalog = new SharedCatalog(validTestFile);
+		final ScheduleSession[] sessions = new ScheduleSession[SESSIONS];
+		final String[] sections = {"001", "002", "003"};
+		Thread[] threads = new Thread[THREADS];
+		final Throwable[] failure = new Throwable[1];
+		for (int t = 0; t < THREADS; t++) {
+			final int first = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = first; i < SESSIONS; i += THREADS) {
+							ScheduleSession session = new ScheduleSession(catalog);
+							session.addCourse("CSC116", sections[i % sections.length]);
+							//CSC230 conflicts with CSC116-002
+							if (i % sections.length != 1) {
+								session.addCourse("CSC230", "001");
+							}
+							session.getCompatibleCourses();
+							sessions[i] = session;
+						}
+					} catch (Throwable e) {
+						synchronized (failure) {
+							failure[0] = e;
+						}
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (int t = 0; t < THREADS; t++) {
+			threads[t].join();
+		}
+		assertNull(failure[0]);
+
+		Course csc230 = catalog.getCourseFromCatalog("CSC230", "001");
+		for (int i = 0; i < SESSIONS; i++) {
+			String section = sections[i % sections.length];
+			Activity first = sessions[i].getActivity(0);
+			assertSame(catalog.getCourseFromCatalog("CSC116", section), first);
+			if ("002".equals(section)) {
+				assertEquals(1, sessions[i].size());
+			} else {
+				assertSame(csc230, sessions[i].getActivity(1));
+			}
+		}
+		assertEquals(8, catalog.size());
+	}
+}
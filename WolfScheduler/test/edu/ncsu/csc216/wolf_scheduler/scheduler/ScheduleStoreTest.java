@@ -0,0 +1,355 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.JournalRecord;
+
+/**
+ * Tests ScheduleStore, including recovery after crashes at each step of a compaction.
+ * @author Noah Benveniste
+ */
+public class ScheduleStoreTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Name the store's files start with */
+	private final String storeName = "test-files/actual_store";
+	/** The catalog the sessions use */
+	private SharedCatalog catalog;
+
+	/**
+	 * Resets course_records.txt, reads the catalog and deletes store files left by earlier runs.
+	 * @throws Exception generic exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Path sourcePath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path destinationPath = FileSystems.getDefault().getPath("test-files", "course_records.txt");
+		try {
+			Files.deleteIfExists(destinationPath);
+			Files.copy(sourcePath, destinationPath);
+		} catch (IOException e) {
+			fail("Unable to reset files");
+		}
+		catalog = new SharedCatalog(validTestFile);
+		Files.deleteIfExists(Paths.get(storeName + ".journal"));
+		Files.deleteIfExists(Paths.get(storeName + ".journal.old"));
+		Files.deleteIfExists(Paths.get(storeName + ".snapshot"));
+	}
+
+	/**
+	 * Tests that every kind of change is recovered after the store is reopened.
+	 * @throws IOException if the store cannot be read or written
+	 */
+	@Test
+	public void testRecover() throws IOException {
+		ScheduleStore store = new ScheduleStore(catalog, storeName);
+		SessionManager m = store.getSessionManager();
+		assertEquals(0, m.size());
+		build(m);
+		assertEquals(11, store.getJournalLength());
+		store.close();
+
+		ScheduleStore reopened = new ScheduleStore(new SharedCatalog(validTestFile), storeName);
+		assertSame(m, store.getSessionManager());
+		assertSameSessions(m, reopened.getSessionManager());
+		assertEquals(0, reopened.getSkippedRecords());
+		assertEquals("Fall Schedule", reopened.getSessionManager().getTitle("jdoe"));
+		//Seats are reserved again as the courses are replayed
+		assertEquals(1, reopened.getSessionManager().getSharedCatalog().getCourseFromCatalog("CSC216", "001").getEnrolled());
+		reopened.close();
+
+		try {
+			m.setTitle("jdoe", "Too Late");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("The change cannot be saved.", e.getMessage());
+		}
+		try {
+			new ScheduleStore(catalog, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid store name.", e.getMessage());
+		}
+		try {
+			new ScheduleStore(catalog, storeName, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Records between compactions must be at least 1.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that changes are recovered without closing the store, as after a crash, both before
+	 * and after compacting.
+	 * @throws IOException if the store cannot be read or written
+	 */
+	@Test
+	public void testCompact() throws IOException {
+		ScheduleStore store = new ScheduleStore(catalog, storeName);
+		SessionManager m = store.getSessionManager();
+		build(m);
+		ScheduleStore crashed = new ScheduleStore(new SharedCatalog(validTestFile), storeName);
+		assertSameSessions(m, crashed.getSessionManager());
+		crashed.close();
+
+		store.compact();
+		assertEquals(0, store.getJournalLength());
+		assertTrue(Files.exists(Paths.get(storeName + ".snapshot")));
+		assertFalse(Files.exists(Paths.get(storeName + ".journal.old")));
+		m.removeActivity("jdoe", 0);
+		m.addCourse("jdoe", "CSC216", "002");
+		assertEquals(2, store.getJournalLength());
+
+		crashed = new ScheduleStore(new SharedCatalog(validTestFile), storeName);
+		assertSameSessions(m, crashed.getSessionManager());
+		assertEquals(2, crashed.getJournalLength());
+		crashed.close();
+		store.close();
+	}
+
+	/**
+	 * Tests recovery after a crash between rotating the journal and writing the snapshot, when
+	 * the only copy of the earlier changes is in the old journal.
+	 * @throws IOException if the store cannot be read or written
+	 */
+	@Test
+	public void testInterruptedCompaction() throws IOException {
+		ScheduleStore store = new ScheduleStore(catalog, storeName);
+		SessionManager m = store.getSessionManager();
+		build(m);
+		store.compact();
+		m.addCourse("asmith", "CSC226", "001");
+		//Rotate the journal but crash before the snapshot is written
+		m.checkpoint(new ArrayList<JournalRecord>(), storeName + ".journal.old");
+		m.setTitle("asmith", "Spring Schedule");
+
+		ScheduleStore recovered = new ScheduleStore(new SharedCatalog(validTestFile), storeName);
+		assertSameSessions(m, recovered.getSessionManager());
+		assertFalse(Files.exists(Paths.get(storeName + ".journal.old")));
+		assertEquals(0, recovered.getJournalLength());
+		recovered.close();
+
+		//The live store also covers the old journal the next time it compacts
+		m.checkpoint(new ArrayList<JournalRecord>(), storeName + ".journal.old");
+		m.resetSchedule("jdoe");
+		store.compact();
+		assertFalse(Files.exists(Paths.get(storeName + ".journal.old")));
+		recovered = new ScheduleStore(new SharedCatalog(validTestFile), storeName);
+		assertSameSessions(m, recovered.getSessionManager());
+		recovered.close();
+		store.close();
+	}
+
+	/**
+	 * Tests that schedules imported from a file are journaled.
+	 * @throws IOException if the store or the file cannot be read or written
+	 */
+	@Test
+	public void testImportSchedules() throws IOException {
+		PrintStream out = new PrintStream(new File("test-files/actual_schedules.txt"));
+		out.println("jdoe,Fall Schedule");
+		out.println("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445");
+		out.println("Gym,MW,900,1030,1,Bring shoes, a towel");
+		out.close();
+
+		ScheduleStore store = new ScheduleStore(catalog, storeName);
+		SessionManager m = store.getSessionManager();
+		assertEquals(2, m.importSchedules("test-files/actual_schedules.txt").getActivitiesLoaded());
+		assertEquals(4, store.getJournalLength());
+		store.close();
+
+		ScheduleStore reopened = new ScheduleStore(new SharedCatalog(validTestFile), storeName);
+		assertSameSessions(m, reopened.getSessionManager());
+		reopened.close();
+	}
+
+	/**
+	 * Tests that records that no longer apply to the catalog are skipped.
+	 * @throws IOException if the store cannot be read or written
+	 */
+	@Test
+	public void testSkippedRecords() throws IOException {
+		ScheduleStore store = new ScheduleStore(catalog, storeName);
+		SessionManager m = store.getSessionManager();
+		m.openSession("jdoe");
+		m.addCourse("jdoe", "CSC216", "001");
+		m.addCourse("jdoe", "CSC226", "001");
+		store.close();
+
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(catalog.getCourseFromCatalog("CSC226", "001"));
+		ScheduleStore reopened = new ScheduleStore(new SharedCatalog(courses, new CourseLoadReport()), storeName);
+		assertEquals(1, reopened.getSkippedRecords());
+		assertEquals(1, reopened.getSessionManager().getSchedule("jdoe").size());
+		reopened.close();
+	}
+
+	/**
+	 * Tests that a removal after a skipped record removes the activity that was removed, not the
+	 * one that has moved to its index.
+	 * @throws IOException if the store cannot be read or written
+	 */
+	@Test
+	public void testRemoveAfterSkippedRecord() throws IOException {
+		ScheduleStore store = new ScheduleStore(catalog, storeName);
+		SessionManager m = store.getSessionManager();
+		m.openSession("jdoe");
+		m.addCourse("jdoe", "CSC216", "001");
+		m.addCourse("jdoe", "CSC226", "001");
+		m.addEvent("jdoe", "Gym", "S", 900, 1030, 1, "");
+		m.addCourse("jdoe", "CSC230", "001");
+		assertEquals("CSC226", ((Course) m.removeActivity("jdoe", 1)).getName());
+		assertEquals("Gym", m.removeActivity("jdoe", 1).getTitle());
+		store.close();
+
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(catalog.getCourseFromCatalog("CSC226", "001"));
+		courses.add(catalog.getCourseFromCatalog("CSC230", "001"));
+		ScheduleStore reopened = new ScheduleStore(new SharedCatalog(courses, new CourseLoadReport()), storeName);
+		assertEquals(1, reopened.getSkippedRecords());
+		List<Activity> schedule = reopened.getSessionManager().getSchedule("jdoe");
+		assertEquals(1, schedule.size());
+		assertEquals("CSC230", ((Course) schedule.get(0)).getName());
+		reopened.close();
+	}
+
+	/**
+	 * Tests that changes made by many threads while the journal is compacted over and over are
+	 * all recovered.
+	 * @throws Exception if the store cannot be read or written or a thread is interrupted
+	 */
+	@Test
+	public void testConcurrentCompaction() throws Exception {
+		final ScheduleStore store = new ScheduleStore(catalog, storeName);
+		final SessionManager m = store.getSessionManager();
+		final int threads = 4;
+		final int sessions = 25;
+		final String[] days = {"M", "T", "W", "H", "F"};
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		final AtomicBoolean done = new AtomicBoolean();
+		Thread compactor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (!done.get()) {
+						store.compact();
+					}
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			}
+		});
+		compactor.start();
+		Thread[] pool = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int thread = t;
+			pool[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int s = 0; s < sessions; s++) {
+							String id = "student" + thread + "-" + s;
+							m.openSession(id);
+							for (int d = 0; d < days.length; d++) {
+								m.addEvent(id, "Work " + d, days[d], 800, 900, 1, "");
+							}
+							m.removeActivity(id, s % days.length);
+							m.setTitle(id, "Schedule " + s);
+							if (s % 5 == 0) {
+								m.closeSession(id);
+							}
+						}
+					} catch (Throwable e) {
+						errors.add(e);
+					}
+				}
+			});
+			pool[t].start();
+		}
+		for (int t = 0; t < threads; t++) {
+			pool[t].join();
+		}
+		done.set(true);
+		compactor.join();
+		assertEquals(errors.toString(), 0, errors.size());
+		assertEquals(threads * (sessions - sessions / 5), m.size());
+
+		ScheduleStore recovered = new ScheduleStore(new SharedCatalog(validTestFile), storeName);
+		assertSameSessions(m, recovered.getSessionManager());
+		recovered.close();
+		store.close();
+	}
+
+	/**
+	 * Makes one of every kind of change
+	 * @param m the manager to change
+	 */
+	private void build(SessionManager m) {
+		m.openSession("jdoe");
+		m.openSession("asmith");
+		m.openSession("gone");
+		m.addCourse("jdoe", "CSC216", "001");
+		m.addCourse("jdoe", "CSC116", "001");
+		m.addEvent("jdoe", "Gym", "F", 900, 1030, 2, "Bring \"shoes\"");
+		m.removeActivity("jdoe", 1);
+		m.setTitle("jdoe", "Fall Schedule");
+		m.addCourse("asmith", "CSC230", "001");
+		m.resetSchedule("asmith");
+		m.closeSession("gone");
+		//Changes that fail are not journaled
+		assertFalse(m.addCourse("jdoe", "CSC492", "001"));
+		assertNull(m.removeActivity("jdoe", 5));
+		try {
+			m.addCourse("jdoe", "CSC216", "002");
+			fail();
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+	}
+
+	/**
+	 * Checks that two managers have the same sessions with the same titles and schedules
+	 * @param expected the manager changes were made through
+	 * @param actual the manager recovered from disk
+	 */
+	private void assertSameSessions(SessionManager expected, SessionManager actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int t = 0; t < 4; t++) {
+			for (int s = 0; s < 25; s++) {
+				String id = "student" + t + "-" + s;
+				assertEquals(id, expected.isOpen(id), actual.isOpen(id));
+				if (expected.isOpen(id)) {
+					assertEquals(expected.getTitle(id), actual.getTitle(id));
+					assertEquals(expected.getSchedule(id), actual.getSchedule(id));
+				}
+			}
+		}
+		String[] ids = {"jdoe", "asmith", "gone"};
+		for (int i = 0; i < ids.length; i++) {
+			assertEquals(expected.isOpen(ids[i]), actual.isOpen(ids[i]));
+			if (expected.isOpen(ids[i])) {
+				assertEquals(expected.getTitle(ids[i]), actual.getTitle(ids[i]));
+				assertEquals(expected.getSchedule(ids[i]), actual.getSchedule(ids[i]));
+			}
+		}
+	}
+}
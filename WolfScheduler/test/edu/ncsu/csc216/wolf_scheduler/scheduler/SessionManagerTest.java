@@ -0,0 +1,523 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.ScheduleJournal;
+
+/**
+ * Tests SessionManager, including stress tests with many threads changing the same sessions.
+ * @author Noah Benveniste
+ */
+public class SessionManagerTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Number of writer threads in the stress tests */
+	private static final int THREADS = 8;
+	/** Number of sessions changed by every writer thread */
+	private static final int SESSIONS = 32;
+	/** Number of events each writer thread adds to each session */
+	private static final int EVENTS = 20;
+	/** Number of times the threads race to fill the same empty sessions */
+	private static final int ROUNDS = 50;
+	/** Single meeting days, so events on different days never conflict */
+	private static final String[] DAYS = {"U", "M", "T", "W", "H", "F", "S"};
+
+	/** The catalog the sessions use */
+	private SharedCatalog catalog;
+
+	/**
+	 * Resets course_records.txt and reads the catalog.
+	 * @throws Exception generic exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Path sourcePath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path destinationPath = FileSystems.getDefault().getPath("test-files", "course_records.txt");
+		try {
+			Files.deleteIfExists(destinationPath);
+			Files.copy(sourcePath, destinationPath);
+		} catch (IOException e) {
+			fail("Unable to reset files");
+		}
+		catalog = new SharedCatalog(validTestFile);
+	}
+
+	/**
+	 * Tests opening, changing and closing sessions on one thread.
+	 */
+	@Test
+	public void testSessionManager() {
+		SessionManager manager = new SessionManager(catalog, 4);
+		assertSame(catalog, manager.getSharedCatalog());
+		assertTrue(manager.openSession("jdoe"));
+		assertFalse(manager.openSession("jdoe"));
+		assertTrue(manager.openSession("asmith"));
+		assertEquals(2, manager.size());
+		assertTrue(manager.isOpen("jdoe"));
+		assertFalse(manager.isOpen(null));
+
+		assertTrue(manager.addCourse("jdoe", "CSC216", "001"));
+		assertFalse(manager.addCourse("jdoe", "CSC492", "001"));
+		manager.addEvent("jdoe", "Gym", "MW", 900, 1030, 1, "");
+		List<Activity> snapshot = manager.getSchedule("jdoe");
+		assertEquals(2, snapshot.size());
+		assertSame(catalog.getCourseFromCatalog("CSC216", "001"), snapshot.get(0));
+		assertEquals(0, manager.getSchedule("asmith").size());
+		assertEquals(3, manager.getCompatibleCourses("jdoe").size());
+
+		//A snapshot does not change when the session does
+		assertEquals("Gym", manager.removeActivity("jdoe", 1).getTitle());
+		assertNull(manager.removeActivity("jdoe", 1));
+		assertEquals(2, snapshot.size());
+		assertEquals(1, manager.getSchedule("jdoe").size());
+		try {
+			snapshot.clear();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+		manager.setTitle("jdoe", "Fall");
+		assertEquals("Fall", manager.getTitle("jdoe"));
+		manager.resetSchedule("jdoe");
+		assertEquals(0, manager.getSchedule("jdoe").size());
+
+		assertTrue(manager.closeSession("jdoe"));
+		assertFalse(manager.closeSession("jdoe"));
+		try {
+			manager.addCourse("jdoe", "CSC216", "001");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("No session is open for jdoe.", e.getMessage());
+		}
+		try {
+			manager.openSession(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Session id cannot be null.", e.getMessage());
+		}
+		try {
+			new SessionManager(catalog, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Stripes must be at least 1.", e.getMessage());
+		}
+		try {
+			new SessionManager(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that no change is lost when many threads add to the same sessions at once. The
+	 * sessions outnumber the locks, so threads also contend on sessions that share a lock.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testNoLostUpdates() throws InterruptedException {
+		final SessionManager manager = new SessionManager(catalog, 8);
+		for (int s = 0; s < SESSIONS; s++) {
+			manager.openSession("student" + s);
+		}
+		final AtomicInteger failures = new AtomicInteger();
+		runThreads(new Worker() {
+			@Override
+			public void run(int thread) {
+				for (int e = 0; e < EVENTS; e++) {
+					//Each thread uses its own ten minute slots, so no two events conflict
+					int slot = thread * EVENTS + e;
+					int start = (slot / 6 % 24) * 100 + (slot % 6) * 10;
+					String days = DAYS[slot / 144];
+					for (int s = 0; s < SESSIONS; s++) {
+						try {
+							manager.addEvent("student" + s, "Event " + slot, days, start, start + 5, 1, "");
+						} catch (IllegalArgumentException ex) {
+							failures.incrementAndGet();
+						}
+					}
+				}
+			}
+		});
+		assertEquals(0, failures.get());
+		for (int s = 0; s < SESSIONS; s++) {
+			assertEquals(THREADS * EVENTS, manager.getSchedule("student" + s).size());
+		}
+	}
+
+	/**
+	 * Tests that when many threads race to add conflicting activities to the same empty sessions,
+	 * exactly one wins in each session, and that a reader running at the same time never sees a
+	 * schedule with a conflict or a partly applied change.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testNoConflictingAdds() throws InterruptedException {
+		final SessionManager manager = new SessionManager(catalog, 8);
+		for (int s = 0; s < SESSIONS; s++) {
+			manager.openSession("student" + s);
+		}
+		final AtomicInteger added = new AtomicInteger();
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicInteger badSnapshots = new AtomicInteger();
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (!done.get()) {
+					for (int s = 0; s < SESSIONS; s++) {
+						if (!isConflictFree(manager.getSchedule("student" + s))) {
+							badSnapshots.incrementAndGet();
+						}
+					}
+				}
+			}
+		});
+		reader.start();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int s = 0; s < SESSIONS; s++) {
+				manager.resetSchedule("student" + s);
+			}
+			added.set(0);
+			runThreads(new Worker() {
+				@Override
+				public void run(int thread) {
+					String[] sections = {"001", "002", "601"};
+					for (int s = 0; s < SESSIONS; s++) {
+						String id = "student" + s;
+						//Every thread tries a CSC216 section and a study event, and CSC216-001 conflicts with the event
+						try {
+							if (manager.addCourse(id, "CSC216", sections[thread % sections.length])) {
+								added.incrementAndGet();
+							}
+						} catch (IllegalArgumentException e) {
+							//lost the race
+						}
+						try {
+							manager.addEvent(id, "Study " + thread, "TH", 1300, 1400, 1, "");
+							added.incrementAndGet();
+						} catch (IllegalArgumentException e) {
+							//lost the race
+						}
+					}
+				}
+			});
+			int total = 0;
+			for (int s = 0; s < SESSIONS; s++) {
+				List<Activity> schedule = manager.getSchedule("student" + s);
+				assertTrue(isConflictFree(schedule));
+				Course course = null;
+				int events = 0;
+				for (int i = 0; i < schedule.size(); i++) {
+					if (schedule.get(i) instanceof Course) {
+						assertNull(course);
+						course = (Course) schedule.get(i);
+					} else {
+						events++;
+					}
+				}
+				//A course is always tried before the event, so one is always enrolled
+				assertNotNull(course);
+				assertEquals("001".equals(course.getSection()) ? 0 : 1, events);
+				total += schedule.size();
+			}
+			assertEquals(total, added.get());
+		}
+		done.set(true);
+		reader.join();
+		assertEquals(0, badSnapshots.get());
+	}
+
+	/**
+	 * Tests importing a file of schedules into new and open sessions.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testImportSchedules() throws IOException {
+		SessionManager manager = new SessionManager(catalog);
+		manager.openSession("asmith");
+		manager.addEvent("asmith", "Lunch", "MWF", 1200, 1300, 1, "");
+		PrintStream out = new PrintStream(new File("test-files/actual_schedules.txt"));
+		out.println("jdoe,Fall Schedule");
+		out.println("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445");
+		out.println("Gym,MW,900,1030,1,");
+		out.println("CSC226,Discrete Mathematics for Computer Scientists,001,3,tmbarnes,MWF,935,1025");
+		out.println("CSC216,Programming Concepts - Java,1,4,sesmith5,TH,1330,1445");
+		out.println();
+		out.println("asmith");
+		out.println("CSC230,C and Software Tools,001,3,dbsturgi,MW,1145,1300");
+		out.println("CSC116,Intro to Programming - Java,003,3,tbdimitr,TH,1120,1310");
+		out.close();
+
+		ScheduleLoadReport report = manager.importSchedules("test-files/actual_schedules.txt");
+		assertEquals(2, report.getSchedulesLoaded());
+		assertEquals(3, report.getActivitiesLoaded());
+		assertEquals(2, report.getActivitiesRejected());
+		assertEquals(1, report.getInvalidLinesSkipped());
+		assertEquals("2 schedules loaded, 3 activities loaded, 2 activities rejected, 1 invalid lines skipped", report.toString());
+
+		assertEquals("Fall Schedule", manager.getTitle("jdoe"));
+		assertEquals(2, manager.getSchedule("jdoe").size());
+		assertSame(catalog.getCourseFromCatalog("CSC216", "001"), manager.getSchedule("jdoe").get(0));
+		assertEquals(WolfScheduler.DEFAULT_SCHEDULE_NAME, manager.getTitle("asmith"));
+		assertEquals(2, manager.getSchedule("asmith").size());
+		assertEquals("CSC116", ((Course) manager.getSchedule("asmith").get(1)).getName());
+
+		try {
+			manager.importSchedules("test-files/no_such_file.txt");
+			fail();
+		} catch (IOException e) {
+			assertEquals(2, manager.size());
+		}
+	}
+
+	/**
+	 * Tests exporting every session to one file and importing it into a new manager.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testExportSchedules() throws IOException {
+		SessionManager manager = new SessionManager(catalog);
+		assertEquals(0, manager.exportSchedules("test-files/actual_schedules.txt"));
+		assertEquals(0, new File("test-files/actual_schedules.txt").length());
+
+		manager.openSession("jdoe");
+		manager.setTitle("jdoe", "Fall Schedule, Take 2");
+		manager.addCourse("jdoe", "CSC216", "001");
+		manager.addEvent("jdoe", "Gym", "MW", 900, 1030, 1, "Bring shoes, a towel");
+		manager.openSession("asmith");
+		manager.openSession("bjones");
+		manager.addCourse("bjones", "CSC226", "001");
+		assertEquals(3, manager.exportSchedules("test-files/actual_schedules.txt"));
+
+		SessionManager copy = new SessionManager(new SharedCatalog(validTestFile));
+		ScheduleLoadReport report = copy.importSchedules("test-files/actual_schedules.txt");
+		assertEquals("3 schedules loaded, 3 activities loaded, 0 activities rejected, 0 invalid lines skipped", report.toString());
+		String[] ids = {"asmith", "bjones", "jdoe"};
+		for (String id : ids) {
+			assertEquals(manager.getTitle(id), copy.getTitle(id));
+			assertEquals(manager.getSchedule(id), copy.getSchedule(id));
+		}
+
+		try {
+			manager.exportSchedules("test-files/no_such_dir/schedules.txt");
+			fail();
+		} catch (IOException e) {
+			assertEquals(3, copy.size());
+		}
+	}
+
+	/**
+	 * Tests that a change that cannot be journaled is not made, and that a course it would have
+	 * added or removed keeps its seats as they were.
+	 * @throws IOException if the journal or the file of schedules cannot be written
+	 */
+	@Test
+	public void testJournalFailure() throws IOException {
+		String journalFile = "test-files/actual_manager.journal";
+		Files.deleteIfExists(Paths.get(journalFile));
+		SessionManager manager = new SessionManager(catalog);
+		ScheduleJournal journal = new ScheduleJournal(journalFile, 0);
+		manager.setJournal(journal);
+		manager.openSession("jdoe");
+		manager.addCourse("jdoe", "CSC216", "001");
+		manager.setTitle("jdoe", "Fall Schedule");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		Course csc226 = catalog.getCourseFromCatalog("CSC226", "001");
+		assertEquals(1, csc216.getEnrolled());
+
+		//Every append fails once the journal is closed
+		journal.close();
+		try {
+			manager.addCourse("jdoe", "CSC226", "001");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("The change cannot be saved.", e.getMessage());
+		}
+		assertEquals(0, csc226.getEnrolled());
+		try {
+			manager.addEvent("jdoe", "Gym", "S", 900, 1030, 1, "");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals(1, manager.getSchedule("jdoe").size());
+		}
+		try {
+			manager.removeActivity("jdoe", 0);
+			fail();
+		} catch (IllegalStateException e) {
+			assertSame(csc216, manager.getSchedule("jdoe").get(0));
+		}
+		try {
+			manager.resetSchedule("jdoe");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals(1, manager.getSchedule("jdoe").size());
+		}
+		assertEquals(1, csc216.getEnrolled());
+		try {
+			manager.setTitle("jdoe", "Spring Schedule");
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Fall Schedule", manager.getTitle("jdoe"));
+		}
+		try {
+			manager.openSession("asmith");
+			fail();
+		} catch (IllegalStateException e) {
+			assertFalse(manager.isOpen("asmith"));
+		}
+		try {
+			manager.closeSession("jdoe");
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(manager.isOpen("jdoe"));
+		}
+
+		PrintStream out = new PrintStream(new File("test-files/actual_schedules.txt"));
+		out.println("asmith,Imported");
+		out.println("CSC226,Discrete Mathematics for Computer Scientists,001,3,tmbarnes,MWF,935,1025");
+		out.println();
+		out.close();
+		try {
+			manager.importSchedules("test-files/actual_schedules.txt");
+			fail();
+		} catch (IllegalStateException e) {
+			assertFalse(manager.isOpen("asmith"));
+		}
+		assertEquals(0, csc226.getEnrolled());
+		Files.deleteIfExists(Paths.get(journalFile));
+	}
+
+	/**
+	 * Tests that students enrolling in a full section on many threads at once never take more
+	 * seats than it has, and that dropping a section gives its seat back.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testSeatCapacity() throws InterruptedException {
+		final SessionManager manager = new SessionManager(catalog, 8);
+		final Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		csc216.setCapacity(SESSIONS / 2);
+		for (int s = 0; s < THREADS * SESSIONS; s++) {
+			manager.openSession("student" + s);
+		}
+		final AtomicInteger enrolled = new AtomicInteger();
+		final AtomicInteger full = new AtomicInteger();
+		runThreads(new Worker() {
+			@Override
+			public void run(int thread) {
+				for (int s = thread * SESSIONS; s < (thread + 1) * SESSIONS; s++) {
+					try {
+						manager.addCourse("student" + s, "CSC216", "001");
+						enrolled.incrementAndGet();
+					} catch (IllegalArgumentException e) {
+						assertEquals("The course is full.", e.getMessage());
+						full.incrementAndGet();
+					}
+				}
+			}
+		});
+		assertEquals(SESSIONS / 2, enrolled.get());
+		assertEquals(THREADS * SESSIONS - SESSIONS / 2, full.get());
+		assertEquals(SESSIONS / 2, csc216.getEnrolled());
+		assertEquals(0, csc216.getOpenSeats());
+
+		//Every student who got a seat drops it or resets, and the seats come back
+		runThreads(new Worker() {
+			@Override
+			public void run(int thread) {
+				for (int s = thread * SESSIONS; s < (thread + 1) * SESSIONS; s++) {
+					String id = "student" + s;
+					if (s % 2 == 0) {
+						manager.removeActivity(id, 0);
+					} else {
+						manager.resetSchedule(id);
+					}
+				}
+			}
+		});
+		assertEquals(0, csc216.getEnrolled());
+		assertEquals(SESSIONS / 2, csc216.getOpenSeats());
+	}
+
+	/**
+	 * Checks that no two activities in a schedule conflict or duplicate each other
+	 * @param schedule the schedule to check
+	 * @return true if the schedule is valid, false otherwise
+	 */
+	private static boolean isConflictFree(List<Activity> schedule) {
+		for (int i = 0; i < schedule.size(); i++) {
+			for (int j = i + 1; j < schedule.size(); j++) {
+				if (schedule.get(i).conflictsWith(schedule.get(j)) || schedule.get(i).isDuplicate(schedule.get(j))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Runs a worker on THREADS threads that all start at once, and waits for them to finish
+	 * @param worker the work for each thread
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	private static void runThreads(final Worker worker) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final Throwable[] failure = new Throwable[1];
+		Thread[] threads = new Thread[THREADS];
+		for (int t = 0; t < THREADS; t++) {
+			final int thread = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						worker.run(thread);
+					} catch (Throwable e) {
+						synchronized (failure) {
+							failure[0] = e;
+						}
+					}
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (int t = 0; t < THREADS; t++) {
+			threads[t].join();
+		}
+		synchronized (failure) {
+			assertNull(failure[0]);
+		}
+	}
+
+	/**
+	 * Work done by one thread of a stress test.
+	 * @author Noah Benveniste
+	 */
+	private interface Worker {
+
+		/**
+		 * Does the work
+		 * @param thread the number of the thread, from 0 to THREADS - 1
+		 */
+		void run(int thread);
+	}
+}
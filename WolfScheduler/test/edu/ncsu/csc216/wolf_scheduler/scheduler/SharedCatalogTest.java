@@ -0,0 +1,159 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests SharedCatalog.
+ * @author Noah Benveniste
+ */
+public class SharedCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/**
+	 * Resets course_records.txt for use in other tests.
+	 * @throws Exception generic exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Path sourcePath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path destinationPath = FileSystems.getDefault().getPath("test-files", "course_records.txt");
+		try {
+			Files.deleteIfExists(destinationPath);
+			Files.copy(sourcePath, destinationPath);
+		} catch (IOException e) {
+			fail("Unable to reset files");
+		}
+	}
+
+	/**
+	 * Tests reading a catalog from a file.
+	 */
+	@Test
+	public void testSharedCatalogFromFile() {
+		SharedCatalog catalog = new SharedCatalog(validTestFile);
+		assertEquals(8, catalog.size());
+		assertEquals(1, catalog.getLoadReport().getDuplicatesSkipped());
+		assertEquals("CSC116", catalog.getCourse(0).getName());
+		assertSame(catalog.getCourse(4), catalog.getCourseFromCatalog("CSC216", "002"));
+		assertNull(catalog.getCourseFromCatalog("CSC492", "001"));
+		assertEquals(3, catalog.getSectionsFromCatalog("CSC216").size());
+		assertEquals(8, catalog.getCatalog().size());
+		assertEquals(1, catalog.getCoursesWithin("TH", 1300, 1500).size());
+		assertEquals(2, catalog.getCoursesOverlapping("MW", 1300, 1300).size());
+
+		//The display array is built once and shared
+		String[][] display = catalog.getCourseCatalog();
+		assertEquals(8, display.length);
+		assertEquals("CSC230", display[7][0]);
+		assertSame(display, catalog.getCourseCatalog());
+
+		assertEquals(0, new SharedCatalog().size());
+		assertEquals(0, new SharedCatalog().getCourseCatalog().length);
+		try {
+			new SharedCatalog("test-files/no_such_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests building a catalog from a list of courses.
+	 * @throws IOException if the course records cannot be read
+	 */
+	@Test
+	public void testSharedCatalogFromList() throws IOException {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		CourseLoadReport report = new CourseLoadReport();
+		SharedCatalog catalog = new SharedCatalog(courses, report);
+		assertSame(report, catalog.getLoadReport());
+		assertSame(courses.get(2), catalog.getCourse(2));
+
+		//The list is copied
+		courses.clear();
+		assertEquals(8, catalog.size());
+
+		courses.add(catalog.getCourse(0));
+		courses.add(null);
+		try {
+			new SharedCatalog(courses, report);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+		courses.set(1, catalog.getCourse(0));
+		try {
+			new SharedCatalog(courses, report);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+		try {
+			new SharedCatalog(null, report);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that an updated course keeps the seats of the version it replaces on a reload.
+	 * @throws IOException if the course records cannot be read
+	 */
+	@Test
+	public void testReloadKeepsSeats() throws IOException {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		SharedCatalog catalog = new SharedCatalog(courses, new CourseLoadReport());
+		Course old = catalog.getCourseFromCatalog("CSC216", "001");
+		old.setCapacity(30);
+		assertTrue(old.reserveSeat());
+
+		ArrayList<Course> incoming = CourseRecordIO.readCourseRecords(validTestFile);
+		incoming.get(3).setInstructorId("jtking");
+		CatalogReloadReport report = catalog.reload(incoming, new CourseLoadReport());
+		assertEquals(1, report.getUpdated().size());
+		Course updated = catalog.getCourseFromCatalog("CSC216", "001");
+		assertNotSame(old, updated);
+		assertEquals(30, updated.getCapacity());
+		assertEquals(1, updated.getEnrolled());
+		//Unchanged courses are kept, seats and all
+		assertSame(courses.get(4), catalog.getCourseFromCatalog("CSC216", "002"));
+	}
+
+	/**
+	 * Tests getting the courses compatible with a schedule that is not held by the catalog.
+	 */
+	@Test
+	public void testGetCompatibleCourses() {
+		SharedCatalog catalog = new SharedCatalog(validTestFile);
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+		assertEquals(8, catalog.getCompatibleCourses(schedule).size());
+
+		//CSC216-001 rules out the other CSC216 sections, and the event rules out MW mornings
+		schedule.add(catalog.getCourseFromCatalog("CSC216", "001"));
+		schedule.add(new Event("Gym", "MW", 900, 1030, 1, ""));
+		ArrayList<Course> compatible = catalog.getCompatibleCourses(schedule);
+		assertEquals(3, compatible.size());
+		assertEquals("CSC116", compatible.get(0).getName());
+		assertEquals("002", compatible.get(0).getSection());
+		assertEquals("003", compatible.get(1).getSection());
+		assertEquals("CSC230", compatible.get(2).getName());
+	}
+}
@@ -0,0 +1,179 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the TimeIndex class.
+ * @author Noah Benveniste
+ */
+public class TimeIndexTest {
+
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T", "MTWHF", "A"};
+	/** Day patterns used for queries */
+	private static final String[] QUERY_DAYS = {"M", "TH", "MTWHF", "U", "FS"};
+
+	/** CSC216-001, TH 1:30PM-2:45PM */
+	private final Course csc216001 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445);
+	/** CSC216-002, MW 1:30PM-2:45PM */
+	private final Course csc216002 = new Course("CSC216", "Programming Concepts - Java", "002", 4, "jtking", "MW", 1330, 1445);
+	/** CSC216-601, arranged */
+	private final Course csc216601 = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+	/** CSC116-003, TH 11:20AM-1:10PM */
+	private final Course csc116003 = new Course("CSC116", "Intro to Programming - Java", "003", 3, "tbdimitr", "TH", 1120, 1310);
+
+	/**
+	 * Tests queries on a small catalog.
+	 */
+	@Test
+	public void testQueries() {
+		ArrayList<Course> catalog = new ArrayList<Course>();
+		catalog.add(csc216001);
+		catalog.add(csc216002);
+		catalog.add(csc216601);
+		catalog.add(csc116003);
+		TimeIndex index = new TimeIndex(catalog);
+		//The arranged section is not indexed
+		assertEquals(3, index.size());
+		assertFalse(index.add(csc216601));
+		assertFalse(index.add(csc216001));
+
+		//Tuesday or Thursday between 1:00PM and 3:00PM
+		ArrayList<Course> within = index.getCoursesWithin("TH", 1300, 1500);
+		assertEquals(1, within.size());
+		assertSame(csc216001, within.get(0));
+		//Edges count
+		assertEquals(1, index.getCoursesWithin("H", 1330, 1445).size());
+		assertEquals(0, index.getCoursesWithin("H", 1331, 1445).size());
+
+		ArrayList<Course> overlapping = index.getCoursesOverlapping("TH", 1300, 1500);
+		assertEquals(2, overlapping.size());
+		assertSame(csc116003, overlapping.get(0));
+		assertSame(csc216001, overlapping.get(1));
+		assertEquals(1, index.getCoursesOverlapping("T", 1310, 1310).size());
+		//A course meeting on several of the days is listed once
+		assertEquals(3, index.getCoursesOverlapping("MTWHF", 0, 2359).size());
+		assertEquals(0, index.getCoursesOverlapping("USF", 0, 2359).size());
+
+		assertTrue(index.remove(csc216001));
+		assertFalse(index.remove(csc216001));
+		assertFalse(index.remove(csc216601));
+		assertEquals(0, index.getCoursesWithin("TH", 1300, 1500).size());
+		assertEquals(2, index.size());
+	}
+
+	/**
+	 * Tests that invalid queries are rejected.
+	 */
+	@Test
+	public void testInvalidQueries() {
+		TimeIndex index = new TimeIndex();
+		String[] days = {null, "", "A", "MX", "m"};
+		for (int i = 0; i < days.length; i++) {
+			try {
+				index.getCoursesWithin(days[i], 800, 900);
+				fail(days[i]);
+			} catch (IllegalArgumentException e) {
+				assertEquals("Invalid meeting days.", e.getMessage());
+			}
+		}
+		int[][] windows = {{900, 800}, {-1, 800}, {800, 2400}, {860, 900}, {800, 975}};
+		for (int i = 0; i < windows.length; i++) {
+			try {
+				index.getCoursesOverlapping("M", windows[i][0], windows[i][1]);
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("Invalid time window.", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Tests queries against a scan of a random catalog while courses are added and removed.
+	 */
+	@Test
+	public void testMatchesScan() {
+		Random random = new Random(216);
+		ArrayList<Course> present = new ArrayList<Course>();
+		TimeIndex index = new TimeIndex();
+		for (int step = 0; step < 600; step++) {
+			if (present.size() > 50 && random.nextInt(3) == 0) {
+				assertTrue(index.remove(present.remove(random.nextInt(present.size()))));
+			} else {
+				Course c = randomCourse(random, step);
+				if (index.add(c)) {
+					present.add(c);
+				}
+			}
+			if (step % 20 == 0) {
+				for (int q = 0; q < 10; q++) {
+					String days = QUERY_DAYS[random.nextInt(QUERY_DAYS.length)];
+					int start = (7 + random.nextInt(13)) * 100 + random.nextInt(60);
+					int end = Math.min(2359, start + random.nextInt(4) * 100);
+					checkQueries(index, present, days, start, end);
+				}
+			}
+		}
+		assertEquals(present.size(), index.size());
+	}
+
+	/**
+	 * Checks both queries against a scan of the courses in the index
+	 * @param index the index
+	 * @param present the courses in the index
+	 * @param days the days to search
+	 * @param start the start of the window
+	 * @param end the end of the window
+	 */
+	private void checkQueries(TimeIndex index, ArrayList<Course> present, String days, int start, int end) {
+		ArrayList<Course> within = index.getCoursesWithin(days, start, end);
+		ArrayList<Course> overlapping = index.getCoursesOverlapping(days, start, end);
+		int expectedWithin = 0;
+		int expectedOverlapping = 0;
+		for (int i = 0; i < present.size(); i++) {
+			Course c = present.get(i);
+			boolean onDay = false;
+			for (int d = 0; d < days.length(); d++) {
+				onDay |= c.getMeetingDays().indexOf(days.charAt(d)) >= 0;
+			}
+			boolean overlaps = onDay && c.getStartTime() <= end && c.getEndTime() >= start;
+			boolean inside = onDay && c.getStartTime() >= start && c.getEndTime() <= end;
+			assertEquals(overlaps, overlapping.contains(c));
+			assertEquals(inside, within.contains(c));
+			if (overlaps) {
+				expectedOverlapping++;
+			}
+			if (inside) {
+				expectedWithin++;
+			}
+		}
+		assertEquals(expectedWithin, within.size());
+		assertEquals(expectedOverlapping, overlapping.size());
+		for (int i = 1; i < overlapping.size(); i++) {
+			assertTrue(overlapping.get(i - 1).getStartTime() <= overlapping.get(i).getStartTime());
+		}
+	}
+
+	/**
+	 * Creates a pseudo-random section
+	 * @param random the random source
+	 * @param i a number to build the name from
+	 * @return the section
+	 */
+	private Course randomCourse(Random random, int i) {
+		String days = DAYS[random.nextInt(DAYS.length)];
+		if ("A".equals(days)) {
+			return new Course("CSC" + (100 + i % 900), "Course", "001", 3, "prof", days);
+		}
+		int start = (7 + random.nextInt(13)) * 100 + random.nextInt(60);
+		int end = Math.min(2359, start + 100 + random.nextInt(3) * 100);
+		return new Course("CSC" + (100 + i % 900), "Course", "001", 3, "prof", days, start, end);
+	}
+}
@@ -3,10 +3,15 @@ package edu.ncsu.csc216.wolf_scheduler.scheduler;
 import static org.junit.Assert.*;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Scanner;
 
 import org.junit.Before;
@@ -14,6 +19,9 @@ import org.junit.Test;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogSnapshotIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
 
 /**
  * Tests the WolfScheduler class.
@@ -90,7 +98,20 @@ public class WolfSchedulerTest {
 		
 		//Test with valid file containing 8 courses.  Will test other methods in other tests.
 		WolfScheduler ws2 = new WolfScheduler(validTestFile);
-		assertEquals(8, ws2.getCourseCatalog().length);		
+		assertEquals(8, ws2.getCourseCatalog().length);
+		assertEquals(1, ws2.getCatalogLoadReport().getDuplicatesSkipped());
+		assertEquals(17, ws1.getCatalogLoadReport().getInvalidLinesSkipped());
+		
+		//Test with a snapshot of the valid file
+		try {
+			CatalogSnapshotIO.convertCourseRecords(validTestFile, "test-files/actual_catalog_snapshot.dat");
+		} catch (IOException e) {
+			fail("Unable to write snapshot");
+		}
+		WolfScheduler ws3 = new WolfScheduler("test-files/actual_catalog_snapshot.dat");
+		assertTrue(Arrays.deepEquals(ws2.getCourseCatalog(), ws3.getCourseCatalog()));
+		assertEquals(8, ws3.getCatalogLoadReport().getCoursesLoaded());
+		assertEquals(ws2.getCourseFromCatalog("CSC216", "601"), ws3.getCourseFromCatalog("CSC216", "601"));
 	}
 	
 	/**
@@ -107,7 +128,214 @@ public class WolfSchedulerTest {
 		Activity c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
 		assertEquals(c, ws.getCourseFromCatalog("CSC216", "001"));
 	}
+
+	/**
+	 * Test WolfScheduler.getSectionsFromCatalog().
+	 */
+	@Test
+	public void testGetSectionsFromCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+
+		//Attempt to get sections of a course that doesn't exist
+		assertEquals(0, ws.getSectionsFromCatalog("CSC492").size());
+
+		//The duplicate CSC116-002 in the file is not a separate section
+		ArrayList<Course> sections = ws.getSectionsFromCatalog("CSC116");
+		assertEquals(3, sections.size());
+		assertEquals("001", sections.get(0).getSection());
+		assertEquals("002", sections.get(1).getSection());
+		assertEquals("spbalik", sections.get(1).getInstructorId());
+		assertEquals("003", sections.get(2).getSection());
+		assertSame(ws.getCourseFromCatalog("CSC116", "002"), sections.get(1));
+	}
+	
+	/**
+	 * Test WolfScheduler.getCoursesWithin() and getCoursesOverlapping().
+	 */
+	@Test
+	public void testTimeQueries() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//Sections meeting Tuesday or Thursday between 1:00PM and 3:00PM
+		ArrayList<Course> within = ws.getCoursesWithin("TH", 1300, 1500);
+		assertEquals(1, within.size());
+		assertEquals("CSC216", within.get(0).getName());
+		assertEquals("001", within.get(0).getSection());
+		
+		//CSC116-003 ends at 1:10PM, so it overlaps the window but is not inside it
+		ArrayList<Course> overlapping = ws.getCoursesOverlapping("TH", 1300, 1500);
+		assertEquals(2, overlapping.size());
+		assertEquals("003", overlapping.get(0).getSection());
+		
+		//Monday mornings
+		assertEquals(2, ws.getCoursesWithin("M", 800, 1100).size());
+		try {
+			ws.getCoursesWithin("A", 800, 1100);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid meeting days.", e.getMessage());
+		}
+		
+		//The index follows a reload
+		String reloadFile = "test-files/actual_reload_records.txt";
+		try {
+			PrintStream out = new PrintStream(new File(reloadFile));
+			out.println("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445");
+			out.println("CSC216,Programming Concepts - Java,002,4,jtking,TH,1400,1450");
+			out.close();
+		} catch (IOException e) {
+			fail("Unable to write " + reloadFile);
+		}
+		ws.reloadCatalog(reloadFile);
+		assertEquals(2, ws.getCoursesWithin("TH", 1300, 1500).size());
+		assertEquals(0, ws.getCoursesWithin("M", 800, 1100).size());
+	}
 	
+	/**
+	 * Test WolfScheduler.reloadCatalog().
+	 */
+	@Test
+	public void testReloadCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertTrue(ws.addCourse("CSC116", "002"));
+		assertTrue(ws.addCourse("CSC216", "001"));
+		assertTrue(ws.addCourse("CSC226", "001"));
+		ws.addEvent("Exercise", "U", 800, 900, 1, "Gym");
+		Course csc230 = ws.getCourseFromCatalog("CSC230", "001");
+		
+		//A missing file changes nothing
+		try {
+			ws.reloadCatalog("test-files/no_such_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+		assertEquals(4, ws.getScheduledActivities().length);
+		
+		//CSC116-002 moves onto CSC216-001, CSC216-002 changes instructor, CSC226-001 is dropped
+		//and CSC316-001 is new
+		String reloadFile = "test-files/actual_reload_records.txt";
+		try {
+			PrintStream out = new PrintStream(new File(reloadFile));
+			out.println("CSC116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100");
+			out.println("CSC116,Intro to Programming - Java,002,3,spbalik,TH,1330,1400");
+			out.println("CSC116,Intro to Programming - Java,003,3,tbdimitr,TH,1120,1310");
+			out.println("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445");
+			out.println("CSC216,Programming Concepts - Java,002,4,jdyoung2,MW,1330,1445");
+			out.println("CSC216,Programming Concepts - Java,601,4,jep,A");
+			out.println("CSC230,C and Software Tools,001,3,dbsturgi,MW,1145,1300");
+			out.println("CSC316,Data Structures and Algorithms,001,3,jtking,MW,1500,1615");
+			out.println("not a course");
+			out.close();
+		} catch (IOException e) {
+			fail("Unable to write " + reloadFile);
+		}
+		CatalogReloadReport report = ws.reloadCatalog(reloadFile);
+		assertTrue(report.isCatalogChanged());
+		assertEquals("1 added, 2 updated, 1 removed, 1 invalidated, 2 conflicting", report.toString());
+		assertEquals("CSC316", report.getAdded().get(0).getName());
+		assertEquals("002", report.getUpdated().get(0).getSection());
+		assertEquals("jdyoung2", report.getUpdated().get(1).getInstructorId());
+		assertEquals("CSC226", report.getRemoved().get(0).getName());
+		assertEquals("CSC226", ((Course) report.getInvalidated().get(0)).getName());
+		assertEquals(1, report.getLoadReport().getInvalidLinesSkipped());
+		assertSame(report.getLoadReport(), ws.getCatalogLoadReport());
+		
+		//The catalog is in file order, and unchanged courses keep their identity
+		String[][] catalog = ws.getCourseCatalog();
+		assertEquals(8, catalog.length);
+		assertEquals("CSC316", catalog[7][0]);
+		assertSame(csc230, ws.getCourseFromCatalog("CSC230", "001"));
+		assertNull(ws.getCourseFromCatalog("CSC226", "001"));
+		assertEquals("TH 1:30PM-2:00PM", ws.getCourseFromCatalog("CSC116", "002").getMeetingString());
+		
+		//The schedule keeps the event, drops CSC226 and has the new CSC116-002, which now conflicts
+		String[][] schedule = ws.getScheduledActivities();
+		assertEquals(3, schedule.length);
+		assertEquals("CSC116", schedule[0][0]);
+		assertEquals("TH 1:30PM-2:00PM", schedule[0][3]);
+		assertEquals("CSC216", schedule[1][0]);
+		assertEquals("Exercise", schedule[2][2]);
+		assertEquals("CSC116", ((Course) report.getConflicting().get(0)).getName());
+		assertEquals("CSC216", ((Course) report.getConflicting().get(1)).getName());
+		
+		//The index and conflict matrix follow the reload
+		ws.resetSchedule();
+		assertTrue(ws.addCourse("CSC316", "001"));
+		ArrayList<Course> compatible = ws.getCompatibleCourses();
+		for (int i = 0; i < compatible.size(); i++) {
+			assertFalse(compatible.get(i).conflictsWith(ws.getCourseFromCatalog("CSC316", "001")));
+			assertFalse("CSC316".equals(compatible.get(i).getName()));
+			assertFalse("CSC226".equals(compatible.get(i).getName()));
+		}
+		assertEquals(7, compatible.size());
+		
+		//Reloading the same file again changes nothing
+		report = ws.reloadCatalog(reloadFile);
+		assertFalse(report.isCatalogChanged());
+		assertEquals("0 added, 0 updated, 0 removed, 0 invalidated, 0 conflicting", report.toString());
+	}
+	
+	/**
+	 * Test WolfScheduler() followed by WolfScheduler.reloadCatalog() with courses read elsewhere.
+	 * @throws FileNotFoundException if the course records cannot be read
+	 */
+	@Test
+	public void testReloadCatalogFromList() throws FileNotFoundException {
+		WolfScheduler ws = new WolfScheduler();
+		assertEquals(0, ws.getCourseCatalog().length);
+		assertEquals(0, ws.getScheduledActivities().length);
+		assertEquals(WolfScheduler.DEFAULT_SCHEDULE_NAME, ws.getTitle());
+		assertFalse(ws.addCourse(NAME, SECTION));
+		
+		CourseLoadReport loadReport = new CourseLoadReport();
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, loadReport);
+		
+		//A catalog with a repeated course is rejected without changing anything
+		ArrayList<Course> repeated = new ArrayList<Course>(courses);
+		repeated.add(courses.get(0));
+		try {
+			ws.reloadCatalog(repeated, loadReport);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+		assertEquals(0, ws.getCourseCatalog().length);
+		
+		CatalogReloadReport report = ws.reloadCatalog(courses, loadReport);
+		assertEquals(8, report.getAdded().size());
+		assertSame(loadReport, ws.getCatalogLoadReport());
+		assertEquals(8, ws.getCourseCatalog().length);
+		assertTrue(ws.addCourse(NAME, SECTION));
+		assertSame(courses.get(3), ws.getCourseFromCatalog(NAME, SECTION));
+	}
+	
+	/**
+	 * Test WolfScheduler.getCompatibleCourses().
+	 */
+	@Test
+	public void testGetCompatibleCourses() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(8, ws.getCompatibleCourses().size());
+
+		//CSC116-002 rules out the other CSC116 sections and CSC230-001
+		assertTrue(ws.addCourse("CSC116", "002"));
+		ArrayList<Course> compatible = ws.getCompatibleCourses();
+		assertEquals(4, compatible.size());
+		for (int i = 0; i < compatible.size(); i++) {
+			assertFalse("CSC116".equals(compatible.get(i).getName()));
+			assertFalse("CSC230".equals(compatible.get(i).getName()));
+		}
+
+		//Events are checked too
+		ws.addEvent(EVENT_TITLE, "TH", 1400, 1500, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+		compatible = ws.getCompatibleCourses();
+		assertEquals(3, compatible.size());
+		assertEquals("601", compatible.get(0).getSection());
+		assertEquals("CSC226", compatible.get(1).getName());
+		assertEquals("002", compatible.get(2).getSection());
+	}
+
 	/**
 	 * Test WolfScheduler.addCourse().
 	 */
@@ -144,6 +372,43 @@ public class WolfSchedulerTest {
 		}
 	}
 	
+	/**
+	 * Test WolfScheduler.generateSchedules().
+	 */
+	@Test
+	public void testGenerateSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+
+		//Every CSC216 section fits alongside CSC226
+		Iterator<ArrayList<Course>> schedules = ws.generateSchedules(Arrays.asList(NAME, "CSC226"));
+		int count = 0;
+		while (schedules.hasNext()) {
+			ArrayList<Course> s = schedules.next();
+			assertEquals(NAME, s.get(0).getName());
+			assertEquals("CSC226", s.get(1).getName());
+			count++;
+		}
+		assertEquals(3, count);
+
+		//Events in the schedule are fixed, but courses in the schedule are not
+		ws.addCourse("CSC116", "001");
+		ws.addEvent("Lab", "MW", 1330, 1445, 1, "");
+		schedules = ws.generateSchedules(Arrays.asList(NAME, "CSC226"));
+		count = 0;
+		while (schedules.hasNext()) {
+			assertFalse("002".equals(schedules.next().get(0).getSection()));
+			count++;
+		}
+		assertEquals(2, count);
+
+		//The parallel search finds the same schedules
+		ArrayList<ArrayList<Course>> all = ws.generateSchedulesInParallel(Arrays.asList(NAME, "CSC226"), 2, 10);
+		assertEquals(2, all.size());
+		assertEquals("001", all.get(0).get(0).getSection());
+		assertEquals("601", all.get(1).get(0).getSection());
+		assertEquals(1, ws.generateSchedulesInParallel(Arrays.asList(NAME, "CSC226"), 2, 1).size());
+	}
+
 	/**
 	 * Test WolfScheduler.addEvent().
 	 */
@@ -247,6 +512,62 @@ public class WolfSchedulerTest {
 		assertEquals(1, ws.getFullScheduledActivities().length);
 	}
 	
+	/**
+	 * Test WolfScheduler.addScheduleChangeListener() and removeScheduleChangeListener().
+	 */
+	@Test
+	public void testScheduleChangeListener() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		final ArrayList<ScheduleChangeEvent> events = new ArrayList<ScheduleChangeEvent>();
+		ScheduleChangeListener listener = new ScheduleChangeListener() {
+			@Override
+			public void scheduleChanged(ScheduleChangeEvent event) {
+				events.add(event);
+			}
+		};
+		try {
+			ws.addScheduleChangeListener(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Listener cannot be null.", e.getMessage());
+		}
+		ws.addScheduleChangeListener(listener);
+		
+		//Adds report the new index and activity, and failed changes report nothing
+		assertTrue(ws.addCourse(NAME, SECTION));
+		ws.addEvent(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT, EVENT_DETAILS);
+		assertFalse(ws.addCourse("CSC999", "001"));
+		assertFalse(ws.removeActivity(5));
+		assertEquals(2, events.size());
+		assertEquals(ScheduleChangeEvent.Type.ACTIVITY_ADDED, events.get(0).getType());
+		assertEquals(0, events.get(0).getIndex());
+		assertEquals(NAME, ((Course) events.get(0).getActivity()).getName());
+		assertSame(ws, events.get(0).getSource());
+		assertEquals(1, events.get(1).getIndex());
+		assertEquals(EVENT_TITLE, events.get(1).getActivity().getTitle());
+		
+		//Removes report the old index and activity
+		assertTrue(ws.removeActivity(0));
+		assertEquals(ScheduleChangeEvent.Type.ACTIVITY_REMOVED, events.get(2).getType());
+		assertEquals(0, events.get(2).getIndex());
+		assertEquals(NAME, ((Course) events.get(2).getActivity()).getName());
+		
+		ws.resetSchedule();
+		assertEquals(ScheduleChangeEvent.Type.SCHEDULE_RESET, events.get(3).getType());
+		assertEquals(-1, events.get(3).getIndex());
+		assertNull(events.get(3).getActivity());
+		
+		CatalogReloadReport report = ws.reloadCatalog(validTestFile);
+		assertEquals(ScheduleChangeEvent.Type.CATALOG_RELOADED, events.get(4).getType());
+		assertSame(report, events.get(4).getReloadReport());
+		
+		//Nothing is reported once the listener is removed
+		assertTrue(ws.removeScheduleChangeListener(listener));
+		assertFalse(ws.removeScheduleChangeListener(listener));
+		assertTrue(ws.addCourse(NAME, SECTION));
+		assertEquals(5, events.size());
+	}
+	
 	/**
 	 * Test WolfScheduler.getCourseCatalog().
 	 */
@@ -297,6 +618,47 @@ public class WolfSchedulerTest {
 		assertEquals("001", catalog[7][1]);
 		assertEquals("C and Software Tools", catalog[7][2]);
 		assertEquals("MW 11:45AM-1:00PM", catalog[7][3]);
+		
+		//The array is reused while the catalog is unchanged, even when the schedule changes
+		assertSame(catalog, ws.getCourseCatalog());
+		assertTrue(ws.addCourse("CSC216", "001"));
+		assertSame(catalog, ws.getCourseCatalog());
+		assertFalse(ws.reloadCatalog("test-files/starter_course_records.txt").isCatalogChanged());
+		assertSame(catalog, ws.getCourseCatalog());
+		
+		//A reload that changes the catalog rebuilds it
+		ws.reloadCatalog("test-files/invalid_course_records.txt");
+		assertEquals(0, ws.getCourseCatalog().length);
+	}
+	
+	/**
+	 * Test WolfScheduler.getCatalogSize() and getCatalogCourse().
+	 */
+	@Test
+	public void testGetCatalogCourse() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		String[][] catalog = ws.getCourseCatalog();
+		assertEquals(catalog.length, ws.getCatalogSize());
+		for (int i = 0; i < catalog.length; i++) {
+			assertArrayEquals(catalog[i], ws.getCatalogCourse(i).getShortDisplayArray());
+		}
+		assertSame(ws.getCourseFromCatalog("CSC230", "001"), ws.getCatalogCourse(7));
+		try {
+			ws.getCatalogCourse(8);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//expected
+		}
+		
+		//A catalog view keeps the catalog it was taken from
+		CourseCatalog view = ws.getCatalog();
+		assertEquals(8, view.size());
+		assertSame(ws.getCatalogCourse(3), view.getCourse(3));
+		
+		ws.reloadCatalog("test-files/invalid_course_records.txt");
+		assertEquals(0, ws.getCatalogSize());
+		assertEquals(0, ws.getCatalog().size());
+		assertEquals(8, view.size());
 	}
 	
 	/**
@@ -385,6 +747,60 @@ public class WolfSchedulerTest {
 		}
 	}
 	
+	/**
+	 * Test WolfScheduler.undo() and WolfScheduler.redo() after removes and a reset.
+	 */
+	@Test
+	public void testUndoRedo() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(WolfScheduler.DEFAULT_HISTORY_DEPTH, ws.getHistoryDepth());
+		final ArrayList<ScheduleChangeEvent> events = new ArrayList<ScheduleChangeEvent>();
+		ws.addScheduleChangeListener(new ScheduleChangeListener() {
+			@Override
+			public void scheduleChanged(ScheduleChangeEvent event) {
+				events.add(event);
+			}
+		});
+		assertFalse(ws.canUndo());
+		assertFalse(ws.undo());
+		assertFalse(ws.redo());
+		assertEquals(0, events.size());
+
+		ws.addCourse("CSC216", "002");
+		ws.addEvent(EVENT_TITLE, "TH", 800, 900, 2, "Weights");
+		ws.addCourse("CSC226", "001");
+		String[][] full = ws.getScheduledActivities();
+		ws.removeActivity(1);
+		ws.resetSchedule();
+		assertEquals(0, ws.getScheduledActivities().length);
+		events.clear();
+
+		assertTrue(ws.undo());
+		assertEquals(2, ws.getScheduledActivities().length);
+		assertEquals(ScheduleChangeEvent.Type.SCHEDULE_RESTORED, events.get(0).getType());
+		assertEquals(-1, events.get(0).getIndex());
+		assertNull(events.get(0).getActivity());
+		assertTrue(ws.undo());
+		assertArrayEquals(full, ws.getScheduledActivities());
+		assertTrue(ws.canRedo());
+		assertTrue(ws.redo());
+		assertEquals(2, ws.getScheduledActivities().length);
+		assertEquals(3, events.size());
+
+		//A new change cannot be redone past, and a reload forgets every change
+		ws.addEvent("Lunch", "MTWHF", 1200, 1300, 1, "");
+		assertFalse(ws.canRedo());
+		ws.reloadCatalog(validTestFile);
+		assertFalse(ws.canUndo());
+
+		ws.setHistoryDepth(1);
+		ws.removeActivity(0);
+		ws.removeActivity(0);
+		assertTrue(ws.undo());
+		assertFalse(ws.undo());
+		assertEquals(2, ws.getScheduledActivities().length);
+	}
+
 	/**
 	 * Test WolfScheduler.exportSchedule().
 	 */
@@ -403,6 +819,47 @@ public class WolfSchedulerTest {
 		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
 	}
 	
+	/**
+	 * Test WolfScheduler.importSchedule() by importing an exported schedule into a new scheduler.
+	 */
+	@Test
+	public void testImportSchedule() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourse("CSC216", "002");
+		ws.addEvent(EVENT_TITLE, "TH", 800, 900, 2, "Weights, then cardio");
+		ws.addCourse("CSC226", "001");
+		ws.exportSchedule("test-files/actual_schedule_export.txt");
+
+		WolfScheduler imported = new WolfScheduler(validTestFile);
+		final ArrayList<ScheduleChangeEvent> events = new ArrayList<ScheduleChangeEvent>();
+		imported.addScheduleChangeListener(new ScheduleChangeListener() {
+			@Override
+			public void scheduleChanged(ScheduleChangeEvent event) {
+				events.add(event);
+			}
+		});
+		imported.addEvent("Lunch", "MWF", 1000, 1030, 1, "");
+		events.clear();
+		ArrayList<Activity> rejected = imported.importSchedule("test-files/actual_schedule_export.txt");
+		assertEquals(1, rejected.size());
+		assertEquals("CSC226", ((Course) rejected.get(0)).getName());
+		assertEquals(3, imported.getScheduledActivities().length);
+		assertEquals("002", imported.getScheduledActivities()[1][1]);
+		assertArrayEquals(ws.getFullScheduledActivities()[1], imported.getFullScheduledActivities()[2]);
+		assertEquals(2, events.size());
+		assertEquals(ScheduleChangeEvent.Type.ACTIVITY_ADDED, events.get(0).getType());
+		assertEquals(1, events.get(0).getIndex());
+		assertEquals(2, events.get(1).getIndex());
+
+		try {
+			imported.importSchedule("test-files/no_such_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+			assertEquals(3, imported.getScheduledActivities().length);
+		}
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -0,0 +1,194 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionManager;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SharedCatalog;
+
+/**
+ * Local load generator for ScheduleServer. Simulated students each search the catalog, add a
+ * course and an event, read their schedule, drop the course and export the schedule. Every
+ * student takes each step before any student takes the next, so all of the students' sessions
+ * are in use at once, and a pool of client threads sends the requests over keep-alive
+ * connections. Reports the p50 and p99 latency and the requests per second.
+ *
+ * Run with an optional number of students (default 10000), client threads (default 200) and
+ * server threads (default ScheduleServer.DEFAULT_THREADS).
+ * @author Noah Benveniste
+ */
+public class ScheduleServerBenchmark {
+
+	/** Number of courses in the generated catalog */
+	private static final int COURSES = 2000;
+	/** Meeting day patterns used for generated sections */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "T"};
+	/** Number of requests each student sends */
+	private static final int STEPS = 6;
+	/** Number of students simulated before measuring */
+	private static final int WARMUP_STUDENTS = 1000;
+
+	/**
+	 * Runs the benchmark
+	 * @param args optional number of students, client threads and server threads
+	 * @throws IOException if the server cannot be started
+	 * @throws InterruptedException if the benchmark is interrupted
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int students = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		int serverThreads = args.length > 2 ? Integer.parseInt(args[2]) : ScheduleServer.DEFAULT_THREADS;
+		//Keep a connection open for every client thread
+		System.setProperty("http.maxConnections", String.valueOf(clients));
+
+		ArrayList<Course> courses = new ArrayList<Course>(COURSES);
+		for (int i = 0; i < COURSES; i++) {
+			int start = 800 + (i % 10) * 100;
+			courses.add(new Course("CSC" + (100 + i / 10), "Topics " + i / 10, String.format("%03d", i % 10), 3,
+					"prof" + (i % 50), DAYS[i % DAYS.length], start, start + 50));
+		}
+		ScheduleServer server = new ScheduleServer(new SessionManager(new SharedCatalog(courses, new CourseLoadReport())),
+				0, serverThreads);
+		server.start();
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		try {
+			String base = "http://127.0.0.1:" + server.getPort();
+			run(pool, base, "warmup", WARMUP_STUDENTS);
+			long start = System.nanoTime();
+			long[] latencies = run(pool, base, "student", students);
+			long nanos = System.nanoTime() - start;
+
+			Arrays.sort(latencies);
+			System.out.printf("%d students, %d client threads, %d server threads%n", students, clients, serverThreads);
+			System.out.printf("Requests  %d in %.1f s, %.0f requests/s%n", latencies.length, nanos / 1e9, latencies.length / (nanos / 1e9));
+			System.out.printf("Latency   p50 %.2f ms, p99 %.2f ms, max %.2f ms%n", percentile(latencies, 50) / 1e6,
+					percentile(latencies, 99) / 1e6, latencies[latencies.length - 1] / 1e6);
+			System.out.printf("Sessions  %d open%n", server.getSessionManager().size());
+		} finally {
+			pool.shutdown();
+			server.stop(0);
+		}
+	}
+
+	/**
+	 * Runs every student through every step
+	 * @param pool the client threads
+	 * @param base the server's URL
+	 * @param prefix the prefix of the student ids
+	 * @param students the number of students
+	 * @return the latency of every request
+	 * @throws InterruptedException if the benchmark is interrupted
+	 */
+	private static long[] run(ExecutorService pool, final String base, final String prefix, final int students)
+			throws InterruptedException {
+		final long[] latencies = new long[students * STEPS];
+		final AtomicInteger errors = new AtomicInteger();
+		for (int step = 0; step < STEPS; step++) {
+			final int s = step;
+			final CountDownLatch done = new CountDownLatch(students);
+			for (int i = 0; i < students; i++) {
+				final int student = i;
+				pool.execute(new Runnable() {
+					@Override
+					public void run() {
+						long begin = System.nanoTime();
+						try {
+							if (request(base, prefix + student, student, s) >= 400) {
+								errors.incrementAndGet();
+							}
+						} catch (IOException e) {
+							errors.incrementAndGet();
+						}
+						latencies[student * STEPS + s] = System.nanoTime() - begin;
+						done.countDown();
+					}
+				});
+			}
+			done.await();
+		}
+		if (errors.get() > 0) {
+			System.out.printf("%d of %d %s requests failed%n", errors.get(), latencies.length, prefix);
+		}
+		return latencies;
+	}
+
+	/**
+	 * Sends one step of a student's requests
+	 * @param base the server's URL
+	 * @param id the student's id
+	 * @param student the number of the student
+	 * @param step the step
+	 * @return the HTTP status
+	 * @throws IOException if the request fails
+	 */
+	private static int request(String base, String id, int student, int step) throws IOException {
+		String name = "CSC" + (100 + student % (COURSES / 10));
+		String section = String.format("%03d", student % 10);
+		switch (step) {
+		case 0:
+			return send(base + "/catalog/search?days=MW&start=800&end=1200", null);
+		case 1:
+			return send(base + "/schedule/course", "student=" + id + "&name=" + name + "&section=" + section);
+		case 2:
+			return send(base + "/schedule/event", "student=" + id + "&title=Work&days=S&start=900&end=1700&repeat=1&details=");
+		case 3:
+			return send(base + "/schedule?student=" + id, null);
+		case 4:
+			return send(base + "/schedule/remove", "student=" + id + "&index=0");
+		default:
+			return send(base + "/schedule/export?student=" + id, null);
+		}
+	}
+
+	/**
+	 * Sends a request and reads the whole response, so the connection can be reused
+	 * @param url the URL
+	 * @param form the form body of a POST, or null for a GET
+	 * @return the HTTP status
+	 * @throws IOException if the request fails
+	 */
+	private static int send(String url, String form) throws IOException {
+		HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+		if (form != null) {
+			conn.setRequestMethod("POST");
+			conn.setDoOutput(true);
+			conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+			OutputStream out = conn.getOutputStream();
+			out.write(form.getBytes(StandardCharsets.UTF_8));
+			out.close();
+		}
+		int status = conn.getResponseCode();
+		InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+		if (in != null) {
+			byte[] buffer = new byte[4096];
+			while (in.read(buffer) > 0) {
+				//drain
+			}
+			in.close();
+		}
+		return status;
+	}
+
+	/**
+	 * Gets a percentile of sorted values
+	 * @param sorted the values, in increasing order
+	 * @param p the percentile, from 0 to 100
+	 * @return the value at that percentile
+	 */
+	private static long percentile(long[] sorted, int p) {
+		int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, index)];
+	}
+}
@@ -0,0 +1,200 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionManager;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SharedCatalog;
+
+/**
+ * Tests ScheduleServer by sending it HTTP requests.
+ * @author Noah Benveniste
+ */
+public class ScheduleServerTest {
+
+	/** The server under test */
+	private ScheduleServer server;
+
+	/**
+	 * Resets course_records.txt and starts a server on a free port.
+	 * @throws Exception generic exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Path sourcePath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path destinationPath = FileSystems.getDefault().getPath("test-files", "course_records.txt");
+		try {
+			Files.deleteIfExists(destinationPath);
+			Files.copy(sourcePath, destinationPath);
+		} catch (IOException e) {
+			fail("Unable to reset files");
+		}
+		server = new ScheduleServer(new SessionManager(new SharedCatalog("test-files/course_records.txt")), 0, 4);
+		server.start();
+	}
+
+	/**
+	 * Stops the server.
+	 */
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	/**
+	 * Tests the catalog endpoints.
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testCatalog() throws IOException {
+		Response r = get("/catalog/course?name=CSC216&section=001");
+		assertEquals(200, r.status);
+		assertEquals("{\"type\":\"course\",\"name\":\"CSC216\",\"section\":\"001\",\"title\":\"Programming Concepts - Java\"," +
+				"\"credits\":4,\"instructorId\":\"sesmith5\",\"meetingDays\":\"TH\",\"startTime\":1330,\"endTime\":1445," +
+				"\"meetingString\":\"TH 1:30PM-2:45PM\",\"capacity\":null,\"enrolled\":0}", r.body);
+		assertEquals(404, get("/catalog/course?name=CSC492&section=001").status);
+		assertEquals("{\"error\":\"Missing parameter section.\"}", get("/catalog/course?name=CSC216").body);
+
+		r = get("/catalog/search?days=MW&start=1100&end=1330");
+		assertEquals(200, r.status);
+		assertTrue(r.body.startsWith("{\"courses\":[{\"type\":\"course\",\"name\":\"CSC116\",\"section\":\"002\""));
+		assertTrue(r.body.contains("\"name\":\"CSC230\""));
+		assertFalse(get("/catalog/search?days=MW&start=1300&end=1330").body.contains("CSC230"));
+		assertTrue(get("/catalog/search?days=MW&start=1300&end=1330&overlap=true").body.contains("CSC230"));
+		assertEquals(400, get("/catalog/search?days=MW&start=noon&end=1330").status);
+		assertEquals(400, get("/catalog/search?days=MW&start=1400&end=1330").status);
+		assertEquals(404, get("/catalogs").status);
+		assertEquals(405, post("/catalog/course", "name=CSC216&section=001").status);
+	}
+
+	/**
+	 * Tests building, reading and exporting a schedule.
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testSchedule() throws IOException {
+		//Reads and removals never open a session
+		Response r = get("/schedule?student=jdoe");
+		assertEquals(404, r.status);
+		assertEquals("{\"error\":\"No schedule for that student.\"}", r.body);
+		assertEquals(404, get("/schedule/export?student=jdoe").status);
+		assertEquals(404, post("/schedule/remove", "student=jdoe&index=0").status);
+		assertEquals(0, server.getSessionManager().size());
+
+		r = post("/schedule/course", "student=jdoe&name=CSC216&section=001");
+		assertEquals(200, r.status);
+		assertTrue(get("/schedule?student=jdoe").body.startsWith("{\"student\":\"jdoe\",\"title\":\"My Schedule\",\"activities\":[{"));
+		assertTrue(r.body.contains("\"section\":\"001\""));
+		assertEquals(404, post("/schedule/course", "student=jdoe&name=CSC492&section=001").status);
+		r = post("/schedule/course", "student=jdoe&name=CSC216&section=002");
+		assertEquals(409, r.status);
+		assertEquals("{\"error\":\"You are already enrolled in CSC216\"}", r.body);
+
+		r = post("/schedule/event", "student=jdoe&title=Gym+%26+Swim&days=MW&start=900&end=1030&repeat=1&details=Say+%22hi%22");
+		assertEquals(200, r.status);
+		assertTrue(r.body.contains("\"title\":\"Gym & Swim\""));
+		assertTrue(r.body.contains("\"eventDetails\":\"Say \\\"hi\\\"\""));
+		assertEquals(409, post("/schedule/event", "student=jdoe&title=Lab&days=H&start=1400&end=1500&repeat=1").status);
+		assertEquals(400, post("/schedule/event", "student=jdoe&title=Lab&days=H&start=1400&end=1300&repeat=1").status);
+		r = post("/schedule/event", "student=jdoe&title=Lab&days=H&start=1400&end=1500&repeat=5");
+		assertEquals(400, r.status);
+		assertTrue(r.body.contains("Invalid weekly repeat."));
+		assertEquals(400, post("/schedule/event", "student=jdoe&title=Lab&days=H&start=1400&end=1500&repeat=0").status);
+		assertEquals(405, get("/schedule/event?student=jdoe").status);
+
+		r = get("/schedule?student=jdoe");
+		assertTrue(r.body.indexOf("CSC216") < r.body.indexOf("Gym & Swim"));
+		r = get("/schedule/export?student=jdoe");
+		assertEquals(200, r.status);
+		String[] lines = r.body.split("\\r?\\n");
+		assertEquals(2, lines.length);
+		assertEquals("CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445", lines[0]);
+		assertEquals("Gym & Swim,MW,900,1030,1,Say \"hi\"", lines[1]);
+
+		//Another student's schedule is separate
+		assertEquals(200, post("/schedule/course", "student=asmith&name=CSC216&section=002").status);
+
+		r = post("/schedule/remove", "student=jdoe&index=0");
+		assertEquals(200, r.status);
+		assertTrue(r.body.contains("\"name\":\"CSC216\""));
+		assertEquals(404, post("/schedule/remove", "student=jdoe&index=1").status);
+		assertEquals(404, post("/schedule/remove", "student=jdoe&index=-1").status);
+		assertEquals(400, post("/schedule/remove", "student=jdoe").status);
+		assertEquals(400, post("/schedule/remove", "index=0").status);
+		assertEquals(1, server.getSessionManager().getSchedule("jdoe").size());
+		assertEquals(2, server.getSessionManager().size());
+	}
+
+	/**
+	 * Sends a GET request
+	 * @param path the path and query string
+	 * @return the response
+	 * @throws IOException if the request fails
+	 */
+	private Response get(String path) throws IOException {
+		HttpURLConnection conn = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+		return new Response(conn);
+	}
+
+	/**
+	 * Sends a POST request with a form body
+	 * @param path the path
+	 * @param form the form encoded body
+	 * @return the response
+	 * @throws IOException if the request fails
+	 */
+	private Response post(String path, String form) throws IOException {
+		HttpURLConnection conn = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+		conn.setRequestMethod("POST");
+		conn.setDoOutput(true);
+		conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+		OutputStream out = conn.getOutputStream();
+		out.write(form.getBytes(StandardCharsets.UTF_8));
+		out.close();
+		return new Response(conn);
+	}
+
+	/**
+	 * The status and body of a response.
+	 * @author Noah Benveniste
+	 */
+	private static class Response {
+
+		/** The HTTP status */
+		private int status;
+		/** The body */
+		private String body;
+
+		/**
+		 * Reads a response
+		 * @param conn the connection the request was sent on
+		 * @throws IOException if the response cannot be read
+		 */
+		Response(HttpURLConnection conn) throws IOException {
+			status = conn.getResponseCode();
+			InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				bytes.write(buffer, 0, n);
+			}
+			in.close();
+			body = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+}